@@ -119,4 +119,10 @@ public interface CacheProvider {
   <V> Cache<V> createSystemStatisticsDataCountsCache();
 
   <V> Cache<V> createDataSummarySessionGaugesCache();
+
+  <V> Cache<V> createProgramRulesCache();
+
+  <V> Cache<V> createNotificationExpressionsCache();
+
+  <V> Cache<V> createCompiledExpressionCache();
 }
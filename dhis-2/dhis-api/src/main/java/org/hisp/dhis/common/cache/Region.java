@@ -36,6 +36,7 @@ package org.hisp.dhis.common.cache;
 @SuppressWarnings("squid:S115") // allow non enum-ish names
 public enum Region {
   analyticsResponse,
+  analyticsOutliers,
   defaultObjectCache,
   allConstantsCache,
   inUserOrgUnitHierarchy,
@@ -71,5 +72,8 @@ public enum Region {
   notificationTemplateCache,
   systemStatisticsOverview,
   systemStatisticsDataCounts,
-  dataSummarySessionGauges
+  dataSummarySessionGauges,
+  programRulesCache,
+  notificationExpressionsCache,
+  compiledExpressionCache
 }
@@ -117,6 +117,18 @@ public record DataEntryGroup(
     return new DataEntryGroup(dataSet, completion, del, merge(values(), other.values()));
   }
 
+  /**
+   * @param offset the index of the first value within the entire input
+   * @return this group with the value indexes shifted by the offset, used when a group is a chunk
+   *     of a larger input
+   */
+  public DataEntryGroup withIndexOffset(int offset) {
+    if (offset == 0) return this;
+    List<DataEntryValue> shifted =
+        values.stream().map(v -> v.withIndex(v.index() + offset)).toList();
+    return new DataEntryGroup(dataSet, completion, deletion, shifted);
+  }
+
   @Nonnull
   private static <T> List<T> merge(List<T> a, List<T> b) {
     if (a.isEmpty()) return b;
@@ -83,6 +83,22 @@ public record DataEntryValue(
             true);
   }
 
+  public DataEntryValue withIndex(int newIndex) {
+    return newIndex == index
+        ? this
+        : new DataEntryValue(
+            newIndex,
+            dataElement,
+            orgUnit,
+            categoryOptionCombo,
+            attributeOptionCombo,
+            period,
+            value,
+            comment,
+            followUp,
+            deleted);
+  }
+
   public DataValueKey toKey() {
     return new DataValueKey(
         dataElement, orgUnit, categoryOptionCombo, attributeOptionCombo, period);
@@ -191,6 +191,14 @@ public class ImportOptions implements JobParameters {
   @JsonProperty(namespace = DxfNamespaces.DXF_2_0)
   private String dataSet;
 
+  /**
+   * When positive, data values are read and imported in chunks of this many values while the input
+   * is parsed, so memory use does not depend on the size of the input. Atomic imports stop at the
+   * first failed chunk but keep the chunks imported before.
+   */
+  @JsonProperty(namespace = DxfNamespaces.DXF_2_0)
+  private int chunkSize;
+
   // --------------------------------------------------------------------------
   // Logic
   // --------------------------------------------------------------------------
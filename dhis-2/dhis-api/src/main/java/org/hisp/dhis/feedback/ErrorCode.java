@@ -686,6 +686,8 @@ public enum ErrorCode {
   E8010("Current user cannot enter data for data set: `${ds:{0}}`"),
   E8011("Current user cannot enter data for org unit(s): `${units:{0}}`"),
   E8012("Current user cannot enter data for category option(s): `${options:{0}}`"),
+  // chunked input issues
+  E8013("Group property `${property:{0}}` must precede the data values when importing in chunks"),
   // set level model consistency issues: X not usable with Y
   E8020("Data set ${ds:{0}} not usable with data element(s): `${elements:{1}}`"),
   E8021("Data set ${ds:{0}} not usable with period(s): `${periods:{1}}`"),
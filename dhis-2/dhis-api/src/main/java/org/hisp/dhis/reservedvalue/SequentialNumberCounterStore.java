@@ -37,5 +37,14 @@ import java.util.List;
 public interface SequentialNumberCounterStore {
   List<Integer> getNextValues(String uid, String key, int length);
 
+  /**
+   * Returns the next values of the counter, knowing that values greater than or equal to {@code
+   * maxValue} cannot be used by the pattern. Stores handing out values from leased blocks use it to
+   * avoid leasing beyond the capacity of small patterns.
+   */
+  default List<Integer> getNextValues(String uid, String key, int length, int maxValue) {
+    return getNextValues(uid, key, length);
+  }
+
   void deleteCounter(String uid);
 }
@@ -62,7 +62,9 @@ import org.hisp.dhis.scheduling.parameters.HtmlPushAnalyticsJobParameters;
 import org.hisp.dhis.scheduling.parameters.LockExceptionCleanupJobParameters;
 import org.hisp.dhis.scheduling.parameters.MetadataSyncJobParameters;
 import org.hisp.dhis.scheduling.parameters.MonitoringJobParameters;
+import org.hisp.dhis.scheduling.parameters.PotentialDuplicateDetectionJobParameters;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
+import org.hisp.dhis.scheduling.parameters.ProgramRuleReevaluationJobParameters;
 import org.hisp.dhis.scheduling.parameters.SingleEventDataSynchronizationJobParameters;
 import org.hisp.dhis.scheduling.parameters.SmsJobParameters;
 import org.hisp.dhis.scheduling.parameters.SqlViewUpdateParameters;
@@ -314,6 +316,12 @@ public class JobConfiguration extends BaseIdentifiableObject implements Secondar
         @JsonSubTypes.Type(
             value = LockExceptionCleanupJobParameters.class,
             name = "LOCK_EXCEPTION_CLEANUP"),
+        @JsonSubTypes.Type(
+            value = ProgramRuleReevaluationJobParameters.class,
+            name = "PROGRAM_RULE_REEVALUATION"),
+        @JsonSubTypes.Type(
+            value = PotentialDuplicateDetectionJobParameters.class,
+            name = "POTENTIAL_DUPLICATE_DETECTION"),
         @JsonSubTypes.Type(value = TestJobParameters.class, name = "TEST"),
         @JsonSubTypes.Type(
             value = ImportOptions.class,
@@ -56,7 +56,9 @@ import org.hisp.dhis.scheduling.parameters.LockExceptionCleanupJobParameters;
 import org.hisp.dhis.scheduling.parameters.MetadataSyncJobParameters;
 import org.hisp.dhis.scheduling.parameters.MockJobParameters;
 import org.hisp.dhis.scheduling.parameters.MonitoringJobParameters;
+import org.hisp.dhis.scheduling.parameters.PotentialDuplicateDetectionJobParameters;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
+import org.hisp.dhis.scheduling.parameters.ProgramRuleReevaluationJobParameters;
 import org.hisp.dhis.scheduling.parameters.SingleEventDataSynchronizationJobParameters;
 import org.hisp.dhis.scheduling.parameters.SmsInboundProcessingJobParameters;
 import org.hisp.dhis.scheduling.parameters.SmsJobParameters;
@@ -96,6 +98,8 @@ public enum JobType {
   DISABLE_INACTIVE_USERS(DisableInactiveUsersJobParameters.class),
   TEST(TestJobParameters.class),
   LOCK_EXCEPTION_CLEANUP(LockExceptionCleanupJobParameters.class),
+  PROGRAM_RULE_REEVALUATION(ProgramRuleReevaluationJobParameters.class),
+  POTENTIAL_DUPLICATE_DETECTION(PotentialDuplicateDetectionJobParameters.class),
 
   /*
   Programmatically used Jobs
@@ -229,6 +233,8 @@ public enum JobType {
         || this == TRACKED_ENTITY_DATA_SYNC
         || this == SMS_SEND
         || this == PREDICTOR
+        || this == PROGRAM_RULE_REEVALUATION
+        || this == POTENTIAL_DUPLICATE_DETECTION
         || this == DATAVALUE_IMPORT
         || this == COMPLETE_DATA_SET_REGISTRATION_IMPORT
         || this == METADATA_IMPORT
@@ -292,6 +298,11 @@ public enum JobType {
           Map.of(
               "predictors", "/api/predictors",
               "predictorGroups", "/api/predictorGroups");
+      case PROGRAM_RULE_REEVALUATION -> Map.of("program", "/api/programs");
+      case POTENTIAL_DUPLICATE_DETECTION ->
+          Map.of(
+              "trackedEntityType", "/api/trackedEntityTypes",
+              "attributes", "/api/trackedEntityAttributes");
       case HTML_PUSH_ANALYTICS ->
           Map.of("dashboard", "/api/dashboards", "receivers", "/api/userGroups");
       default -> Map.of();
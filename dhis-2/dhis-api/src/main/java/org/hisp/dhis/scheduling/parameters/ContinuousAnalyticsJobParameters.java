@@ -57,6 +57,12 @@ public class ContinuousAnalyticsJobParameters implements JobParameters {
   /** Outliers statistics columns of Analytics tables will be skipped. */
   @JsonProperty private Boolean skipOutliers = false;
 
+  /**
+   * Whether the latest analytics table update should refresh updated data in place in the existing
+   * table partitions, where supported, instead of generating a separate "latest" partition.
+   */
+  @JsonProperty private Boolean incrementalUpdate = false;
+
   public ContinuousAnalyticsJobParameters(
       Integer fullUpdateHourOfDay,
       Integer lastYears,
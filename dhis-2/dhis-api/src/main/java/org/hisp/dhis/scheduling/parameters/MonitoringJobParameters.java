@@ -66,6 +66,12 @@ public class MonitoringJobParameters implements JobParameters {
 
   @JsonProperty private boolean persistResults;
 
+  /**
+   * When true, only rules affected by data values changed since the last monitoring run are
+   * evaluated, replacing their previous results.
+   */
+  @JsonProperty private boolean incremental;
+
   public MonitoringJobParameters(
       int relativeStart,
       int relativeEnd,
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.scheduling.parameters;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hisp.dhis.common.OpenApi;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.feedback.ErrorReport;
+import org.hisp.dhis.scheduling.JobParameters;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.trackedentity.TrackedEntityType;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PotentialDuplicateDetectionJobParameters implements JobParameters {
+  /** The type of the tracked entities compared with each other. */
+  @JsonProperty
+  @OpenApi.Property({UID.class, TrackedEntityType.class})
+  private String trackedEntityType;
+
+  /** The attributes blocking keys are built from and similarity is scored on. */
+  @JsonProperty
+  @OpenApi.Property({UID[].class, TrackedEntityAttribute.class})
+  private List<String> attributes = new ArrayList<>();
+
+  /** Minimum similarity score in [0, 1] for a pair to become a potential duplicate. */
+  @JsonProperty private double threshold = 0.85;
+
+  /**
+   * Blocks with more tracked entities than this are not used to pair records, as a very common key
+   * (like a frequent surname) says little about a match but would pair every record of the block.
+   */
+  @JsonProperty private int maxBlockSize = 100;
+
+  @Override
+  public Optional<ErrorReport> validate() {
+    if (trackedEntityType == null) {
+      return Optional.of(new ErrorReport(getClass(), ErrorCode.E4000, "trackedEntityType"));
+    }
+    if (attributes == null || attributes.isEmpty()) {
+      return Optional.of(new ErrorReport(getClass(), ErrorCode.E4000, "attributes"));
+    }
+    if (threshold < 0 || threshold > 1) {
+      return Optional.of(
+          new ErrorReport(getClass(), ErrorCode.E4008, "threshold", 0, 1, threshold));
+    }
+    if (maxBlockSize < 2 || maxBlockSize > 10_000) {
+      return Optional.of(
+          new ErrorReport(getClass(), ErrorCode.E4008, "maxBlockSize", 2, 10_000, maxBlockSize));
+    }
+    return Optional.empty();
+  }
+}
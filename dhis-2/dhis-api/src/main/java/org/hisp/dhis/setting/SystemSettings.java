@@ -305,6 +305,14 @@ public non-sealed interface SystemSettings extends Settings {
     return asInt("keyAnalyticsMaxLimit", 100000);
   }
 
+  /**
+   * @return the max number of seconds the database queries of an analytics request can run before
+   *     they are cancelled, 0 for no limit
+   */
+  default int getAnalyticsQueryTimeout() {
+    return asInt("keyAnalyticsQueryTimeout", 0);
+  }
+
   default int getDataQualityMaxLimit() {
     return asInt("keyDataQualityMaxLimit", 500);
   }
@@ -31,6 +31,8 @@ package org.hisp.dhis.validation;
 
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.Period;
@@ -73,6 +75,10 @@ public final class ValidationAnalysisParams {
 
   private int dayInPeriod = -1;
 
+  private Date changedSince;
+
+  private Set<String> validatedIsoPeriods = Set.of();
+
   /**
    * Gets the rules selected for analysis
    *
@@ -150,6 +156,27 @@ public final class ValidationAnalysisParams {
     return dayInPeriod;
   }
 
+  /**
+   * Gets the time since which changed data is validated in an incremental analysis. Only the
+   * combinations of organisation unit, period and rule affected by data values changed since then
+   * are evaluated, and their previous results are replaced.
+   *
+   * @return the time of the previous analysis, or null to evaluate all combinations.
+   */
+  public Date getChangedSince() {
+    return changedSince;
+  }
+
+  /**
+   * Gets the periods validated by the previous analysis of an incremental analysis. Periods not
+   * validated then are evaluated for all combinations of organisation unit and rule.
+   *
+   * @return the ISO codes of the periods validated by the previous analysis.
+   */
+  public Set<String> getValidatedIsoPeriods() {
+    return validatedIsoPeriods;
+  }
+
   /**
    * Limits the number of results we should look for. This can help prevent the analysis running too
    * long by stopping after a set number of results, as well as limit any payload trough api.
@@ -232,6 +259,20 @@ public final class ValidationAnalysisParams {
       return this;
     }
 
+    /**
+     * Makes the analysis incremental, evaluating only what is affected by data values changed since
+     * the given time.
+     *
+     * @param changedSince the time of the previous analysis, or null for a full analysis
+     * @param validatedIsoPeriods the ISO codes of the periods validated by the previous analysis
+     * @return the updated builder object
+     */
+    public Builder withChangedSince(Date changedSince, Set<String> validatedIsoPeriods) {
+      this.params.changedSince = changedSince;
+      this.params.validatedIsoPeriods = validatedIsoPeriods;
+      return this;
+    }
+
     /**
      * The max number of results we want from the analysis.
      *
@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import static org.hisp.dhis.common.DimensionConstants.DIMENSION_SEP;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map of aggregated analytics values keyed on composite dimension item keys. Each key is a fixed
+ * width array of codes from a {@link DimensionItemDictionary}, one per query dimension, in the
+ * order of the query dimensions. Keys are stored in a flat {@code int} array, numeric values in a
+ * {@code double} array and entries are looked up through an open addressing table with linear
+ * probing, which avoids building, splitting and hashing {@code DIMENSION_SEP} separated string keys
+ * per row. Text values, used for queries of {@link DataType#TEXT}, are kept in a separate, lazily
+ * allocated array.
+ *
+ * <p>The key width is fixed by the first entry put into the map. Entries cannot be removed, and
+ * entries are iterated in insertion order through the entry index in the range {@code [0, size())}.
+ * Not thread-safe.
+ */
+public class AggregatedValueMap {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final int EMPTY = -1;
+
+  /** Marker for a text entry with a null value. */
+  private static final Object NULL_TEXT = new Object();
+
+  private final DimensionItemDictionary dictionary;
+
+  private int width = -1;
+
+  private int size = 0;
+
+  private int[] keys;
+
+  private double[] values;
+
+  private Object[] textValues;
+
+  private int[] slots;
+
+  public AggregatedValueMap() {
+    this(new DimensionItemDictionary());
+  }
+
+  public AggregatedValueMap(DimensionItemDictionary dictionary) {
+    this.dictionary = dictionary;
+    this.values = new double[INITIAL_CAPACITY];
+    this.slots = newSlots(INITIAL_CAPACITY * 2);
+  }
+
+  // -------------------------------------------------------------------------
+  // Factory methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Creates a map from the given map of {@code DIMENSION_SEP} separated keys and values.
+   *
+   * @param map the map of string keys and values.
+   * @return an {@link AggregatedValueMap}.
+   */
+  public static AggregatedValueMap of(Map<String, ?> map) {
+    AggregatedValueMap valueMap = new AggregatedValueMap();
+
+    for (Map.Entry<String, ?> entry : map.entrySet()) {
+      valueMap.put(valueMap.toKey(entry.getKey().split(DIMENSION_SEP)), entry.getValue());
+    }
+
+    return valueMap;
+  }
+
+  // -------------------------------------------------------------------------
+  // Logic
+  // -------------------------------------------------------------------------
+
+  /**
+   * Returns the code of the given dimension item, adding it to the dictionary of this map if not
+   * already present.
+   *
+   * @param item the dimension item identifier.
+   * @return the code.
+   */
+  public int intern(String item) {
+    return dictionary.intern(item);
+  }
+
+  /**
+   * Converts the given dimension item identifiers to a key.
+   *
+   * @param items the dimension item identifiers.
+   * @return a key.
+   */
+  public int[] toKey(String... items) {
+    int[] key = new int[items.length];
+
+    for (int i = 0; i < items.length; i++) {
+      key[i] = dictionary.intern(items[i]);
+    }
+
+    return key;
+  }
+
+  /**
+   * Puts a numeric value for the given key. Replaces any existing value.
+   *
+   * @param key the key.
+   * @param value the value.
+   */
+  public void put(int[] key, double value) {
+    int entry = getOrAddEntry(key);
+    values[entry] = value;
+
+    if (textValues != null) {
+      textValues[entry] = null;
+    }
+  }
+
+  /**
+   * Puts a value for the given key. Values of type {@link Number} are stored as numeric values,
+   * other values are stored as text values. Replaces any existing value.
+   *
+   * @param key the key.
+   * @param value the value, can be null.
+   */
+  public void put(int[] key, Object value) {
+    if (value instanceof Number number) {
+      put(key, number.doubleValue());
+    } else {
+      putText(key, value != null ? value.toString() : null);
+    }
+  }
+
+  /**
+   * Puts a text value for the given key. Replaces any existing value.
+   *
+   * @param key the key.
+   * @param value the text value, can be null.
+   */
+  public void putText(int[] key, String value) {
+    int entry = getOrAddEntry(key);
+    ensureTextValues();
+    textValues[entry] = value != null ? value : NULL_TEXT;
+  }
+
+  /**
+   * Puts all entries of the given map into this map. Keys are translated if the given map is backed
+   * by a different dictionary.
+   *
+   * @param other the {@link AggregatedValueMap}.
+   */
+  public void putAll(AggregatedValueMap other) {
+    boolean sameDictionary = other.dictionary == dictionary;
+    int[] key = new int[Math.max(other.width, 0)];
+
+    for (int entry = 0; entry < other.size; entry++) {
+      for (int i = 0; i < other.width; i++) {
+        int code = other.keys[entry * other.width + i];
+        key[i] = sameDictionary ? code : dictionary.intern(other.dictionary.getItem(code));
+      }
+
+      if (other.isText(entry)) {
+        putText(key, (String) other.getValue(entry));
+      } else {
+        put(key, other.values[entry]);
+      }
+    }
+  }
+
+  /**
+   * Returns the entry index of the given key, or -1 if not present.
+   *
+   * @param key the key.
+   * @return the entry index, or -1.
+   */
+  public int indexOf(int[] key) {
+    if (size == 0 || key.length != width) {
+      return EMPTY;
+    }
+
+    int mask = slots.length - 1;
+
+    for (int slot = hash(key, 0, key.length) & mask; ; slot = (slot + 1) & mask) {
+      int entry = slots[slot];
+
+      if (entry == EMPTY || keyEquals(entry, key)) {
+        return entry;
+      }
+    }
+  }
+
+  /**
+   * Indicates whether this map contains the given key.
+   *
+   * @param key the key.
+   */
+  public boolean containsKey(int[] key) {
+    return indexOf(key) != EMPTY;
+  }
+
+  /**
+   * Returns the value for the given key, or null if not present. Numeric values are returned as
+   * {@link Double}.
+   *
+   * @param key the key.
+   * @return the value, or null.
+   */
+  public Object get(int[] key) {
+    int entry = indexOf(key);
+    return entry != EMPTY ? getValue(entry) : null;
+  }
+
+  /**
+   * Returns the code at the given dimension position of the key of the given entry.
+   *
+   * @param entry the entry index.
+   * @param dimension the dimension position.
+   * @return the code.
+   */
+  public int getCode(int entry, int dimension) {
+    return keys[entry * width + dimension];
+  }
+
+  /**
+   * Returns a copy of the key of the given entry.
+   *
+   * @param entry the entry index.
+   * @return the key.
+   */
+  public int[] getKey(int entry) {
+    return Arrays.copyOfRange(keys, entry * width, entry * width + width);
+  }
+
+  /**
+   * Returns the dimension item identifiers of the key of the given entry.
+   *
+   * @param entry the entry index.
+   * @return an array of dimension item identifiers.
+   */
+  public String[] getItems(int entry) {
+    String[] items = new String[width];
+
+    for (int i = 0; i < width; i++) {
+      items[i] = dictionary.getItem(keys[entry * width + i]);
+    }
+
+    return items;
+  }
+
+  /**
+   * Returns the {@code DIMENSION_SEP} separated key of the given entry.
+   *
+   * @param entry the entry index.
+   * @return the string key.
+   */
+  public String getStringKey(int entry) {
+    return String.join(DIMENSION_SEP, getItems(entry));
+  }
+
+  /**
+   * Returns the value of the given entry. Numeric values are returned as {@link Double}.
+   *
+   * @param entry the entry index.
+   * @return the value, can be null for text entries.
+   */
+  public Object getValue(int entry) {
+    if (isText(entry)) {
+      Object value = textValues[entry];
+      return value != NULL_TEXT ? value : null;
+    }
+
+    return values[entry];
+  }
+
+  /**
+   * Returns the numeric value of the given entry.
+   *
+   * @param entry the entry index.
+   * @return the numeric value.
+   * @throws IllegalStateException if the entry holds a text value.
+   */
+  public double getDoubleValue(int entry) {
+    if (isText(entry)) {
+      throw new IllegalStateException("Entry holds a text value: " + getStringKey(entry));
+    }
+
+    return values[entry];
+  }
+
+  /**
+   * Indicates whether the given entry holds a text value.
+   *
+   * @param entry the entry index.
+   */
+  public boolean isText(int entry) {
+    return textValues != null && textValues[entry] != null;
+  }
+
+  /**
+   * Converts this map to a map of {@code DIMENSION_SEP} separated keys and values.
+   *
+   * @return a map of string keys and values.
+   */
+  public Map<String, Object> toStringKeyMap() {
+    Map<String, Object> map = new HashMap<>();
+
+    for (int entry = 0; entry < size; entry++) {
+      map.put(getStringKey(entry), getValue(entry));
+    }
+
+    return map;
+  }
+
+  /**
+   * Converts the numeric entries of this map to a map of {@code DIMENSION_SEP} separated keys and
+   * values.
+   *
+   * @return a map of string keys and numeric values.
+   */
+  public Map<String, Double> toDoubleMap() {
+    Map<String, Double> map = new HashMap<>();
+
+    for (int entry = 0; entry < size; entry++) {
+      if (!isText(entry)) {
+        map.put(getStringKey(entry), values[entry]);
+      }
+    }
+
+    return map;
+  }
+
+  /** Returns the number of entries. */
+  public int size() {
+    return size;
+  }
+
+  /** Indicates whether this map is empty. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Returns the key width, which is the number of dimensions, or -1 if the map is empty. */
+  public int width() {
+    return width;
+  }
+
+  public DimensionItemDictionary getDictionary() {
+    return dictionary;
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Returns the entry index for the given key, adding a new entry if not present.
+   *
+   * @param key the key.
+   * @return the entry index.
+   */
+  private int getOrAddEntry(int[] key) {
+    if (width == -1) {
+      width = key.length;
+      keys = new int[values.length * width];
+    } else if (key.length != width) {
+      throw new IllegalArgumentException(
+          String.format("Key width must be %d, but was: %d", width, key.length));
+    }
+
+    int mask = slots.length - 1;
+    int slot = hash(key, 0, key.length) & mask;
+
+    for (int entry = slots[slot]; entry != EMPTY; entry = slots[slot]) {
+      if (keyEquals(entry, key)) {
+        return entry;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    int entry = size++;
+    ensureCapacity(size);
+    System.arraycopy(key, 0, keys, entry * width, width);
+    slots[slot] = entry;
+
+    if (size * 2 > slots.length) {
+      rehash(slots.length * 2);
+    }
+
+    return entry;
+  }
+
+  private boolean keyEquals(int entry, int[] key) {
+    int offset = entry * width;
+
+    for (int i = 0; i < width; i++) {
+      if (keys[offset + i] != key[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > values.length) {
+      int newCapacity = Math.max(capacity, values.length * 2);
+      values = Arrays.copyOf(values, newCapacity);
+      keys = Arrays.copyOf(keys, newCapacity * width);
+
+      if (textValues != null) {
+        textValues = Arrays.copyOf(textValues, newCapacity);
+      }
+    }
+  }
+
+  private void ensureTextValues() {
+    if (textValues == null) {
+      textValues = new Object[values.length];
+    }
+  }
+
+  private void rehash(int capacity) {
+    slots = newSlots(capacity);
+    int mask = capacity - 1;
+
+    for (int entry = 0; entry < size; entry++) {
+      int slot = hash(keys, entry * width, width) & mask;
+
+      while (slots[slot] != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+
+      slots[slot] = entry;
+    }
+  }
+
+  private static int[] newSlots(int capacity) {
+    int[] slots = new int[capacity];
+    Arrays.fill(slots, EMPTY);
+    return slots;
+  }
+
+  private static int hash(int[] array, int offset, int length) {
+    int hash = 1;
+
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + array[i];
+    }
+
+    return hash ^ (hash >>> 16);
+  }
+}
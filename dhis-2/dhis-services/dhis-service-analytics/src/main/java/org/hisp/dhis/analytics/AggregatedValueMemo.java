@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import static org.hisp.dhis.common.DimensionConstants.DATA_X_DIM_ID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.DimensionalObject;
+
+/**
+ * Memo of aggregated values fetched from the analytics tables on behalf of a single analytics
+ * request. Values are memoized per data dimension item of a query, keyed on the query without its
+ * data dimension items. This allows data items which are shared by indicators, expression dimension
+ * items and data elements of a request to be fetched once, also when they are part of different
+ * queries.
+ *
+ * <p>Instances are shared by all queries derived from the query of a request and are thread-safe.
+ */
+public class AggregatedValueMemo {
+  private final Map<String, AggregatedValueMap> values = new ConcurrentHashMap<>();
+
+  /**
+   * Indicates whether the values of the given query can be memoized. This requires the data
+   * dimension to be a dimension of the query. Subexpression queries are not memoized, as
+   * subexpression items are not identified by their content.
+   *
+   * @param params the {@link DataQueryParams}.
+   */
+  public boolean isMemoizable(DataQueryParams params) {
+    return params.getDimension(DATA_X_DIM_ID) != null
+        && !params.hasSubexpressions()
+        && !params.analyzeOnly();
+  }
+
+  /**
+   * Puts the memoized values of the data dimension items of the given query into the given map.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param map the {@link AggregatedValueMap} to put values into.
+   * @return the data dimension items which do not have memoized values.
+   */
+  public List<DimensionalItemObject> getValues(
+      DataQueryParams params, AnalyticsTableType tableType, AggregatedValueMap map) {
+    return getValues(params, tableType, map, new HashSet<>());
+  }
+
+  /**
+   * Puts the memoized values of the data dimension items of the given query into the given map.
+   * Data dimension items which are fetched by another query of the same batch are skipped, as the
+   * values of that query are put into the same map.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param map the {@link AggregatedValueMap} to put values into.
+   * @param batchKeys the keys of the data dimension items fetched by the batch, to which the keys
+   *     of the returned items are added.
+   * @return the data dimension items which do not have memoized values and are not fetched by
+   *     another query of the batch.
+   */
+  public List<DimensionalItemObject> getValues(
+      DataQueryParams params,
+      AnalyticsTableType tableType,
+      AggregatedValueMap map,
+      Set<String> batchKeys) {
+    String sliceKey = getSliceKey(params, tableType);
+    DimensionalObject dimension = params.getDimension(DATA_X_DIM_ID);
+    List<DimensionalItemObject> missingItems = new ArrayList<>();
+
+    for (DimensionalItemObject item : dimension.getItems()) {
+      String itemKey = sliceKey + getItem(params, dimension, item);
+      AggregatedValueMap itemValues = values.get(itemKey);
+
+      if (itemValues != null) {
+        map.putAll(itemValues);
+      } else if (batchKeys.add(itemKey)) {
+        missingItems.add(item);
+      }
+    }
+
+    return missingItems;
+  }
+
+  /**
+   * Memoizes the given values of the given query per data dimension item. Nothing is memoized if a
+   * value cannot be attributed to a data dimension item of the query.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param map the {@link AggregatedValueMap} with the values of the query.
+   */
+  public void putValues(
+      DataQueryParams params, AnalyticsTableType tableType, AggregatedValueMap map) {
+    DimensionalObject dimension = params.getDimension(DATA_X_DIM_ID);
+    int dataIndex = params.getDimensions().indexOf(dimension);
+    Map<String, AggregatedValueMap> itemValues = new HashMap<>();
+
+    for (DimensionalItemObject item : dimension.getItems()) {
+      itemValues.put(getItem(params, dimension, item), new AggregatedValueMap(map.getDictionary()));
+    }
+
+    for (int entry = 0; entry < map.size(); entry++) {
+      String item = map.getDictionary().getItem(map.getCode(entry, dataIndex));
+      AggregatedValueMap slice = itemValues.get(item);
+
+      if (slice == null) {
+        return;
+      }
+
+      if (map.isText(entry)) {
+        slice.putText(map.getKey(entry), (String) map.getValue(entry));
+      } else {
+        slice.put(map.getKey(entry), map.getDoubleValue(entry));
+      }
+    }
+
+    String sliceKey = getSliceKey(params, tableType);
+
+    itemValues.forEach((item, slice) -> values.put(sliceKey + item, slice));
+  }
+
+  /** Returns the number of memoized data dimension items. */
+  public int size() {
+    return values.size();
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  private String getSliceKey(DataQueryParams params, AnalyticsTableType tableType) {
+    return tableType.name() + "-" + params.getDataItemSliceKey() + "-";
+  }
+
+  /**
+   * Returns the identifier of the given data dimension item as it appears in the keys of the
+   * aggregated values of the given query.
+   */
+  private String getItem(
+      DataQueryParams params, DimensionalObject dimension, DimensionalItemObject item) {
+    return item.getDimensionItem() + params.getQueryModsId(dimension);
+  }
+}
@@ -29,7 +29,6 @@
  */
 package org.hisp.dhis.analytics;
 
-import java.util.Map;
 import java.util.concurrent.Future;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.IllegalQueryException;
@@ -42,31 +41,32 @@ import org.hisp.dhis.common.ListMap;
  */
 public interface AnalyticsManager {
   /**
-   * Retrieves aggregated data values for the given query. The data is returned as a mapping where
-   * the key is concatenated from the dimension options for all dimensions separated by "-", and the
-   * value is the data value. This method is invoked asynchronously. The value class can be Double
-   * or String.
+   * Retrieves aggregated data values for the given query. The data is returned as an {@link
+   * AggregatedValueMap} where the key is composed of the dimension options for all dimensions, and
+   * the value is the data value. This method is invoked asynchronously. The value can be numeric or
+   * text.
    *
    * @param params the {@link DataQueryParams} to retrieve aggregated data for.
    * @param tableType the {@link AnalyticsTableType}.
    * @param maxLimit the max number of records to retrieve.
-   * @return a map.
+   * @return an {@link AggregatedValueMap}.
    * @throws IllegalQueryException if query result set exceeds the max limit.
    */
-  Future<Map<String, Object>> getAggregatedDataValues(
+  Future<AggregatedValueMap> getAggregatedDataValues(
       DataQueryParams params, AnalyticsTableType tableType, int maxLimit);
 
   /**
-   * Inserts entries for the aggregation periods mapped to each data period in the given data value
-   * map. Removes the original entry for the data period.
+   * Returns a data value map with entries for the aggregation periods mapped to each data period in
+   * the given data value map, in place of the original entry for the data period.
    *
    * @param dataValueMap map with entries for data values produced for the query.
    * @param params the {@link DataQueryParams}.
    * @param dataPeriodAggregationPeriodMap the mapping between data periods and aggregation periods
    *     for the query.
+   * @return an {@link AggregatedValueMap}.
    */
-  void replaceDataPeriodsWithAggregationPeriods(
-      Map<String, Object> dataValueMap,
+  AggregatedValueMap replaceDataPeriodsWithAggregationPeriods(
+      AggregatedValueMap dataValueMap,
       DataQueryParams params,
       ListMap<DimensionalItemObject, DimensionalItemObject> dataPeriodAggregationPeriodMap);
 }
@@ -109,6 +109,62 @@ public interface AnalyticsTableManager {
    */
   default void removeLatestPartitionOverlap(List<AnalyticsTable> tables) {}
 
+  /**
+   * Indicates whether data updated since the last successful table update can be refreshed in place
+   * in the existing analytics table partitions, as an alternative to the "latest" partition update.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return true if updated data can be refreshed in place.
+   */
+  default boolean supportsIncrementalUpdate(AnalyticsTableUpdateParams params) {
+    return false;
+  }
+
+  /**
+   * Refreshes data updated since the last successful table update in place in the existing
+   * analytics table partitions. Removes the rows of updated and deleted data, and inserts the rows
+   * of updated data into the partition of the respective year.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return the list of table partitions which were refreshed, where the main name of each
+   *     partition is the name of the refreshed table.
+   */
+  default List<AnalyticsTablePartition> refreshUpdatedData(AnalyticsTableUpdateParams params) {
+    return List.of();
+  }
+
+  /**
+   * Returns the pre-aggregated rollup tables to create for this analytics table type. A rollup
+   * table holds the value column of the main analytics table aggregated on a subset of its
+   * dimension columns.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return the list of rollup tables, empty if rollup tables are not supported or configured.
+   */
+  default List<Table> getRollupTables(AnalyticsTableUpdateParams params) {
+    return List.of();
+  }
+
+  /**
+   * Creates and populates the given rollup table from the main analytics table, replacing any
+   * existing rollup table with the same name.
+   *
+   * @param table the rollup {@link Table}.
+   */
+  default void createRollupTable(Table table) {}
+
+  /**
+   * Replaces the rows of the given years of data in the given rollup table with rows aggregated
+   * from the main analytics table. Creates the rollup table if it does not exist, if no years are
+   * given, or if rows cannot be replaced in place.
+   *
+   * @param table the rollup {@link Table}.
+   * @param years the years of data which were updated, where empty indicates all years.
+   */
+  default void refreshRollupTable(Table table, Collection<Integer> years) {
+    createRollupTable(table);
+  }
+
   /**
    * Attempts to drop and then create analytics table.
    *
@@ -149,6 +205,15 @@ public interface AnalyticsTableManager {
    */
   int invokeAnalyticsTableSqlHooks();
 
+  /**
+   * Indicates whether analytics table SQL hooks exist for the table type.
+   *
+   * @return true if analytics table SQL hooks exist.
+   */
+  default boolean hasAnalyticsTableSqlHooks() {
+    return true;
+  }
+
   /**
    * Drops the given table.
    *
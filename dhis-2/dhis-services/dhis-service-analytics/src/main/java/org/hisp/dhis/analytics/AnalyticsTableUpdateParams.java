@@ -67,6 +67,13 @@ public class AnalyticsTableUpdateParams {
   /** Indicates whether to refresh the period resource table before analytics table update. */
   private final boolean refreshPeriodResourceTable;
 
+  /**
+   * Indicates whether a "latest" update should refresh updated data in place in the existing
+   * analytics table partitions, for table types which support it, instead of through the "latest"
+   * partition.
+   */
+  private final boolean incrementalUpdate;
+
   /** Analytics table types to skip. */
   @Builder.Default private final Set<AnalyticsTableType> skipTableTypes = new HashSet<>();
 
@@ -138,6 +145,7 @@ public class AnalyticsTableUpdateParams {
         .add("last years", lastYears)
         .add("skip resource tables", skipResourceTables)
         .add("refresh period resource table", refreshPeriodResourceTable)
+        .add("incremental update", incrementalUpdate)
         .add("skip table types", skipTableTypes)
         .add("skip programs", skipPrograms)
         .add("skip outliers statistics", skipOutliers)
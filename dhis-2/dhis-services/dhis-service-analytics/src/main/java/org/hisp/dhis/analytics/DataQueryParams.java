@@ -461,6 +461,18 @@ public class DataQueryParams {
 
   protected String explainOrderId;
 
+  /**
+   * Token for cancelling the database queries of this request, shared by all queries planned from
+   * this query. Can be null.
+   */
+  protected QueryCancellationToken cancellationToken;
+
+  /**
+   * Memo of aggregated values fetched on behalf of this request, shared by all queries derived from
+   * this query. Can be null.
+   */
+  protected AggregatedValueMemo aggregatedValueMemo;
+
   /** Indicates whether incoming request is not json content type and is for download */
   protected boolean download;
 
@@ -560,6 +572,8 @@ public class DataQueryParams {
     params.skipDataDimensionValidation = this.skipDataDimensionValidation;
     params.userOrgUnitType = this.userOrgUnitType;
     params.explainOrderId = this.explainOrderId;
+    params.cancellationToken = this.cancellationToken;
+    params.aggregatedValueMemo = this.aggregatedValueMemo;
     params.serverBaseUrl = this.serverBaseUrl;
     params.download = this.download;
     params.userOrganisationUnitsCriteria = this.userOrganisationUnitsCriteria;
@@ -579,31 +593,92 @@ public class DataQueryParams {
     return explainOrderId != null;
   }
 
+  public QueryCancellationToken getCancellationToken() {
+    return cancellationToken;
+  }
+
+  public boolean hasCancellationToken() {
+    return cancellationToken != null;
+  }
+
+  public AggregatedValueMemo getAggregatedValueMemo() {
+    return aggregatedValueMemo;
+  }
+
+  public boolean hasAggregatedValueMemo() {
+    return aggregatedValueMemo != null;
+  }
+
   /** Returns a unique key representing this query. The key is suitable for caching. */
   public String getKey() {
     return getQueryKey().build();
   }
 
+  /**
+   * Returns a key representing the semantics of this query, suitable for caching of query results.
+   * As opposed to {@link #getKey()}, the key does not depend on the order of dimensions and
+   * filters. Relative periods are represented by the periods they resolve to. The order of items
+   * within a dimension is retained, as it is reflected in the response metadata.
+   */
+  public String getCanonicalKey() {
+    return getQueryKey(true).build();
+  }
+
   /** Returns a unique {@link QueryKey}. */
   protected QueryKey getQueryKey() {
+    return getQueryKey(false);
+  }
+
+  /**
+   * Returns a unique {@link QueryKey}.
+   *
+   * @param canonical whether dimensions and filters should be added in a canonical order rather
+   *     than in the order of this query.
+   */
+  protected QueryKey getQueryKey(boolean canonical) {
+    return getQueryKey(canonical, true);
+  }
+
+  /**
+   * Returns a key representing this query without the items of the data dimension, including the
+   * properties set by the query planner. Together with the identifier of a data dimension item, the
+   * key identifies the aggregated values of the item for this query.
+   */
+  String getDataItemSliceKey() {
+    return getQueryKey(false, false)
+        .add("tableName", tableName)
+        .add("partitions", partitions)
+        .add("dataType", dataType)
+        .add("valueColumn", valueColumn)
+        .add("queryModsId", queryModsId)
+        .add("periodType", periodType)
+        .addIgnoreNull("dataPeriodType", dataPeriodType, () -> dataPeriodType.getName())
+        .add("timely", timely)
+        .add("restrictByOrgUnitOpeningClosedDate", restrictByOrgUnitOpeningClosedDate)
+        .add("restrictByCategoryOptionStartEndDate", restrictByCategoryOptionStartEndDate)
+        .add("startDateRestriction", startDateRestriction)
+        .add("endDateRestriction", endDateRestriction)
+        .build();
+  }
+
+  /**
+   * Returns a {@link QueryKey} for this query.
+   *
+   * @param canonical whether dimensions and filters are sorted by dimension identifier.
+   * @param dataItems whether to include the items of the data dimension.
+   */
+  private QueryKey getQueryKey(boolean canonical, boolean dataItems) {
     QueryKey key = new QueryKey();
 
-    dimensions.forEach(
-        e ->
-            key.add(
-                "dimension",
-                "[" + e.getKey() + "]" + getDimensionalItemKeywords(e.getDimensionItemKeywords())));
-    filters.forEach(
-        e ->
-            key.add(
-                "filter",
-                "[" + e.getKey() + "]" + getDimensionalItemKeywords(e.getDimensionItemKeywords())));
+    getKeyDimensions(dimensions, canonical)
+        .forEach(e -> key.add("dimension", getDimensionKey(e, dataItems)));
+    getKeyDimensions(filters, canonical).forEach(e -> key.add("filter", getDimensionKey(e, true)));
 
     measureCriteria.forEach((k, v) -> key.add("measureCriteria", (String.valueOf(k) + v)));
     preAggregateMeasureCriteria.forEach(
         (k, v) -> key.add("preAggregateMeasureCriteria", (String.valueOf(k) + v)));
 
-    return key.add("aggregationType", aggregationType)
+    key.add("aggregationType", aggregationType)
         .add("skipMeta", skipMeta)
         .add("skipData", skipData)
         .add("skipHeaders", skipHeaders)
@@ -629,10 +704,45 @@ public class DataQueryParams {
         .add("endDate", endDate)
         .add("order", order)
         .add("timeField", timeField)
-        .add("orgUnitField", orgUnitField)
-        .add("expressiondimensionitems", getExpressionDimensionItemsExpressions())
-        .add("timeDateRanges", getTimeDateRangesAsString())
-        .addIgnoreNull("locale", locale);
+        .add("orgUnitField", orgUnitField);
+
+    // Expression dimension items are items of the data dimension
+
+    if (dataItems) {
+      key.add("expressiondimensionitems", getExpressionDimensionItemsExpressions());
+    }
+
+    return key.add("timeDateRanges", getTimeDateRangesAsString()).addIgnoreNull("locale", locale);
+  }
+
+  /**
+   * Returns the given dimensions, sorted by dimension identifier if canonical.
+   *
+   * @param objects the list of {@link DimensionalObject}.
+   * @param canonical whether to sort the dimensions.
+   */
+  private List<DimensionalObject> getKeyDimensions(
+      List<DimensionalObject> objects, boolean canonical) {
+    return canonical
+        ? objects.stream().sorted(Comparator.comparing(DimensionalObject::getDimension)).toList()
+        : objects;
+  }
+
+  /**
+   * Returns a key for the given dimension, including the dimension item keywords.
+   *
+   * @param object the {@link DimensionalObject}.
+   * @param dataItems whether to include the items of the data dimension.
+   */
+  private String getDimensionKey(DimensionalObject object, boolean dataItems) {
+    if (!dataItems && DATA_X_DIM_ID.equals(object.getDimension())) {
+      return "[" + DATA_X_DIM_ID + "]";
+    }
+
+    return "["
+        + object.getKey()
+        + "]"
+        + getDimensionalItemKeywords(object.getDimensionItemKeywords());
   }
 
   private String getTimeDateRangesAsString() {
@@ -3178,6 +3288,16 @@ public class DataQueryParams {
       return this;
     }
 
+    public Builder withCancellationToken(QueryCancellationToken cancellationToken) {
+      this.params.cancellationToken = cancellationToken;
+      return this;
+    }
+
+    public Builder withAggregatedValueMemo(AggregatedValueMemo aggregatedValueMemo) {
+      this.params.aggregatedValueMemo = aggregatedValueMemo;
+      return this;
+    }
+
     public DataQueryParams build() {
       return params;
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary which interns dimension item identifiers, such as data element, period and
+ * organisation unit identifiers, to dense integer codes. The codes are used as composite keys in
+ * {@link AggregatedValueMap} so that the identifiers are stored once per distinct value rather than
+ * once per row. Not thread-safe.
+ */
+public class DimensionItemDictionary {
+  private final Map<String, Integer> codes = new HashMap<>();
+
+  private final List<String> items = new ArrayList<>();
+
+  /**
+   * Returns the code for the given item, adding the item to this dictionary if not already present.
+   *
+   * @param item the dimension item identifier.
+   * @return the code for the item.
+   */
+  public int intern(String item) {
+    Integer code = codes.get(item);
+
+    if (code == null) {
+      code = items.size();
+      codes.put(item, code);
+      items.add(item);
+    }
+
+    return code;
+  }
+
+  /**
+   * Returns the code for the given item, or -1 if the item is not present.
+   *
+   * @param item the dimension item identifier.
+   * @return the code for the item, or -1 if not present.
+   */
+  public int getCode(String item) {
+    Integer code = codes.get(item);
+    return code != null ? code : -1;
+  }
+
+  /**
+   * Returns the item for the given code.
+   *
+   * @param code the code.
+   * @return the dimension item identifier.
+   */
+  public String getItem(int code) {
+    return items.get(code);
+  }
+
+  /** Returns the number of items in this dictionary. */
+  public int size() {
+    return items.size();
+  }
+}
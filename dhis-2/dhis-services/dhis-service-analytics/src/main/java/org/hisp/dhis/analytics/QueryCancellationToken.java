@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.common.QueryRuntimeException;
+import org.hisp.dhis.feedback.ErrorCode;
+
+/**
+ * Token shared by all database queries issued on behalf of a single analytics request. The token
+ * carries an optional deadline, which is applied to every statement as a query timeout, and can be
+ * cancelled explicitly, in which case all statements currently executing are cancelled on the
+ * database server.
+ *
+ * <p>Instances are thread-safe, as the queries of a request are executed in parallel.
+ */
+@Slf4j
+public class QueryCancellationToken {
+  /** Value of {@link #deadline} indicating that there is no deadline. */
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  /** The deadline in terms of {@link System#nanoTime()}. */
+  private final long deadline;
+
+  /** Statements currently executing. */
+  private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean cancelled;
+
+  private QueryCancellationToken(long deadline) {
+    this.deadline = deadline;
+  }
+
+  /**
+   * Creates a token without a deadline, which is only cancelled through {@link #cancel()}.
+   *
+   * @return a {@link QueryCancellationToken}.
+   */
+  public static QueryCancellationToken create() {
+    return new QueryCancellationToken(NO_DEADLINE);
+  }
+
+  /**
+   * Creates a token with a deadline after the given timeout from now.
+   *
+   * @param timeout the timeout.
+   * @return a {@link QueryCancellationToken}.
+   */
+  public static QueryCancellationToken withTimeout(Duration timeout) {
+    return new QueryCancellationToken(System.nanoTime() + timeout.toNanos());
+  }
+
+  /** Indicates whether this token has a deadline. */
+  public boolean hasDeadline() {
+    return deadline != NO_DEADLINE;
+  }
+
+  /**
+   * Returns the time remaining until the deadline in nanoseconds, which is zero when the deadline
+   * has passed, or {@link Long#MAX_VALUE} when there is no deadline.
+   */
+  public long getRemainingNanos() {
+    return hasDeadline() ? Math.max(0, deadline - System.nanoTime()) : Long.MAX_VALUE;
+  }
+
+  /** Indicates whether the deadline of this token has passed. */
+  public boolean isExpired() {
+    return hasDeadline() && getRemainingNanos() == 0;
+  }
+
+  /** Indicates whether this token was cancelled explicitly or the deadline has passed. */
+  public boolean isCancelled() {
+    return cancelled || isExpired();
+  }
+
+  /**
+   * Cancels this token and all statements currently executing. Failures to cancel a statement are
+   * logged and otherwise ignored, as the statement might have completed in the meantime.
+   */
+  public void cancel() {
+    cancelled = true;
+
+    for (Statement statement : statements) {
+      cancel(statement);
+    }
+  }
+
+  /**
+   * Throws a {@link QueryRuntimeException} if this token is cancelled.
+   *
+   * @throws QueryRuntimeException if this token is cancelled.
+   */
+  public void throwIfCancelled() {
+    if (isCancelled()) {
+      throw new QueryRuntimeException(ErrorCode.E7136);
+    }
+  }
+
+  /**
+   * Registers the given statement before it is executed. Sets the query timeout of the statement to
+   * the time remaining until the deadline, rounded up to whole seconds.
+   *
+   * @param statement the {@link Statement}.
+   * @throws SQLException if the query timeout could not be set.
+   * @throws QueryRuntimeException if this token is cancelled.
+   */
+  public void register(Statement statement) throws SQLException {
+    throwIfCancelled();
+
+    if (hasDeadline()) {
+      long seconds = TimeUnit.NANOSECONDS.toSeconds(getRemainingNanos() + 999_999_999L);
+      statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, Math.max(1, seconds)));
+    }
+
+    statements.add(statement);
+
+    // Cancellation might have happened between the check and the registration
+
+    if (cancelled) {
+      cancel(statement);
+    }
+  }
+
+  /**
+   * Unregisters the given statement after it has completed.
+   *
+   * @param statement the {@link Statement}.
+   */
+  public void unregister(Statement statement) {
+    statements.remove(statement);
+  }
+
+  private void cancel(Statement statement) {
+    try {
+      statement.cancel();
+    } catch (SQLException ex) {
+      log.warn("Failed to cancel analytics query statement", ex);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.analyze;
+
+import static java.util.stream.Collectors.toSet;
+import static org.hisp.dhis.analytics.analyze.IndexRecommendation.Action.ADD;
+import static org.hisp.dhis.analytics.analyze.IndexRecommendation.Action.DROP;
+import static org.hisp.dhis.analytics.analyze.IndexRecommendation.Action.KEEP;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.RegExUtils;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
+import org.hisp.dhis.db.model.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recommends indexes for analytics tables by comparing the columns used by analytics queries, as
+ * recorded in the {@link ExecutionPlanStore}, with the columns indexed by the last analytics table
+ * generation. When enabled, only indexes on used columns are created.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsIndexAdvisor {
+  private final ExecutionPlanStore executionPlanStore;
+
+  private final AnalyticsTableSettings analyticsTableSettings;
+
+  /**
+   * Returns index recommendations for the analytics table of the given type, one for each column
+   * which is used by analytics queries or indexed, ordered by number of queries descending.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @return a list of {@link IndexRecommendation}.
+   */
+  public List<IndexRecommendation> getRecommendations(AnalyticsTableType tableType) {
+    Map<String, Long> columnUsage = executionPlanStore.getColumnUsage(tableType);
+    Set<String> indexedColumns = executionPlanStore.getIndexedColumns(tableType);
+    Set<String> columns = new TreeSet<>(columnUsage.keySet());
+    columns.addAll(indexedColumns);
+
+    return columns.stream()
+        .map(
+            column -> {
+              long queries = columnUsage.getOrDefault(column, 0L);
+              boolean indexed = indexedColumns.contains(column);
+              return new IndexRecommendation(
+                  column, queries, indexed, queries == 0 ? DROP : indexed ? KEEP : ADD);
+            })
+        .sorted(
+            Comparator.comparingLong(IndexRecommendation::queries)
+                .reversed()
+                .thenComparing(IndexRecommendation::column))
+        .toList();
+  }
+
+  /**
+   * Returns the indexes to create out of the given indexes. If creating indexes only on used
+   * columns is enabled, returns the indexes which include at least one column used by analytics
+   * queries. The given indexes are returned as is if not enabled, or if no analytics queries were
+   * recorded for the table type.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param indexes the list of {@link Index}.
+   * @return a list of {@link Index}.
+   */
+  public List<Index> getIndexesToCreate(AnalyticsTableType tableType, List<Index> indexes) {
+    if (!analyticsTableSettings.isIndexUsedOnly() || indexes.isEmpty()) {
+      return indexes;
+    }
+
+    Set<String> columns = executionPlanStore.getColumnUsage(tableType).keySet();
+
+    if (columns.isEmpty()) {
+      log.info(
+          "No analytics queries recorded for table type: '{}', creating all indexes", tableType);
+      return indexes;
+    }
+
+    List<Index> usedIndexes =
+        indexes.stream()
+            .filter(index -> getColumns(List.of(index)).stream().anyMatch(columns::contains))
+            .toList();
+
+    log.info(
+        "Creating {} out of {} indexes on used columns for table type: '{}'",
+        usedIndexes.size(),
+        indexes.size(),
+        tableType);
+
+    return usedIndexes;
+  }
+
+  /**
+   * Records the columns of the given indexes as the indexed columns of the analytics table of the
+   * given type, to be compared with the column usage.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param indexes the list of created {@link Index}.
+   */
+  public void setIndexes(AnalyticsTableType tableType, List<Index> indexes) {
+    executionPlanStore.setIndexedColumns(tableType, getColumns(indexes));
+  }
+
+  /**
+   * Returns the non-quoted names of the columns of the given indexes.
+   *
+   * @param indexes the list of {@link Index}.
+   * @return a set of column names.
+   */
+  private Set<String> getColumns(List<Index> indexes) {
+    return indexes.stream()
+        .flatMap(index -> index.getColumns().stream())
+        .map(column -> RegExUtils.removeAll(column, "\""))
+        .collect(toSet());
+  }
+}
@@ -29,13 +29,18 @@
  */
 package org.hisp.dhis.analytics.analyze;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.common.SqlQuery;
 import org.hisp.dhis.common.ExecutionPlan;
 
 /**
  * Responsible for providing methods responsible for executing/explaining SQL statements, and making
- * them available for the consumers.
+ * them available for the consumers. Also holds a lightweight log of the analytics table columns
+ * used by analytics queries.
  */
 public interface ExecutionPlanStore {
   /**
@@ -69,4 +74,40 @@ public interface ExecutionPlanStore {
    * @param key the unique key associated with {@link ExecutionPlan} objects.
    */
   void removeExecutionPlans(String key);
+
+  /**
+   * Records that the given columns of the analytics table of the given type were used by an
+   * analytics query.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param columns the names of the columns used by the query.
+   */
+  void addColumnUsage(AnalyticsTableType tableType, Collection<String> columns);
+
+  /**
+   * Returns the number of analytics queries which used each column of the analytics table of the
+   * given type. Usage is persisted and includes the queries served by all servers of the instance.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @return a mapping of column name to number of queries, empty if no queries were recorded.
+   */
+  Map<String, Long> getColumnUsage(AnalyticsTableType tableType);
+
+  /**
+   * Records the columns which were indexed by the last generation of the analytics table of the
+   * given type, replacing any previously recorded columns.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param columns the names of the indexed columns.
+   */
+  void setIndexedColumns(AnalyticsTableType tableType, Collection<String> columns);
+
+  /**
+   * Returns the columns which were indexed by the last generation of the analytics table of the
+   * given type.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @return the names of the indexed columns, empty if none were recorded.
+   */
+  Set<String> getIndexedColumns(AnalyticsTableType tableType);
 }
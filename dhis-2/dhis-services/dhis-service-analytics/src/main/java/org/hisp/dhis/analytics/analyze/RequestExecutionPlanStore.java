@@ -37,24 +37,33 @@ import static org.hisp.dhis.analytics.analyze.RequestExecutionPlanStore.Executio
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.math3.util.Precision;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.common.SqlQuery;
 import org.hisp.dhis.common.ExecutionPlan;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * @author Dusan Bernat
@@ -62,21 +71,59 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @Service
 public class RequestExecutionPlanStore implements ExecutionPlanStore {
+  /** Delay between saves of the column usage recorded in memory to the database. */
+  private static final long USAGE_SAVE_DELAY_SECONDS = 60;
+
+  private static final String SQL_ADD_COLUMN_USAGE =
+      """
+      insert into analyticscolumnusage (tabletype, columnname, querycount) values (?, ?, ?) \
+      on conflict (tabletype, columnname) \
+      do update set querycount = analyticscolumnusage.querycount + excluded.querycount""";
+
+  private static final String SQL_GET_COLUMN_USAGE =
+      """
+      select columnname, querycount from analyticscolumnusage \
+      where tabletype = ? and querycount > 0""";
+
+  private static final String SQL_RESET_INDEXED_COLUMNS =
+      "update analyticscolumnusage set indexed = false where tabletype = ?";
+
+  private static final String SQL_SET_INDEXED_COLUMN =
+      """
+      insert into analyticscolumnusage (tabletype, columnname, indexed) values (?, ?, true) \
+      on conflict (tabletype, columnname) do update set indexed = true""";
+
+  private static final String SQL_GET_INDEXED_COLUMNS =
+      "select columnname from analyticscolumnusage where tabletype = ? and indexed = true";
+
   private final Map<String, List<ExecutionPlan>> executionPlanMap = new HashMap<>();
 
+  private final Map<AnalyticsTableType, Map<String, LongAdder>> columnUsageMap =
+      new ConcurrentHashMap<>();
+
   @Nonnull private final JdbcTemplate jdbcTemplate;
 
   @Nonnull
   @Qualifier("analyticsNamedParameterJdbcTemplate")
   private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
+  /** Template of the main database, where column usage is persisted. */
+  @Nonnull private final JdbcTemplate usageJdbcTemplate;
+
   @Nonnull private final ScheduledExecutorService executorService;
 
   public RequestExecutionPlanStore(
-      @Qualifier("executionPlanJdbcTemplate") JdbcTemplate jdbcTemplate) {
+      @Qualifier("executionPlanJdbcTemplate") JdbcTemplate jdbcTemplate,
+      JdbcTemplate usageJdbcTemplate) {
     this.jdbcTemplate = jdbcTemplate;
+    this.usageJdbcTemplate = usageJdbcTemplate;
     this.executorService = Executors.newScheduledThreadPool(10);
     this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.executorService.scheduleWithFixedDelay(
+        this::saveColumnUsage,
+        USAGE_SAVE_DELAY_SECONDS,
+        USAGE_SAVE_DELAY_SECONDS,
+        TimeUnit.SECONDS);
   }
 
   @Override
@@ -117,6 +164,93 @@ public class RequestExecutionPlanStore implements ExecutionPlanStore {
     executorService.schedule(() -> executionPlanMap.remove(key), 2, TimeUnit.SECONDS);
   }
 
+  @Override
+  public void addColumnUsage(AnalyticsTableType tableType, Collection<String> columns) {
+    Map<String, LongAdder> columnUsage =
+        columnUsageMap.computeIfAbsent(tableType, type -> new ConcurrentHashMap<>());
+
+    columns.forEach(
+        column -> columnUsage.computeIfAbsent(column, c -> new LongAdder()).increment());
+  }
+
+  @Override
+  public Map<String, Long> getColumnUsage(AnalyticsTableType tableType) {
+    Map<String, Long> columnUsage = new HashMap<>();
+
+    usageJdbcTemplate.query(
+        SQL_GET_COLUMN_USAGE,
+        rs -> {
+          columnUsage.put(rs.getString("columnname"), rs.getLong("querycount"));
+        },
+        tableType.name());
+
+    columnUsageMap
+        .getOrDefault(tableType, Map.of())
+        .forEach(
+            (column, queries) -> {
+              long sum = queries.sum();
+              if (sum > 0) {
+                columnUsage.merge(column, sum, Long::sum);
+              }
+            });
+
+    return columnUsage;
+  }
+
+  @Override
+  @Transactional
+  public void setIndexedColumns(AnalyticsTableType tableType, Collection<String> columns) {
+    usageJdbcTemplate.update(SQL_RESET_INDEXED_COLUMNS, tableType.name());
+    usageJdbcTemplate.batchUpdate(
+        SQL_SET_INDEXED_COLUMN,
+        columns.stream()
+            .distinct()
+            .map(column -> new Object[] {tableType.name(), column})
+            .toList());
+  }
+
+  @Override
+  public Set<String> getIndexedColumns(AnalyticsTableType tableType) {
+    return new HashSet<>(
+        usageJdbcTemplate.queryForList(SQL_GET_INDEXED_COLUMNS, String.class, tableType.name()));
+  }
+
+  /**
+   * Saves the column usage recorded in memory to the database, adding it to the persisted usage.
+   * Usage which fails to be saved is kept in memory for the next save.
+   */
+  @PreDestroy
+  void saveColumnUsage() {
+    List<Object[]> batch = new ArrayList<>();
+
+    columnUsageMap.forEach(
+        (tableType, columnUsage) ->
+            columnUsage.forEach(
+                (column, queries) -> {
+                  long sum = queries.sumThenReset();
+                  if (sum > 0) {
+                    batch.add(new Object[] {tableType.name(), column, sum});
+                  }
+                }));
+
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    try {
+      usageJdbcTemplate.batchUpdate(SQL_ADD_COLUMN_USAGE, batch);
+    } catch (DataAccessException ex) {
+      log.warn("Failed to save analytics column usage, retrying with next save", ex);
+
+      batch.forEach(
+          args ->
+              columnUsageMap
+                  .get(AnalyticsTableType.valueOf((String) args[0]))
+                  .get((String) args[1])
+                  .add((Long) args[2]));
+    }
+  }
+
   /**
    * Creates an {@link ExecutionPlan} object based on the given input parameters.
    *
@@ -31,10 +31,17 @@ package org.hisp.dhis.analytics.cache;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
@@ -44,12 +51,22 @@ import org.springframework.stereotype.Component;
 /**
  * This is a wrapper class responsible for keeping and isolating all cache definitions related to
  * the analytics.
+ *
+ * <p>Query results are cached by the canonical key of the query, see {@link
+ * DataQueryParams#getCanonicalKey()}, so that queries which differ only in the order of dimensions
+ * and filters share entries. Each entry records the analytics table types and years of data the
+ * query may read, so that analytics table updates only invalidate the entries they affect. The
+ * dependencies are indexed by table type, so that entries are invalidated without being read.
  */
 @Slf4j
 @Component
 public class AnalyticsCache {
   private final AnalyticsCacheSettings analyticsCacheSettings;
-  private final Cache<Grid> queryCache;
+  private final AnalyticsCacheMetrics analyticsCacheMetrics;
+  private final Cache<AnalyticsCacheEntry> queryCache;
+  // Years of data each cache key depends on, by analytics table type
+  private final Map<AnalyticsTableType, Map<String, Years>> dependencyIndex =
+      new ConcurrentHashMap<>();
   // Track nested call chain
   private static final ThreadLocal<Integer> nestingLevel = ThreadLocal.withInitial(() -> 0);
 
@@ -58,16 +75,41 @@ public class AnalyticsCache {
    * overwritten during cache put operations.
    */
   public AnalyticsCache(
-      CacheProvider cacheProvider, AnalyticsCacheSettings analyticsCacheSettings) {
+      CacheProvider cacheProvider,
+      AnalyticsCacheSettings analyticsCacheSettings,
+      AnalyticsCacheMetrics analyticsCacheMetrics) {
     checkNotNull(cacheProvider);
     checkNotNull(analyticsCacheSettings);
+    checkNotNull(analyticsCacheMetrics);
 
     this.analyticsCacheSettings = analyticsCacheSettings;
+    this.analyticsCacheMetrics = analyticsCacheMetrics;
     this.queryCache = cacheProvider.createAnalyticsCache();
   }
 
   public Optional<Grid> get(String key) {
-    return getGridClone(queryCache.get(key));
+    return getEntry(key).map(entry -> getGridClone(entry.grid()));
+  }
+
+  /**
+   * Retrieves the Grid cached for the given DataQueryParams, if any. The dimension columns of the
+   * Grid are arranged in the order of the dimensions of the given DataQueryParams.
+   *
+   * @param params the DataQueryParams.
+   * @return a clone of the cached Grid, or empty if not cached.
+   */
+  public Optional<Grid> get(DataQueryParams params) {
+    Optional<Grid> grid =
+        getEntry(params.getCanonicalKey())
+            .flatMap(entry -> entry.getGrid(AnalyticsCacheEntry.getDimensions(params)));
+
+    if (grid.isPresent()) {
+      analyticsCacheMetrics.countHit();
+    } else {
+      analyticsCacheMetrics.countMiss();
+    }
+
+    return grid;
   }
 
   /**
@@ -94,12 +136,10 @@ public class AnalyticsCache {
    * @return A clone of the Grid, either from cache or newly computed
    */
   public Grid getOrFetch(DataQueryParams params, Function<DataQueryParams, Grid> function) {
-    String key = params.getKey();
-
     // First check if it's already cached
-    Optional<Grid> cachedGrid = get(key);
+    Optional<Grid> cachedGrid = get(params);
     if (cachedGrid.isPresent()) {
-      return getGridClone(cachedGrid.get());
+      return cachedGrid.get();
     }
 
     // Get current nesting level and increment
@@ -112,14 +152,7 @@ public class AnalyticsCache {
 
       // Only add to cache if this is the top level call (level was 0)
       if (currentLevel == 0) {
-        if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
-          put(
-              params.getKey(),
-              grid,
-              analyticsCacheSettings.progressiveExpirationTimeOrDefault(params.getLatestEndDate()));
-        } else {
-          put(params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault());
-        }
+        put(params, grid);
       }
 
       return getGridClone(grid);
@@ -144,45 +177,108 @@ public class AnalyticsCache {
    * @param grid the associated Grid.
    */
   public void put(DataQueryParams params, Grid grid) {
+    AnalyticsCacheEntry entry = AnalyticsCacheEntry.of(params, getGridClone(grid));
+
     if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
       // Uses the progressive TTL
       put(
-          params.getKey(),
-          grid,
+          params.getCanonicalKey(),
+          entry,
           analyticsCacheSettings.progressiveExpirationTimeOrDefault(params.getLatestEndDate()));
     } else {
       // Respects the fixed (predefined) caching TTL
-      put(params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault());
+      put(params.getCanonicalKey(), entry, analyticsCacheSettings.fixedExpirationTimeOrDefault());
     }
   }
 
   /**
    * Will cache the given key/Grid pair respecting the TTL provided through the parameter
-   * "ttlInSeconds".
+   * "ttlInSeconds". As the query of the Grid is not known, the entry is invalidated by any
+   * analytics table update.
    *
    * @param key the cache key associate with the Grid.
    * @param grid the Grid object to be cached.
    * @param ttlInSeconds the time to live (expiration time) in seconds.
    */
   public void put(String key, Grid grid, long ttlInSeconds) {
-    if (ttlInSeconds <= 0) {
-      // Do not cache if TTL is zero or negative
-      return;
-    }
-    queryCache.put(key, getGridClone(grid), ttlInSeconds);
+    put(key, AnalyticsCacheEntry.of(getGridClone(grid)), ttlInSeconds);
   }
 
   /** Clears the current cache by removing all existing entries. */
   public void invalidateAll() {
     queryCache.invalidateAll();
+    dependencyIndex.clear();
+    analyticsCacheMetrics.countInvalidateAll();
 
     log.info("Analytics cache cleared");
   }
 
+  /**
+   * Removes the entries which depend on data of the given analytics table type in any of the given
+   * years.
+   *
+   * @param tableType the {@link AnalyticsTableType} which was updated.
+   * @param years the years of data which were updated, where empty indicates all years.
+   */
+  public void invalidate(AnalyticsTableType tableType, Collection<Integer> years) {
+    removeExpiredKeys();
+
+    List<String> keys =
+        dependencyIndex.getOrDefault(tableType, Map.of()).entrySet().stream()
+            .filter(entry -> entry.getValue().includesAny(years))
+            .map(Map.Entry::getKey)
+            .toList();
+
+    for (String key : keys) {
+      queryCache.invalidate(key);
+      removeFromIndex(key);
+    }
+
+    int invalidated = keys.size();
+
+    analyticsCacheMetrics.countInvalidated(invalidated);
+
+    log.info(
+        "Analytics cache entries invalidated for table type: '{}', years: {}, count: {}",
+        tableType,
+        years,
+        invalidated);
+  }
+
   public boolean isEnabled() {
     return analyticsCacheSettings.isCachingEnabled();
   }
 
+  private void put(String key, AnalyticsCacheEntry entry, long ttlInSeconds) {
+    if (ttlInSeconds <= 0) {
+      // Do not cache if TTL is zero or negative
+      return;
+    }
+    removeFromIndex(key);
+    queryCache.put(key, entry, ttlInSeconds);
+
+    Years years = new Years(entry.startYear(), entry.endYear());
+
+    for (AnalyticsTableType tableType : entry.tableTypes()) {
+      dependencyIndex.computeIfAbsent(tableType, type -> new ConcurrentHashMap<>()).put(key, years);
+    }
+  }
+
+  private void removeFromIndex(String key) {
+    dependencyIndex.values().forEach(keys -> keys.remove(key));
+  }
+
+  /** Removes the keys of entries which have expired or have been evicted from the index. */
+  private void removeExpiredKeys() {
+    Set<String> cachedKeys = new HashSet<>();
+    queryCache.keys().forEach(cachedKeys::add);
+    dependencyIndex.values().forEach(keys -> keys.keySet().retainAll(cachedKeys));
+  }
+
+  private Optional<AnalyticsCacheEntry> getEntry(String key) {
+    return queryCache.get(key);
+  }
+
   private Grid getGridClone(Grid grid) {
     if (grid != null) {
       return SerializationUtils.clone(grid);
@@ -191,7 +287,25 @@ public class AnalyticsCache {
     return null;
   }
 
-  private Optional<Grid> getGridClone(Optional<Grid> grid) {
-    return grid.map(SerializationUtils::clone);
+  /**
+   * The years of data a cache entry depends on.
+   *
+   * @param startYear the first year, or null if unknown.
+   * @param endYear the last year, or null if unknown.
+   */
+  private record Years(Integer startYear, Integer endYear) {
+    /**
+     * Indicates whether any of the given years are within these years.
+     *
+     * @param years the years, where empty indicates all years.
+     * @return true if any of the given years are within these years.
+     */
+    boolean includesAny(Collection<Integer> years) {
+      if (years.isEmpty() || startYear == null || endYear == null) {
+        return true;
+      }
+
+      return years.stream().anyMatch(year -> year >= startYear && year <= endYear);
+    }
   }
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static org.hisp.dhis.analytics.AnalyticsTableType.COMPLETENESS;
+import static org.hisp.dhis.analytics.AnalyticsTableType.COMPLETENESS_TARGET;
+import static org.hisp.dhis.analytics.AnalyticsTableType.DATA_VALUE;
+import static org.hisp.dhis.analytics.AnalyticsTableType.ENROLLMENT;
+import static org.hisp.dhis.analytics.AnalyticsTableType.EVENT;
+import static org.hisp.dhis.analytics.AnalyticsTableType.ORG_UNIT_TARGET;
+import static org.hisp.dhis.analytics.AnalyticsTableType.OWNERSHIP;
+import static org.hisp.dhis.analytics.AnalyticsTableType.VALIDATION_RESULT;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.analytics.AggregationType;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.event.EventQueryParams;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.DimensionalObject;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.IllegalQueryException;
+import org.joda.time.DateTime;
+
+/**
+ * An entry of the analytics cache. Holds the cached {@link Grid} along with the dependencies of the
+ * query which produced it, used to invalidate entries when the analytics tables they read from are
+ * updated.
+ *
+ * @param grid the cached {@link Grid}.
+ * @param dimensions the identifiers of the dimensions of the query, in the order of the grid
+ *     headers.
+ * @param tableTypes the analytics table types the query may read from.
+ * @param startYear the first year of data the query may read, or null if unknown.
+ * @param endYear the last year of data the query may read, or null if unknown.
+ */
+record AnalyticsCacheEntry(
+    Grid grid,
+    List<String> dimensions,
+    Set<AnalyticsTableType> tableTypes,
+    Integer startYear,
+    Integer endYear)
+    implements Serializable {
+
+  /**
+   * The number of years before the query period which first and last value aggregation types may
+   * read data from, see {@link #hasFirstOrLastValues(DataQueryParams)}.
+   */
+  private static final int FIRST_OR_LAST_VALUE_YEARS = 10;
+
+  /**
+   * Creates an entry for the given grid with unknown dependencies, which is invalidated by any
+   * analytics table update.
+   *
+   * @param grid the {@link Grid}.
+   * @return an {@link AnalyticsCacheEntry}.
+   */
+  static AnalyticsCacheEntry of(Grid grid) {
+    return new AnalyticsCacheEntry(
+        grid, List.of(), new HashSet<>(EnumSet.allOf(AnalyticsTableType.class)), null, null);
+  }
+
+  /**
+   * Creates an entry for the given grid, with the dependencies of the given query.
+   *
+   * @param params the {@link DataQueryParams} of the query.
+   * @param grid the {@link Grid}.
+   * @return an {@link AnalyticsCacheEntry}.
+   */
+  static AnalyticsCacheEntry of(DataQueryParams params, Grid grid) {
+    Set<AnalyticsTableType> tableTypes = getTableTypes(params);
+    DateTime start = null;
+    DateTime end = null;
+
+    // Event tables are partitioned on event date, whereas queries may use other time fields
+
+    if (!(params instanceof EventQueryParams)) {
+      start = toDateTime(getDate(params, true));
+      end = toDateTime(getDate(params, false));
+    }
+
+    if (start == null || end == null) {
+      return new AnalyticsCacheEntry(
+          grid, new ArrayList<>(getDimensions(params)), tableTypes, null, null);
+    }
+
+    int startYear =
+        hasFirstOrLastValues(params)
+            ? Math.min(start.getYear(), end.getYear() - FIRST_OR_LAST_VALUE_YEARS)
+            : start.getYear();
+
+    return new AnalyticsCacheEntry(
+        grid, new ArrayList<>(getDimensions(params)), tableTypes, startYear, end.getYear());
+  }
+
+  /**
+   * Indicates whether the given query may aggregate first or last values, which are read from the
+   * years before the query period. Indicators and expression dimension items may refer to data
+   * elements of any aggregation type, hence such queries are assumed to do so.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return true if the query may aggregate first or last values.
+   */
+  private static boolean hasFirstOrLastValues(DataQueryParams params) {
+    if (params.isFirstOrLastPeriodAggregationType()
+        || !params.getAllIndicators().isEmpty()
+        || !params.getExpressionDimensionItems().isEmpty()) {
+      return true;
+    }
+
+    return params.getAllDataDimensionItems().stream()
+        .map(DimensionalItemObject::getAggregationType)
+        .filter(Objects::nonNull)
+        .anyMatch(AggregationType::isFirstOrLastPeriodAggregationType);
+  }
+
+  /**
+   * Returns a copy of the cached grid with the dimension columns arranged in the given order of
+   * dimensions. Entries without known dimensions are returned as is. Returns empty if the columns
+   * cannot be arranged in the given order.
+   *
+   * @param order the dimension identifiers in the requested order.
+   * @return an optional {@link Grid}.
+   */
+  Optional<Grid> getGrid(List<String> order) {
+    Grid copy = SerializationUtils.clone(grid);
+
+    if (dimensions.isEmpty() || dimensions.equals(order)) {
+      return Optional.of(copy);
+    }
+
+    List<String> headers = copy.getHeaders().stream().map(GridHeader::getName).toList();
+
+    if (order.size() != dimensions.size()
+        || !order.containsAll(dimensions)
+        || !headers.containsAll(dimensions)
+        || new HashSet<>(headers).size() != headers.size()) {
+      return Optional.empty();
+    }
+
+    Iterator<String> dimensionIterator = order.iterator();
+    List<String> arrangedHeaders = new ArrayList<>();
+
+    for (String header : headers) {
+      arrangedHeaders.add(dimensions.contains(header) ? dimensionIterator.next() : header);
+    }
+
+    copy.repositionColumns(copy.repositionHeaders(arrangedHeaders));
+
+    return Optional.of(copy);
+  }
+
+  /**
+   * Returns the identifiers of the dimensions of the given query, in order.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a list of dimension identifiers.
+   */
+  static List<String> getDimensions(DataQueryParams params) {
+    return params.getDimensions().stream().map(DimensionalObject::getDimension).toList();
+  }
+
+  /**
+   * Returns the analytics table types the given query may read from. Indicators and expression
+   * dimension items may refer to any kind of data, hence all table types are returned for such
+   * queries.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a set of {@link AnalyticsTableType}.
+   */
+  private static Set<AnalyticsTableType> getTableTypes(DataQueryParams params) {
+    if (params instanceof EventQueryParams
+        || !params.getAllIndicators().isEmpty()
+        || !params.getExpressionDimensionItems().isEmpty()) {
+      return new HashSet<>(EnumSet.allOf(AnalyticsTableType.class));
+    }
+
+    Set<AnalyticsTableType> tableTypes = new HashSet<>(Set.of(DATA_VALUE));
+
+    if (!params.getAllReportingRates().isEmpty()) {
+      tableTypes.addAll(Set.of(COMPLETENESS, COMPLETENESS_TARGET, ORG_UNIT_TARGET));
+    }
+
+    if (!params.getAllValidationResults().isEmpty()) {
+      tableTypes.add(VALIDATION_RESULT);
+    }
+
+    if (!params.getProgramIndicators().isEmpty()
+        || !params.getFilterProgramIndicators().isEmpty()
+        || !params.getAllProgramDataElementsAndAttributes().isEmpty()) {
+      tableTypes.addAll(Set.of(EVENT, ENROLLMENT, OWNERSHIP));
+    }
+
+    return tableTypes;
+  }
+
+  /**
+   * Returns the earliest start date or the latest end date of the given query, or null if the query
+   * has no periods or dates.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param start whether to return the earliest start date or the latest end date.
+   * @return a {@link Date} or null.
+   */
+  private static Date getDate(DataQueryParams params, boolean start) {
+    try {
+      return start ? params.getEarliestStartDate() : params.getLatestEndDate();
+    } catch (IllegalQueryException ex) {
+      return null;
+    }
+  }
+
+  private static DateTime toDateTime(Date date) {
+    return date != null ? new DateTime(date) : null;
+  }
+}
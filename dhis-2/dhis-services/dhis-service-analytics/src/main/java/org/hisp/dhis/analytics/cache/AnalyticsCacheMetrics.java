@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.annotation.CheckForNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer counters for the analytics cache, exposed through the Prometheus scrape endpoint at
+ * {@code /api/metrics}:
+ *
+ * <ul>
+ *   <li>{@code dhis.analytics.cache.gets} (tag {@code result}: {@code hit}, {@code miss}): lookups
+ *       of analytics query results in the cache, from which the hit ratio can be derived
+ *   <li>{@code dhis.analytics.cache.invalidations} (tag {@code scope}: {@code all}, {@code
+ *       partial}): entries removed from the cache after analytics table updates, where {@code all}
+ *       counts invocations which cleared the entire cache
+ * </ul>
+ *
+ * <p>All counters are no-ops when no {@link MeterRegistry} is available in the application context.
+ */
+@Component
+public class AnalyticsCacheMetrics {
+
+  static final String CACHE_GETS = "dhis.analytics.cache.gets";
+  static final String CACHE_INVALIDATIONS = "dhis.analytics.cache.invalidations";
+
+  static final String RESULT_HIT = "hit";
+  static final String RESULT_MISS = "miss";
+
+  static final String SCOPE_ALL = "all";
+  static final String SCOPE_PARTIAL = "partial";
+
+  private final MeterRegistry registry;
+
+  @Autowired
+  public AnalyticsCacheMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+    this(registryProvider.getIfAvailable());
+  }
+
+  AnalyticsCacheMetrics(@CheckForNull MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /** Counts a cache lookup which returned a cached result. */
+  public void countHit() {
+    count(CACHE_GETS, "result", RESULT_HIT, 1);
+  }
+
+  /** Counts a cache lookup which did not return a cached result. */
+  public void countMiss() {
+    count(CACHE_GETS, "result", RESULT_MISS, 1);
+  }
+
+  /** Counts an invalidation of the entire cache. */
+  public void countInvalidateAll() {
+    count(CACHE_INVALIDATIONS, "scope", SCOPE_ALL, 1);
+  }
+
+  /**
+   * Counts entries invalidated because the analytics tables they depend on were updated.
+   *
+   * @param entries the number of invalidated entries.
+   */
+  public void countInvalidated(int entries) {
+    count(CACHE_INVALIDATIONS, "scope", SCOPE_PARTIAL, entries);
+  }
+
+  private void count(String name, String tagKey, String tagValue, int amount) {
+    if (registry != null && amount > 0) {
+      registry.counter(name, tagKey, tagValue).increment(amount);
+    }
+  }
+}
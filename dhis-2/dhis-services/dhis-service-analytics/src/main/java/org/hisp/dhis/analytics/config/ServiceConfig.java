@@ -31,6 +31,8 @@ package org.hisp.dhis.analytics.config;
 
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableService;
+import org.hisp.dhis.analytics.analyze.AnalyticsIndexAdvisor;
+import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.table.DefaultAnalyticsTableService;
 import org.hisp.dhis.dataelement.DataElementService;
 import org.hisp.dhis.db.AnalyticsSqlBuilderProvider;
@@ -77,6 +79,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -84,6 +88,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -95,6 +101,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -102,6 +110,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -113,6 +123,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -120,6 +132,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -131,6 +145,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -138,6 +154,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -149,6 +167,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -156,6 +176,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -167,6 +189,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -174,6 +198,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -185,6 +211,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -192,6 +220,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -203,6 +233,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -210,6 +242,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -221,6 +255,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -228,6 +264,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -239,6 +277,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -246,6 +286,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 
@@ -257,6 +299,8 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
+      AnalyticsCache analyticsCache,
+      AnalyticsIndexAdvisor indexAdvisor,
       SqlBuilder sqlBuilder) {
     return new DefaultAnalyticsTableService(
         tableManager,
@@ -264,6 +308,8 @@ public class ServiceConfig {
         dataElementService,
         resourceTableService,
         settingsProvider,
+        analyticsCache,
+        indexAdvisor,
         sqlBuilder);
   }
 }
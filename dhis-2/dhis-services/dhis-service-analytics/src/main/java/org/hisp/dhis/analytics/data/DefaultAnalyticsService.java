@@ -41,6 +41,7 @@ import static org.hisp.dhis.feedback.ErrorCode.E7147;
 import static org.hisp.dhis.feedback.ErrorCode.E7151;
 import static org.hisp.dhis.visualization.Visualization.addListIfEmpty;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -52,6 +53,7 @@ import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.AnalyticsService;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataQueryService;
+import org.hisp.dhis.analytics.QueryCancellationToken;
 import org.hisp.dhis.analytics.QueryValidator;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.data.handler.DataAggregator;
@@ -95,7 +97,7 @@ public class DefaultAnalyticsService implements AnalyticsService {
   @Override
   @Transactional(readOnly = true)
   public Grid getAggregatedDataValues(DataQueryParams params) {
-    params = checkSecurityConstraints(params);
+    params = withCancellationToken(checkSecurityConstraints(params));
 
     queryValidator.validate(params);
 
@@ -129,7 +131,7 @@ public class DefaultAnalyticsService implements AnalyticsService {
   @Override
   @Transactional(readOnly = true)
   public Grid getRawDataValues(DataQueryParams params) {
-    params = checkSecurityConstraints(params);
+    params = withCancellationToken(checkSecurityConstraints(params));
 
     queryValidator.validate(params);
 
@@ -195,7 +197,27 @@ public class DefaultAnalyticsService implements AnalyticsService {
             .withOutputFormat(DATA_VALUE_SET)
             .build();
 
-    return dataAggregator.getAggregatedDataValueGrid(query);
+    return dataAggregator.getAggregatedDataValueGrid(withCancellationToken(query));
+  }
+
+  /**
+   * Returns the given params with a {@link QueryCancellationToken} carrying the deadline of the
+   * analytics query timeout system setting. Returns the given params unchanged if they already have
+   * a token or if no timeout is set.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return the params with a {@link QueryCancellationToken}.
+   */
+  private DataQueryParams withCancellationToken(DataQueryParams params) {
+    int timeout = settingsProvider.getCurrentSettings().getAnalyticsQueryTimeout();
+
+    if (params.hasCancellationToken() || timeout <= 0) {
+      return params;
+    }
+
+    return newBuilder(params)
+        .withCancellationToken(QueryCancellationToken.withTimeout(Duration.ofSeconds(timeout)))
+        .build();
   }
 
   /**
@@ -35,16 +35,20 @@ import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
 import static org.hisp.dhis.common.DimensionConstants.DATA_X_DIM_ID;
 import static org.hisp.dhis.common.DimensionConstants.ORGUNIT_DIM_ID;
 import static org.hisp.dhis.common.DimensionConstants.PERIOD_DIM_ID;
+import static org.hisp.dhis.common.DimensionConstants.VALUE_COLUMN_NAME;
 import static org.hisp.dhis.util.DateUtils.getEarliest;
 import static org.hisp.dhis.util.DateUtils.getLatest;
 
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -57,7 +61,9 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.analytics.util.PeriodOffsetUtils;
 import org.hisp.dhis.common.BaseDimensionalObject;
@@ -89,6 +95,15 @@ public class DefaultQueryPlanner implements QueryPlanner {
 
   private final DataElementStore dataElementStore;
 
+  private final AnalyticsTableSettings analyticsTableSettings;
+
+  /**
+   * Names of the existing rollup tables. Rollup tables are created by analytics table updates, so
+   * the names are looked up again after a short expiration time rather than for every query.
+   */
+  private final Supplier<Set<String>> rollupTables =
+      Suppliers.memoizeWithExpiration(this::getExistingRollupTables, Duration.ofMinutes(1));
+
   // -------------------------------------------------------------------------
   // QueryPlanner implementation
   // -------------------------------------------------------------------------
@@ -128,6 +143,10 @@ public class DefaultQueryPlanner implements QueryPlanner {
       currentQueries.forEach(query -> queries.addAll(grouper.apply(query)));
     }
 
+    // Route queries to pre-aggregated rollup tables where possible
+
+    queries.replaceAll(this::withRollupTable);
+
     // Split queries until the optimal number is reached
 
     DataQueryGroups queryGroups = DataQueryGroups.newBuilder().withQueries(queries).build();
@@ -198,6 +217,78 @@ public class DefaultQueryPlanner implements QueryPlanner {
     return DataQueryParams.newBuilder(params).withDataElementPeriodTypes(periodTypes).build();
   }
 
+  /**
+   * Returns the given query routed to the smallest existing pre-aggregated rollup table which can
+   * answer it, or the given query if no such rollup table exists. Partitioning is skipped for
+   * queries routed to a rollup table, as rollup tables are not partitioned.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a {@link DataQueryParams}.
+   */
+  private DataQueryParams withRollupTable(DataQueryParams params) {
+    if (!AnalyticsTableType.DATA_VALUE.getTableName().equals(params.getTableName())
+        || !isRollupCompatible(params)) {
+      return params;
+    }
+
+    List<DimensionalObject> dimensions = params.getDimensionsAndFilters();
+
+    return analyticsTableSettings.getRollups().stream()
+        .filter(
+            rollup ->
+                dimensions.stream()
+                    .allMatch(dim -> rollup.hasDimensionColumn(dim.getDimensionName())))
+        .filter(rollup -> rollupTables.get().contains(rollup.getTableName()))
+        .findFirst()
+        .map(
+            rollup ->
+                DataQueryParams.newBuilder(params)
+                    .withTableName(rollup.getTableName())
+                    .withSkipPartitioning(true)
+                    .build())
+        .orElse(params);
+  }
+
+  /**
+   * Returns the names of the configured rollup tables which exist.
+   *
+   * @return a set of table names.
+   */
+  private Set<String> getExistingRollupTables() {
+    return analyticsTableSettings.getRollups().stream()
+        .map(AnalyticsRollup::getTableName)
+        .filter(partitionManager::tableExists)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Indicates whether the given query can be answered by a pre-aggregated rollup table. Rollup
+   * tables hold the sum of numeric values only, and do not hold the columns required for data
+   * approval, start and end date restrictions and timeliness.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return true if the query can be answered by a rollup table.
+   */
+  private boolean isRollupCompatible(DataQueryParams params) {
+    AnalyticsAggregationType aggregationType = params.getAggregationType();
+
+    return aggregationType != null
+        && params.isAggregation()
+        && aggregationType.isAggregationType(AggregationType.SUM)
+        && aggregationType.isPeriodAggregationType(AggregationType.SUM)
+        && !params.isDisaggregation()
+        && params.isDataType(DataType.NUMERIC)
+        && VALUE_COLUMN_NAME.equals(params.getValueColumn())
+        && !params.hasPreAggregateMeasureCriteria()
+        && !params.hasSubexpressions()
+        && !params.isDataApproval()
+        && !params.isRestrictByOrgUnitOpeningClosedDate()
+        && !params.isRestrictByCategoryOptionStartEndDate()
+        && !params.hasStartDate()
+        && !params.hasEndDate()
+        && !params.isTimely();
+  }
+
   // -------------------------------------------------------------------------
   // Supportive split methods
   // -------------------------------------------------------------------------
@@ -45,7 +45,6 @@ import static org.hisp.dhis.analytics.DataType.TEXT;
 import static org.hisp.dhis.analytics.data.SubexpressionPeriodOffsetUtils.getParamsWithOffsetPeriods;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.withExceptionHandling;
-import static org.hisp.dhis.common.DimensionConstants.DIMENSION_SEP;
 import static org.hisp.dhis.common.IdentifiableObjectUtils.getUids;
 import static org.hisp.dhis.common.collection.CollectionUtils.concat;
 import static org.hisp.dhis.util.DateUtils.toMediumDate;
@@ -53,8 +52,8 @@ import static org.hisp.dhis.util.SqlExceptionUtils.ERR_MSG_SILENT_FALLBACK;
 import static org.hisp.dhis.util.SqlExceptionUtils.relationDoesNotExist;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -64,19 +63,24 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.hisp.dhis.analytics.AggregatedValueMap;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.AnalyticsManager;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
+import org.hisp.dhis.analytics.DimensionItemDictionary;
 import org.hisp.dhis.analytics.MeasureFilter;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
+import org.hisp.dhis.analytics.util.sql.StreamingQueryUtils;
 import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObject;
@@ -86,6 +90,7 @@ import org.hisp.dhis.common.QueryRuntimeException;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.commons.util.SqlHelper;
 import org.hisp.dhis.commons.util.TextUtils;
+import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -95,7 +100,6 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
@@ -164,7 +168,7 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
   @Override
   @Async
-  public Future<Map<String, Object>> getAggregatedDataValues(
+  public Future<AggregatedValueMap> getAggregatedDataValues(
       DataQueryParams params, AnalyticsTableType tableType, int maxLimit) {
     assertQuery(params);
 
@@ -191,24 +195,26 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
       if (params.analyzeOnly()) {
         withExceptionHandling(
             () -> executionPlanStore.addExecutionPlan(immutableParams.getExplainOrderId(), sql));
-        return CompletableFuture.completedFuture(Maps.newHashMap());
+        return CompletableFuture.completedFuture(new AggregatedValueMap());
       }
 
-      Map<String, Object> map;
+      executionPlanStore.addColumnUsage(tableType, getQueryColumns(params));
+
+      AggregatedValueMap map;
 
       try {
         map =
             withExceptionHandling(() -> getKeyValueMap(immutableParams, sql, maxLimit))
-                .orElse(Map.of());
+                .orElseGet(AggregatedValueMap::new);
       } catch (BadSqlGrammarException ex) {
         if (relationDoesNotExist(ex.getSQLException())) {
           throw ex;
         }
         log.warn(ERR_MSG_SILENT_FALLBACK, ex);
-        return CompletableFuture.completedFuture(Maps.newHashMap());
+        return CompletableFuture.completedFuture(new AggregatedValueMap());
       }
 
-      replaceDataPeriodsWithAggregationPeriods(map, params, dataPeriodAggregationPeriodMap);
+      map = replaceDataPeriodsWithAggregationPeriods(map, params, dataPeriodAggregationPeriodMap);
 
       return CompletableFuture.completedFuture(map);
     } catch (DataAccessResourceFailureException ex) {
@@ -220,67 +226,119 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
   }
 
   @Override
-  public void replaceDataPeriodsWithAggregationPeriods(
-      Map<String, Object> dataValueMap,
+  public AggregatedValueMap replaceDataPeriodsWithAggregationPeriods(
+      AggregatedValueMap dataValueMap,
       DataQueryParams params,
       ListMap<DimensionalItemObject, DimensionalItemObject> dataPeriodAggregationPeriodMap) {
-    if (params.isDisaggregation()) {
-      int periodIndex = params.getPeriodDimensionIndex();
-
-      if (periodIndex == -1) {
-        return; // Period is filter, nothing to replace
-      }
-
-      Set<String> keys = new HashSet<>(dataValueMap.keySet());
+    if (!params.isDisaggregation()) {
+      return dataValueMap;
+    }
 
-      for (String key : keys) {
-        String[] keyArray = key.split(DIMENSION_SEP);
+    int periodIndex = params.getPeriodDimensionIndex();
 
-        String periodKey = keyArray[periodIndex];
+    if (periodIndex == -1) {
+      return dataValueMap; // Period is filter, nothing to replace
+    }
 
-        Assert.notNull(periodKey, String.format("Period key cannot be null, key: '%s'", key));
+    DimensionItemDictionary dictionary = dataValueMap.getDictionary();
+    AggregatedValueMap aggregationPeriodValueMap = new AggregatedValueMap(dictionary);
+    Map<Integer, List<DimensionalItemObject>> periodCodeMap = new HashMap<>();
 
-        List<DimensionalItemObject> periods =
-            dataPeriodAggregationPeriodMap.get(PeriodDimension.of(Period.ofNullable(periodKey)));
+    for (int entry : getEntriesInPeriodOrder(dataValueMap, periodIndex)) {
+      int[] key = dataValueMap.getKey(entry);
 
-        Assert.notNull(
-            periods,
-            String.format(
-                "Period list cannot be null, key: '%s', map: '%s'",
-                key, dataPeriodAggregationPeriodMap));
+      List<DimensionalItemObject> periods =
+          periodCodeMap.computeIfAbsent(
+              key[periodIndex],
+              code ->
+                  dataPeriodAggregationPeriodMap.get(
+                      PeriodDimension.of(Period.ofNullable(dictionary.getItem(code)))));
 
-        Object value = dataValueMap.get(key);
+      Assert.notNull(
+          periods,
+          String.format(
+              "Period list cannot be null, key: '%s', map: '%s'",
+              dataValueMap.getStringKey(entry), dataPeriodAggregationPeriodMap));
 
-        for (DimensionalItemObject period : periods) {
-          String[] keyCopy = keyArray.clone();
+      for (DimensionalItemObject item : periods) {
+        PeriodDimension period = (PeriodDimension) item;
 
-          keyCopy[periodIndex] = ((PeriodDimension) period).getIsoDate();
+        key[periodIndex] = dictionary.intern(period.getIsoDate());
 
-          String replacementKey = TextUtils.toString(keyCopy, DIMENSION_SEP);
+        int replacementEntry = aggregationPeriodValueMap.indexOf(key);
 
-          if (dataValueMap.containsKey(replacementKey)
-              && ((PeriodDimension) period).getPeriodType().spansMultipleCalendarYears()) {
-            Object weightedAverage =
-                AnalyticsUtils.calculateYearlyWeightedAverage(
-                    (Double) dataValueMap.get(replacementKey),
-                    (Double) value,
-                    AnalyticsUtils.getBaseMonth(((PeriodDimension) period).getPeriodType()));
+        if (replacementEntry != -1 && period.getPeriodType().spansMultipleCalendarYears()) {
+          Double weightedAverage =
+              AnalyticsUtils.calculateYearlyWeightedAverage(
+                  aggregationPeriodValueMap.getDoubleValue(replacementEntry),
+                  dataValueMap.getDoubleValue(entry),
+                  AnalyticsUtils.getBaseMonth(period.getPeriodType()));
 
-            dataValueMap.put(TextUtils.toString(keyCopy, DIMENSION_SEP), weightedAverage);
-          } else {
-            dataValueMap.put(TextUtils.toString(keyCopy, DIMENSION_SEP), value);
-          }
+          aggregationPeriodValueMap.put(key, weightedAverage.doubleValue());
+        } else if (dataValueMap.isText(entry)) {
+          aggregationPeriodValueMap.putText(key, (String) dataValueMap.getValue(entry));
+        } else {
+          aggregationPeriodValueMap.put(key, dataValueMap.getDoubleValue(entry));
         }
-
-        dataValueMap.remove(key);
       }
     }
+
+    return aggregationPeriodValueMap;
   }
 
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
 
+  /**
+   * Returns the entry indexes of the given map ordered by the data period of each entry, so that
+   * values of earlier data periods are handled first when calculating yearly weighted averages.
+   * Only the distinct periods are sorted; the entries are then bucketed by period.
+   *
+   * @param dataValueMap the {@link AggregatedValueMap}.
+   * @param periodIndex the index of the period dimension.
+   * @return an array of entry indexes.
+   */
+  private int[] getEntriesInPeriodOrder(AggregatedValueMap dataValueMap, int periodIndex) {
+    DimensionItemDictionary dictionary = dataValueMap.getDictionary();
+    int size = dataValueMap.size();
+
+    int[] periodCodes =
+        IntStream.range(0, size)
+            .map(entry -> dataValueMap.getCode(entry, periodIndex))
+            .distinct()
+            .boxed()
+            .sorted(Comparator.comparing(dictionary::getItem))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+    int[] bucketByCode = new int[dictionary.size()];
+
+    for (int bucket = 0; bucket < periodCodes.length; bucket++) {
+      bucketByCode[periodCodes[bucket]] = bucket;
+    }
+
+    int[] buckets = new int[size];
+    int[] offsets = new int[periodCodes.length + 1];
+
+    for (int entry = 0; entry < size; entry++) {
+      buckets[entry] = bucketByCode[dataValueMap.getCode(entry, periodIndex)];
+      offsets[buckets[entry] + 1]++;
+    }
+
+    for (int bucket = 0; bucket < periodCodes.length; bucket++) {
+      offsets[bucket + 1] += offsets[bucket];
+    }
+
+    int[] entries = new int[size];
+
+    for (int entry = 0; entry < size; entry++) {
+      entries[offsets[buckets[entry]]++] = entry;
+    }
+
+    return entries;
+  }
+
   /**
    * For params with subexpression period offsets, inserts the partitions we will need to fetch the
    * offset data from the database.
@@ -299,6 +357,37 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
         .build();
   }
 
+  /**
+   * Returns the names of the analytics table columns which the query for the given parameters
+   * restricts or groups by, for the analytics query log.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a set of column names.
+   */
+  Set<String> getQueryColumns(DataQueryParams params) {
+    Set<String> columns = new HashSet<>();
+
+    params.getDimensionsAndFilters().forEach(dim -> columns.add(dim.getDimensionName()));
+
+    if (params.isDataApproval()) {
+      columns.add(APPROVALLEVEL);
+    }
+
+    if (params.hasStartDate()) {
+      columns.add(PESTARTDATE);
+    }
+
+    if (params.hasEndDate()) {
+      columns.add(PEENDDATE);
+    }
+
+    if (!params.isSkipPartitioning() && params.hasPartitions()) {
+      columns.add(YEAR);
+    }
+
+    return columns;
+  }
+
   /**
    * Generates the query SQL.
    *
@@ -868,52 +957,85 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
   /**
    * Retrieves data from the database based on the given query and SQL and puts into a value key and
-   * value mapping.
+   * value mapping. Rows are streamed from the database directly into the mapping.
    *
    * @param params the {@link DataQueryParams}.
    * @param sql the SQL query.
    * @param maxLimit the max limit of records to return, 0 indicates unlimited.
    */
-  private Map<String, Object> getKeyValueMap(DataQueryParams params, String sql, int maxLimit) {
-    Map<String, Object> map = new HashMap<>();
+  private AggregatedValueMap getKeyValueMap(DataQueryParams params, String sql, int maxLimit) {
+    AggregatedValueMap map = new AggregatedValueMap();
 
     log.debug("Analytics query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    List<DimensionalObject> dimensions = params.getDimensions();
+    int width = dimensions.size();
+    String[] columns = new String[width];
+    String[] queryModsIds = new String[width];
+    int[] key = new int[width];
 
-    int counter = 0;
+    for (int i = 0; i < width; i++) {
+      DimensionalObject dim = dimensions.get(i);
+      queryModsIds[i] = params.getQueryModsId(dim);
 
-    while (rowSet.next()) {
-      boolean exceedsMaxLimit = maxLimit > 0 && ++counter > maxLimit;
-
-      if (exceedsMaxLimit) {
-        throwIllegalQueryEx(ErrorCode.E7128, maxLimit);
+      if (dim.isFixed()) {
+        key[i] = map.intern(getItem(dim.getDimensionName(), queryModsIds[i]));
+      } else {
+        columns[i] = dim.getDimensionName();
       }
+    }
 
-      StringBuilder key = new StringBuilder();
+    boolean text = params.isDataType(TEXT);
+    MutableInt counter = new MutableInt();
 
-      for (DimensionalObject dim : params.getDimensions()) {
-        String value =
-            dim.isFixed() ? dim.getDimensionName() : rowSet.getString(dim.getDimensionName());
-        String queryModsId = params.getQueryModsId(dim);
-        key.append(value).append(queryModsId).append(DIMENSION_SEP);
-      }
+    StreamingQueryUtils.stream(
+        jdbcTemplate,
+        sql,
+        isCursorSupported(),
+        params.getCancellationToken(),
+        resultSet -> {
+          boolean exceedsMaxLimit = maxLimit > 0 && counter.incrementAndGet() > maxLimit;
 
-      key.deleteCharAt(key.length() - 1);
+          if (exceedsMaxLimit) {
+            throwIllegalQueryEx(ErrorCode.E7128, maxLimit);
+          }
 
-      if (params.isDataType(TEXT)) {
-        String value = rowSet.getString(VALUE_ID);
-        map.put(key.toString(), value);
-      } else // NUMERIC
-      {
-        Double value = rowSet.getDouble(VALUE_ID);
-        map.put(key.toString(), value);
-      }
-    }
+          for (int i = 0; i < width; i++) {
+            if (columns[i] != null) {
+              key[i] = map.intern(getItem(resultSet.getString(columns[i]), queryModsIds[i]));
+            }
+          }
+
+          if (text) {
+            map.putText(key, resultSet.getString(VALUE_ID));
+          } else // NUMERIC
+          {
+            map.put(key, resultSet.getDouble(VALUE_ID));
+          }
+        });
 
     return map;
   }
 
+  /**
+   * Indicates whether rows can be read through a server-side cursor for the analytics database.
+   * Only PostgreSQL requires a cursor for honoring the fetch size.
+   */
+  private boolean isCursorSupported() {
+    return sqlBuilder.getDatabase() == Database.POSTGRESQL;
+  }
+
+  /**
+   * Returns the dimension item identifier for the given value and query modifiers identifier.
+   *
+   * @param value the value, can be null.
+   * @param queryModsId the query modifiers identifier, can be empty.
+   * @return the dimension item identifier.
+   */
+  private String getItem(String value, String queryModsId) {
+    return queryModsId.isEmpty() ? String.valueOf(value) : value + queryModsId;
+  }
+
   /**
    * Generates a list of the dimension names of the given dimensions where each dimension name is
    * quoted. Dimensions which are considered fixed will be excluded.
@@ -47,6 +47,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
+import org.hisp.dhis.analytics.util.sql.StreamingQueryUtils;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.DimensionalItemObject;
@@ -55,12 +56,12 @@ import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.commons.util.SqlHelper;
 import org.hisp.dhis.commons.util.TextUtils;
+import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.util.ObjectUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -108,17 +109,20 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
 
     log.debug("Analytics raw data query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    StreamingQueryUtils.stream(
+        jdbcTemplate,
+        sql,
+        sqlBuilder.getDatabase() == Database.POSTGRESQL,
+        params.getCancellationToken(),
+        resultSet -> {
+          grid.addRow();
 
-    while (rowSet.next()) {
-      grid.addRow();
-
-      for (DimensionalObject dim : dimensions) {
-        grid.addValue(rowSet.getString(dim.getDimensionName()));
-      }
+          for (DimensionalObject dim : dimensions) {
+            grid.addValue(resultSet.getString(dim.getDimensionName()));
+          }
 
-      grid.addValue(rowSet.getDouble("value"));
-    }
+          grid.addValue(resultSet.getDouble("value"));
+        });
 
     return grid;
   }
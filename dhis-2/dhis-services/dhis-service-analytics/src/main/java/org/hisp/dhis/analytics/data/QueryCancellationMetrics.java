@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.annotation.CheckForNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer counters for cancelled analytics queries, exposed through the Prometheus scrape
+ * endpoint at {@code /api/metrics}:
+ *
+ * <ul>
+ *   <li>{@code dhis.analytics.queries.cancelled} (tag {@code reason}: {@code deadline}): analytics
+ *       requests whose database queries were cancelled because the deadline passed
+ * </ul>
+ *
+ * <p>All counters are no-ops when no {@link MeterRegistry} is available in the application context.
+ */
+@Component
+public class QueryCancellationMetrics {
+
+  static final String CANCELLED_QUERIES = "dhis.analytics.queries.cancelled";
+
+  static final String REASON_DEADLINE = "deadline";
+
+  private final MeterRegistry registry;
+
+  @Autowired
+  public QueryCancellationMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+    this(registryProvider.getIfAvailable());
+  }
+
+  QueryCancellationMetrics(@CheckForNull MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /** Counts a request whose queries were cancelled because the deadline passed. */
+  public void countDeadlineExceeded() {
+    count(REASON_DEADLINE);
+  }
+
+  private void count(String reason) {
+    if (registry != null) {
+      registry.counter(CANCELLED_QUERIES, "reason", reason).increment();
+    }
+  }
+}
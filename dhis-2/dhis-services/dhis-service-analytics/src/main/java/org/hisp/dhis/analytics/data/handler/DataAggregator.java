@@ -39,6 +39,7 @@ import static org.hisp.dhis.common.DimensionConstants.DATA_X_DIM_ID;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.analytics.AggregatedValueMemo;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.Grid;
@@ -139,7 +140,8 @@ public class DataAggregator {
   /**
    * Performs pre-handling of the given query and returns the immutable, handled query. If the query
    * has a single indicator as item for the data filter, the filter is set as a dimension and
-   * removed as a filter.
+   * removed as a filter. If the query does not have an {@link AggregatedValueMemo}, a new memo is
+   * set, which is shared by the queries derived from the query.
    *
    * @param params the {@link DataQueryParams}.
    * @return a {@link DataQueryParams}.
@@ -162,6 +164,10 @@ public class DataAggregator {
               .build();
     }
 
+    if (!params.hasAggregatedValueMemo()) {
+      params = newBuilder(params).withAggregatedValueMemo(new AggregatedValueMemo()).build();
+    }
+
     return params;
   }
 
@@ -59,7 +59,6 @@ import static org.hisp.dhis.analytics.OutputFormat.ANALYTICS;
 import static org.hisp.dhis.analytics.event.EventQueryParams.fromDataQueryParams;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.convertDxToOperand;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.findDimensionalItems;
-import static org.hisp.dhis.analytics.util.AnalyticsUtils.getDoubleMap;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.getRoundedValue;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.getRoundedValueObject;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.hasPeriod;
@@ -112,26 +111,35 @@ import static org.hisp.dhis.util.ObjectUtils.firstNonNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.hisp.dhis.analytics.AggregatedValueMap;
+import org.hisp.dhis.analytics.AggregatedValueMemo;
 import org.hisp.dhis.analytics.AnalyticsManager;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryGroups;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataQueryParams.Builder;
 import org.hisp.dhis.analytics.DimensionItem;
+import org.hisp.dhis.analytics.QueryCancellationToken;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.data.QueryCancellationMetrics;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.event.data.EventAggregateService;
 import org.hisp.dhis.analytics.resolver.ExpressionResolver;
@@ -145,12 +153,14 @@ import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.ExecutionPlan;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.QueryRuntimeException;
 import org.hisp.dhis.common.ReportingRateMetric;
 import org.hisp.dhis.constant.ConstantService;
 import org.hisp.dhis.dataelement.DataElementOperand;
 import org.hisp.dhis.dataelement.DataElementOperand.TotalType;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.expressiondimensionitem.ExpressionDimensionItem;
+import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.indicator.Indicator;
 import org.hisp.dhis.indicator.IndicatorValue;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -196,6 +206,8 @@ public class DataHandler {
 
   private final ExecutionPlanStore executionPlanStore;
 
+  private final QueryCancellationMetrics cancellationMetrics;
+
   /**
    * Adds performance metrics.
    *
@@ -273,13 +285,13 @@ public class DataHandler {
                 .withIncludeNumDen(false)
                 .build();
 
-        Map<String, Object> aggregatedDataMap =
+        AggregatedValueMap aggregatedDataMap =
             getAggregatedDataValueMapObjectTyped(dataSourceParams);
 
-        for (Map.Entry<String, Object> entry : aggregatedDataMap.entrySet()) {
-          Object value = getRoundedValueObject(params, entry.getValue());
+        for (int entry = 0; entry < aggregatedDataMap.size(); entry++) {
+          Object value = getRoundedValueObject(params, aggregatedDataMap.getValue(entry));
 
-          grid.addRow().addValues(entry.getKey().split(DIMENSION_SEP)).addValue(value);
+          grid.addRow().addValues(aggregatedDataMap.getItems(entry)).addValue(value);
         }
       }
     }
@@ -399,13 +411,12 @@ public class DataHandler {
       DataQueryParams dataSourceParams =
           newBuilder(params).retainDataDimension(DATA_ELEMENT).withIncludeNumDen(false).build();
 
-      Map<String, Object> aggregatedDataMap =
-          getAggregatedDataValueMapObjectTyped(dataSourceParams);
+      AggregatedValueMap aggregatedDataMap = getAggregatedDataValueMapObjectTyped(dataSourceParams);
 
-      for (Map.Entry<String, Object> entry : aggregatedDataMap.entrySet()) {
-        Object value = getRoundedValueObject(params, entry.getValue());
+      for (int entry = 0; entry < aggregatedDataMap.size(); entry++) {
+        Object value = getRoundedValueObject(params, aggregatedDataMap.getValue(entry));
 
-        grid.addRow().addValues(entry.getKey().split(DIMENSION_SEP)).addValue(value);
+        grid.addRow().addValues(aggregatedDataMap.getItems(entry)).addValue(value);
 
         if (params.isIncludeNumDen()) {
           grid.addNullValues(NUMERATOR_DENOMINATOR_PROPERTIES_COUNT);
@@ -517,7 +528,7 @@ public class DataHandler {
   @Transactional(readOnly = true)
   public void addDynamicDimensionValues(DataQueryParams params, Grid grid) {
     if (params.getDataDimensionAndFilterOptions().isEmpty() && !params.isSkipData()) {
-      Map<String, Double> aggregatedDataMap =
+      AggregatedValueMap aggregatedDataMap =
           getAggregatedDataValueMap(newBuilder(params).withIncludeNumDen(false).build());
 
       fillGridWithAggregatedDataMap(params, grid, aggregatedDataMap);
@@ -540,7 +551,7 @@ public class DataHandler {
               .withIncludeNumDen(false)
               .build();
 
-      Map<String, Double> aggregatedDataMap =
+      AggregatedValueMap aggregatedDataMap =
           getAggregatedValidationResultMapObjectTyped(dataSourceParams);
 
       fillGridWithAggregatedDataMap(params, grid, aggregatedDataMap);
@@ -592,26 +603,31 @@ public class DataHandler {
    * @param params the {@link DataQueryParams}.
    * @return a mapping between validation results and counts of them
    */
-  private Map<String, Double> getAggregatedValidationResultMapObjectTyped(DataQueryParams params) {
-    return getDoubleMap(getAggregatedValueMap(params, VALIDATION_RESULT, newArrayList()));
+  private AggregatedValueMap getAggregatedValidationResultMapObjectTyped(DataQueryParams params) {
+    return getAggregatedValueMap(params, VALIDATION_RESULT, newArrayList());
   }
 
   /**
-   * Fill grid with aggregated data map with key and value
+   * Fill grid with the numeric values of the aggregated data map with key and value
    *
    * @param params the {@link DataQueryParams}.
    * @param grid the grid
    * @param aggregatedDataMap the aggregated data map
    */
   private void fillGridWithAggregatedDataMap(
-      DataQueryParams params, Grid grid, Map<String, Double> aggregatedDataMap) {
-    for (Map.Entry<String, Double> entry : aggregatedDataMap.entrySet()) {
+      DataQueryParams params, Grid grid, AggregatedValueMap aggregatedDataMap) {
+    for (int entry = 0; entry < aggregatedDataMap.size(); entry++) {
+      if (aggregatedDataMap.isText(entry)) {
+        continue;
+      }
+
+      Double doubleValue = aggregatedDataMap.getDoubleValue(entry);
       Number value =
           params.isSkipRounding()
-              ? entry.getValue()
-              : (Number) getRoundedValueObject(params, entry.getValue());
+              ? doubleValue
+              : (Number) getRoundedValueObject(params, doubleValue);
 
-      grid.addRow().addValues(entry.getKey().split(DIMENSION_SEP)).addValue(value);
+      grid.addRow().addValues(aggregatedDataMap.getItems(entry)).addValue(value);
 
       if (params.isIncludeNumDen()) {
         grid.addNullValues(NUMERATOR_DENOMINATOR_PROPERTIES_COUNT);
@@ -782,7 +798,7 @@ public class DataHandler {
    * @return a mapping between a dimension key and the aggregated value.
    */
   private Map<String, Double> getAggregatedCompletenessValueMap(DataQueryParams params) {
-    return getDoubleMap(getAggregatedValueMap(params, COMPLETENESS, newArrayList()));
+    return getAggregatedValueMap(params, COMPLETENESS, newArrayList()).toDoubleMap();
   }
 
   /**
@@ -797,7 +813,7 @@ public class DataHandler {
     List<Function<DataQueryParams, List<DataQueryParams>>> queryGroupers = newArrayList();
     queryGroupers.add(queryPlanner::groupByStartEndDateRestriction);
 
-    return getDoubleMap(getAggregatedValueMap(params, COMPLETENESS_TARGET, queryGroupers));
+    return getAggregatedValueMap(params, COMPLETENESS_TARGET, queryGroupers).toDoubleMap();
   }
 
   /**
@@ -820,9 +836,9 @@ public class DataHandler {
 
     DataQueryParams operandParams = getOperandDataQueryParams(params, operands, totalType);
 
-    Map<String, Object> aggregatedDataMap = getAggregatedDataValueMapObjectTyped(operandParams);
-
-    aggregatedDataMap = convertDxToOperand(aggregatedDataMap, totalType);
+    Map<String, Object> aggregatedDataMap =
+        convertDxToOperand(
+            getAggregatedDataValueMapObjectTyped(operandParams).toStringKeyMap(), totalType);
 
     for (Map.Entry<String, Object> entry : aggregatedDataMap.entrySet()) {
       Object value = getRoundedValueObject(operandParams, entry.getValue());
@@ -1078,13 +1094,12 @@ public class DataHandler {
 
   /**
    * Generates aggregated values for the given query. Creates a mapping between a dimension key and
-   * the aggregated value. The dimension key is a concatenation of the identifiers of the dimension
-   * items separated by "-".
+   * the aggregated value. The dimension key is composed of the identifiers of the dimension items.
    *
    * @param params the {@link DataQueryParams}.
-   * @return a mapping between a dimension key and the aggregated value.
+   * @return an {@link AggregatedValueMap} of dimension keys and aggregated values.
    */
-  private Map<String, Object> getAggregatedDataValueMapObjectTyped(DataQueryParams params) {
+  private AggregatedValueMap getAggregatedDataValueMapObjectTyped(DataQueryParams params) {
     return getAggregatedValueMap(params, DATA_VALUE, newArrayList());
   }
 
@@ -1186,7 +1201,7 @@ public class DataHandler {
    *     report.
    */
   private Map<String, Double> getAggregatedOrganisationUnitTargetMap(DataQueryParams params) {
-    return getDoubleMap(getAggregatedValueMap(params, ORG_UNIT_TARGET, newArrayList()));
+    return getAggregatedValueMap(params, ORG_UNIT_TARGET, newArrayList()).toDoubleMap();
   }
 
   /**
@@ -1437,16 +1452,17 @@ public class DataHandler {
   }
 
   /**
-   * Generates a mapping between a dimension key and the aggregated value. The dimension key is a
-   * concatenation of the identifiers of the dimension items separated by "-".
+   * Generates a mapping between a dimension key and the aggregated value. The dimension key is
+   * composed of the identifiers of the dimension items. The values of all planned queries are
+   * merged into a single {@link AggregatedValueMap} backed by one dictionary of dimension items.
    *
    * @param params the {@link DataQueryParams}.
    * @param tableType the {@link AnalyticsTableType}.
    * @param queryGroupers the list of additional query groupers to use for query planning, use empty
    *     list for none.
-   * @return a mapping between a dimension key and aggregated values.
+   * @return an {@link AggregatedValueMap} of dimension keys and aggregated values.
    */
-  private Map<String, Object> getAggregatedValueMap(
+  private AggregatedValueMap getAggregatedValueMap(
       DataQueryParams params,
       AnalyticsTableType tableType,
       List<Function<DataQueryParams, List<DataQueryParams>>> queryGroupers) {
@@ -1471,10 +1487,10 @@ public class DataHandler {
         queryGroups.getLargestGroupSize(),
         optimalQueries);
 
-    Map<String, Object> map = new HashMap<>();
+    AggregatedValueMap map = new AggregatedValueMap();
 
     for (List<DataQueryParams> queries : queryGroups.getSequentialQueries()) {
-      executeQueries(tableType, maxLimit, map, queries);
+      executeQueries(tableType, maxLimit, map, queries, params.getCancellationToken());
     }
 
     timer.getTime("Got analytics values");
@@ -1483,32 +1499,57 @@ public class DataHandler {
   }
 
   /**
-   * Executes the given list of queries in parallel.
+   * Executes the given list of queries in parallel. Values of data items which are memoized for the
+   * request are taken from the memo, and only the remaining data items are fetched. When the
+   * deadline of the given cancellation token passes before all queries have completed, or the token
+   * is cancelled, the remaining queries are cancelled.
    *
    * @param tableType the {@link AnalyticsTableType}.
    * @param maxLimit the max limit of records to retrieve.
    * @param map the map of metadata identifiers to data values.
    * @param queries the list of {@link DataQueryParams} to execute.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   * @throws QueryRuntimeException if the queries were cancelled.
    */
   private void executeQueries(
       AnalyticsTableType tableType,
       int maxLimit,
-      Map<String, Object> map,
-      List<DataQueryParams> queries) {
-    List<Future<Map<String, Object>>> futures = new ArrayList<>();
+      AggregatedValueMap map,
+      List<DataQueryParams> queries,
+      QueryCancellationToken cancellationToken) {
+    List<DataQueryParams> fetchQueries = new ArrayList<>();
+    List<Future<AggregatedValueMap>> futures = new ArrayList<>();
+    Set<String> batchKeys = new HashSet<>();
 
     for (DataQueryParams query : queries) {
-      futures.add(analyticsManager.getAggregatedDataValues(query, tableType, maxLimit));
+      DataQueryParams fetchQuery = getMemoizedValues(query, tableType, map, batchKeys);
+
+      if (fetchQuery != null) {
+        fetchQueries.add(fetchQuery);
+        futures.add(analyticsManager.getAggregatedDataValues(fetchQuery, tableType, maxLimit));
+      }
     }
 
-    for (Future<Map<String, Object>> future : futures) {
+    for (int i = 0; i < futures.size(); i++) {
       try {
-        Map<String, Object> taskValues = future.get();
+        AggregatedValueMap taskValues = getResult(futures.get(i), cancellationToken);
 
         if (taskValues != null) {
           map.putAll(taskValues);
+          putMemoizedValues(fetchQueries.get(i), tableType, taskValues);
         }
+      } catch (TimeoutException ex) {
+        cancelQueries(futures, cancellationToken);
+        throw new QueryRuntimeException(ErrorCode.E7136);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        cancelQueries(futures, cancellationToken);
+        throw new QueryRuntimeException(ErrorCode.E7136);
       } catch (Exception ex) {
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+          cancelQueries(futures, cancellationToken);
+        }
+
         log.error(getStackTrace(ex));
         log.error(getStackTrace(ex.getCause()));
 
@@ -1522,6 +1563,99 @@ public class DataHandler {
     }
   }
 
+  /**
+   * Puts the values of the given query which are memoized for the request into the given map, and
+   * returns the query for the data items which remain to be fetched. Data items which are fetched
+   * by another query of the batch are not fetched again.
+   *
+   * @param query the {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param map the map of metadata identifiers to data values.
+   * @param batchKeys the keys of the data items fetched by the batch.
+   * @return the query to fetch, or null if all values were memoized or are fetched by the batch.
+   */
+  private DataQueryParams getMemoizedValues(
+      DataQueryParams query,
+      AnalyticsTableType tableType,
+      AggregatedValueMap map,
+      Set<String> batchKeys) {
+    AggregatedValueMemo memo = query.getAggregatedValueMemo();
+
+    if (memo == null || !memo.isMemoizable(query)) {
+      return query;
+    }
+
+    List<DimensionalItemObject> missingItems = memo.getValues(query, tableType, map, batchKeys);
+
+    if (missingItems.isEmpty()) {
+      log.debug("Got values of all data items from memo or batch");
+      return null;
+    }
+
+    if (missingItems.size() == query.getDimensionOptions(DATA_X_DIM_ID).size()) {
+      return query;
+    }
+
+    return newBuilder(query).withDataDimensionItems(missingItems).build();
+  }
+
+  /**
+   * Memoizes the given values of the given query for the request.
+   *
+   * @param query the {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param values the values of the query.
+   */
+  private void putMemoizedValues(
+      DataQueryParams query, AnalyticsTableType tableType, AggregatedValueMap values) {
+    AggregatedValueMemo memo = query.getAggregatedValueMemo();
+
+    if (memo != null && memo.isMemoizable(query)) {
+      memo.putValues(query, tableType, values);
+    }
+  }
+
+  /**
+   * Waits for the result of the given query task, at most until the deadline of the given
+   * cancellation token.
+   *
+   * @param future the {@link Future} of the query task.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   * @return the result of the query task.
+   */
+  private AggregatedValueMap getResult(
+      Future<AggregatedValueMap> future, QueryCancellationToken cancellationToken)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    if (cancellationToken != null && cancellationToken.hasDeadline()) {
+      return future.get(cancellationToken.getRemainingNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    return future.get();
+  }
+
+  /**
+   * Cancels the given query tasks and the database statements of the given cancellation token.
+   *
+   * @param futures the list of {@link Future} of the query tasks.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   */
+  private void cancelQueries(
+      List<Future<AggregatedValueMap>> futures, QueryCancellationToken cancellationToken) {
+    boolean deadlineExceeded = cancellationToken != null && cancellationToken.isExpired();
+
+    if (cancellationToken != null) {
+      cancellationToken.cancel();
+    }
+
+    futures.forEach(future -> future.cancel(true));
+
+    if (deadlineExceeded) {
+      cancellationMetrics.countDeadlineExceeded();
+    }
+
+    log.warn("Cancelled analytics queries, deadline exceeded: {}", deadlineExceeded);
+  }
+
   /**
    * Gets the number of available cores. Uses explicit number from system setting if available.
    * Detects number of cores from current server runtime if not.
@@ -1535,14 +1669,13 @@ public class DataHandler {
 
   /**
    * Generates aggregated values for the given query. Creates a mapping between a dimension key and
-   * the aggregated value. The dimension key is a concatenation of the identifiers of the dimension
-   * items separated by "-".
+   * the aggregated value. The dimension key is composed of the identifiers of the dimension items.
    *
    * @param params the {@link DataQueryParams}.
-   * @return a mapping between a dimension key and the aggregated value.
+   * @return an {@link AggregatedValueMap} of dimension keys and aggregated values.
    */
-  private Map<String, Double> getAggregatedDataValueMap(DataQueryParams params) {
-    return getDoubleMap(getAggregatedValueMap(params, DATA_VALUE, newArrayList()));
+  private AggregatedValueMap getAggregatedDataValueMap(DataQueryParams params) {
+    return getAggregatedValueMap(params, DATA_VALUE, newArrayList());
   }
 
   void require(DataAggregator dataAggregator) {
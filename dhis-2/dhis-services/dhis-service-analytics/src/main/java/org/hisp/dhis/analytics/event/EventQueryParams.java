@@ -606,10 +606,10 @@ public class EventQueryParams extends DataQueryParams {
     }
   }
 
-  /** Returns a unique key representing this query. The key is suitable for caching. */
+  /** Returns a unique {@link QueryKey}, including the properties of the event query. */
   @Override
-  public String getKey() {
-    QueryKey key = super.getQueryKey();
+  protected QueryKey getQueryKey(boolean canonical) {
+    QueryKey key = super.getQueryKey(canonical);
 
     items.forEach(e -> key.add("item", "[" + e.getKey() + "]"));
     itemFilters.forEach(e -> key.add("itemFilter", "[" + e.getKey() + "]"));
@@ -643,8 +643,7 @@ public class EventQueryParams extends DataQueryParams {
         .addIgnoreNull("enrollmentStatus", enrollmentStatus)
         .addIgnoreNull("includeMetadataDetails", includeMetadataDetails)
         .addIgnoreNull("dataIdScheme", dataIdScheme)
-        .addIgnoreNull("option", option)
-        .build();
+        .addIgnoreNull("option", option);
   }
 
   // -------------------------------------------------------------------------
@@ -63,6 +63,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.hisp.dhis.analytics.TimeField;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.common.CteContext;
@@ -85,6 +86,7 @@ import org.hisp.dhis.analytics.util.sql.SelectBuilder;
 import org.hisp.dhis.analytics.util.sql.SqlAliasReplacer;
 import org.hisp.dhis.analytics.util.sql.SqlColumnParser;
 import org.hisp.dhis.analytics.util.sql.SqlWhereClauseExtractor;
+import org.hisp.dhis.analytics.util.sql.StreamingQueryUtils;
 import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.common.DateRange;
 import org.hisp.dhis.common.DimensionItemType;
@@ -99,6 +101,7 @@ import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.ValueStatus;
 import org.hisp.dhis.common.ValueType;
 import org.hisp.dhis.commons.util.SqlHelper;
+import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.sql.AnalyticsSqlBuilder;
 import org.hisp.dhis.db.util.AnalyticsTableNames;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
@@ -210,38 +213,46 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
       EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics enrollment query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
-    List<String> columnLabels = getColumnLabels(rowSet);
-
-    int rowsRed = 0;
+    List<String> columnLabels = new ArrayList<>();
+    MutableInt rowsRed = new MutableInt();
 
     grid.setLastDataRow(true);
 
-    while (rowSet.next()) {
-      if (params.isComingFromQuery()) {
-        rowsRed++;
-        if (isLastRowAfterPageSize(params, unlimitedPaging, rowsRed)) {
-          grid.setLastDataRow(false);
-          continue; // skips the last row in n+1 query scenario
-        }
-      }
+    StreamingQueryUtils.streamRowSet(
+        jdbcTemplate,
+        sql,
+        sqlBuilder.getDatabase() == Database.POSTGRESQL,
+        params.getCancellationToken(),
+        rowSet -> {
+          if (columnLabels.isEmpty()) {
+            columnLabels.addAll(getColumnLabels(rowSet));
+          }
 
-      grid.addRow();
+          if (params.isComingFromQuery()) {
+            rowsRed.increment();
+            if (isLastRowAfterPageSize(params, unlimitedPaging, rowsRed.intValue())) {
+              grid.setLastDataRow(false);
+              return; // skips the last row in n+1 query scenario
+            }
+          }
 
-      // columnOffset is synchronization aid for <<grid headers>> and <<rowSet columns>> indexes.
-      // The amount of headers must not match to amount of columns due the additional ones
-      // describing the repeating of repeatable stage.
-      int columnOffset = 0;
+          grid.addRow();
 
-      for (int i = 0; i < grid.getHeaders().size(); ++i) {
-        addGridValue(grid, grid.getHeaders().get(i), i + 1 + columnOffset, rowSet, params);
+          // columnOffset is synchronization aid for <<grid headers>> and <<rowSet columns>>
+          // indexes. The amount of headers must not match to amount of columns due the additional
+          // ones describing the repeating of repeatable stage.
+          int columnOffset = 0;
 
-        if (params.isRowContext()) {
-          addValueOriginInfo(grid, rowSet, grid.getHeaders().get(i).getName());
-          columnOffset += getRowSetOriginItems(columnLabels, grid.getHeaders().get(i).getName());
-        }
-      }
-    }
+          for (int i = 0; i < grid.getHeaders().size(); ++i) {
+            addGridValue(grid, grid.getHeaders().get(i), i + 1 + columnOffset, rowSet, params);
+
+            if (params.isRowContext()) {
+              addValueOriginInfo(grid, rowSet, grid.getHeaders().get(i).getName());
+              columnOffset +=
+                  getRowSetOriginItems(columnLabels, grid.getHeaders().get(i).getName());
+            }
+          }
+        });
   }
 
   /**
@@ -54,10 +54,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.math3.util.Precision;
 import org.hisp.dhis.analytics.OrgUnitField;
 import org.hisp.dhis.analytics.Rectangle;
@@ -76,6 +78,7 @@ import org.hisp.dhis.analytics.table.AbstractJdbcTableManager;
 import org.hisp.dhis.analytics.table.EventAnalyticsColumnName;
 import org.hisp.dhis.analytics.table.util.ColumnMapper;
 import org.hisp.dhis.analytics.util.sql.SelectBuilder;
+import org.hisp.dhis.analytics.util.sql.StreamingQueryUtils;
 import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObject;
@@ -89,6 +92,7 @@ import org.hisp.dhis.common.ValueType;
 import org.hisp.dhis.commons.util.ExpressionUtils;
 import org.hisp.dhis.commons.util.SqlHelper;
 import org.hisp.dhis.commons.util.TextUtils;
+import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.sql.AnalyticsSqlBuilder;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.option.Option;
@@ -192,38 +196,39 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
   private void getEvents(EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics event query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = queryForRows(sql);
-
-    int rowsRed = 0;
+    MutableInt rowsRed = new MutableInt();
 
     grid.setLastDataRow(true);
 
-    while (rowSet.next()) {
-      if (params.isComingFromQuery()) {
-        rowsRed++;
-        if (isLastRowAfterPageSize(params, unlimitedPaging, rowsRed)) {
-          grid.setLastDataRow(false);
-          continue; // skips the last row in n+1 query scenario
-        }
-      }
-
-      grid.addRow();
-
-      // columnIndex tracks the actual SQL column position (1-indexed)
-      int columnIndex = 1;
+    streamRows(
+        params,
+        sql,
+        rowSet -> {
+          if (params.isComingFromQuery()) {
+            rowsRed.increment();
+            if (isLastRowAfterPageSize(params, unlimitedPaging, rowsRed.intValue())) {
+              grid.setLastDataRow(false);
+              return; // skips the last row in n+1 query scenario
+            }
+          }
 
-      for (GridHeader header : grid.getHeaders()) {
-        if (LONGITUDE.getItem().equals(header.getName())
-            || LATITUDE.getItem().equals(header.getName())) {
-          double val = rowSet.getDouble(columnIndex);
-          grid.addValue(Precision.round(val, COORD_DEC));
-          columnIndex++;
-        } else {
-          addGridValue(grid, header, columnIndex, rowSet, params);
-          columnIndex++;
-        }
-      }
-    }
+          grid.addRow();
+
+          // columnIndex tracks the actual SQL column position (1-indexed)
+          int columnIndex = 1;
+
+          for (GridHeader header : grid.getHeaders()) {
+            if (LONGITUDE.getItem().equals(header.getName())
+                || LATITUDE.getItem().equals(header.getName())) {
+              double val = rowSet.getDouble(columnIndex);
+              grid.addValue(Precision.round(val, COORD_DEC));
+              columnIndex++;
+            } else {
+              addGridValue(grid, header, columnIndex, rowSet, params);
+              columnIndex++;
+            }
+          }
+        });
   }
 
   @Override
@@ -262,15 +267,15 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
 
     log.debug("Analytics event cluster SQL: '{}'", sql);
 
-    SqlRowSet rowSet = queryForRows(sql);
-
-    while (rowSet.next()) {
-      grid.addRow()
-          .addValue(rowSet.getLong("count"))
-          .addValue(rowSet.getString("center"))
-          .addValue(rowSet.getString("extent"))
-          .addValue(rowSet.getString("points"));
-    }
+    streamRows(
+        params,
+        sql,
+        rowSet ->
+            grid.addRow()
+                .addValue(rowSet.getLong("count"))
+                .addValue(rowSet.getString("center"))
+                .addValue(rowSet.getString("extent"))
+                .addValue(rowSet.getString("points")));
 
     return grid;
   }
@@ -329,26 +334,42 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
 
     final String finalSqlValue = sql;
 
-    SqlRowSet rowSet = withExceptionHandling(() -> queryForRows(finalSqlValue)).get();
+    withExceptionHandling(
+        () ->
+            streamRows(
+                params,
+                finalSqlValue,
+                rowSet -> {
+                  Object extent = rowSet.getObject(COL_EXTENT);
 
-    if (rowSet.next()) {
-      Object extent = rowSet.getObject(COL_EXTENT);
-
-      rectangle.setCount(rowSet.getLong(COL_COUNT));
-      rectangle.setExtent(extent != null ? String.valueOf(rowSet.getObject(COL_EXTENT)) : null);
-    }
+                  rectangle.setCount(rowSet.getLong(COL_COUNT));
+                  rectangle.setExtent(extent != null ? String.valueOf(extent) : null);
+                }));
 
     return rectangle;
   }
 
-  private SqlRowSet queryForRows(String sql) {
+  /**
+   * Executes the given query and streams each row to the given handler, without loading the whole
+   * result into memory first.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param sql the SQL query.
+   * @param rowHandler the handler to invoke for each row, with the row set positioned on the row.
+   */
+  private void streamRows(EventQueryParams params, String sql, Consumer<SqlRowSet> rowHandler) {
     try {
-      return jdbcTemplate.queryForRowSet(sql);
+      StreamingQueryUtils.streamRowSet(
+          jdbcTemplate,
+          sql,
+          sqlBuilder.getDatabase() == Database.POSTGRESQL,
+          params.getCancellationToken(),
+          rowHandler);
     } catch (DataAccessResourceFailureException ex) {
       log.warn(E7131.getMessage(), ex);
       throw new QueryRuntimeException(E7131);
     } catch (DataIntegrityViolationException ex) {
-      return ExceptionHandler.handle(ex);
+      ExceptionHandler.handle(ex);
     }
   }
 
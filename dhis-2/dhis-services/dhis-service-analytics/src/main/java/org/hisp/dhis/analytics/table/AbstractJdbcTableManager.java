@@ -325,6 +325,14 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     return hooks.size();
   }
 
+  @Override
+  public boolean hasAnalyticsTableSqlHooks() {
+    return !tableHookService
+        .getByPhaseAndAnalyticsTableType(
+            AnalyticsTablePhase.ANALYTICS_TABLE_POPULATED, getAnalyticsTableType())
+        .isEmpty();
+  }
+
   /**
    * Swaps a database table, meaning drops the main table and renames the staging table to become
    * the main table.
@@ -332,7 +340,7 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
    * @param stagingTable the staging table.
    * @param mainTableName the main table name.
    */
-  private void swapTable(Table stagingTable, String mainTableName) {
+  protected void swapTable(Table stagingTable, String mainTableName) {
     if (sqlBuilder.supportsMultiStatements()) {
       executeSilently(sqlBuilder.swapTable(stagingTable, mainTableName));
     } else {
@@ -363,7 +371,7 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
    * @param name the table name.
    * @return true if a table with the given name exists.
    */
-  private boolean tableExists(String name) {
+  protected boolean tableExists(String name) {
     return !jdbcTemplate.queryForList(sqlBuilder.tableExists(name)).isEmpty();
   }
 
@@ -442,14 +450,9 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
    */
   protected AnalyticsTable getLatestAnalyticsTable(
       AnalyticsTableUpdateParams params, List<AnalyticsTableColumn> columns) {
-    SystemSettings settings = settingsProvider.getCurrentSettings();
-    Date lastFullTableUpdate = settings.getLastSuccessfulAnalyticsTablesUpdate();
-    Date lastLatestPartitionUpdate = settings.getLastSuccessfulLatestAnalyticsPartitionUpdate();
-    Date lastAnyTableUpdate = DateUtils.getLatest(lastLatestPartitionUpdate, lastFullTableUpdate);
-
-    Assert.isTrue(
-        lastFullTableUpdate.getTime() > 0L,
-        "A full analytics table update must be run prior to a latest partition update");
+    Date lastFullTableUpdate =
+        settingsProvider.getCurrentSettings().getLastSuccessfulAnalyticsTablesUpdate();
+    Date lastAnyTableUpdate = getLastAnyTableUpdate();
 
     Logged logged = analyticsTableSettings.getTableLogged();
     Date endDate = params.getStartTime();
@@ -474,6 +477,25 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     return table;
   }
 
+  /**
+   * Returns the time of the last successful full or "latest" partial analytics table update, which
+   * marks the start of the data updated since.
+   *
+   * @return the time of the last successful analytics table update.
+   * @throws IllegalArgumentException if a full analytics table update was never run.
+   */
+  protected Date getLastAnyTableUpdate() {
+    SystemSettings settings = settingsProvider.getCurrentSettings();
+    Date lastFullTableUpdate = settings.getLastSuccessfulAnalyticsTablesUpdate();
+    Date lastLatestPartitionUpdate = settings.getLastSuccessfulLatestAnalyticsPartitionUpdate();
+
+    Assert.isTrue(
+        lastFullTableUpdate.getTime() > 0L,
+        "A full analytics table update must be run prior to a latest partition update");
+
+    return DateUtils.getLatest(lastLatestPartitionUpdate, lastFullTableUpdate);
+  }
+
   /**
    * Executes the given SQL statement. Logs and times the operation.
    *
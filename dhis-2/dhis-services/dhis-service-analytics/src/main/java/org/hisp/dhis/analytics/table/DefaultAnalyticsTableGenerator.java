@@ -98,7 +98,9 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
     progress.startingProcess(
         "Analytics table update process{}", (params.isLatestUpdate() ? " (latest partition)" : ""));
 
-    if (!params.isSkipResourceTables() && !params.isLatestUpdate()) {
+    final boolean updateResourceTables = !params.isSkipResourceTables() && !params.isLatestUpdate();
+
+    if (updateResourceTables) {
       generateResourceTablesInternal(progress);
 
       if (settings.isAnalyticsDatabase()) {
@@ -135,7 +137,14 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
     progress.runStage(() -> updateLastSuccessfulSystemSettings(params, clock));
 
     progress.startingStage("Invalidate analytics caches", SKIP_STAGE);
-    progress.runStage(analyticsCache::invalidateAll);
+
+    // Partial updates invalidate the entries of the updated tables only, unless resource tables
+    // were regenerated
+
+    if (!params.isPartialUpdate() || updateResourceTables) {
+      progress.runStage(analyticsCache::invalidateAll);
+    }
+
     progress.runStage(outliersCache::invalidateAll);
     clock.logTime("Analytics tables updated");
     progress.completedProcess("Analytics tables updated: {}", clock.time());
@@ -29,6 +29,7 @@
  */
 package org.hisp.dhis.analytics.table;
 
+import static java.util.stream.Collectors.toSet;
 import static org.hisp.dhis.analytics.util.AnalyticsIndexHelper.getIndexes;
 import static org.hisp.dhis.commons.util.TextUtils.format;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM_OUTLIER;
@@ -36,14 +37,20 @@ import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_STAGE;
 import static org.hisp.dhis.util.DateUtils.toLongDate;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.analyze.AnalyticsIndexAdvisor;
+import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
@@ -75,6 +82,10 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
 
   private final SystemSettingsProvider settingsProvider;
 
+  private final AnalyticsCache analyticsCache;
+
+  private final AnalyticsIndexAdvisor indexAdvisor;
+
   private final SqlBuilder sqlBuilder;
 
   @Override
@@ -85,7 +96,6 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
   @Override
   public void create(AnalyticsTableUpdateParams params, JobProgress progress) {
     final int parallelJobs = getParallelJobs();
-    int tableUpdates = 0;
 
     log.info("Analytics table update parameters: {}", params);
 
@@ -106,6 +116,14 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
       return;
     }
 
+    if (params.isLatestUpdate()
+        && params.isIncrementalUpdate()
+        && tableManager.supportsIncrementalUpdate(params)) {
+      refreshUpdatedData(params, progress);
+      clock.logTime("Table update done: '{}'", tableType.getTableName());
+      return;
+    }
+
     List<AnalyticsTable> tables = tableManager.getAnalyticsTables(params);
 
     if (tables.isEmpty()) {
@@ -133,7 +151,206 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
     clock.logTime("Created analytics tables");
 
     List<AnalyticsTablePartition> partitions = getTablePartitions(tables);
+
+    List<Index> indexes =
+        sqlBuilder.requiresIndexesForAnalytics()
+            ? indexAdvisor.getIndexesToCreate(tableType, getIndexes(partitions))
+            : List.of();
+
+    if (isPipelined(partitions)) {
+      processTablesInPipeline(params, partitions, indexes, progress);
+      clock.logTime("Populated, indexed and analyzed analytics tables");
+    } else {
+      processTablesInStages(params, partitions, indexes, progress, clock);
+    }
+
+    if (sqlBuilder.requiresIndexesForAnalytics()) {
+      indexAdvisor.setIndexes(tableType, indexes);
+    }
+
+    if (params.isLatestUpdate()) {
+      progress.startingStage(
+          format("Removing updated and deleted data: '{}'", tableType), SKIP_STAGE);
+      progress.runStage(() -> tableManager.removeUpdatedData(tables));
+      clock.logTime("Removed updated and deleted data");
+    }
+
+    swapTables(params, tables, progress);
+
+    if (params.isPartialUpdate() && !params.isLatestUpdate()) {
+      progress.startingStage("Removing latest partition overlap: '{}'", tableType);
+      progress.runStage(() -> tableManager.removeLatestPartitionOverlap(tables));
+      clock.logTime("Removed latest partition overlap");
+    }
+
+    Set<Integer> years = getUpdatedYears(params, partitions);
+
+    refreshRollupTables(params, years, progress);
+
+    invalidateCache(years, progress);
+
+    clock.logTime("Table update done: '{}'", tableType.getTableName());
+  }
+
+  @Override
+  public void dropTables() {
+    Set<String> tables = tableManager.getExistingDatabaseTables();
+
+    tables.stream().forEach(tableManager::dropTable);
+
+    log.info("Analytics tables dropped");
+  }
+
+  @Override
+  public void analyzeAnalyticsTables() {
+    Set<String> tables = tableManager.getExistingDatabaseTables();
+
+    tables.forEach(tableManager::analyzeTable);
+
+    log.info("Analytics tables analyzed");
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Indicates whether the given table partitions can be processed in a pipeline. Analytics table
+   * hooks run against all populated tables before indexes are created, which requires processing in
+   * stages. Processing in stages is also used when there are fewer partitions than parallel jobs,
+   * as indexes are then created in parallel across all partitions.
+   *
+   * @param partitions the list of {@link AnalyticsTablePartition}.
+   * @return true if the partitions can be processed in a pipeline.
+   */
+  boolean isPipelined(List<AnalyticsTablePartition> partitions) {
+    return !tableManager.hasAnalyticsTableSqlHooks() && partitions.size() >= getParallelJobs();
+  }
+
+  /**
+   * Populates, applies aggregation levels to, indexes, vacuums and analyzes the given table
+   * partitions in a pipeline. Each partition flows through all steps independently of the other
+   * partitions, so that a partition which finished populating is indexed and analyzed while other
+   * partitions are still being populated. The number of partitions processed in parallel is bounded
+   * by the number of parallel jobs.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partitions the list of {@link AnalyticsTablePartition}.
+   * @param indexes the list of {@link Index} to create on the partitions.
+   * @param progress the {@link JobProgress}.
+   */
+  private void processTablesInPipeline(
+      AnalyticsTableUpdateParams params,
+      List<AnalyticsTablePartition> partitions,
+      List<Index> indexes,
+      JobProgress progress) {
+    AnalyticsTableType tableType = getAnalyticsTableType();
+    Map<Integer, List<String>> aggregationLevels = getAggregationLevels();
+    int parallelism = Math.min(getParallelJobs(), partitions.size());
+
+    progress.startingStage(
+        format(
+            "Populating, indexing and analyzing {} analytics tables: '{}'",
+            partitions.size(),
+            tableType),
+        partitions.size());
+    progress.runStageInParallel(
+        parallelism,
+        partitions,
+        AnalyticsTablePartition::getName,
+        partition -> processTable(params, partition, indexes, aggregationLevels, parallelism > 1));
+  }
+
+  /**
+   * Populates, applies aggregation levels to, indexes, vacuums and analyzes the given table
+   * partition.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param indexes the list of {@link Index} to create on the partitions.
+   * @param aggregationLevels the data elements with aggregation levels, mapped by level.
+   * @param parallel whether the partition is processed in the pool of a parallel pipeline.
+   */
+  private void processTable(
+      AnalyticsTableUpdateParams params,
+      AnalyticsTablePartition partition,
+      List<Index> indexes,
+      Map<Integer, List<String>> aggregationLevels,
+      boolean parallel) {
+    tableManager.populateTable(params, partition);
+
+    aggregationLevels.forEach(
+        (level, dataElements) ->
+            tableManager.applyAggregationLevels(partition, dataElements, level));
+
+    if (sqlBuilder.requiresIndexesForAnalytics()) {
+      createIndexes(partition, indexes, parallel);
+    }
+
+    if (!aggregationLevels.isEmpty() && sqlBuilder.supportsVacuum()) {
+      tableManager.vacuumTable(partition);
+    }
+
+    if (sqlBuilder.supportsAnalyze()) {
+      tableManager.analyzeTable(partition);
+    }
+  }
+
+  /**
+   * Creates the indexes of the given list which are on the given table partition. Indexes are
+   * created in parallel when the partition is processed in the pool of a parallel pipeline, as
+   * running a parallel stream within the pool makes the stream use the pool, which bounds the
+   * number of parallel jobs. As with {@link JobProgress.FailurePolicy#SKIP_ITEM_OUTLIER}, failed
+   * indexes are skipped unless no index of the partition was created.
+   *
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param indexes the list of {@link Index} to create on the partitions.
+   * @param parallel whether the partition is processed in the pool of a parallel pipeline.
+   */
+  private void createIndexes(
+      AnalyticsTablePartition partition, List<Index> indexes, boolean parallel) {
+    List<Index> partitionIndexes =
+        indexes.stream().filter(index -> partition.getName().equals(index.getTableName())).toList();
+    AtomicInteger created = new AtomicInteger();
+    List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+
+    (parallel ? partitionIndexes.parallelStream() : partitionIndexes.stream())
+        .forEach(
+            index -> {
+              try {
+                tableManager.createIndex(index);
+                created.incrementAndGet();
+              } catch (RuntimeException ex) {
+                log.warn("Failed to create index: '{}'", index.getName(), ex);
+                failures.add(ex);
+              }
+            });
+
+    if (created.get() == 0 && !failures.isEmpty()) {
+      throw failures.get(0);
+    }
+  }
+
+  /**
+   * Populates, applies aggregation levels to, indexes, vacuums and analyzes the given table
+   * partitions in stages, where each stage is completed for all partitions before the next stage
+   * starts.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partitions the list of {@link AnalyticsTablePartition}.
+   * @param indexes the list of {@link Index} to create on the partitions.
+   * @param progress the {@link JobProgress}.
+   * @param clock the {@link Clock}.
+   */
+  private void processTablesInStages(
+      AnalyticsTableUpdateParams params,
+      List<AnalyticsTablePartition> partitions,
+      List<Index> indexes,
+      JobProgress progress,
+      Clock clock) {
+    AnalyticsTableType tableType = getAnalyticsTableType();
     int partitionSize = partitions.size();
+    int tableUpdates = 0;
 
     progress.startingStage(
         format("Populating {} analytics tables: '{}'", partitionSize, tableType), partitionSize);
@@ -148,7 +365,6 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
     clock.logTime("Applied aggregation levels");
 
     if (sqlBuilder.requiresIndexesForAnalytics()) {
-      List<Index> indexes = getIndexes(partitions);
       int indexSize = indexes.size();
       progress.startingStage(
           format("Creating {} indexes: '{}'", indexSize, tableType), indexSize, SKIP_ITEM_OUTLIER);
@@ -168,46 +384,99 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
       analyzeTables(partitions, progress);
       clock.logTime("Analyzed tables");
     }
+  }
 
-    if (params.isLatestUpdate()) {
-      progress.startingStage(
-          format("Removing updated and deleted data: '{}'", tableType), SKIP_STAGE);
-      progress.runStage(() -> tableManager.removeUpdatedData(tables));
-      clock.logTime("Removed updated and deleted data");
-    }
+  /**
+   * Refreshes the data updated since the last analytics table update in place in the existing
+   * analytics table partitions, without creating and swapping staging tables. Only the rows of the
+   * refreshed years are replaced in the rollup tables.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param progress the {@link JobProgress}.
+   */
+  private void refreshUpdatedData(AnalyticsTableUpdateParams params, JobProgress progress) {
+    AnalyticsTableType tableType = getAnalyticsTableType();
 
-    swapTables(params, tables, progress);
+    progress.startingStage(format("Refreshing updated data in place: '{}'", tableType));
+    List<AnalyticsTablePartition> partitions =
+        progress.runStage(List.of(), () -> tableManager.refreshUpdatedData(params));
 
-    if (params.isPartialUpdate() && !params.isLatestUpdate()) {
-      progress.startingStage("Removing latest partition overlap: '{}'", tableType);
-      progress.runStage(() -> tableManager.removeLatestPartitionOverlap(tables));
-      clock.logTime("Removed latest partition overlap");
+    if (partitions.isEmpty()) {
+      return;
     }
 
-    clock.logTime("Table update done: '{}'", tableType.getTableName());
-  }
+    List<Table> tables = partitions.stream().map(Table::fromStaging).toList();
 
-  @Override
-  public void dropTables() {
-    Set<String> tables = tableManager.getExistingDatabaseTables();
+    applyAggregationLevels(tableType, tables, progress);
 
-    tables.stream().forEach(tableManager::dropTable);
+    if (sqlBuilder.supportsAnalyze()) {
+      progress.startingStage(format("Analyzing analytics tables: '{}'", tableType), tables.size());
+      analyzeTables(tables, progress);
+    }
 
-    log.info("Analytics tables dropped");
+    Set<Integer> years = partitions.stream().map(AnalyticsTablePartition::getYear).collect(toSet());
+
+    refreshRollupTables(params, years, progress);
+
+    invalidateCache(years, progress);
   }
 
-  @Override
-  public void analyzeAnalyticsTables() {
-    Set<String> tables = tableManager.getExistingDatabaseTables();
+  /**
+   * Returns the years of data which were updated in the given table partitions. For updates of
+   * yearly partitions, the years of the partitions are returned. Otherwise, an empty set is
+   * returned, which indicates all years.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partitions the updated {@link AnalyticsTablePartition}.
+   * @return a set of years.
+   */
+  private Set<Integer> getUpdatedYears(
+      AnalyticsTableUpdateParams params, List<AnalyticsTablePartition> partitions) {
+    boolean yearlyUpdate =
+        params.isPartialUpdate()
+            && !params.isLatestUpdate()
+            && partitions.stream().allMatch(p -> p.getYear() != null);
+
+    return yearlyUpdate
+        ? partitions.stream().map(AnalyticsTablePartition::getYear).collect(toSet())
+        : Set.of();
+  }
 
-    tables.forEach(tableManager::analyzeTable);
+  /**
+   * Refreshes the pre-aggregated rollup tables of the analytics table type, if any, from the main
+   * analytics table. Only the rows of the given years are replaced, so that partial updates do not
+   * rebuild the rollup tables from all data. Must be invoked after the main analytics table has
+   * been updated.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param years the years of data which were updated, where empty indicates all years.
+   * @param progress the {@link JobProgress}.
+   */
+  private void refreshRollupTables(
+      AnalyticsTableUpdateParams params, Set<Integer> years, JobProgress progress) {
+    List<Table> rollups = tableManager.getRollupTables(params);
 
-    log.info("Analytics tables analyzed");
+    if (!rollups.isEmpty()) {
+      progress.startingStage(
+          format("Refreshing rollup tables: '{}'", getAnalyticsTableType()), rollups.size());
+      progress.runStage(
+          rollups, Table::getName, rollup -> tableManager.refreshRollupTable(rollup, years));
+    }
   }
 
-  // -------------------------------------------------------------------------
-  // Supportive methods
-  // -------------------------------------------------------------------------
+  /**
+   * Invalidates the analytics cache entries which depend on the given years of data of the
+   * analytics table type.
+   *
+   * @param years the years of data which were updated, where empty indicates all years.
+   * @param progress the {@link JobProgress}.
+   */
+  private void invalidateCache(Set<Integer> years, JobProgress progress) {
+    AnalyticsTableType tableType = getAnalyticsTableType();
+
+    progress.startingStage(format("Invalidating analytics cache: '{}'", tableType), SKIP_STAGE);
+    progress.runStage(() -> analyticsCache.invalidate(tableType, years));
+  }
 
   /**
    * Drops the given analytics tables.
@@ -261,31 +530,49 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
    */
   private int applyAggregationLevels(
       AnalyticsTableType tableType, List<? extends Table> tables, JobProgress progress) {
-    int maxLevels = organisationUnitService.getNumberOfOrganisationalLevels();
-
     int aggLevels = 0;
 
-    for (int i = 0; i < maxLevels; i++) {
-      int level = maxLevels - i;
+    for (Map.Entry<Integer, List<String>> entry : getAggregationLevels().entrySet()) {
+      int level = entry.getKey();
+      List<String> dataElements = entry.getValue();
+
+      progress.startingStage(
+          format("Applying aggregation level {}: '{}'", level, tableType), tables.size());
+      progress.runStageInParallel(
+          getParallelJobs(),
+          tables,
+          Table::getName,
+          partition -> tableManager.applyAggregationLevels(partition, dataElements, level));
+
+      aggLevels += dataElements.size();
+    }
+
+    return aggLevels;
+  }
 
+  /**
+   * Returns the identifiers of data elements with aggregation levels, mapped by aggregation level.
+   * The levels are ordered from the lowest to the highest level in the hierarchy, which is the
+   * order in which aggregation levels must be applied.
+   *
+   * @return a mapping of aggregation level to data element identifiers.
+   */
+  private Map<Integer, List<String>> getAggregationLevels() {
+    int maxLevels = organisationUnitService.getNumberOfOrganisationalLevels();
+
+    Map<Integer, List<String>> aggregationLevels = new LinkedHashMap<>();
+
+    for (int level = maxLevels; level > 0; level--) {
       List<String> dataElements =
           IdentifiableObjectUtils.getUids(
               dataElementService.getDataElementsByAggregationLevel(level));
 
       if (!dataElements.isEmpty()) {
-        progress.startingStage(
-            format("Applying aggregation level {}: '{}'", level, tableType), tables.size());
-        progress.runStageInParallel(
-            getParallelJobs(),
-            tables,
-            Table::getName,
-            partition -> tableManager.applyAggregationLevels(partition, dataElements, level));
-
-        aggLevels += dataElements.size();
+        aggregationLevels.put(level, dataElements);
       }
     }
 
-    return aggLevels;
+    return aggregationLevels;
   }
 
   /**
@@ -48,6 +48,8 @@ import static org.hisp.dhis.db.model.constraint.Nullable.NULL;
 import static org.hisp.dhis.util.DateUtils.toLongDate;
 
 import com.google.common.collect.Sets;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -65,6 +67,7 @@ import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
@@ -74,8 +77,12 @@ import org.hisp.dhis.analytics.util.AnalyticsUtils;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.commons.timer.SystemTimer;
+import org.hisp.dhis.commons.timer.Timer;
 import org.hisp.dhis.configuration.ConfigurationService;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
+import org.hisp.dhis.db.model.Column;
+import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.model.Table;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitLevel;
@@ -87,6 +94,7 @@ import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.dhis.util.ObjectUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -168,6 +176,10 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
 
   private static final List<String> SORT_KEY = List.of("dx", "co");
 
+  private static final String VALUE_COLUMN = "value";
+
+  private static final String YEAR_COLUMN = "year";
+
   public JdbcAnalyticsTableManager(
       IdentifiableObjectManager idObjectManager,
       OrganisationUnitService organisationUnitService,
@@ -252,10 +264,231 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
   @Override
   public void removeUpdatedData(List<AnalyticsTable> tables) {
     AnalyticsTablePartition partition = getLatestTablePartition(tables);
+
+    removeUpdatedData(partition.getStartDate(), partition.getEndDate());
+  }
+
+  @Override
+  public boolean supportsIncrementalUpdate(AnalyticsTableUpdateParams params) {
+    if (sqlBuilder.getDatabase() != Database.POSTGRESQL
+        || !tableExists(getAnalyticsTableType().getTableName())) {
+      return false;
+    }
+
+    List<Integer> years = getUpdatedDataYears(getLastAnyTableUpdate(), params.getStartTime());
+    List<Integer> missingYears =
+        years.stream()
+            .filter(year -> !tableExists(getAnalyticsTableType().getTableName() + "_" + year))
+            .toList();
+
+    if (!missingYears.isEmpty()) {
+      log.info(
+          "Cannot refresh updated data in place, missing partitions for years: {}", missingYears);
+    }
+
+    return missingYears.isEmpty();
+  }
+
+  @Override
+  public List<AnalyticsTablePartition> refreshUpdatedData(AnalyticsTableUpdateParams params) {
+    Date startDate = getLastAnyTableUpdate();
+    Date endDate = params.getStartTime();
+    List<Integer> years = getUpdatedDataYears(startDate, endDate);
+
+    log.info(
+        "Refreshing updated data with start: '{}' and end: '{}' for years: {}",
+        toLongDate(startDate),
+        toLongDate(endDate),
+        years);
+
+    AnalyticsTable table =
+        new AnalyticsTable(
+            getAnalyticsTableType(),
+            getColumns(params),
+            List.of(),
+            analyticsTableSettings.getTableLogged());
+
+    years.forEach(year -> table.addTablePartition(List.of(), year, startDate, endDate));
+
+    for (AnalyticsTablePartition partition : table.getTablePartitions()) {
+      String updatedClause =
+          format(
+              "and ps.year = {} and dv.lastupdated >= '{}' and dv.lastupdated < '{}' ",
+              partition.getYear(),
+              toLongDate(startDate),
+              toLongDate(endDate));
+
+      List<String> statements = new ArrayList<>();
+      statements.add(
+          getRemoveUpdatedDataSql(
+              partition.getMainName(),
+              format("ps.year = {} and ", partition.getYear()),
+              startDate,
+              endDate));
+      statements.addAll(
+          getPopulateTableStatements(params, partition, partition.getMainName(), updatedClause));
+
+      invokeInTransaction(statements, "Refreshed updated data in: '{}'", partition.getMainName());
+    }
+
+    return table.getTablePartitions();
+  }
+
+  @Override
+  public List<Table> getRollupTables(AnalyticsTableUpdateParams params) {
+    List<AnalyticsRollup> rollups = analyticsTableSettings.getRollups();
+
+    if (rollups.isEmpty()) {
+      return List.of();
+    }
+
+    List<AnalyticsTableColumn> columns = getColumns(params);
+
+    return rollups.stream().map(rollup -> toRollupTable(rollup, columns)).toList();
+  }
+
+  @Override
+  public void createRollupTable(Table table) {
+    Table stagingTable =
+        new Table(
+            Table.toStaging(table.getName()),
+            table.getColumns(),
+            table.getPrimaryKey(),
+            table.getSortKey(),
+            table.getChecks(),
+            table.getLogged());
+
+    dropTable(stagingTable.getName());
+    jdbcTemplate.execute(sqlBuilder.createTable(stagingTable));
+
+    String sql = getPopulateRollupTableSql(table, stagingTable.getName(), "");
+
+    invokeTimeAndLog(sql, "Populated rollup table: '{}'", table.getName());
+
+    swapTable(stagingTable, table.getName());
+  }
+
+  @Override
+  public void refreshRollupTable(Table table, Collection<Integer> years) {
+    if (years.isEmpty()
+        || sqlBuilder.getDatabase() != Database.POSTGRESQL
+        || !tableExists(table.getName())) {
+      createRollupTable(table);
+      return;
+    }
+
+    String yearClause =
+        format(
+            "{} in ({})",
+            quote(YEAR_COLUMN),
+            years.stream().sorted().map(String::valueOf).collect(Collectors.joining(",")));
+
+    List<String> statements =
+        List.of(
+            format("delete from {} where {};", quote(table.getName()), yearClause),
+            getPopulateRollupTableSql(table, table.getName(), yearClause + " and "));
+
+    invokeInTransaction(
+        statements, "Refreshed rollup table: '{}' for years: {}", table.getName(), years);
+  }
+
+  /**
+   * Returns the SQL which populates the given rollup table with the sum of the value column of the
+   * main analytics table, grouped by the dimension columns of the rollup table.
+   *
+   * @param table the rollup {@link Table}.
+   * @param tableName the name of the table to populate.
+   * @param whereClause the conditions on the main analytics table, followed by {@code and}, or an
+   *     empty string.
+   * @return an SQL insert statement.
+   */
+  private String getPopulateRollupTableSql(Table table, String tableName, String whereClause) {
+    List<String> dimensions =
+        table.getColumns().stream()
+            .map(Column::getName)
+            .filter(name -> !VALUE_COLUMN.equals(name))
+            .map(this::quote)
+            .toList();
+
+    String dimensionClause = String.join(",", dimensions);
+    String value = quote(VALUE_COLUMN);
+
+    return format(
+        "insert into {} ({},{}) select {},sum({}) from {} where {}{} is not null group by {};",
+        quote(tableName),
+        dimensionClause,
+        value,
+        dimensionClause,
+        value,
+        quote(getAnalyticsTableType().getTableName()),
+        whereClause,
+        value,
+        dimensionClause);
+  }
+
+  /**
+   * Returns the rollup {@link Table} for the given rollup. The rollup table holds the dimension
+   * columns of the analytics table which are included in the rollup, the year column, which allows
+   * for replacing the rows of updated years, and the value column.
+   *
+   * @param rollup the {@link AnalyticsRollup}.
+   * @param columns the list of {@link AnalyticsTableColumn} of the analytics table.
+   * @return a {@link Table}.
+   */
+  private Table toRollupTable(AnalyticsRollup rollup, List<AnalyticsTableColumn> columns) {
+    List<Column> rollupColumns = new ArrayList<>();
+
+    columns.stream()
+        .filter(
+            column ->
+                rollup.hasDimensionColumn(column.getName()) || YEAR_COLUMN.equals(column.getName()))
+        .map(column -> new Column(column.getName(), column.getDataType(), column.getNullable()))
+        .forEach(rollupColumns::add);
+
+    rollupColumns.add(new Column(VALUE_COLUMN, DOUBLE, NULL));
+
+    return new Table(
+        rollup.getTableName(),
+        rollupColumns,
+        List.of(),
+        SORT_KEY,
+        List.of(),
+        analyticsTableSettings.getTableLogged());
+  }
+
+  /**
+   * Removes from the analytics table and its partitions the rows of data values which were updated
+   * or deleted within the given time range.
+   *
+   * @param startDate the start date of the last updated time range, inclusive.
+   * @param endDate the end date of the last updated time range, exclusive.
+   */
+  private void removeUpdatedData(Date startDate, Date endDate) {
     String sql =
-        replaceQualify(
-            sqlBuilder,
-            """
+        getRemoveUpdatedDataSql(
+            sqlBuilder.qualifyTable(getAnalyticsTableType().getTableName()),
+            "",
+            startDate,
+            endDate);
+
+    invokeTimeAndLog(sql, "Remove updated data values");
+  }
+
+  /**
+   * Returns SQL which removes from the given table the rows of data values which were updated or
+   * deleted within the given time range.
+   *
+   * @param tableName the name of the table.
+   * @param yearClause SQL clause restricting the data values, ending with "and", can be empty.
+   * @param startDate the start date of the last updated time range, inclusive.
+   * @param endDate the end date of the last updated time range, exclusive.
+   * @return a delete SQL statement.
+   */
+  private String getRemoveUpdatedDataSql(
+      String tableName, String yearClause, Date startDate, Date endDate) {
+    return replaceQualify(
+        sqlBuilder,
+        """
             delete from ${tableName} ax \
             where ax.id in ( \
             select concat(des.dataelementuid,'-',ps.iso,'-',ous.organisationunituid,'-',dcs.categoryoptioncombouid,'-',acs.categoryoptioncombouid) as id \
@@ -265,13 +498,55 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
             inner join analytics_rs_orgunitstructure ous on dv.sourceid=ous.organisationunitid \
             inner join analytics_rs_categorystructure dcs on dv.categoryoptioncomboid=dcs.categoryoptioncomboid \
             inner join analytics_rs_categorystructure acs on dv.attributeoptioncomboid=acs.categoryoptioncomboid \
-            where dv.lastupdated >= '${startDate}'and dv.lastupdated < '${endDate}');""",
-            Map.of(
-                "tableName", sqlBuilder.qualifyTable(getAnalyticsTableType().getTableName()),
-                "startDate", toLongDate(partition.getStartDate()),
-                "endDate", toLongDate(partition.getEndDate())));
+            where ${yearClause}dv.lastupdated >= '${startDate}' and dv.lastupdated < '${endDate}');""",
+        Map.of(
+            "tableName",
+            tableName,
+            "yearClause",
+            yearClause,
+            "startDate",
+            toLongDate(startDate),
+            "endDate",
+            toLongDate(endDate)));
+  }
 
-    invokeTimeAndLog(sql, "Remove updated data values");
+  /**
+   * Executes the given statements in a single transaction, so that readers never see the effect of
+   * only some of the statements, and a failure leaves the tables unchanged.
+   *
+   * @param statements the SQL statements.
+   * @param logPattern the log message pattern.
+   * @param args the log message arguments.
+   */
+  private void invokeInTransaction(List<String> statements, String logPattern, Object... args) {
+    Timer timer = new SystemTimer().start();
+
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              boolean autoCommit = connection.getAutoCommit();
+              connection.setAutoCommit(false);
+
+              try (Statement statement = connection.createStatement()) {
+                for (String sql : statements) {
+                  log.debug("Populate table SQL: '{}'", sql);
+
+                  statement.execute(sql);
+                }
+
+                connection.commit();
+              } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+
+                throw ex;
+              } finally {
+                connection.setAutoCommit(autoCommit);
+              }
+
+              return null;
+            });
+
+    log.info("{} in: {}", format(logPattern, args), timer.stop().toString());
   }
 
   @Override
@@ -283,6 +558,39 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
 
   @Override
   public void populateTable(AnalyticsTableUpdateParams params, AnalyticsTablePartition partition) {
+    populateTable(params, partition, partition.getName(), getPartitionClause(partition));
+  }
+
+  /**
+   * Populates the given table with the data of the given partition.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param tableName the name of the table to populate.
+   * @param partitionClause the SQL clause restricting the data to the partition.
+   */
+  private void populateTable(
+      AnalyticsTableUpdateParams params,
+      AnalyticsTablePartition partition,
+      String tableName,
+      String partitionClause) {
+    for (String sql : getPopulateTableStatements(params, partition, tableName, partitionClause)) {
+      invokeTimeAndLog(sql, "Populating table: '{}'", tableName);
+    }
+  }
+
+  /**
+   * Returns the statements populating the given table with numeric, boolean and text data values.
+   *
+   * @param tableName the name of the table to populate.
+   * @param partitionClause the SQL clause restricting the data to the partition.
+   * @return a list of insert SQL statements.
+   */
+  private List<String> getPopulateTableStatements(
+      AnalyticsTableUpdateParams params,
+      AnalyticsTablePartition partition,
+      String tableName,
+      String partitionClause) {
     SystemSettings settings = settingsProvider.getCurrentSettings();
     boolean skipDataTypeValidation = settings.getSkipDataTypeValidationInAnalyticsTableExport();
     boolean includeZeroValues = settings.getIncludeZeroValuesInAnalytics();
@@ -304,46 +612,65 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
                 "zeroValueCondition", zeroValueCondition));
     String intClause = zeroValueClause + numericClause;
 
-    populateTable(
-        params,
-        partition,
-        "cast(dv.value as " + doubleDataType + ")",
-        "null",
-        ValueType.NUMERIC_TYPES,
-        intClause);
-    populateTable(
-        params,
-        partition,
-        "1",
-        "null",
-        Set.of(ValueType.BOOLEAN, ValueType.TRUE_ONLY),
-        "dv.value = 'true'");
-    populateTable(params, partition, "0", "null", Set.of(ValueType.BOOLEAN), "dv.value = 'false'");
-    populateTable(
-        params,
-        partition,
-        "null",
-        "dv.value",
-        Sets.union(ValueType.TEXT_TYPES, ValueType.DATE_TYPES),
-        null);
+    return List.of(
+        getPopulateTableSql(
+            params,
+            partition,
+            tableName,
+            partitionClause,
+            "cast(dv.value as " + doubleDataType + ")",
+            "null",
+            ValueType.NUMERIC_TYPES,
+            intClause),
+        getPopulateTableSql(
+            params,
+            partition,
+            tableName,
+            partitionClause,
+            "1",
+            "null",
+            Set.of(ValueType.BOOLEAN, ValueType.TRUE_ONLY),
+            "dv.value = 'true'"),
+        getPopulateTableSql(
+            params,
+            partition,
+            tableName,
+            partitionClause,
+            "0",
+            "null",
+            Set.of(ValueType.BOOLEAN),
+            "dv.value = 'false'"),
+        getPopulateTableSql(
+            params,
+            partition,
+            tableName,
+            partitionClause,
+            "null",
+            "dv.value",
+            Sets.union(ValueType.TEXT_TYPES, ValueType.DATE_TYPES),
+            null));
   }
 
   /**
-   * Populates the given analytics table.
+   * Returns a statement populating the given analytics table.
    *
+   * @param tableName the name of the table to populate.
+   * @param partitionClause the SQL clause restricting the data to the partition.
    * @param valueExpression numeric value expression.
    * @param textValueExpression textual value expression.
    * @param valueTypes data element value types to include data for.
    * @param whereClause where clause to constrain data query.
+   * @return an insert SQL statement.
    */
-  private void populateTable(
+  private String getPopulateTableSql(
       AnalyticsTableUpdateParams params,
       AnalyticsTablePartition partition,
+      String tableName,
+      String partitionClause,
       String valueExpression,
       String textValueExpression,
       Set<ValueType> valueTypes,
       String whereClause) {
-    String tableName = partition.getName();
     String valTypes = quotedCommaDelimitedString(ObjectUtils.asStringList(valueTypes));
     boolean respectStartEndDates =
         settingsProvider
@@ -351,7 +678,6 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
             .getRespectMetaDataStartEndDatesInAnalyticsTableExport();
     String approvalSelectExpression = getApprovalSelectExpression(partition.getYear());
     String approvalClause = getApprovalJoinClause(partition.getYear());
-    String partitionClause = getPartitionClause(partition);
 
     StringBuilder sql =
         new StringBuilder(replace("insert into ${tableName} (", Map.of("tableName", tableName)));
@@ -420,7 +746,7 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
       sql.append(" and " + whereClause + " ");
     }
 
-    invokeTimeAndLog(sql.toString(), "Populating table: '{}' {}", tableName, valueTypes);
+    return sql.toString();
   }
 
   String getStartEndDatesCondition(boolean respectStartEndDates) {
@@ -689,6 +1015,28 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
             .build());
   }
 
+  /**
+   * Returns the distinct years of data values which were updated or deleted within the given time
+   * range.
+   *
+   * @param startDate the start date of the last updated time range, inclusive.
+   * @param endDate the end date of the last updated time range, exclusive.
+   * @return a list of data years.
+   */
+  private List<Integer> getUpdatedDataYears(Date startDate, Date endDate) {
+    String sql =
+        replaceQualify(
+            sqlBuilder,
+            """
+            select distinct(ps.year) \
+            from ${datavalue} dv \
+            inner join analytics_rs_periodstructure ps on dv.periodid=ps.periodid \
+            where dv.lastupdated >= '${startDate}' and dv.lastupdated < '${endDate}';""",
+            Map.of("startDate", toLongDate(startDate), "endDate", toLongDate(endDate)));
+
+    return jdbcTemplate.queryForList(sql, Integer.class);
+  }
+
   /**
    * Returns the distinct years which contain data values, relative to the from date in the given
    * parameters, if it exists.
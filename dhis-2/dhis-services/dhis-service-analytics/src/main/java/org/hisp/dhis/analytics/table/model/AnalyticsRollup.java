@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table.model;
+
+import static org.hisp.dhis.analytics.DataQueryParams.LEVEL_PREFIX;
+
+import java.util.Comparator;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.period.PeriodType;
+
+/**
+ * A pre-aggregated rollup of the data value analytics table. A rollup holds the sum of the value
+ * column grouped by data element, category option combos, the organisation unit levels up to and
+ * including the given level, and the period type columns of the given period type and of less
+ * frequent period types.
+ *
+ * @param periodType the most frequent {@link PeriodType} of the rollup.
+ * @param orgUnitLevel the lowest organisation unit level of the rollup.
+ */
+public record AnalyticsRollup(PeriodType periodType, int orgUnitLevel) {
+  /** Orders rollups from smallest to largest, i.e. by least frequent period type, then level. */
+  public static final Comparator<AnalyticsRollup> SIZE_ORDER =
+      Comparator.comparing((AnalyticsRollup r) -> r.periodType().getFrequencyOrder())
+          .reversed()
+          .thenComparing(AnalyticsRollup::orgUnitLevel);
+
+  /** Columns which are present in all rollups. */
+  private static final Set<String> FIXED_COLUMNS = Set.of("dx", "co", "ao");
+
+  /**
+   * Returns the name of the rollup table, e.g. {@code analytics_rollup_yearly_2}.
+   *
+   * @return the table name.
+   */
+  public String getTableName() {
+    return AnalyticsTableType.DATA_VALUE.getTableName()
+        + "_rollup_"
+        + periodType.getName().toLowerCase()
+        + "_"
+        + orgUnitLevel;
+  }
+
+  /**
+   * Indicates whether the rollup contains the dimension column with the given name.
+   *
+   * @param name the column name.
+   * @return true if the rollup contains the dimension column.
+   */
+  public boolean hasDimensionColumn(String name) {
+    return FIXED_COLUMNS.contains(name) || isOrgUnitLevelColumn(name) || isPeriodColumn(name);
+  }
+
+  /**
+   * Indicates whether the given column is an organisation unit level column included in the rollup.
+   *
+   * @param name the column name.
+   * @return true if the column is an organisation unit level column included in the rollup.
+   */
+  private boolean isOrgUnitLevelColumn(String name) {
+    if (!name.startsWith(LEVEL_PREFIX)) {
+      return false;
+    }
+
+    String level = name.substring(LEVEL_PREFIX.length());
+
+    return StringUtils.isNumeric(level) && Integer.parseInt(level) <= orgUnitLevel;
+  }
+
+  /**
+   * Indicates whether the given column is a period type column included in the rollup.
+   *
+   * @param name the column name.
+   * @return true if the column is a period type column included in the rollup.
+   */
+  private boolean isPeriodColumn(String name) {
+    PeriodType type = PeriodType.getByNameIgnoreCase(name);
+
+    return type != null
+        && type.getName().toLowerCase().equals(name)
+        && type.getFrequencyOrder() >= periodType.getFrequencyOrder();
+  }
+}
@@ -125,6 +125,7 @@ public class ContinuousAnalyticsTableJob implements Job {
               .skipResourceTables(true)
               .skipOutliers(skipOutliers(parameters))
               .skipTableTypes(parameters.getSkipTableTypes())
+              .incrementalUpdate(Boolean.TRUE.equals(parameters.getIncrementalUpdate()))
               .startTime(startTime)
               .build()
               .withLatestPartition();
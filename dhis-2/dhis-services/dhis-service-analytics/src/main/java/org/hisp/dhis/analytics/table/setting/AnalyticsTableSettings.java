@@ -30,8 +30,11 @@
 package org.hisp.dhis.analytics.table.setting;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNumeric;
 import static org.hisp.dhis.db.model.Logged.LOGGED;
 import static org.hisp.dhis.db.model.Logged.UNLOGGED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_INDEX_USED_ONLY;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_ROLLUPS;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_COLUMN;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_INDEX;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_UNLOGGED;
@@ -39,14 +42,18 @@ import static org.hisp.dhis.period.PeriodDataProvider.PeriodSource.DATABASE;
 import static org.hisp.dhis.period.PeriodDataProvider.PeriodSource.SYSTEM_DEFINED;
 
 import com.google.common.collect.Lists;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.period.PeriodDataProvider.PeriodSource;
+import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.springframework.stereotype.Component;
@@ -57,6 +64,7 @@ import org.springframework.stereotype.Component;
  *
  * @author maikel arabori
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AnalyticsTableSettings {
@@ -126,6 +134,50 @@ public class AnalyticsTableSettings {
     return toSet(config.getProperty(ANALYTICS_TABLE_SKIP_COLUMN));
   }
 
+  /**
+   * Indicates whether to create indexes for analytics tables only on columns which were used by
+   * analytics queries.
+   *
+   * @return true if indexes should only be created on used columns.
+   */
+  public boolean isIndexUsedOnly() {
+    return config.isEnabled(ANALYTICS_TABLE_INDEX_USED_ONLY);
+  }
+
+  /**
+   * Returns the pre-aggregated rollup tables to create for the data value analytics table. Invalid
+   * rollup definitions are ignored.
+   *
+   * @return a list of {@link AnalyticsRollup}.
+   */
+  public List<AnalyticsRollup> getRollups() {
+    return toSet(config.getProperty(ANALYTICS_TABLE_ROLLUPS)).stream()
+        .map(this::toRollup)
+        .filter(Objects::nonNull)
+        .sorted(AnalyticsRollup.SIZE_ORDER)
+        .toList();
+  }
+
+  /**
+   * Parses the given rollup definition on the format {@code <period type>:<org unit level>}, e.g.
+   * {@code Yearly:2}.
+   *
+   * @param value the rollup definition.
+   * @return an {@link AnalyticsRollup}, or null if the definition is invalid.
+   */
+  AnalyticsRollup toRollup(String value) {
+    String[] parts = value.split(":");
+    PeriodType periodType = parts.length == 2 ? PeriodType.getByNameIgnoreCase(parts[0]) : null;
+    String level = parts.length == 2 ? parts[1].trim() : null;
+
+    if (periodType == null || !isNumeric(level) || Integer.parseInt(level) < 1) {
+      log.warn("Ignoring invalid analytics rollup table definition: '{}'", value);
+      return null;
+    }
+
+    return new AnalyticsRollup(periodType, Integer.parseInt(level));
+  }
+
   /**
    * Splits the given value on comma, and returns the values as a set.
    *
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.util.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import org.hisp.dhis.analytics.QueryCancellationToken;
+import org.hisp.dhis.common.QueryRuntimeException;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+/**
+ * Utilities for executing queries where rows are streamed to a {@link RowCallbackHandler} as they
+ * are read from the database, instead of being materialized as a cached row set first. This keeps
+ * memory use bounded by the fetch size rather than by the size of the result.
+ *
+ * <p>PostgreSQL only uses a server-side cursor, and hence only honors the fetch size, when the
+ * connection is not in auto-commit mode. When a cursor is requested, auto-commit is disabled for
+ * the duration of the query and restored afterwards.
+ *
+ * <p>The query timeout and maximum rows of the given {@link JdbcTemplate} are applied to the
+ * statement, as the template would do for its own queries.
+ *
+ * <p>When a {@link QueryCancellationToken} is given, the statement is registered with the token for
+ * the duration of the query, so that it is subject to the deadline of the token and can be
+ * cancelled on the database server.
+ */
+@UtilityClass
+public class StreamingQueryUtils {
+  /** Default number of rows to fetch from the database per round-trip. */
+  public static final int DEFAULT_FETCH_SIZE = 10_000;
+
+  /**
+   * Executes the given query and streams each row of the result to the given handler.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param cursor whether to read the result through a server-side cursor, which requires disabling
+   *     auto-commit for the duration of the query.
+   * @param rowHandler the {@link RowCallbackHandler} to invoke for each row.
+   */
+  public static void stream(
+      @Nonnull JdbcTemplate jdbcTemplate,
+      @Nonnull String sql,
+      boolean cursor,
+      @Nonnull RowCallbackHandler rowHandler) {
+    stream(jdbcTemplate, sql, cursor, null, rowHandler);
+  }
+
+  /**
+   * Executes the given query and streams each row of the result to the given handler.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param cursor whether to read the result through a server-side cursor, which requires disabling
+   *     auto-commit for the duration of the query.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   * @param rowHandler the {@link RowCallbackHandler} to invoke for each row.
+   * @throws QueryRuntimeException if the query was cancelled through the token.
+   */
+  public static void stream(
+      @Nonnull JdbcTemplate jdbcTemplate,
+      @Nonnull String sql,
+      boolean cursor,
+      @Nullable QueryCancellationToken cancellationToken,
+      @Nonnull RowCallbackHandler rowHandler) {
+    stream(jdbcTemplate, sql, null, cursor, DEFAULT_FETCH_SIZE, cancellationToken, rowHandler);
+  }
+
+  /**
+   * Executes the given query and streams each row of the result to the given handler. Positional
+   * parameters are bound with the given setter. When no setter is given, the query is executed as a
+   * plain statement, so that question marks in the SQL, such as JSON operators, are not interpreted
+   * as parameter placeholders.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param statementSetter the {@link PreparedStatementSetter} for the positional parameters, can
+   *     be null.
+   * @param cursor whether to read the result through a server-side cursor, which requires disabling
+   *     auto-commit for the duration of the query.
+   * @param fetchSize the number of rows to fetch from the database per round-trip.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   * @param rowHandler the {@link RowCallbackHandler} to invoke for each row.
+   * @throws QueryRuntimeException if the query was cancelled through the token.
+   */
+  public static void stream(
+      @Nonnull JdbcTemplate jdbcTemplate,
+      @Nonnull String sql,
+      @Nullable PreparedStatementSetter statementSetter,
+      boolean cursor,
+      int fetchSize,
+      @Nullable QueryCancellationToken cancellationToken,
+      @Nonnull RowCallbackHandler rowHandler) {
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              boolean autoCommit = cursor && connection.getAutoCommit();
+
+              if (autoCommit) {
+                connection.setAutoCommit(false);
+              }
+
+              try {
+                query(
+                    jdbcTemplate,
+                    connection,
+                    sql,
+                    statementSetter,
+                    fetchSize,
+                    cancellationToken,
+                    rowHandler);
+
+                if (autoCommit) {
+                  connection.commit();
+                }
+              } catch (SQLException | RuntimeException ex) {
+                if (autoCommit) {
+                  connection.rollback();
+                }
+
+                throw ex;
+              } finally {
+                if (autoCommit) {
+                  connection.setAutoCommit(true);
+                }
+              }
+
+              return null;
+            });
+  }
+
+  /**
+   * Executes the given query and streams each row of the result to the given handler as a {@link
+   * SqlRowSet} positioned on the row. This lets code reading rows from a {@link SqlRowSet} stream
+   * the result instead of caching it. The handler must read the current row only, and must not move
+   * the row set.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param cursor whether to read the result through a server-side cursor, which requires disabling
+   *     auto-commit for the duration of the query.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   * @param rowHandler the handler to invoke for each row.
+   * @throws QueryRuntimeException if the query was cancelled through the token.
+   */
+  public static void streamRowSet(
+      @Nonnull JdbcTemplate jdbcTemplate,
+      @Nonnull String sql,
+      boolean cursor,
+      @Nullable QueryCancellationToken cancellationToken,
+      @Nonnull Consumer<SqlRowSet> rowHandler) {
+    stream(jdbcTemplate, sql, cursor, cancellationToken, new RowSetCallbackHandler(rowHandler));
+  }
+
+  /**
+   * Executes the given query on the given connection and streams each row to the given handler.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate} holding the statement settings.
+   * @param connection the {@link Connection}.
+   * @param sql the SQL query.
+   * @param statementSetter the {@link PreparedStatementSetter}, can be null.
+   * @param fetchSize the number of rows to fetch from the database per round-trip.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   * @param rowHandler the {@link RowCallbackHandler} to invoke for each row.
+   * @throws SQLException if the query failed.
+   */
+  private static void query(
+      JdbcTemplate jdbcTemplate,
+      Connection connection,
+      String sql,
+      PreparedStatementSetter statementSetter,
+      int fetchSize,
+      QueryCancellationToken cancellationToken,
+      RowCallbackHandler rowHandler)
+      throws SQLException {
+    if (statementSetter == null) {
+      try (Statement statement =
+          connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        applyStatementSettings(jdbcTemplate, statement, fetchSize);
+
+        execute(statement, cancellationToken, () -> statement.executeQuery(sql), rowHandler);
+      }
+    } else {
+      try (PreparedStatement statement =
+          connection.prepareStatement(
+              sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        applyStatementSettings(jdbcTemplate, statement, fetchSize);
+
+        statementSetter.setValues(statement);
+
+        execute(statement, cancellationToken, statement::executeQuery, rowHandler);
+      }
+    }
+  }
+
+  /**
+   * Applies the fetch size, and the query timeout and maximum rows of the given {@link
+   * JdbcTemplate}, to the given statement.
+   */
+  private static void applyStatementSettings(
+      JdbcTemplate jdbcTemplate, Statement statement, int fetchSize) throws SQLException {
+    statement.setFetchSize(fetchSize);
+
+    if (jdbcTemplate.getMaxRows() != -1) {
+      statement.setMaxRows(jdbcTemplate.getMaxRows());
+    }
+
+    if (jdbcTemplate.getQueryTimeout() != -1) {
+      statement.setQueryTimeout(jdbcTemplate.getQueryTimeout());
+    }
+  }
+
+  /**
+   * Executes the given statement and streams each row to the given handler. The statement is
+   * registered with the given token while executing. A failure caused by the token being cancelled
+   * is reported as a {@link QueryRuntimeException}.
+   *
+   * @param statement the {@link Statement}.
+   * @param cancellationToken the {@link QueryCancellationToken}, can be null.
+   * @param executor the function executing the statement.
+   * @param rowHandler the {@link RowCallbackHandler} to invoke for each row.
+   * @throws SQLException if the query failed.
+   */
+  private static void execute(
+      Statement statement,
+      QueryCancellationToken cancellationToken,
+      StatementExecutor executor,
+      RowCallbackHandler rowHandler)
+      throws SQLException {
+    if (cancellationToken == null) {
+      processRows(executor.execute(), rowHandler);
+      return;
+    }
+
+    cancellationToken.register(statement);
+
+    try {
+      processRows(executor.execute(), rowHandler);
+    } catch (SQLException ex) {
+      if (cancellationToken.isCancelled()) {
+        throw new QueryRuntimeException(ErrorCode.E7136);
+      }
+
+      throw ex;
+    } finally {
+      cancellationToken.unregister(statement);
+    }
+  }
+
+  /**
+   * Invokes the given handler for each row of the given result set, and closes the result set.
+   *
+   * @param resultSet the {@link ResultSet}.
+   * @param rowHandler the {@link RowCallbackHandler}.
+   * @throws SQLException if reading the result set failed.
+   */
+  private static void processRows(ResultSet resultSet, RowCallbackHandler rowHandler)
+      throws SQLException {
+    try (resultSet) {
+      while (resultSet.next()) {
+        rowHandler.processRow(resultSet);
+      }
+    }
+  }
+
+  /**
+   * {@link RowCallbackHandler} passing each row to a handler through a {@link SqlRowSet} wrapping
+   * the result set. The wrapper is created on the first row, and reads the current row of the
+   * result set from then on.
+   */
+  @RequiredArgsConstructor
+  private static class RowSetCallbackHandler implements RowCallbackHandler {
+    private final Consumer<SqlRowSet> rowHandler;
+
+    private SqlRowSet rowSet;
+
+    @Override
+    public void processRow(@Nonnull ResultSet resultSet) {
+      if (rowSet == null) {
+        rowSet = new ResultSetWrappingSqlRowSet(resultSet);
+      }
+
+      rowHandler.accept(rowSet);
+    }
+  }
+
+  /** Function executing a statement and returning the result set. */
+  @FunctionalInterface
+  private interface StatementExecutor {
+    ResultSet execute() throws SQLException;
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AggregatedValueMapTest {
+  @Test
+  void testPutAndGet() {
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    map.put(map.toKey("deA", "202401", "ouA"), 1d);
+    map.put(map.toKey("deA", "202402", "ouA"), 2d);
+    map.put(map.toKey("deB", "202401", "ouA"), 3d);
+    map.put(map.toKey("deA", "202401", "ouA"), 4d);
+
+    assertEquals(3, map.size());
+    assertEquals(3, map.width());
+    assertEquals(4d, map.get(map.toKey("deA", "202401", "ouA")));
+    assertEquals(2d, map.get(map.toKey("deA", "202402", "ouA")));
+    assertEquals(3d, map.get(map.toKey("deB", "202401", "ouA")));
+    assertNull(map.get(map.toKey("deB", "202402", "ouA")));
+    assertFalse(map.containsKey(map.toKey("deB", "202402")));
+  }
+
+  @Test
+  void testPutText() {
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    map.putText(map.toKey("deA", "202401"), "Yes");
+    map.putText(map.toKey("deA", "202402"), null);
+    map.put(map.toKey("deA", "202403"), 5d);
+
+    assertEquals("Yes", map.get(map.toKey("deA", "202401")));
+    assertTrue(map.containsKey(map.toKey("deA", "202402")));
+    assertNull(map.get(map.toKey("deA", "202402")));
+    assertTrue(map.isText(map.indexOf(map.toKey("deA", "202402"))));
+    assertFalse(map.isText(map.indexOf(map.toKey("deA", "202403"))));
+  }
+
+  @Test
+  void testGrowth() {
+    AggregatedValueMap map = new AggregatedValueMap();
+    Map<String, Double> expected = new HashMap<>();
+
+    for (int de = 0; de < 40; de++) {
+      for (int ou = 0; ou < 500; ou++) {
+        map.put(map.toKey("de" + de, "ou" + ou), de * ou);
+        expected.put("de" + de + "-ou" + ou, (double) de * ou);
+      }
+    }
+
+    assertEquals(20000, map.size());
+    assertEquals(540, map.getDictionary().size());
+    assertEquals(expected, map.toDoubleMap());
+  }
+
+  @Test
+  void testPutAllWithDifferentDictionary() {
+    AggregatedValueMap mapA = AggregatedValueMap.of(Map.of("deA-ouA", 1d, "deB-ouA", 2d));
+    AggregatedValueMap mapB = AggregatedValueMap.of(Map.of("deB-ouA", 3d, "deC-ouB", "Text"));
+
+    mapA.putAll(mapB);
+
+    assertEquals(Map.of("deA-ouA", 1d, "deB-ouA", 3d, "deC-ouB", "Text"), mapA.toStringKeyMap());
+    assertEquals(Map.of("deA-ouA", 1d, "deB-ouA", 3d), mapA.toDoubleMap());
+  }
+
+  @Test
+  void testPutAllEmpty() {
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    map.putAll(new AggregatedValueMap());
+
+    assertTrue(map.isEmpty());
+    assertEquals(-1, map.width());
+  }
+
+  @Test
+  void testGetItems() {
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    map.put(map.toKey("deA", "202401", "ouA"), 1d);
+
+    int entry = map.indexOf(map.toKey("deA", "202401", "ouA"));
+
+    assertEquals("deA-202401-ouA", map.getStringKey(entry));
+    assertEquals("202401", map.getItems(entry)[1]);
+  }
+
+  @Test
+  void testPutInvalidKeyWidth() {
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    map.put(map.toKey("deA", "202401"), 1d);
+
+    assertThrows(IllegalArgumentException.class, () -> map.put(map.toKey("deA"), 1d));
+  }
+
+  @Test
+  void testGetDoubleValueOfText() {
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    map.putText(map.toKey("deA", "202401"), "text");
+
+    int entry = map.indexOf(map.toKey("deA", "202401"));
+
+    assertThrows(IllegalStateException.class, () -> map.getDoubleValue(entry));
+  }
+}
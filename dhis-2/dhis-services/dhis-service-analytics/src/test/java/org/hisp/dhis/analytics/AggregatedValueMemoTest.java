@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import static org.hisp.dhis.analytics.AnalyticsTableType.DATA_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.DimensionType;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.PeriodDimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AggregatedValueMemoTest {
+  private DataElement deA;
+
+  private DataElement deB;
+
+  private DataElement deC;
+
+  private OrganisationUnit ouA;
+
+  private AggregatedValueMemo memo;
+
+  @BeforeEach
+  void setUp() {
+    deA = createDataElement("deA");
+    deB = createDataElement("deB");
+    deC = createDataElement("deC");
+    ouA = new OrganisationUnit("OrgUnitA");
+    ouA.setUid("ouA");
+    memo = new AggregatedValueMemo();
+  }
+
+  @Test
+  void testGetMemoizedValues() {
+    AggregatedValueMap values = new AggregatedValueMap();
+    values.put(values.toKey("deA", "202401", "ouA"), 1d);
+    values.put(values.toKey("deA", "202402", "ouA"), 2d);
+    values.put(values.toKey("deB", "202401", "ouA"), 3d);
+
+    memo.putValues(getParams(List.of(deA, deB), "202401", "202402"), DATA_VALUE, values);
+
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    List<DimensionalItemObject> missingItems =
+        memo.getValues(getParams(List.of(deA, deC), "202401", "202402"), DATA_VALUE, map);
+
+    assertEquals(List.of(deC), missingItems);
+    assertEquals(2, map.size());
+    assertEquals(1d, map.get(map.toKey("deA", "202401", "ouA")));
+    assertEquals(2d, map.get(map.toKey("deA", "202402", "ouA")));
+  }
+
+  @Test
+  void testGetMemoizedValuesWithoutData() {
+    memo.putValues(getParams(List.of(deA), "202401"), DATA_VALUE, new AggregatedValueMap());
+
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    assertTrue(memo.getValues(getParams(List.of(deA), "202401"), DATA_VALUE, map).isEmpty());
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void testGetValuesForDifferentQuery() {
+    AggregatedValueMap values = new AggregatedValueMap();
+    values.put(values.toKey("deA", "202401", "ouA"), 1d);
+
+    memo.putValues(getParams(List.of(deA), "202401"), DATA_VALUE, values);
+
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    assertEquals(List.of(deA), memo.getValues(getParams(List.of(deA), "202402"), DATA_VALUE, map));
+    assertEquals(
+        List.of(deA),
+        memo.getValues(getParams(List.of(deA), "202401"), AnalyticsTableType.EVENT, map));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void testGetValuesSkipsItemsFetchedByBatch() {
+    Set<String> batchKeys = new HashSet<>();
+    AggregatedValueMap map = new AggregatedValueMap();
+
+    assertEquals(
+        List.of(deA, deB),
+        memo.getValues(getParams(List.of(deA, deB), "202401"), DATA_VALUE, map, batchKeys));
+    assertEquals(
+        List.of(deC),
+        memo.getValues(getParams(List.of(deB, deC), "202401"), DATA_VALUE, map, batchKeys));
+    assertEquals(
+        List.of(deB),
+        memo.getValues(getParams(List.of(deB), "202402"), DATA_VALUE, map, batchKeys));
+  }
+
+  @Test
+  void testPutValuesNotAttributableToDataItem() {
+    AggregatedValueMap values = new AggregatedValueMap();
+    values.put(values.toKey("deA", "202401", "ouA"), 1d);
+    values.put(values.toKey("deX", "202401", "ouA"), 2d);
+
+    memo.putValues(getParams(List.of(deA), "202401"), DATA_VALUE, values);
+
+    assertEquals(0, memo.size());
+  }
+
+  @Test
+  void testIsMemoizable() {
+    DataQueryParams params = getParams(List.of(deA), "202401");
+
+    DataQueryParams filterParams =
+        DataQueryParams.newBuilder()
+            .withOrganisationUnits(List.of(ouA))
+            .withPeriods(List.of(PeriodDimension.of("202401")))
+            .addFilter(new BaseDimensionalObject("dx", DimensionType.DATA_X, List.of(deA, deB)))
+            .build();
+
+    assertTrue(memo.isMemoizable(params));
+    assertFalse(memo.isMemoizable(filterParams));
+  }
+
+  private DataQueryParams getParams(List<DataElement> dataElements, String... periods) {
+    return DataQueryParams.newBuilder()
+        .withDataElements(dataElements)
+        .withPeriods(List.of(periods).stream().map(PeriodDimension::of).toList())
+        .withOrganisationUnits(List.of(ouA))
+        .build();
+  }
+
+  private DataElement createDataElement(String uid) {
+    DataElement dataElement = new DataElement("DataElement" + uid);
+    dataElement.setUid(uid);
+    return dataElement;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import org.hisp.dhis.common.QueryRuntimeException;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCancellationTokenTest {
+  @Mock private Statement statement;
+
+  @Mock private Statement otherStatement;
+
+  @Test
+  void testCreateWithoutDeadline() throws SQLException {
+    QueryCancellationToken token = QueryCancellationToken.create();
+
+    assertFalse(token.hasDeadline());
+    assertFalse(token.isExpired());
+    assertFalse(token.isCancelled());
+    assertEquals(Long.MAX_VALUE, token.getRemainingNanos());
+
+    token.register(statement);
+
+    verify(statement, never()).setQueryTimeout(anyInt());
+  }
+
+  @Test
+  void testRegisterSetsQueryTimeoutRoundedUp() throws SQLException {
+    QueryCancellationToken token = QueryCancellationToken.withTimeout(Duration.ofMillis(90_500));
+
+    assertTrue(token.hasDeadline());
+    assertFalse(token.isCancelled());
+
+    token.register(statement);
+
+    verify(statement).setQueryTimeout(91);
+  }
+
+  @Test
+  void testExpiredToken() {
+    QueryCancellationToken token = QueryCancellationToken.withTimeout(Duration.ZERO);
+
+    assertTrue(token.isExpired());
+    assertTrue(token.isCancelled());
+    assertEquals(0, token.getRemainingNanos());
+
+    QueryRuntimeException ex =
+        assertThrows(QueryRuntimeException.class, () -> token.register(statement));
+
+    assertEquals(ErrorCode.E7136, ex.getErrorCode());
+  }
+
+  @Test
+  void testCancelCancelsRegisteredStatements() throws SQLException {
+    QueryCancellationToken token = QueryCancellationToken.create();
+
+    token.register(statement);
+    token.register(otherStatement);
+    token.unregister(otherStatement);
+
+    doThrow(new SQLException("Statement is closed")).when(statement).cancel();
+
+    token.cancel();
+
+    assertTrue(token.isCancelled());
+    assertFalse(token.isExpired());
+    verify(statement).cancel();
+    verify(otherStatement, never()).cancel();
+    assertThrows(QueryRuntimeException.class, token::throwIfCancelled);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.analyze;
+
+import static org.hisp.dhis.analytics.AnalyticsTableType.DATA_VALUE;
+import static org.hisp.dhis.analytics.analyze.IndexRecommendation.Action.ADD;
+import static org.hisp.dhis.analytics.analyze.IndexRecommendation.Action.DROP;
+import static org.hisp.dhis.analytics.analyze.IndexRecommendation.Action.KEEP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
+import org.hisp.dhis.db.model.Index;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsIndexAdvisorTest {
+  @Mock private ExecutionPlanStore executionPlanStore;
+
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
+  @InjectMocks private AnalyticsIndexAdvisor advisor;
+
+  private final Index indexA = index("in_a", "\"dx\"");
+
+  private final Index indexB = index("in_b", "uidlevel2");
+
+  private final Index indexC = index("in_c", "co");
+
+  @Test
+  void testGetRecommendations() {
+    when(executionPlanStore.getColumnUsage(DATA_VALUE))
+        .thenReturn(Map.of("dx", 3L, "uidlevel2", 2L, "yearly", 2L));
+    when(executionPlanStore.getIndexedColumns(DATA_VALUE)).thenReturn(Set.of("dx", "co"));
+
+    assertEquals(
+        List.of(
+            new IndexRecommendation("dx", 3, true, KEEP),
+            new IndexRecommendation("uidlevel2", 2, false, ADD),
+            new IndexRecommendation("yearly", 2, false, ADD),
+            new IndexRecommendation("co", 0, true, DROP)),
+        advisor.getRecommendations(DATA_VALUE));
+  }
+
+  @Test
+  void testGetIndexesToCreateNotEnabled() {
+    when(analyticsTableSettings.isIndexUsedOnly()).thenReturn(false);
+
+    assertEquals(
+        List.of(indexA, indexB, indexC),
+        advisor.getIndexesToCreate(DATA_VALUE, List.of(indexA, indexB, indexC)));
+  }
+
+  @Test
+  void testGetIndexesToCreateNoUsage() {
+    when(analyticsTableSettings.isIndexUsedOnly()).thenReturn(true);
+    when(executionPlanStore.getColumnUsage(DATA_VALUE)).thenReturn(Map.of());
+
+    assertEquals(
+        List.of(indexA, indexB, indexC),
+        advisor.getIndexesToCreate(DATA_VALUE, List.of(indexA, indexB, indexC)));
+  }
+
+  @Test
+  void testGetIndexesToCreateUsedOnly() {
+    when(analyticsTableSettings.isIndexUsedOnly()).thenReturn(true);
+    when(executionPlanStore.getColumnUsage(DATA_VALUE))
+        .thenReturn(Map.of("dx", 2L, "uidlevel2", 1L));
+
+    assertEquals(
+        List.of(indexA, indexB),
+        advisor.getIndexesToCreate(DATA_VALUE, List.of(indexA, indexB, indexC)));
+  }
+
+  @Test
+  void testSetIndexes() {
+    advisor.setIndexes(DATA_VALUE, List.of(indexA, indexC));
+
+    verify(executionPlanStore).setIndexedColumns(DATA_VALUE, Set.of("dx", "co"));
+  }
+
+  private Index index(String name, String column) {
+    return Index.builder().name(name).tableName("analytics_2022").columns(List.of(column)).build();
+  }
+}
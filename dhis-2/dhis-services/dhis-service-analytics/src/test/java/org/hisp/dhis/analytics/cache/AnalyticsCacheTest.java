@@ -39,11 +39,15 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsCacheTtlMode;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheBuilder;
@@ -53,6 +57,8 @@ import org.hisp.dhis.cache.SimpleCacheBuilder;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
 import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.PeriodDimension;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.setting.SystemSettingsService;
@@ -85,7 +91,9 @@ class AnalyticsCacheTest {
     cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
     Cache<Grid> cache = new LocalCache<>(cacheBuilder);
     Mockito.<Cache<Grid>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
-    analyticsCache = new AnalyticsCache(cacheProvider, settings);
+    analyticsCache =
+        new AnalyticsCache(
+            cacheProvider, settings, new AnalyticsCacheMetrics((MeterRegistry) null));
   }
 
   @Test
@@ -101,7 +109,9 @@ class AnalyticsCacheTest {
 
     Mockito.<Cache<Grid>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
 
-    AnalyticsCache analyticsCache = new AnalyticsCache(cacheProvider, settings);
+    AnalyticsCache analyticsCache =
+        new AnalyticsCache(
+            cacheProvider, settings, new AnalyticsCacheMetrics((MeterRegistry) null));
 
     Grid grid = new ListGrid();
     grid.addHeader(new GridHeader("Header1"))
@@ -157,8 +167,8 @@ class AnalyticsCacheTest {
     DataQueryParams innerParams = mock(DataQueryParams.class);
 
     // Set up key behavior
-    when(outerParams.getKey()).thenReturn(outerKey);
-    when(innerParams.getKey()).thenReturn(innerKey);
+    when(outerParams.getCanonicalKey()).thenReturn(outerKey);
+    when(innerParams.getCanonicalKey()).thenReturn(innerKey);
 
     // Create a function that simulates nested calls
     Function<DataQueryParams, Grid> outerFunction =
@@ -206,7 +216,7 @@ class AnalyticsCacheTest {
     // Pre-populate cache with inner grid
     Grid preloadedGrid = new ListGrid();
     preloadedGrid.addHeader(new GridHeader("PreloadedHeader"));
-    analyticsCache.put(innerParams.getKey(), preloadedGrid, 60);
+    analyticsCache.put(innerParams.getCanonicalKey(), preloadedGrid, 60);
 
     // Create a spy to track cache usage
     AnalyticsCache spyCache = spy(analyticsCache);
@@ -235,7 +245,7 @@ class AnalyticsCacheTest {
     // Method under test
     spyCache.getOrFetch(outerParams, outerFunction);
 
-    verify(spyCache, times(1)).get(innerParams.getKey());
+    verify(spyCache, times(1)).get(innerParams);
   }
 
   @Test
@@ -251,9 +261,9 @@ class AnalyticsCacheTest {
     String level2Key = "level2Key";
     String level3Key = "level3Key";
 
-    when(level1Params.getKey()).thenReturn(level1Key);
-    when(level2Params.getKey()).thenReturn(level2Key);
-    when(level3Params.getKey()).thenReturn(level3Key);
+    when(level1Params.getCanonicalKey()).thenReturn(level1Key);
+    when(level2Params.getCanonicalKey()).thenReturn(level2Key);
+    when(level3Params.getCanonicalKey()).thenReturn(level3Key);
 
     // Level 3 function (innermost)
     Function<DataQueryParams, Grid> level3Function =
@@ -354,7 +364,7 @@ class AnalyticsCacheTest {
 
     // Verify this grid was cached
     assertTrue(
-        analyticsCache.get(newParams.getKey()).isPresent(),
+        analyticsCache.get(newParams.getCanonicalKey()).isPresent(),
         "New grid should be cached because nested call flag was properly reset");
   }
 
@@ -375,10 +385,10 @@ class AnalyticsCacheTest {
     String thread2Key = "thread2Key";
     String thread2NestedKey = "thread2NestedKey";
 
-    when(thread1Params.getKey()).thenReturn(thread1Key);
-    when(thread1NestedParams.getKey()).thenReturn(thread1NestedKey);
-    when(thread2Params.getKey()).thenReturn(thread2Key);
-    when(thread2NestedParams.getKey()).thenReturn(thread2NestedKey);
+    when(thread1Params.getCanonicalKey()).thenReturn(thread1Key);
+    when(thread1NestedParams.getCanonicalKey()).thenReturn(thread1NestedKey);
+    when(thread2Params.getCanonicalKey()).thenReturn(thread2Key);
+    when(thread2NestedParams.getCanonicalKey()).thenReturn(thread2NestedKey);
 
     // Create a function with nested calls for thread 1
     Function<DataQueryParams, Grid> thread1Function =
@@ -451,4 +461,129 @@ class AnalyticsCacheTest {
         analyticsCache.get(thread2NestedKey).isPresent(),
         "Thread 2 nested grid should NOT be cached");
   }
+
+  @Test
+  void returnArrangedGridForDifferentDimensionOrder() {
+    when(settingsService.getCurrentSettings()).thenReturn(systemSettings);
+    when(systemSettings.getAnalyticsCacheTtlMode()).thenReturn(AnalyticsCacheTtlMode.FIXED);
+
+    DataElement dataElement = new DataElement("dataElementA");
+    OrganisationUnit orgUnit = new OrganisationUnit("orgUnitA");
+    PeriodDimension period = PeriodDimension.of("202301");
+
+    DataQueryParams paramsA =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(dataElement))
+            .withOrganisationUnits(List.of(orgUnit))
+            .withPeriods(List.of(period))
+            .build();
+
+    DataQueryParams paramsB =
+        DataQueryParams.newBuilder()
+            .withPeriods(List.of(period))
+            .withOrganisationUnits(List.of(orgUnit))
+            .withDataElements(List.of(dataElement))
+            .build();
+
+    assertEquals(paramsA.getCanonicalKey(), paramsB.getCanonicalKey());
+
+    analyticsCache.getOrFetch(
+        paramsA,
+        params -> {
+          Grid grid = new ListGrid();
+          grid.addHeader(new GridHeader("dx"))
+              .addHeader(new GridHeader("ou"))
+              .addHeader(new GridHeader("pe"))
+              .addHeader(new GridHeader("value"))
+              .addRow()
+              .addValue("dataElementA")
+              .addValue("orgUnitA")
+              .addValue("202301")
+              .addValue(10d);
+          return grid;
+        });
+
+    Optional<Grid> optCachedGrid = analyticsCache.get(paramsB);
+
+    assertTrue(optCachedGrid.isPresent());
+
+    Grid cachedGrid = optCachedGrid.get();
+
+    assertEquals(
+        List.of("pe", "ou", "dx", "value"),
+        cachedGrid.getHeaders().stream().map(GridHeader::getName).toList());
+    assertEquals(List.of("202301", "orgUnitA", "dataElementA", 10d), cachedGrid.getRow(0));
+  }
+
+  @Test
+  void invalidateEntriesDependingOnTableTypeAndYears() {
+    when(settingsService.getCurrentSettings()).thenReturn(systemSettings);
+    when(systemSettings.getAnalyticsCacheTtlMode()).thenReturn(AnalyticsCacheTtlMode.FIXED);
+
+    DataQueryParams params2023 =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(new DataElement("dataElementA")))
+            .withPeriods(List.of(PeriodDimension.of("2023")))
+            .build();
+
+    DataQueryParams params2010 =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(new DataElement("dataElementA")))
+            .withPeriods(List.of(PeriodDimension.of("2010")))
+            .build();
+
+    analyticsCache.getOrFetch(params2023, params -> new ListGrid());
+    analyticsCache.getOrFetch(params2010, params -> new ListGrid());
+
+    analyticsCache.invalidate(AnalyticsTableType.EVENT, Set.of());
+
+    assertTrue(analyticsCache.get(params2023).isPresent());
+    assertTrue(analyticsCache.get(params2010).isPresent());
+
+    analyticsCache.invalidate(AnalyticsTableType.DATA_VALUE, Set.of(2024));
+
+    assertTrue(analyticsCache.get(params2023).isPresent());
+    assertTrue(analyticsCache.get(params2010).isPresent());
+
+    analyticsCache.invalidate(AnalyticsTableType.DATA_VALUE, Set.of(2023));
+
+    assertFalse(analyticsCache.get(params2023).isPresent());
+    assertTrue(analyticsCache.get(params2010).isPresent());
+
+    analyticsCache.invalidate(AnalyticsTableType.DATA_VALUE, Set.of());
+
+    assertFalse(analyticsCache.get(params2010).isPresent());
+  }
+
+  @Test
+  void invalidateEntriesOfFirstOrLastValuesByYearsBeforeQueryPeriod() {
+    when(settingsService.getCurrentSettings()).thenReturn(systemSettings);
+    when(systemSettings.getAnalyticsCacheTtlMode()).thenReturn(AnalyticsCacheTtlMode.FIXED);
+
+    DataElement sumDataElement = new DataElement("dataElementA");
+    sumDataElement.setAggregationType(AggregationType.SUM);
+
+    DataElement lastDataElement = new DataElement("dataElementB");
+    lastDataElement.setAggregationType(AggregationType.LAST);
+
+    DataQueryParams sumParams =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(sumDataElement))
+            .withPeriods(List.of(PeriodDimension.of("2023")))
+            .build();
+
+    DataQueryParams lastParams =
+        DataQueryParams.newBuilder()
+            .withDataElements(List.of(lastDataElement))
+            .withPeriods(List.of(PeriodDimension.of("2023")))
+            .build();
+
+    analyticsCache.getOrFetch(sumParams, params -> new ListGrid());
+    analyticsCache.getOrFetch(lastParams, params -> new ListGrid());
+
+    analyticsCache.invalidate(AnalyticsTableType.DATA_VALUE, Set.of(2018));
+
+    assertTrue(analyticsCache.get(sumParams).isPresent());
+    assertFalse(analyticsCache.get(lastParams).isPresent());
+  }
 }
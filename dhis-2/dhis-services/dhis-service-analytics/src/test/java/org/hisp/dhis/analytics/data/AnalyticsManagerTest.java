@@ -47,6 +47,7 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
+import org.hisp.dhis.analytics.AggregatedValueMap;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.DataQueryParams;
@@ -122,12 +123,15 @@ class AnalyticsManagerTest extends TestBase {
             .withAggregationType(aggregationType)
             .build();
 
-    analyticsManager.replaceDataPeriodsWithAggregationPeriods(
-        dataValueMap, params, dataPeriodAggregationPeriodMap);
+    AggregatedValueMap aggregationPeriodValueMap =
+        analyticsManager.replaceDataPeriodsWithAggregationPeriods(
+            AggregatedValueMap.of(dataValueMap), params, dataPeriodAggregationPeriodMap);
 
-    assertEquals(1, dataValueMap.size());
+    assertEquals(1, aggregationPeriodValueMap.size());
 
-    assertThat(dataValueMap.get(BASE_UID + "-" + finYear2017.getIsoDate()), is(weightedAverage));
+    assertThat(
+        aggregationPeriodValueMap.toStringKeyMap().get(BASE_UID + "-" + finYear2017.getIsoDate()),
+        is(weightedAverage));
   }
 
   @Test
@@ -212,18 +216,29 @@ class AnalyticsManagerTest extends TestBase {
     dataPeriodAggregationPeriodMap.putValue(y2012, PeriodDimension.of(createPeriod("2012Q3")));
     dataPeriodAggregationPeriodMap.putValue(y2012, PeriodDimension.of(createPeriod("2012Q4")));
 
-    analyticsManager.replaceDataPeriodsWithAggregationPeriods(
-        dataValueMap, params, dataPeriodAggregationPeriodMap);
-
-    assertEquals(8, dataValueMap.size());
-
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "A-2012Q1-" + BASE_UID + "A"));
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "A-2012Q2-" + BASE_UID + "A"));
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "A-2012Q3-" + BASE_UID + "A"));
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "A-2012Q4-" + BASE_UID + "A"));
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "B-2012Q1-" + BASE_UID + "A"));
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "B-2012Q2-" + BASE_UID + "A"));
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "B-2012Q3-" + BASE_UID + "A"));
-    assertTrue(dataValueMap.keySet().contains(BASE_UID + "B-2012Q4-" + BASE_UID + "A"));
+    Map<String, Object> aggregationPeriodValueMap =
+        analyticsManager
+            .replaceDataPeriodsWithAggregationPeriods(
+                AggregatedValueMap.of(dataValueMap), params, dataPeriodAggregationPeriodMap)
+            .toStringKeyMap();
+
+    assertEquals(8, aggregationPeriodValueMap.size());
+
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "A-2012Q1-" + BASE_UID + "A"));
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "A-2012Q2-" + BASE_UID + "A"));
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "A-2012Q3-" + BASE_UID + "A"));
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "A-2012Q4-" + BASE_UID + "A"));
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "B-2012Q1-" + BASE_UID + "A"));
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "B-2012Q2-" + BASE_UID + "A"));
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "B-2012Q3-" + BASE_UID + "A"));
+    assertTrue(
+        aggregationPeriodValueMap.keySet().contains(BASE_UID + "B-2012Q4-" + BASE_UID + "A"));
   }
 }
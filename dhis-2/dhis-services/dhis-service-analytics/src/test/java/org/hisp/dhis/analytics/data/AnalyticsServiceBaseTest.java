@@ -105,6 +105,8 @@ abstract class AnalyticsServiceBaseTest {
 
   @Mock private ExecutionPlanStore executionPlanStore;
 
+  @Mock private QueryCancellationMetrics cancellationMetrics;
+
   @Mock private UserService userService;
 
   DataAggregator target;
@@ -124,7 +126,8 @@ abstract class AnalyticsServiceBaseTest {
             settingsProvider,
             analyticsManager,
             organisationUnitService,
-            executionPlanStore);
+            executionPlanStore,
+            cancellationMetrics);
 
     target = new DataAggregator(headerHandler, metadataHandler, dataHandler);
     target.feedHandlers();
@@ -46,10 +46,10 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import org.hisp.dhis.analytics.AggregatedValueMap;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.category.CategoryCombo;
@@ -79,10 +79,9 @@ class AnalyticsServiceMetadataTest extends AnalyticsServiceBaseTest {
   @BeforeEach
   public void setUp() {
     injectSecurityContextNoSettings(new SystemUser());
-    Map<String, Object> aggregatedValues = new HashMap<>();
     when(analyticsManager.getAggregatedDataValues(
             any(DataQueryParams.class), eq(AnalyticsTableType.DATA_VALUE), eq(0)))
-        .thenReturn(CompletableFuture.completedFuture(aggregatedValues));
+        .thenReturn(CompletableFuture.completedFuture(new AggregatedValueMap()));
   }
 
   @SuppressWarnings("unchecked")
@@ -42,10 +42,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import org.hisp.dhis.analytics.AggregatedValueMap;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
@@ -99,11 +98,9 @@ class AnalyticsServiceProgramDataElementTest extends AnalyticsServiceBaseTest {
 
     initMock(params);
 
-    Map<String, Object> emptyData = new HashMap<>();
-
     when(analyticsManager.getAggregatedDataValues(
             any(DataQueryParams.class), eq(AnalyticsTableType.DATA_VALUE), eq(0)))
-        .thenReturn(CompletableFuture.completedFuture(emptyData));
+        .thenReturn(CompletableFuture.completedFuture(new AggregatedValueMap()));
 
     when(eventAggregatedService.getAggregatedData(any(EventQueryParams.class)))
         .thenReturn(new ListGrid());
@@ -47,7 +47,9 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.List;
@@ -58,7 +60,9 @@ import org.hisp.dhis.analytics.DataQueryGroups;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryCombo;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -89,6 +93,8 @@ class DefaultQueryPlannerTest extends TestBase {
 
   @Mock private DataElementStore dataElementStore;
 
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
   @InjectMocks private DefaultQueryPlanner queryPlanner;
 
   private DataElement dataElementA;
@@ -176,6 +182,70 @@ class DefaultQueryPlannerTest extends TestBase {
     assertTrue(result.isOptimal(1));
   }
 
+  @Test
+  void testPlanQuery_withRollupTable() {
+    DataQueryParams params = createBasicQueryParams();
+    QueryPlannerParams plannerParams = createBasicPlannerParams();
+
+    when(analyticsTableSettings.getRollups())
+        .thenReturn(
+            List.of(
+                new AnalyticsRollup(new YearlyPeriodType(), 1),
+                new AnalyticsRollup(new MonthlyPeriodType(), 2)));
+    when(partitionManager.tableExists("analytics_rollup_yearly_1")).thenReturn(true);
+    when(partitionManager.tableExists("analytics_rollup_monthly_2")).thenReturn(true);
+
+    DataQueryGroups result = queryPlanner.planQuery(params, plannerParams);
+
+    assertEquals(1, result.getAllQueries().size());
+    DataQueryParams query = result.getAllQueries().get(0);
+    assertEquals("analytics_rollup_monthly_2", query.getTableName());
+    assertTrue(query.isSkipPartitioning());
+  }
+
+  @Test
+  void testPlanQuery_withRollupTableLooksUpExistingTablesOnce() {
+    QueryPlannerParams plannerParams = createBasicPlannerParams();
+
+    when(analyticsTableSettings.getRollups())
+        .thenReturn(List.of(new AnalyticsRollup(new MonthlyPeriodType(), 2)));
+    when(partitionManager.tableExists("analytics_rollup_monthly_2")).thenReturn(true);
+
+    queryPlanner.planQuery(createBasicQueryParams(), plannerParams);
+    DataQueryGroups result = queryPlanner.planQuery(createBasicQueryParams(), plannerParams);
+
+    assertEquals("analytics_rollup_monthly_2", result.getAllQueries().get(0).getTableName());
+    verify(partitionManager, times(1)).tableExists("analytics_rollup_monthly_2");
+  }
+
+  @Test
+  void testPlanQuery_withNonExistingRollupTable() {
+    DataQueryParams params = createBasicQueryParams();
+    QueryPlannerParams plannerParams = createBasicPlannerParams();
+
+    when(analyticsTableSettings.getRollups())
+        .thenReturn(List.of(new AnalyticsRollup(new MonthlyPeriodType(), 2)));
+    when(partitionManager.tableExists("analytics_rollup_monthly_2")).thenReturn(false);
+
+    DataQueryGroups result = queryPlanner.planQuery(params, plannerParams);
+
+    DataQueryParams query = result.getAllQueries().get(0);
+    assertEquals("analytics", query.getTableName());
+    assertFalse(query.isSkipPartitioning());
+  }
+
+  @Test
+  void testPlanQuery_withRollupTableNotCompatible() {
+    DataQueryParams params =
+        DataQueryParams.newBuilder(createBasicQueryParams()).withTimely(true).build();
+    QueryPlannerParams plannerParams = createBasicPlannerParams();
+
+    DataQueryGroups result = queryPlanner.planQuery(params, plannerParams);
+
+    assertEquals("analytics", result.getAllQueries().get(0).getTableName());
+    verify(partitionManager, never()).tableExists(anyString());
+  }
+
   @Test
   void testPlanQuery_withSplittingByDimension() {
     // Create params with many data elements to force splitting
@@ -38,8 +38,14 @@ import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
 import static org.hisp.dhis.test.TestBase.createDataElement;
 import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
@@ -66,8 +72,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 
 /**
  * @author Luciano Fiandesio
@@ -80,7 +86,11 @@ class JdbcAnalyticsManagerTest {
 
   @Mock private JdbcTemplate jdbcTemplate;
 
-  @Mock private SqlRowSet rowSet;
+  @Mock private Connection connection;
+
+  @Mock private Statement statement;
+
+  @Mock private ResultSet resultSet;
 
   @Mock private NestedIndicatorCyclicDependencyInspector nestedIndicatorCyclicDependencyInspector;
 
@@ -95,7 +105,7 @@ class JdbcAnalyticsManagerTest {
   @InjectMocks private JdbcAnalyticsManager subject;
 
   @Test
-  void verifyQueryGeneratedWhenDataElementHasLastAggregationType() {
+  void verifyQueryGeneratedWhenDataElementHasLastAggregationType() throws SQLException {
     mockRowSet();
 
     DataQueryParams params = createParams(AggregationType.LAST);
@@ -106,7 +116,7 @@ class JdbcAnalyticsManagerTest {
   }
 
   @Test
-  void verifyQueryGeneratedWhenDataElementHasLastAvgOrgUnitAggregationType() {
+  void verifyQueryGeneratedWhenDataElementHasLastAvgOrgUnitAggregationType() throws SQLException {
     mockRowSet();
 
     DataQueryParams params = createParams(AggregationType.LAST_AVERAGE_ORG_UNIT);
@@ -117,7 +127,7 @@ class JdbcAnalyticsManagerTest {
   }
 
   @Test
-  void verifyQueryGeneratedWhenDataElementHasLastLastOrgUnitAggregationType() {
+  void verifyQueryGeneratedWhenDataElementHasLastLastOrgUnitAggregationType() throws SQLException {
     mockRowSet();
 
     DataQueryParams params = createParams(AggregationType.LAST_LAST_ORG_UNIT);
@@ -135,7 +145,7 @@ class JdbcAnalyticsManagerTest {
   }
 
   @Test
-  void verifyQueryGeneratedWhenDataElementHasLastInPeriodAggregationType() {
+  void verifyQueryGeneratedWhenDataElementHasLastInPeriodAggregationType() throws SQLException {
     mockRowSet();
 
     DataQueryParams params = createParams(AggregationType.LAST_IN_PERIOD);
@@ -146,7 +156,8 @@ class JdbcAnalyticsManagerTest {
   }
 
   @Test
-  void verifyQueryGeneratedWhenDataElementHasLastInPeriodAvgOrgUnitAggregationType() {
+  void verifyQueryGeneratedWhenDataElementHasLastInPeriodAvgOrgUnitAggregationType()
+      throws SQLException {
     mockRowSet();
 
     DataQueryParams params = createParams(AggregationType.LAST_IN_PERIOD_AVERAGE_ORG_UNIT);
@@ -157,7 +168,7 @@ class JdbcAnalyticsManagerTest {
   }
 
   @Test
-  void verifyQueryGeneratedWhenDataElementHasMaxSumOrgUnitAggregationType() {
+  void verifyQueryGeneratedWhenDataElementHasMaxSumOrgUnitAggregationType() throws SQLException {
     mockRowSet();
 
     DataQueryParams params = createParams(AggregationType.MAX_SUM_ORG_UNIT);
@@ -168,7 +179,7 @@ class JdbcAnalyticsManagerTest {
   }
 
   @Test
-  void verifyQueryGeneratedWhenDataElementHasMinSumOrgUnitAggregationType() {
+  void verifyQueryGeneratedWhenDataElementHasMinSumOrgUnitAggregationType() throws SQLException {
     mockRowSet();
 
     DataQueryParams params = createParams(AggregationType.MIN_SUM_ORG_UNIT);
@@ -203,9 +214,15 @@ class JdbcAnalyticsManagerTest {
   // Supportive methods
   // -------------------------------------------------------------------------
 
-  private void mockRowSet() {
-    when(rowSet.next()).thenReturn(false);
-    when(jdbcTemplate.queryForRowSet(sql.capture())).thenReturn(rowSet);
+  private void mockRowSet() throws SQLException {
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery(sql.capture())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
   }
 
   private DataQueryParams createParams(AggregationType aggregationType) {
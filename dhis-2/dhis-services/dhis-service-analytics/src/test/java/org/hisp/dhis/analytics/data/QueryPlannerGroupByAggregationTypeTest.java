@@ -53,6 +53,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryCombo;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -80,6 +81,8 @@ class QueryPlannerGroupByAggregationTypeTest {
 
   @Mock private DataElementStore dataElementStore;
 
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
   @InjectMocks private DefaultQueryPlanner subject;
 
   @Test
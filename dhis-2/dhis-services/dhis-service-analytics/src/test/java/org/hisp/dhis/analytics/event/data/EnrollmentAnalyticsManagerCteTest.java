@@ -53,12 +53,17 @@ import static org.hisp.dhis.test.TestBase.createProgram;
 import static org.hisp.dhis.test.TestBase.createProgramIndicator;
 import static org.hisp.dhis.test.TestBase.getDate;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -122,6 +127,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
@@ -136,6 +142,12 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
 
   @Mock private JdbcTemplate jdbcTemplate;
 
+  @Mock private Connection connection;
+
+  @Mock private Statement statement;
+
+  @Mock private ResultSet resultSet;
+
   @Mock private ExecutionPlanStore executionPlanStore;
 
   @Mock private SqlRowSet rowSet;
@@ -167,8 +179,14 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   private String programAUid;
 
   @BeforeEach
-  public void setUp() {
+  public void setUp() throws SQLException {
     when(jdbcTemplate.queryForRowSet(anyString())).thenReturn(this.rowSet);
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
     when(systemSettingsService.getCurrentSettings()).thenReturn(systemSettings);
     when(systemSettings.getOrgUnitCentroidsInEventsAnalytics()).thenReturn(false);
     when(config.getPropertyOrDefault(ANALYTICS_DATABASE, "")).thenReturn("postgresql");
@@ -293,7 +311,8 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEnrollmentsWithStageOuDimensionIncludesOuNameAndCodeWhenRequested() {
+  void verifyGetEnrollmentsWithStageOuDimensionIncludesOuNameAndCodeWhenRequested()
+      throws SQLException {
     // Stage.ou dimensions should include ev_ouname and ev_oucode columns
     // only when explicitly requested in headers
     String stageUid = programStage.getUid();
@@ -301,7 +320,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
         createStageOuRequestParamsWithHeaders(Set.of(stageUid + ".ouname", stageUid + ".oucode"));
 
     subject.getEnrollments(params, new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
 
@@ -314,13 +333,14 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEnrollmentsWithStageOuDimensionExcludesOuNameAndCodeWithoutHeaders() {
+  void verifyGetEnrollmentsWithStageOuDimensionExcludesOuNameAndCodeWithoutHeaders()
+      throws SQLException {
     // Stage.ou dimensions should NOT include ouname/oucode columns
     // when not explicitly requested in headers
     EventQueryParams params = createStageOuRequestParams();
 
     subject.getEnrollments(params, new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
 
@@ -335,7 +355,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentWithStageDateDimensionGeneratesValidSql() {
+  void verifyAggregateEnrollmentWithStageDateDimensionGeneratesValidSql() throws SQLException {
     // Test that aggregate enrollment queries with stage-specific EVENT_DATE:
     // 1. Use a per-stage filter CTE (latest_events_<stageUid>)
     // 2. Do NOT create a redundant program stage CTE
@@ -350,7 +370,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
             programStage.getUid() + ".eventdate", "Event date", ValueType.DATE, false, false));
 
     subject.getEnrollments(params, grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String baseCteSql =
@@ -373,7 +393,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentStageOrgUnitFilterStaysInFilterCte() {
+  void verifyAggregateEnrollmentStageOrgUnitFilterStaysInFilterCte() throws SQLException {
     DataElement orgUnitDataElement =
         org.hisp.dhis.test.TestBase.createDataElement(
             'O', ValueType.ORGANISATION_UNIT, AggregationType.NONE);
@@ -403,7 +423,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     grid.addHeader(new GridHeader("value", "Value", ValueType.NUMBER, false, false));
 
     subject.getEnrollments(params.build(), grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String baseCteSql =
@@ -427,7 +447,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentAttributeFilterProjectsQuotedColumnInBaseCte() {
+  void verifyAggregateEnrollmentAttributeFilterProjectsQuotedColumnInBaseCte() throws SQLException {
     String attributeUid = "lZGmxYbs97q";
     TrackedEntityAttribute attribute =
         org.hisp.dhis.test.TestBase.createTrackedEntityAttribute('A', ValueType.TEXT);
@@ -446,7 +466,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     grid.addHeader(new GridHeader("value", "Value", ValueType.NUMBER, false, false));
 
     subject.getEnrollments(params.build(), grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String baseCteSql =
@@ -462,7 +482,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentUnfilteredEventStatusUsesLatestEventsCte() {
+  void verifyAggregateEnrollmentUnfilteredEventStatusUsesLatestEventsCte() throws SQLException {
     // When a stage-specific dimension without a filter (e.g. stage.EVENT_STATUS) is requested
     // alongside a filtered stage dimension (stage.EVENT_DATE), the unfiltered dimension must
     // also be projected by the latest_events_<stage> CTE so the outer SELECT can read it from
@@ -507,7 +527,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
         new GridHeader(stageUid + ".eventstatus", "Event status", ValueType.TEXT, false, false));
 
     subject.getEnrollments(params.build(), grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String latestEventsCteSql =
@@ -525,7 +545,8 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentRepeatableOffsetItemKeepsPerItemCteWhenLatestEventsCteExists() {
+  void verifyAggregateEnrollmentRepeatableOffsetItemKeepsPerItemCteWhenLatestEventsCteExists()
+      throws SQLException {
     String stageUid = repeatableProgramStage.getUid();
     String deUid = dataElementA.getUid();
 
@@ -545,7 +566,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
         new GridHeader(stageUid + "[-1]." + deUid, "Offset value", ValueType.NUMBER, false, false));
 
     subject.getEnrollments(params.build(), grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String latestEventsCteSql =
@@ -560,7 +581,8 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentRepeatableOffsetsAreNotDuplicatedInLatestEventsCte() {
+  void verifyAggregateEnrollmentRepeatableOffsetsAreNotDuplicatedInLatestEventsCte()
+      throws SQLException {
     String stageUid = repeatableProgramStage.getUid();
     String deUid = dataElementA.getUid();
 
@@ -576,7 +598,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
         new GridHeader(stageUid + ".eventdate", "Event date", ValueType.DATE, false, false));
 
     subject.getEnrollments(params.build(), grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String latestEventsCteSql =
@@ -590,14 +612,14 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentIncludesProgramStatusFilterInSql() {
+  void verifyAggregateEnrollmentIncludesProgramStatusFilterInSql() throws SQLException {
     EventQueryParams.Builder params = createRequestParamsBuilder();
     params.withEndpointAction(AGGREGATE);
     params.withEnrollmentStatuses(
         new java.util.LinkedHashSet<>(java.util.List.of(ACTIVE, COMPLETED)));
 
     subject.getEnrollments(params.build(), new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
 
@@ -607,14 +629,14 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentEventDateFilterUsesEventJoinInBaseCte() {
+  void verifyAggregateEnrollmentEventDateFilterUsesEventJoinInBaseCte() throws SQLException {
     EventQueryParams params = createAggregateEnrollmentWithEventDateParams();
 
     ListGrid grid = new ListGrid();
     grid.addHeader(new GridHeader("value", "Value", ValueType.NUMBER, false, false));
 
     subject.getEnrollments(params, grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -638,14 +660,14 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentRequestEventDateUsesEventJoinInBaseCte() {
+  void verifyAggregateEnrollmentRequestEventDateUsesEventJoinInBaseCte() throws SQLException {
     EventQueryParams params = createAggregateEnrollmentWithRequestEventDateParams();
 
     ListGrid grid = new ListGrid();
     grid.addHeader(new GridHeader("value", "Value", ValueType.NUMBER, false, false));
 
     subject.getEnrollments(params, grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -670,7 +692,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentRequestEventDateHeaderUsesLatestEventAlias() {
+  void verifyAggregateEnrollmentRequestEventDateHeaderUsesLatestEventAlias() throws SQLException {
     EventQueryParams params = createAggregateEnrollmentWithRequestEventDateParams();
 
     ListGrid grid = new ListGrid();
@@ -678,7 +700,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     grid.addHeader(new GridHeader("eventdate", "Event date", ValueType.DATE, false, false));
 
     subject.getEnrollments(params, grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -698,7 +720,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentIncidentDateHeaderMapsToOccurredDateAlias() {
+  void verifyAggregateEnrollmentIncidentDateHeaderMapsToOccurredDateAlias() throws SQLException {
     EventQueryParams params = createAggregateEnrollmentWithIncidentDateHeaderParams();
 
     ListGrid grid = new ListGrid();
@@ -706,7 +728,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     grid.addHeader(new GridHeader("incidentdate", "Incident date", ValueType.DATE, false, false));
 
     subject.getEnrollments(params, grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -714,7 +736,8 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentUsesEnrollmentDateBucketForNonDefaultPeriodDimension() {
+  void verifyAggregateEnrollmentUsesEnrollmentDateBucketForNonDefaultPeriodDimension()
+      throws SQLException {
     EventQueryParams.Builder params = createRequestParamsBuilder();
     List<org.hisp.dhis.period.PeriodDimension> periods = createPeriodDimensions("202001");
     periods.forEach(period -> period.setDateField(TimeField.ENROLLMENT_DATE.name()));
@@ -723,7 +746,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     params.withEndpointAction(AGGREGATE);
 
     subject.getEnrollments(params.build(), new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
 
@@ -741,7 +764,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentUsesJoinBasedPeriodLookupForDoris() {
+  void verifyAggregateEnrollmentUsesJoinBasedPeriodLookupForDoris() throws SQLException {
     DorisAnalyticsSqlBuilder dorisBuilder =
         new DorisAnalyticsSqlBuilder("internal", "doris-jdbc.jar");
     JdbcEnrollmentAnalyticsManager dorisSubject =
@@ -755,7 +778,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     params.withEndpointAction(AGGREGATE);
 
     dorisSubject.getEnrollments(params.build(), new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
 
@@ -768,7 +791,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentUsesJoinBasedPeriodLookupForClickHouse() {
+  void verifyAggregateEnrollmentUsesJoinBasedPeriodLookupForClickHouse() throws SQLException {
     ClickHouseAnalyticsSqlBuilder clickHouseBuilder = new ClickHouseAnalyticsSqlBuilder("dhis2");
     JdbcEnrollmentAnalyticsManager clickHouseSubject =
         createEnrollmentAnalyticsManager(clickHouseBuilder, "clickhouse");
@@ -781,7 +804,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     params.withEndpointAction(AGGREGATE);
 
     clickHouseSubject.getEnrollments(params.build(), new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
 
@@ -805,7 +828,8 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentDorisLastUpdatedFinancialPeriodDoesNotProjectLegacyPeriodColumn() {
+  void verifyAggregateEnrollmentDorisLastUpdatedFinancialPeriodDoesNotProjectLegacyPeriodColumn()
+      throws SQLException {
     DorisAnalyticsSqlBuilder dorisBuilder =
         new DorisAnalyticsSqlBuilder("internal", "doris-jdbc.jar");
     JdbcEnrollmentAnalyticsManager dorisSubject =
@@ -819,7 +843,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     params.withEndpointAction(AGGREGATE);
 
     dorisSubject.getEnrollments(params.build(), new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -835,7 +859,8 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentEventDatePeriodDoesNotProjectEventDateAsStandaloneColumn() {
+  void verifyAggregateEnrollmentEventDatePeriodDoesNotProjectEventDateAsStandaloneColumn()
+      throws SQLException {
     // When EVENT_DATE is the period date field (EVENT_DATE:2022Sep),
     // the eventdate header should NOT appear as a standalone column in the final SELECT/GROUP BY.
     // Instead, the period bucket should handle it.
@@ -851,7 +876,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     grid.addHeader(new GridHeader("eventdate", "Event date", ValueType.TEXT, false, true));
 
     subject.getEnrollments(params.build(), grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -867,7 +892,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentProjectsMultipleDateFieldPeriodDimensions() {
+  void verifyAggregateEnrollmentProjectsMultipleDateFieldPeriodDimensions() throws SQLException {
     EventQueryParams.Builder params = createRequestParamsBuilder();
     List<PeriodDimension> periods = createPeriodDimensions("202001");
     periods.get(0).setDateField(TimeField.SCHEDULED_DATE.name());
@@ -883,7 +908,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     grid.addHeader(new GridHeader("lastupdated", "Last updated", ValueType.TEXT, false, true));
 
     subject.getEnrollments(params.build(), grid, 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -937,11 +962,11 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentRequestCreatedDateUsesCreatedColumn() {
+  void verifyAggregateEnrollmentRequestCreatedDateUsesCreatedColumn() throws SQLException {
     EventQueryParams params = createAggregateEnrollmentWithRequestCreatedDateParams();
 
     subject.getEnrollments(params, new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -952,11 +977,11 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyAggregateEnrollmentRequestCompletedDateUsesCompletedDateColumn() {
+  void verifyAggregateEnrollmentRequestCompletedDateUsesCompletedDateColumn() throws SQLException {
     EventQueryParams params = createAggregateEnrollmentWithRequestCompletedDateParams();
 
     subject.getEnrollments(params, new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
 
@@ -968,7 +993,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramAndStartEndDate() {
+  void verifyWithProgramAndStartEndDate() throws SQLException {
     EventQueryParams params =
         new EventQueryParams.Builder(createRequestParams())
             .withStartDate(getDate(2017, 1, 1))
@@ -976,7 +1001,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
             .build();
 
     subject.getEnrollments(params, new ListGrid(), 0);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
     assertThat(generatedSql, containsString("enrollmentdate >= '2017-01-01'"));
@@ -985,7 +1010,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithLastUpdatedTimeField() {
+  void verifyWithLastUpdatedTimeField() throws SQLException {
     EventQueryParams params =
         new EventQueryParams.Builder(createRequestParams())
             .withStartDate(getDate(2017, 1, 1))
@@ -994,7 +1019,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
             .build();
 
     subject.getEnrollments(params, new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
     assertThat(generatedSql, containsString("lastupdated >= '2017-01-01'"));
@@ -1002,20 +1027,20 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramStageAndNumericDataElement() {
+  void verifyWithProgramStageAndNumericDataElement() throws SQLException {
     verifyWithProgramStageAndDataElement(ValueType.NUMBER);
   }
 
   @Test
-  void verifyWithProgramStageAndTextDataElement() {
+  void verifyWithProgramStageAndTextDataElement() throws SQLException {
     verifyWithProgramStageAndDataElement(ValueType.TEXT);
   }
 
-  private void verifyWithProgramStageAndDataElement(ValueType valueType) {
+  private void verifyWithProgramStageAndDataElement(ValueType valueType) throws SQLException {
     EventQueryParams params = createRequestParams(this.programStage, valueType);
 
     subject.getEnrollments(params, new ListGrid(), 100);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String stageUid = programStage.getUid();
@@ -1041,20 +1066,21 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithRepeatableProgramStageAndNumericDataElement() {
+  void verifyWithRepeatableProgramStageAndNumericDataElement() throws SQLException {
     verifyWithRepeatableProgramStageAndDataElement(ValueType.NUMBER);
   }
 
   @Test
-  void verifyWithRepeatableProgramStageAndTextDataElement() {
+  void verifyWithRepeatableProgramStageAndTextDataElement() throws SQLException {
     verifyWithRepeatableProgramStageAndDataElement(ValueType.TEXT);
   }
 
-  private void verifyWithRepeatableProgramStageAndDataElement(ValueType valueType) {
+  private void verifyWithRepeatableProgramStageAndDataElement(ValueType valueType)
+      throws SQLException {
     EventQueryParams params = createRequestParams(repeatableProgramStage, valueType);
 
     subject.getEnrollments(params, new ListGrid(), 100);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String stageUid = repeatableProgramStage.getUid();
@@ -1091,7 +1117,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyRepeatableStagesFromDifferentStagesProduceUniqueJoinAliases() {
+  void verifyRepeatableStagesFromDifferentStagesProduceUniqueJoinAliases() throws SQLException {
     ProgramStage otherRepeatableStage =
         org.hisp.dhis.test.TestBase.createProgramStage('C', programA);
     otherRepeatableStage.setRepeatable(true);
@@ -1102,7 +1128,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
             .build();
 
     subject.getEnrollments(params, new ListGrid(), 100);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     List<String> aliases = joinAliases(noEof(sql.getValue()));
 
@@ -1113,20 +1139,21 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramStageAndTextualDataElementAndFilter() {
+  void verifyWithProgramStageAndTextualDataElementAndFilter() throws SQLException {
     verifyWithProgramStageAndDataElementAndFilter(ValueType.TEXT);
   }
 
   @Test
-  void verifyWithProgramStageAndNumericDataElementAndFilter() {
+  void verifyWithProgramStageAndNumericDataElementAndFilter() throws SQLException {
     verifyWithProgramStageAndDataElementAndFilter(ValueType.NUMBER);
   }
 
-  private void verifyWithProgramStageAndDataElementAndFilter(ValueType valueType) {
+  private void verifyWithProgramStageAndDataElementAndFilter(ValueType valueType)
+      throws SQLException {
     EventQueryParams params = createRequestParamsWithFilter(programStage, valueType);
 
     subject.getEnrollments(params, new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String stageUid = programStage.getUid();
@@ -1149,7 +1176,8 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramStageOptionSetDataElementAndFilterProjectsValueFromCte() {
+  void verifyWithProgramStageOptionSetDataElementAndFilterProjectsValueFromCte()
+      throws SQLException {
     String optionCode = "OI0BQUurVFS";
     OptionSet optionSet = new OptionSet("Option set A", ValueType.TEXT);
     DataElement optionDataElement =
@@ -1173,7 +1201,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     params.addItem(queryItem);
 
     subject.getEnrollments(params.build(), new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String stageUid = programStage.getUid();
@@ -1200,7 +1228,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramStageOrgUnitDataElementAndFilterProjectsNameFromCte() {
+  void verifyWithProgramStageOrgUnitDataElementAndFilterProjectsNameFromCte() throws SQLException {
     String orgUnitUid = "OI0BQUurVFS";
     DataElement orgUnitDataElement =
         org.hisp.dhis.test.TestBase.createDataElement(
@@ -1227,7 +1255,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
     params.addItem(queryItem);
 
     subject.getEnrollments(params.build(), new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = noEof(sql.getValue());
     String stageUid = programStage.getUid();
@@ -1252,12 +1280,12 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithProgramStatusParam() {
+  void verifyGetEventsWithProgramStatusParam() throws SQLException {
     mockEmptyRowSet();
     EventQueryParams params = createRequestParamsWithStatusesForEnrollmentQuery();
 
     subject.getEnrollments(params, new ListGrid(), 10000);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertThat(sql.getValue(), containsString("enrollmentstatus in ('ACTIVE','COMPLETED')"));
   }
@@ -1308,7 +1336,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramIndicatorAndRelationshipTypeBothSidesTrackedEntity() {
+  void verifyWithProgramIndicatorAndRelationshipTypeBothSidesTrackedEntity() throws SQLException {
     ProgramIndicator programIndicatorA = createProgramIndicator('A', programA, "", "");
 
     RelationshipType relationshipTypeA = createRelationshipType();
@@ -1323,7 +1351,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
         .thenReturn("distinct event");
 
     subject.getEnrollments(params.build(), new ListGrid(), 100);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
     assertThat(generatedSql, containsString("value as " + programIndicatorA.getUid()));
@@ -1332,7 +1360,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramIndicatorAndRelationshipTypeDifferentConstraint() {
+  void verifyWithProgramIndicatorAndRelationshipTypeDifferentConstraint() throws SQLException {
     ProgramIndicator programIndicatorA = createProgramIndicator('A', programA, "", "");
 
     RelationshipType relationshipTypeA =
@@ -1348,7 +1376,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
         .thenReturn("distinct event");
 
     subject.getEnrollments(params.build(), new ListGrid(), 100);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
     assertThat(generatedSql, containsString("value as " + programIndicatorA.getUid()));
@@ -1356,7 +1384,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyWithProgramIndicatorAndRelationshipTypeBothSidesTrackedEntity2() {
+  void verifyWithProgramIndicatorAndRelationshipTypeBothSidesTrackedEntity2() throws SQLException {
     Program programB = createProgram('B');
     ProgramIndicator programIndicatorA = createProgramIndicator('A', programB, "", "");
 
@@ -1372,7 +1400,7 @@ class EnrollmentAnalyticsManagerCteTest extends EventAnalyticsTest {
         .thenReturn("distinct event");
 
     subject.getEnrollments(params.build(), new ListGrid(), 100);
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
     assertThat(generatedSql, containsString("value as " + programIndicatorA.getUid()));
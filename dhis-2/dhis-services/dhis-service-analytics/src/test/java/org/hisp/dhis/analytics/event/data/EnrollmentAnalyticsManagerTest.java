@@ -41,12 +41,16 @@ import static org.hisp.dhis.system.util.SqlUtils.quote;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.event.EventQueryParams;
@@ -85,6 +89,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
@@ -99,6 +104,12 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
 
   @Mock private JdbcTemplate jdbcTemplate;
 
+  @Mock private Connection connection;
+
+  @Mock private Statement statement;
+
+  @Mock private ResultSet resultSet;
+
   @Mock private ExecutionPlanStore executionPlanStore;
 
   @Mock private SqlRowSet rowSet;
@@ -132,8 +143,14 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
   @Captor private ArgumentCaptor<String> sql;
 
   @BeforeEach
-  void setUp() {
+  void setUp() throws SQLException {
     when(jdbcTemplate.queryForRowSet(anyString())).thenReturn(this.rowSet);
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
     when(systemSettingsService.getCurrentSettings()).thenReturn(systemSettings);
     when(config.getPropertyOrDefault(ANALYTICS_DATABASE, "")).thenReturn("postgresql");
     DefaultProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder =
@@ -183,7 +200,7 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifySortsByCreatedDescending() {
+  void verifySortsByCreatedDescending() throws SQLException {
     EventQueryParams params =
         new EventQueryParams.Builder(createRequestParams())
             .addDescSortItem(new QueryItem(new BaseDimensionalItemObject("created")))
@@ -191,7 +208,7 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEnrollments(params, new ListGrid(), 10000);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertThat(sql.getValue(), containsString("order by \"created\" desc nulls last"));
   }
@@ -201,7 +218,8 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
     // Given
     mockEmptyRowSet();
     EventQueryParams params = createRequestParamsWithStatuses();
-    when(jdbcTemplate.queryForRowSet(anyString())).thenThrow(BadSqlGrammarException.class);
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenThrow(BadSqlGrammarException.class);
 
     // Then
     assertThrows(
@@ -216,7 +234,7 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
     SQLException sqlException = new SQLException("Some exception", "HY000");
     BadSqlGrammarException badSqlGrammarException =
         new BadSqlGrammarException("task", "select * from nothing", sqlException);
-    when(jdbcTemplate.queryForRowSet(anyString())).thenThrow(badSqlGrammarException);
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenThrow(badSqlGrammarException);
 
     // Then
     assertDoesNotThrow(() -> subject.getEnrollments(params, new ListGrid(), 10000));
@@ -269,7 +287,8 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventProgramIndicatorOnEnrollmentQueryUsesEnrollmentKeyedCteJoin() {
+  void verifyEventProgramIndicatorOnEnrollmentQueryUsesEnrollmentKeyedCteJoin()
+      throws SQLException {
     mockEmptyRowSet();
     ProgramIndicator programIndicator = new ProgramIndicator();
     programIndicator.setUid("CH6wamtY9kK");
@@ -289,7 +308,7 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEnrollments(createRequestParams(programIndicator, null), new ListGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("with ch6wamty9kk as"));
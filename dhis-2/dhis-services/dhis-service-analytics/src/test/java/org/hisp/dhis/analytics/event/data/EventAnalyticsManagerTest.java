@@ -53,11 +53,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -118,6 +123,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
@@ -128,6 +134,12 @@ import org.springframework.jdbc.core.JdbcTemplate;
 class EventAnalyticsManagerTest extends EventAnalyticsTest {
   @Mock private JdbcTemplate jdbcTemplate;
 
+  @Mock private Connection connection;
+
+  @Mock private Statement statement;
+
+  @Mock private ResultSet resultSet;
+
   @Mock private ExecutionPlanStore executionPlanStore;
 
   @Mock private OrganisationUnitResolver organisationUnitResolver;
@@ -180,25 +192,31 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
       BASE_COLUMNS + GEO_AND_OU_COLUMNS;
 
   @BeforeEach
-  public void setUp() {
+  public void setUp() throws SQLException {
     filterBuilder = new QueryItemFilterBuilder(organisationUnitResolver, sqlBuilder);
 
     subject = createEventAnalyticsManager(sqlBuilder, "postgresql");
 
     when(jdbcTemplate.queryForRowSet(anyString())).thenReturn(this.rowSet);
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
     when(config.getPropertyOrDefault(ANALYTICS_DATABASE, "")).thenReturn("postgresql");
     when(systemSettingsService.getCurrentSettings()).thenReturn(mockSettings);
   }
 
   @Test
-  void verifyGetEventSqlWithProgramWithNoRegistration() {
+  void verifyGetEventSqlWithProgramWithNoRegistration() throws SQLException {
     mockEmptyRowSet();
 
     this.programA.setProgramType(ProgramType.WITHOUT_REGISTRATION);
 
     subject.getEvents(createRequestParams(), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "select "
@@ -241,7 +259,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventSqlWithOrgUnitTypeDataElement() {
+  void verifyGetEventSqlWithOrgUnitTypeDataElement() throws SQLException {
     mockEmptyRowSet();
 
     DataElement dataElement = createDataElement('a');
@@ -256,7 +274,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(createRequestParams(queryItem), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "select "
@@ -273,7 +291,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventSqlWithProgram() {
+  void verifyGetEventSqlWithProgram() throws SQLException {
     Grid grid = createGrid();
     int unlimited = 0;
 
@@ -281,7 +299,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(createRequestParams(), grid, unlimited);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou from "
@@ -294,7 +312,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventSqlWithGeometrySourceWhenFallbackActive() {
+  void verifyGetEventSqlWithGeometrySourceWhenFallbackActive() throws SQLException {
     mockEmptyRowSet();
 
     EventQueryParams params =
@@ -308,7 +326,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertThat(
         sql.getValue(),
@@ -320,7 +338,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventSqlKeepsNonStageTimeFiltersWithStageSpecificEventDate() {
+  void verifyGetEventSqlKeepsNonStageTimeFiltersWithStageSpecificEventDate() throws SQLException {
     mockEmptyRowSet();
 
     QueryItem stageEventDateItem =
@@ -351,7 +369,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertThat(sql.getValue(), containsString("ax.\"created\" >= '2017-01-01'"));
     assertThat(sql.getValue(), containsString("ax.\"created\" < '2018-01-01'"));
@@ -363,7 +381,8 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventSqlKeepsExplicitLastUpdatedTimeFieldWithStageSpecificEventDate() {
+  void verifyGetEventSqlKeepsExplicitLastUpdatedTimeFieldWithStageSpecificEventDate()
+      throws SQLException {
     mockEmptyRowSet();
 
     QueryItem stageEventDateItem =
@@ -391,7 +410,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertThat(sql.getValue(), containsString("ax.\"lastupdated\" >= '2017-01-01'"));
     assertThat(sql.getValue(), containsString("ax.\"lastupdated\" < '2018-01-01'"));
@@ -401,7 +420,8 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventSqlKeepsExplicitScheduledDateTimeFieldWithStageSpecificEventDate() {
+  void verifyGetEventSqlKeepsExplicitScheduledDateTimeFieldWithStageSpecificEventDate()
+      throws SQLException {
     mockEmptyRowSet();
 
     QueryItem stageEventDateItem =
@@ -429,7 +449,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertThat(sql.getValue(), containsString("ax.\"scheduleddate\" >= '2017-01-01'"));
     assertThat(sql.getValue(), containsString("ax.\"scheduleddate\" < '2018-01-01'"));
@@ -439,7 +459,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyExperimentalQueryDoesNotDuplicateStageSpecificDateCondition() {
+  void verifyExperimentalQueryDoesNotDuplicateStageSpecificDateCondition() throws SQLException {
     mockEmptyRowSet();
 
     QueryItem stageEventDateItem =
@@ -470,7 +490,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertEquals(1, countMatches(sql.getValue(), "ax.\"created\" >= '2017-01-01'"));
     assertEquals(1, countMatches(sql.getValue(), "ax.\"lastupdated\" >= '2022-01-01'"));
@@ -480,7 +500,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyExperimentalQueryKeepsScheduledDateWithStageSpecificEventDate() {
+  void verifyExperimentalQueryKeepsScheduledDateWithStageSpecificEventDate() throws SQLException {
     mockEmptyRowSet();
 
     QueryItem stageEventDateItem =
@@ -510,7 +530,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertEquals(1, countMatches(sql.getValue(), "ax.\"scheduleddate\" >= '2022-01-01'"));
     assertEquals(1, countMatches(sql.getValue(), "ax.\"scheduleddate\" < '2023-01-01'"));
@@ -520,12 +540,12 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsSqlWithProgramAndProgramStage() {
+  void verifyGetEventsSqlWithProgramAndProgramStage() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(createRequestParams(programStage), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou from "
@@ -538,12 +558,12 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithProgramStageAndNumericDataElement() {
+  void verifyGetEventsWithProgramStageAndNumericDataElement() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(createRequestParams(programStage, ValueType.INTEGER), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou, ax.\"fWIAEtYVEGk\" from "
@@ -556,13 +576,13 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithProgramStageAndNumericDataElementAndFilter() {
+  void verifyGetEventsWithProgramStageAndNumericDataElementAndFilter() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(
         createRequestParamsWithFilter(programStage, ValueType.INTEGER), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou, ax.\"fWIAEtYVEGk\" from "
@@ -575,12 +595,12 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithProgramStatusAndEventStatusParams() {
+  void verifyGetEventsWithProgramStatusAndEventStatusParams() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(createRequestParamsWithStatuses(), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou from "
@@ -592,12 +612,12 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithScheduledDateTimeFieldParam() {
+  void verifyGetEventsWithScheduledDateTimeFieldParam() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(createRequestParamsWithTimeField("SCHEDULED_DATE"), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ps.\"quarterly\" as quarterly, ax.\"ou\" as ou from "
@@ -610,12 +630,12 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithLastUpdatedTimeFieldParam() {
+  void verifyGetEventsWithLastUpdatedTimeFieldParam() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(createRequestParamsWithTimeField("LAST_UPDATED"), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou from "
@@ -696,12 +716,12 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithProgramStageAndTextDataElement() {
+  void verifyGetEventsWithProgramStageAndTextDataElement() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(createRequestParams(programStage, ValueType.TEXT), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou, ax.\"fWIAEtYVEGk\" from "
@@ -714,13 +734,13 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyGetEventsWithProgramStageAndTextDataElementAndFilter() {
+  void verifyGetEventsWithProgramStageAndTextDataElementAndFilter() throws SQLException {
     mockEmptyRowSet();
 
     subject.getEvents(
         createRequestParamsWithFilter(programStage, ValueType.TEXT), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String expected =
         "ax.\"quarterly\" as quarterly, ax.\"ou\" as ou, ax.\"fWIAEtYVEGk\" from "
@@ -1115,7 +1135,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventProgramIndicatorCountUsesEventKeyedCte() {
+  void verifyEventProgramIndicatorCountUsesEventKeyedCte() throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(false);
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
@@ -1128,7 +1148,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("with event_pi_candidates as ("));
@@ -1158,7 +1178,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventProgramIndicatorFilterOnlyCountUsesEventKeyedCte() {
+  void verifyEventProgramIndicatorFilterOnlyCountUsesEventKeyedCte() throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(false);
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
@@ -1172,7 +1192,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("with event_pi_candidates as"));
@@ -1187,19 +1207,21 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventProgramIndicatorCandidatesNotEmittedWithoutEligibleEventPiCte() {
+  void verifyEventProgramIndicatorCandidatesNotEmittedWithoutEligibleEventPiCte()
+      throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(false);
     mockEmptyRowSet();
 
     subject.getEvents(createRequestParams(), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     assertThat(sql.getValue().toLowerCase(), not(containsString("event_pi_candidates")));
   }
 
   @Test
-  void verifyEventItemSelectColumnsKeepRequestOrderWhenMixingCteAndInlineItems() {
+  void verifyEventItemSelectColumnsKeepRequestOrderWhenMixingCteAndInlineItems()
+      throws SQLException {
     // On ClickHouse (no correlated subquery support) program indicators are rendered as CTEs while
     // plain data elements stay inline. The SELECT must keep the items in request order so the
     // positionally-read rows align with the grid headers, which are built in items order.
@@ -1221,7 +1243,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     int piSelectPos = generatedSql.indexOf("as pifirstitem");
@@ -1238,7 +1260,8 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventQueryEnrollmentProgramIndicatorUsesCtePathToExpandPlaceholders() {
+  void verifyEventQueryEnrollmentProgramIndicatorUsesCtePathToExpandPlaceholders()
+      throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(true);
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
@@ -1263,7 +1286,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("pienrollcomplex as ( select sum("));
@@ -1282,7 +1305,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyPostgresEventProgramIndicatorKeepsInlineCorrelatedSubquery() {
+  void verifyPostgresEventProgramIndicatorKeepsInlineCorrelatedSubquery() throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(true);
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
@@ -1291,7 +1314,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(createRequestParams(programIndicator, null), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, not(containsString("pieventinline as")));
@@ -1301,7 +1324,8 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventProgramIndicatorWithInlineStageDataElementFilterUsesEventKeyedCte() {
+  void verifyEventProgramIndicatorWithInlineStageDataElementFilterUsesEventKeyedCte()
+      throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(false);
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
@@ -1325,7 +1349,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("with event_pi_candidates as"));
@@ -1343,7 +1367,8 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventProgramIndicatorAverageWithInlineStageDataElementFilterUsesEventKeyedCte() {
+  void verifyEventProgramIndicatorAverageWithInlineStageDataElementFilterUsesEventKeyedCte()
+      throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(false);
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
@@ -1379,7 +1404,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("with event_pi_candidates as"));
@@ -1400,7 +1425,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyEventProgramIndicatorNonCountFilterDoesNotCoalesce() {
+  void verifyEventProgramIndicatorNonCountFilterDoesNotCoalesce() throws SQLException {
     when(sqlBuilder.supportsCorrelatedSubquery()).thenReturn(false);
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
@@ -1414,7 +1439,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("with event_pi_candidates as"));
@@ -1427,7 +1452,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyCoordinatesOnlyFilterTreatsEmptyStringAsNullForClickHouse() {
+  void verifyCoordinatesOnlyFilterTreatsEmptyStringAsNullForClickHouse() throws SQLException {
     // ClickHouse stores a missing coordinate as '' (not NULL), so a plain
     // "coalesce(col) is not null" filter matches every row. The column must be wrapped in
     // nullif(col, '') so empty strings are treated as NULL, matching Postgres.
@@ -1444,7 +1469,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     clickHouseSubject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(
@@ -1452,7 +1477,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyCoordinatesOnlyFilterKeepsPlainCoalesceForPostgres() {
+  void verifyCoordinatesOnlyFilterKeepsPlainCoalesceForPostgres() throws SQLException {
     mockEmptyRowSet();
 
     EventQueryParams params =
@@ -1463,7 +1488,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(params, createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue().toLowerCase();
     assertThat(generatedSql, containsString("coalesce(ax.\"eventgeometry\") is not null"));
@@ -1471,7 +1496,8 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
   }
 
   @Test
-  void verifyRelationshipEventProgramIndicatorKeepsInlineRelationshipPredicate() {
+  void verifyRelationshipEventProgramIndicatorKeepsInlineRelationshipPredicate()
+      throws SQLException {
     mockEmptyRowSet();
     ProgramIndicator programIndicator =
         createEventProgramIndicator("piRelEvent", AggregationType.COUNT, "1");
@@ -1482,7 +1508,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
 
     subject.getEvents(createRequestParams(programIndicator, relationshipType), createGrid(), 100);
 
-    verify(jdbcTemplate).queryForRowSet(sql.capture());
+    verify(statement).executeQuery(sql.capture());
 
     String generatedSql = sql.getValue();
     assertThat(generatedSql, not(containsString("with pirelevent as")));
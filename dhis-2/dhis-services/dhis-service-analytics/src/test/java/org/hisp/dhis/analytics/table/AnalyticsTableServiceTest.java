@@ -32,10 +32,14 @@ package org.hisp.dhis.analytics.table;
 import static org.hisp.dhis.db.model.DataType.DOUBLE;
 import static org.hisp.dhis.db.model.DataType.TEXT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
@@ -46,11 +50,14 @@ import java.util.List;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.analyze.AnalyticsIndexAdvisor;
+import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.db.model.Index;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
@@ -88,6 +95,10 @@ class AnalyticsTableServiceTest {
 
   @Mock private ResourceTableService resourceTableService;
 
+  @Mock private AnalyticsCache analyticsCache;
+
+  @Mock private AnalyticsIndexAdvisor indexAdvisor;
+
   @InjectMocks private DefaultAnalyticsTableService tableService;
 
   @Test
@@ -202,6 +213,100 @@ class AnalyticsTableServiceTest {
             + "last successful update settings are not advanced while duplicate data is live");
   }
 
+  @Test
+  void testIsPipelined() {
+    when(settingsProvider.getCurrentSettings()).thenReturn(settings);
+    when(settings.getParallelJobsInAnalyticsTableExport()).thenReturn(2);
+    when(tableManager.hasAnalyticsTableSqlHooks()).thenReturn(false);
+
+    assertFalse(tableService.isPipelined(dataValueTable(2022).getTablePartitions()));
+    assertTrue(tableService.isPipelined(dataValueTable(2021, 2022).getTablePartitions()));
+  }
+
+  @Test
+  void testIsNotPipelinedWithTableHooks() {
+    when(tableManager.hasAnalyticsTableSqlHooks()).thenReturn(true);
+
+    assertFalse(tableService.isPipelined(dataValueTable(2022).getTablePartitions()));
+  }
+
+  @Test
+  void testProcessesTablesInPipeline() {
+    when(sqlBuilder.supportsAnalyze()).thenReturn(true);
+
+    AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder().build();
+
+    createTables(params);
+
+    InOrder inOrder = inOrder(tableManager);
+    inOrder.verify(tableManager).populateTable(eq(params), any(AnalyticsTablePartition.class));
+    inOrder.verify(tableManager).analyzeTable(any(AnalyticsTablePartition.class));
+    inOrder.verify(tableManager).swapTable(eq(params), any(AnalyticsTable.class));
+    verify(tableManager, never()).invokeAnalyticsTableSqlHooks();
+  }
+
+  @Test
+  void testProcessesTablesInStagesWithTableHooks() {
+    when(tableManager.hasAnalyticsTableSqlHooks()).thenReturn(true);
+
+    AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder().build();
+
+    createTables(params);
+
+    InOrder inOrder = inOrder(tableManager);
+    inOrder.verify(tableManager).populateTable(eq(params), any(AnalyticsTablePartition.class));
+    inOrder.verify(tableManager).invokeAnalyticsTableSqlHooks();
+    inOrder.verify(tableManager).swapTable(eq(params), any(AnalyticsTable.class));
+  }
+
+  @Test
+  void testSkipsFailedIndexInPipeline() {
+    when(sqlBuilder.requiresIndexesForAnalytics()).thenReturn(true);
+    when(indexAdvisor.getIndexesToCreate(eq(AnalyticsTableType.DATA_VALUE), anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    doAnswer(
+            invocation -> {
+              if (invocation.<Index>getArgument(0).getColumns().contains("dx")) {
+                throw new IllegalStateException("Index failed");
+              }
+              return null;
+            })
+        .when(tableManager)
+        .createIndex(any(Index.class));
+
+    AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder().build();
+    RecordingJobProgress progress =
+        new RecordingJobProgress(new JobKey(UID.generate(), JobType.ANALYTICS_TABLE));
+
+    createTables(params, progress);
+
+    verify(tableManager, atLeast(2)).createIndex(any(Index.class));
+    verify(tableManager).swapTable(eq(params), any(AnalyticsTable.class));
+    assertFalse(progress.isCancelled());
+  }
+
+  @Test
+  void testCreatesIndexesRecommendedByAdvisor() {
+    when(sqlBuilder.requiresIndexesForAnalytics()).thenReturn(true);
+    when(indexAdvisor.getIndexesToCreate(eq(AnalyticsTableType.DATA_VALUE), anyList()))
+        .thenAnswer(
+            invocation ->
+                invocation.<List<Index>>getArgument(1).stream()
+                    .filter(index -> index.getColumns().contains("co"))
+                    .toList());
+
+    AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder().build();
+
+    createTables(params);
+
+    verify(tableManager).createIndex(argThat(index -> index.getColumns().contains("co")));
+    verify(tableManager, never()).createIndex(argThat(index -> index.getColumns().contains("dx")));
+    verify(indexAdvisor)
+        .setIndexes(
+            eq(AnalyticsTableType.DATA_VALUE),
+            argThat(indexes -> indexes.size() == 1 && indexes.get(0).getColumns().contains("co")));
+  }
+
   /** Runs a table update with the given parameters against a single partitioned table. */
   private void createTables(AnalyticsTableUpdateParams params) {
     createTables(params, JobProgress.noop());
@@ -214,27 +319,32 @@ class AnalyticsTableServiceTest {
     when(sqlBuilder.supportsDeclarativePartitioning()).thenReturn(false);
     when(tableManager.getAnalyticsTableType()).thenReturn(AnalyticsTableType.DATA_VALUE);
     when(tableManager.validState()).thenReturn(true);
-    when(tableManager.getAnalyticsTables(params)).thenReturn(List.of(dataValueTable()));
+    when(tableManager.getAnalyticsTables(params)).thenReturn(List.of(dataValueTable(2022)));
 
     tableService.create(params, progress);
   }
 
-  private AnalyticsTable dataValueTable() {
+  /** Returns a data value table with a partition for each of the given years. */
+  private AnalyticsTable dataValueTable(int... years) {
     List<AnalyticsTableColumn> columns =
         List.of(
+            AnalyticsTableColumn.builder().name("dx").dataType(TEXT).selectExpression("dx").build(),
             AnalyticsTableColumn.builder()
-                .name("dx")
+                .name("co")
                 .dataType(TEXT)
-                .selectExpression("dx")
+                .selectExpression("co")
                 .build());
 
     AnalyticsTable table =
         new AnalyticsTable(AnalyticsTableType.DATA_VALUE, columns, List.of("dx"), Logged.UNLOGGED);
-    table.addTablePartition(
-        List.of("year = 2022"),
-        2022,
-        new DateTime(2022, 1, 1, 0, 0).toDate(),
-        new DateTime(2023, 1, 1, 0, 0).toDate());
+
+    for (int year : years) {
+      table.addTablePartition(
+          List.of("year = " + year),
+          year,
+          new DateTime(year, 1, 1, 0, 0).toDate(),
+          new DateTime(year + 1, 1, 1, 0, 0).toDate());
+    }
 
     return table;
   }
@@ -32,20 +32,31 @@ package org.hisp.dhis.analytics.table;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 import static org.hisp.dhis.analytics.AnalyticsStringUtils.qualifyVariables;
 import static org.hisp.dhis.analytics.AnalyticsStringUtils.replaceQualify;
+import static org.hisp.dhis.db.model.DataType.CHARACTER_11;
+import static org.hisp.dhis.db.model.DataType.DOUBLE;
 import static org.hisp.dhis.db.model.DataType.INTEGER;
+import static org.hisp.dhis.db.model.DataType.TEXT;
 import static org.hisp.dhis.db.model.Logged.LOGGED;
 import static org.hisp.dhis.db.model.Logged.UNLOGGED;
 import static org.hisp.dhis.period.PeriodType.PERIOD_TYPES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -66,6 +77,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.configuration.Configuration;
 import org.hisp.dhis.configuration.ConfigurationService;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
+import org.hisp.dhis.db.model.Column;
 import org.hisp.dhis.db.model.Table;
 import org.hisp.dhis.db.sql.PostgreSqlBuilder;
 import org.hisp.dhis.db.sql.SqlBuilder;
@@ -82,6 +94,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -89,6 +102,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
@@ -125,6 +139,10 @@ class JdbcAnalyticsTableManagerTest {
 
   @Mock private Configuration configuration;
 
+  @Mock private Connection connection;
+
+  @Mock private Statement statement;
+
   @Spy private SqlBuilder sqlBuilder = new PostgreSqlBuilder();
 
   @InjectMocks private JdbcAnalyticsTableManager subject;
@@ -324,6 +342,128 @@ class JdbcAnalyticsTableManagerTest {
     assertTrue(subject.getAnalyticsTables(params).isEmpty());
   }
 
+  @Test
+  void testSupportsIncrementalUpdate() {
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .startTime(startTime)
+            .incrementalUpdate(true)
+            .build()
+            .withLatestPartition();
+
+    when(settings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(lastFullTableUpdate);
+    when(settings.getLastSuccessfulLatestAnalyticsPartitionUpdate()).thenReturn(new Date(0L));
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2018, 2019));
+    when(jdbcTemplate.queryForList(Mockito.anyString()))
+        .thenReturn(List.of(Map.of("table_name", "analytics")));
+
+    assertTrue(subject.supportsIncrementalUpdate(params));
+  }
+
+  @Test
+  void testSupportsIncrementalUpdateMissingPartition() {
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .startTime(startTime)
+            .incrementalUpdate(true)
+            .build()
+            .withLatestPartition();
+
+    when(settings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(lastFullTableUpdate);
+    when(settings.getLastSuccessfulLatestAnalyticsPartitionUpdate()).thenReturn(new Date(0L));
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2018, 2019));
+    when(jdbcTemplate.queryForList(Mockito.anyString()))
+        .thenReturn(List.of(Map.of("table_name", "analytics")));
+    when(jdbcTemplate.queryForList(sqlBuilder.tableExists("analytics_2018"))).thenReturn(List.of());
+
+    assertFalse(subject.supportsIncrementalUpdate(params));
+  }
+
+  @Test
+  void testRefreshUpdatedDataReplacesRowsOfEachPartitionInOneTransaction() throws SQLException {
+    AnalyticsTableUpdateParams params = mockRefreshUpdatedData();
+
+    List<AnalyticsTablePartition> partitions = subject.refreshUpdatedData(params);
+
+    assertEquals(2, partitions.size());
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(statement, times(10)).execute(sql.capture());
+    verify(connection, times(2)).commit();
+    verify(connection, never()).rollback();
+
+    List<String> statements = sql.getAllValues();
+
+    for (int i = 0; i < 2; i++) {
+      int year = 2018 + i;
+      String delete = statements.get(i * 5);
+
+      assertTrue(delete.startsWith("delete from analytics_" + year + " "), delete);
+      assertTrue(delete.contains("ps.year = " + year + " and dv.lastupdated >= "), delete);
+
+      for (String insert : statements.subList(i * 5 + 1, i * 5 + 5)) {
+        assertTrue(insert.startsWith("insert into analytics_" + year + " "), insert);
+        assertTrue(insert.contains("and ps.year = " + year + " "), insert);
+        assertTrue(insert.contains("and dv.lastupdated < '2019-03-01 10:00:00' "), insert);
+      }
+    }
+
+    InOrder inOrder = inOrder(connection);
+    inOrder.verify(connection).setAutoCommit(false);
+    inOrder.verify(connection).commit();
+    inOrder.verify(connection).setAutoCommit(true);
+  }
+
+  @Test
+  void testRefreshUpdatedDataRollsBackPartitionOnFailure() throws SQLException {
+    AnalyticsTableUpdateParams params = mockRefreshUpdatedData();
+
+    doThrow(new SQLException("failed"))
+        .when(statement)
+        .execute(Mockito.startsWith("insert into analytics_2018 "));
+
+    assertThrows(SQLException.class, () -> subject.refreshUpdatedData(params));
+
+    verify(statement).execute(Mockito.startsWith("delete from analytics_2018 "));
+    verify(connection).rollback();
+    verify(connection, never()).commit();
+    verify(connection).setAutoCommit(true);
+  }
+
+  private AnalyticsTableUpdateParams mockRefreshUpdatedData() throws SQLException {
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    when(settings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(lastFullTableUpdate);
+    when(settings.getLastSuccessfulLatestAnalyticsPartitionUpdate()).thenReturn(new Date(0L));
+    when(analyticsTableSettings.getTableLogged()).thenReturn(UNLOGGED);
+    when(configurationService.getConfiguration()).thenReturn(configuration);
+    when(configuration.getDataOutputPeriodTypes())
+        .thenReturn(PERIOD_TYPES.stream().collect(toUnmodifiableSet()));
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2018, 2019));
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.createStatement()).thenReturn(statement);
+
+    return AnalyticsTableUpdateParams.newBuilder()
+        .startTime(startTime)
+        .incrementalUpdate(true)
+        .build()
+        .withLatestPartition();
+  }
+
   @Test
   @DisplayName(
       "Verify if the method swapParentTable is called with the swapped table name not the staging table name")
@@ -431,6 +571,79 @@ class JdbcAnalyticsTableManagerTest {
     assertFalse(joinStatement.contains("'LONG_TEXT'"), "text value types must not be included");
   }
 
+  @Test
+  void testCreateRollupTable() {
+    Table table =
+        new Table(
+            "analytics_rollup_yearly_1",
+            List.of(
+                new Column("dx", CHARACTER_11),
+                new Column("co", CHARACTER_11),
+                new Column("uidlevel1", CHARACTER_11),
+                new Column("yearly", TEXT),
+                new Column("value", DOUBLE)),
+            List.of(),
+            List.of("dx", "co"),
+            List.of(),
+            UNLOGGED);
+
+    subject.createRollupTable(table);
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+
+    assertTrue(
+        sql.getAllValues()
+            .contains(
+                """
+                insert into "analytics_rollup_yearly_1_temp" \
+                ("dx","co","uidlevel1","yearly","value") \
+                select "dx","co","uidlevel1","yearly",sum("value") from "analytics" \
+                where "value" is not null group by "dx","co","uidlevel1","yearly";"""));
+  }
+
+  @Test
+  void testRefreshRollupTableReplacesRowsOfYearsInOneTransaction() throws SQLException {
+    Table table =
+        new Table(
+            "analytics_rollup_yearly_1",
+            List.of(
+                new Column("dx", CHARACTER_11),
+                new Column("uidlevel1", CHARACTER_11),
+                new Column("year", INTEGER),
+                new Column("value", DOUBLE)),
+            List.of(),
+            List.of("dx"),
+            List.of(),
+            UNLOGGED);
+
+    when(jdbcTemplate.queryForList(sqlBuilder.tableExists("analytics_rollup_yearly_1")))
+        .thenReturn(List.of(Map.of("table_name", "analytics_rollup_yearly_1")));
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.createStatement()).thenReturn(statement);
+
+    subject.refreshRollupTable(table, Set.of(2019, 2018));
+
+    InOrder inOrder = inOrder(statement, connection);
+    inOrder
+        .verify(statement)
+        .execute("delete from \"analytics_rollup_yearly_1\" where \"year\" in (2018,2019);");
+    inOrder
+        .verify(statement)
+        .execute(
+            """
+            insert into "analytics_rollup_yearly_1" ("dx","uidlevel1","year","value") \
+            select "dx","uidlevel1","year",sum("value") from "analytics" \
+            where "year" in (2018,2019) and "value" is not null \
+            group by "dx","uidlevel1","year";""");
+    inOrder.verify(connection).commit();
+    verify(jdbcTemplate, never()).execute(Mockito.anyString());
+  }
+
   @Test
   void testRemoveLatestPartitionOverlap() {
     AnalyticsTable table =
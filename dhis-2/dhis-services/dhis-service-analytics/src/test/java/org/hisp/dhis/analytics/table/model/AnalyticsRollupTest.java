@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.period.QuarterlyPeriodType;
+import org.hisp.dhis.period.YearlyPeriodType;
+import org.junit.jupiter.api.Test;
+
+class AnalyticsRollupTest {
+  private final AnalyticsRollup rollupA = new AnalyticsRollup(new QuarterlyPeriodType(), 3);
+
+  @Test
+  void testGetTableName() {
+    assertEquals("analytics_rollup_quarterly_3", rollupA.getTableName());
+    assertEquals(
+        "analytics_rollup_yearly_2", new AnalyticsRollup(new YearlyPeriodType(), 2).getTableName());
+  }
+
+  @Test
+  void testHasDimensionColumn() {
+    assertTrue(rollupA.hasDimensionColumn("dx"));
+    assertTrue(rollupA.hasDimensionColumn("co"));
+    assertTrue(rollupA.hasDimensionColumn("ao"));
+    assertTrue(rollupA.hasDimensionColumn("uidlevel1"));
+    assertTrue(rollupA.hasDimensionColumn("uidlevel3"));
+    assertTrue(rollupA.hasDimensionColumn("quarterly"));
+    assertTrue(rollupA.hasDimensionColumn("sixmonthly"));
+    assertTrue(rollupA.hasDimensionColumn("yearly"));
+    assertTrue(rollupA.hasDimensionColumn("financialapril"));
+
+    assertFalse(rollupA.hasDimensionColumn("uidlevel4"));
+    assertFalse(rollupA.hasDimensionColumn("uidlevel"));
+    assertFalse(rollupA.hasDimensionColumn("monthly"));
+    assertFalse(rollupA.hasDimensionColumn("Quarterly"));
+    assertFalse(rollupA.hasDimensionColumn("ou"));
+    assertFalse(rollupA.hasDimensionColumn("pe"));
+    assertFalse(rollupA.hasDimensionColumn("J5jldMd8OHv"));
+  }
+
+  @Test
+  void testSizeOrder() {
+    AnalyticsRollup rollupB = new AnalyticsRollup(new YearlyPeriodType(), 4);
+    AnalyticsRollup rollupC = new AnalyticsRollup(new YearlyPeriodType(), 2);
+    AnalyticsRollup rollupD = new AnalyticsRollup(new MonthlyPeriodType(), 1);
+
+    List<AnalyticsRollup> rollups = new ArrayList<>(List.of(rollupA, rollupB, rollupC, rollupD));
+    rollups.sort(AnalyticsRollup.SIZE_ORDER);
+
+    assertEquals(List.of(rollupC, rollupB, rollupA, rollupD), rollups);
+  }
+}
@@ -30,12 +30,18 @@
 package org.hisp.dhis.analytics.table.setting;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Set;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.period.QuarterlyPeriodType;
+import org.hisp.dhis.period.YearlyPeriodType;
 import org.hisp.dhis.setting.SystemSettingsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -79,6 +85,27 @@ class AnalyticsTableSettingsTest {
         settings.getSkipColumnDimensions());
   }
 
+  @Test
+  void testGetRollups() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_TABLE_ROLLUPS))
+        .thenReturn("Quarterly:3, yearly:2,Monthly:x,Weekly,Yearly:4");
+
+    assertEquals(
+        List.of(
+            new AnalyticsRollup(new YearlyPeriodType(), 2),
+            new AnalyticsRollup(new YearlyPeriodType(), 4),
+            new AnalyticsRollup(new QuarterlyPeriodType(), 3)),
+        settings.getRollups());
+  }
+
+  @Test
+  void testToRollup() {
+    assertEquals(new AnalyticsRollup(new MonthlyPeriodType(), 2), settings.toRollup("Monthly:2"));
+    assertNull(settings.toRollup("Monthly:0"));
+    assertNull(settings.toRollup("Daily"));
+    assertNull(settings.toRollup("Centennial:2"));
+  }
+
   @Test
   void testToSet() {
     Set<String> expected = Set.of("kJ7yGrfR413", "Hg5tGfr2fas", "Ju71jG19Kaq", "b5TgfRL9pUq");
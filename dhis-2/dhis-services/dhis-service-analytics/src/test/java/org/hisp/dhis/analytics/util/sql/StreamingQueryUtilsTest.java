@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.util.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.hisp.dhis.analytics.QueryCancellationToken;
+import org.hisp.dhis.common.QueryRuntimeException;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingQueryUtilsTest {
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private Connection connection;
+
+  @Mock private Statement statement;
+
+  @Mock private PreparedStatement preparedStatement;
+
+  @Mock private ResultSet resultSet;
+
+  @Mock private ResultSetMetaData metaData;
+
+  @BeforeEach
+  void setUp() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+  }
+
+  @Test
+  void stream_WithCursor_DisablesAutoCommitAndStreamsRows() throws SQLException {
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+        .thenReturn(statement);
+    when(statement.executeQuery("select uid from dataelement")).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getString("uid")).thenReturn("a", "b");
+
+    List<String> uids = new ArrayList<>();
+
+    StreamingQueryUtils.stream(
+        jdbcTemplate, "select uid from dataelement", true, rs -> uids.add(rs.getString("uid")));
+
+    assertEquals(List.of("a", "b"), uids);
+
+    InOrder inOrder = inOrder(connection, statement, resultSet);
+    inOrder.verify(connection).setAutoCommit(false);
+    inOrder.verify(statement).setFetchSize(StreamingQueryUtils.DEFAULT_FETCH_SIZE);
+    inOrder.verify(resultSet).close();
+    inOrder.verify(connection).commit();
+    inOrder.verify(connection).setAutoCommit(true);
+  }
+
+  @Test
+  void streamRowSet_ReadsEachRowThroughRowSet() throws SQLException {
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery("select uid from dataelement")).thenReturn(resultSet);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(1);
+    when(metaData.getColumnLabel(1)).thenReturn("uid");
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getString(1)).thenReturn("a", "b");
+
+    List<String> uids = new ArrayList<>();
+
+    StreamingQueryUtils.streamRowSet(
+        jdbcTemplate,
+        "select uid from dataelement",
+        false,
+        null,
+        rowSet -> uids.add(rowSet.getString("uid")));
+
+    assertEquals(List.of("a", "b"), uids);
+    verify(resultSet).close();
+  }
+
+  @Test
+  void stream_WithoutCursor_KeepsAutoCommit() throws SQLException {
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery("select uid from dataelement")).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+
+    StreamingQueryUtils.stream(jdbcTemplate, "select uid from dataelement", false, rs -> {});
+
+    verify(connection, never()).getAutoCommit();
+    verify(connection, never()).setAutoCommit(false);
+    verify(connection, never()).commit();
+  }
+
+  @Test
+  void stream_AppliesQueryTimeoutAndMaxRowsOfTemplate() throws SQLException {
+    when(jdbcTemplate.getQueryTimeout()).thenReturn(30);
+    when(jdbcTemplate.getMaxRows()).thenReturn(1000);
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery("select uid from dataelement")).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+
+    StreamingQueryUtils.stream(jdbcTemplate, "select uid from dataelement", false, rs -> {});
+
+    verify(statement).setQueryTimeout(30);
+    verify(statement).setMaxRows(1000);
+  }
+
+  @Test
+  void stream_WithStatementSetter_UsesPreparedStatement() throws SQLException {
+    PreparedStatementSetter statementSetter = ps -> ps.setString(1, "a");
+
+    when(connection.getAutoCommit()).thenReturn(false);
+    when(connection.prepareStatement(
+            "select uid from dataelement where uid = ?",
+            ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY))
+        .thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+
+    StreamingQueryUtils.stream(
+        jdbcTemplate,
+        "select uid from dataelement where uid = ?",
+        statementSetter,
+        true,
+        500,
+        null,
+        rs -> {});
+
+    verify(preparedStatement).setFetchSize(500);
+    verify(preparedStatement).setString(1, "a");
+    verify(connection, never()).setAutoCommit(false);
+  }
+
+  @Test
+  void stream_HandlerFails_RollsBackAndRestoresAutoCommit() throws SQLException {
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery("select uid from dataelement")).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            StreamingQueryUtils.stream(
+                jdbcTemplate,
+                "select uid from dataelement",
+                true,
+                rs -> {
+                  throw new IllegalStateException();
+                }));
+
+    verify(resultSet).close();
+    verify(connection).rollback();
+    verify(connection, never()).commit();
+    verify(connection).setAutoCommit(true);
+  }
+
+  @Test
+  void stream_TokenCancelled_ThrowsQueryRuntimeException() throws SQLException {
+    QueryCancellationToken token = QueryCancellationToken.create();
+
+    when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery("select uid from dataelement"))
+        .thenAnswer(
+            invocation -> {
+              token.cancel();
+              throw new SQLException("canceling statement due to user request");
+            });
+
+    QueryRuntimeException ex =
+        assertThrows(
+            QueryRuntimeException.class,
+            () ->
+                StreamingQueryUtils.stream(
+                    jdbcTemplate, "select uid from dataelement", false, token, rs -> {}));
+
+    assertEquals(ErrorCode.E7136, ex.getErrorCode());
+    verify(statement).cancel();
+  }
+}
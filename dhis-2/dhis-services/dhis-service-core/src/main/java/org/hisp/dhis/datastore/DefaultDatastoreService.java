@@ -191,7 +191,7 @@ public class DefaultDatastoreService implements DatastoreService {
   public void saveOrUpdateEntry(DatastoreEntry entry, UserDetails user)
       throws BadRequestException, ForbiddenException {
     validateEntry(entry);
-    DatastoreEntry existing = getEntry(entry.getNamespace(), entry.getKey());
+    DatastoreEntry existing = getEntry(entry.getNamespace(), entry.getKey(), user);
     if (existing != null) {
       existing.setValue(entry.getValue());
       writeProtectedIn(
@@ -219,6 +219,7 @@ public class DefaultDatastoreService implements DatastoreService {
   }
 
   @Override
+  @Transactional
   public void deleteEntry(DatastoreEntry entry, UserDetails user) {
     writeProtectedIn(
         user, entry.getNamespace(), () -> singletonList(entry), () -> store.delete(entry));
@@ -306,7 +307,7 @@ public class DefaultDatastoreService implements DatastoreService {
     DatastoreNamespaceProtection protection = protectionByNamespace.get(namespace);
     if (userHasNamespaceWriteAccess(user, protection)) {
       for (DatastoreEntry entry : entries.get()) {
-        if (!aclService.canWrite(getCurrentUserDetails(), entry)) {
+        if (!aclService.canWrite(user, entry)) {
           throw accessDeniedTo(namespace, entry.getKey());
         }
       }
@@ -32,6 +32,11 @@ package org.hisp.dhis.datavalue;
 import static java.lang.Boolean.parseBoolean;
 import static org.hisp.dhis.commons.util.StreamUtils.wrapAndCheckCompressionFormat;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lowagie.text.exceptions.InvalidPdfException;
 import com.lowagie.text.pdf.AcroFields;
 import com.lowagie.text.pdf.PdfReader;
@@ -39,9 +44,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
@@ -49,6 +56,7 @@ import javax.xml.stream.XMLStreamReader;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.hisp.dhis.common.IdSchemes;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
 import org.hisp.dhis.csv.CSV;
 import org.hisp.dhis.dxf2.adx.AdxPeriod;
 import org.hisp.dhis.dxf2.common.ImportOptions;
@@ -56,7 +64,6 @@ import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.jsontree.JsonArray;
 import org.hisp.dhis.jsontree.JsonMixed;
-import org.hisp.dhis.jsontree.JsonNode;
 import org.hisp.dhis.jsontree.JsonNode.Index;
 import org.hisp.dhis.jsontree.JsonObject;
 import org.hisp.dhis.jsontree.JsonString;
@@ -73,28 +80,99 @@ import org.hisp.staxwax.reader.XMLReader;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class DataEntryInput {
 
+  private static final ObjectMapper JSON_MAPPER = JacksonObjectMapperConfig.staticJsonMapper();
+
+  /** JSON properties of a data value set that apply to all its values. */
+  private static final Set<String> GROUP_PROPERTIES =
+      Set.of(
+          "dataSet",
+          "completeDate",
+          "orgUnit",
+          "period",
+          "attributeOptionCombo",
+          "dryRun",
+          "idScheme",
+          "dataSetIdScheme",
+          "dataElementIdScheme",
+          "orgUnitIdScheme",
+          "categoryOptionComboIdScheme",
+          "attributeOptionComboIdScheme",
+          "categoryIdScheme",
+          "categoryOptionIdScheme",
+          "deletion");
+
+  /**
+   * Receives the groups of an input read in chunks.
+   *
+   * <p>A group larger than the chunk size is received as multiple chunks of the same group. Only
+   * the first chunk of a group carries its deletion scope.
+   */
+  @FunctionalInterface
+  public interface ChunkConsumer {
+
+    /**
+     * @param chunk a group with at most chunk size values
+     * @param offset index of the first value of the chunk within the entire input
+     * @return true to continue reading, false to stop
+     */
+    boolean accept(@Nonnull DataEntryGroup.Input chunk, int offset);
+  }
+
   @Nonnull
   public static List<DataEntryGroup.Input> fromCsv(
       @Nonnull InputStream in, @Nonnull ImportOptions options) throws IOException {
-    List<DataEntryValue.Input> values =
-        CSV.of(wrapAndCheckCompressionFormat(in)).as(DataEntryValue.Input.class).list();
+    List<DataEntryGroup.Input> res = new ArrayList<>(1);
+    fromCsv(in, options, Integer.MAX_VALUE, collectInto(res));
+    return res;
+  }
+
+  public static void fromCsv(
+      @Nonnull InputStream in,
+      @Nonnull ImportOptions options,
+      int chunkSize,
+      @Nonnull ChunkConsumer chunks)
+      throws IOException {
     String ds = options.getDataSet();
     DataEntryGroup.Ids ids = DataEntryGroup.Ids.of(options.getIdSchemes());
-    return List.of(new DataEntryGroup.Input(ids, ds, values));
+    Chunker chunker = new Chunker(chunkSize, chunks);
+    chunker.startGroup(new DataEntryGroup.Input(ids, ds, List.of()));
+    for (DataEntryValue.Input value :
+        CSV.of(wrapAndCheckCompressionFormat(in)).as(DataEntryValue.Input.class)) {
+      if (!chunker.add(value)) return;
+    }
+    chunker.endGroup();
   }
 
   @Nonnull
   public static List<DataEntryGroup.Input> fromXml(
       @Nonnull InputStream in, @Nonnull ImportOptions options)
       throws IOException, BadRequestException {
+    List<DataEntryGroup.Input> res = new ArrayList<>();
+    fromXml(in, options, Integer.MAX_VALUE, collectInto(res));
+    return res;
+  }
+
+  public static void fromXml(
+      @Nonnull InputStream in,
+      @Nonnull ImportOptions options,
+      int chunkSize,
+      @Nonnull ChunkConsumer chunks)
+      throws IOException, BadRequestException {
+    Chunker chunker = new Chunker(chunkSize, chunks);
     try {
       XMLReader dvs = XMLFactory.getXMLReader(wrapAndCheckCompressionFormat(in));
       XMLStreamReader reader = dvs.getXmlStreamReader();
       while (reader.hasNext()) {
         if (reader.next() == XMLStreamConstants.START_ELEMENT) {
           String rootTag = reader.getLocalName();
-          if ("dataValueSet".equals(rootTag)) return fromDxf2Xml(dvs, options);
-          if ("adx".equals(rootTag)) return fromAdxXml(dvs, options);
+          if ("dataValueSet".equals(rootTag)) {
+            fromDxf2Xml(dvs, options, chunker);
+            return;
+          }
+          if ("adx".equals(rootTag)) {
+            fromAdxXml(dvs, options, chunker);
+            return;
+          }
           throw new BadRequestException(
               ErrorCode.E8007,
               "Neither <dataValueSet> nor <adx> root tag found but: `<" + rootTag + ">`");
@@ -106,9 +184,8 @@ public final class DataEntryInput {
     }
   }
 
-  @Nonnull
-  private static List<DataEntryGroup.Input> fromDxf2Xml(
-      @Nonnull XMLReader dvs, @Nonnull ImportOptions options) {
+  private static void fromDxf2Xml(
+      @Nonnull XMLReader dvs, @Nonnull ImportOptions options, @Nonnull Chunker chunker) {
     IdSchemes schemes = options.getIdSchemes();
     if (!"dataValueSet".equals(dvs.getElementName())) dvs.moveToStartElement("dataValueSet");
     String ds = dvs.getAttributeValue("dataSet");
@@ -138,12 +215,16 @@ public final class DataEntryInput {
     scheme = dvs.getAttributeValue("categoryOptionIdScheme");
     if (scheme != null) schemes.setCategoryOptionIdScheme(scheme);
 
+    DataEntryGroup.Ids ids = DataEntryGroup.Ids.of(schemes);
+    chunker.startGroup(
+        new DataEntryGroup.Input(
+            ids, ds, completionDate, null, ou, pe, aoc, null, null, List.of()));
+
     // values...
-    List<DataEntryValue.Input> values = new ArrayList<>();
     while (dvs.moveToStartElement("dataValue", "dataValueSet")) {
       String followUp = dvs.getAttributeValue("followUp");
       String deleted = dvs.getAttributeValue("deleted");
-      values.add(
+      DataEntryValue.Input value =
           new DataEntryValue.Input(
               dvs.getAttributeValue("dataElement"),
               dvs.getAttributeValue("orgUnit"),
@@ -156,21 +237,17 @@ public final class DataEntryInput {
               dvs.getAttributeValue("value"),
               dvs.getAttributeValue("comment"),
               followUp == null ? null : parseBoolean(followUp),
-              deleted == null ? null : parseBoolean(deleted)));
+              deleted == null ? null : parseBoolean(deleted));
+      if (!chunker.add(value)) return;
     }
-    DataEntryGroup.Ids ids = DataEntryGroup.Ids.of(schemes);
-    return List.of(
-        new DataEntryGroup.Input(ids, ds, completionDate, null, ou, pe, aoc, null, null, values));
+    chunker.endGroup();
   }
 
-  @Nonnull
-  private static List<DataEntryGroup.Input> fromAdxXml(
-      @Nonnull XMLReader dvs, @Nonnull ImportOptions options) {
+  private static void fromAdxXml(
+      @Nonnull XMLReader dvs, @Nonnull ImportOptions options, @Nonnull Chunker chunker) {
     DataEntryGroup.Ids ids = DataEntryGroup.Ids.of(options.getIdSchemes());
     String ns = "urn:ihe:qrph:adx:2015";
     if (!"adx".equals(dvs.getElementName())) dvs.moveToStartElement("adx", ns);
-    DataEntryGroup.Input last = null;
-    List<DataEntryGroup.Input> res = new ArrayList<>();
     while (dvs.moveToStartElement("group", ns)) {
       Map<String, String> group = dvs.readAttributes();
       String ds = group.get("dataSet");
@@ -186,8 +263,10 @@ public final class DataEntryInput {
         List.of("orgUnit", "period", "dataSet").forEach(aco::remove);
         if (aco.isEmpty()) aco = null; // if there is no other attr => AOC not used
       }
+      chunker.startGroup(
+          new DataEntryGroup.Input(
+              ids, ds, completionDate, null, ou, pe, aoc, aco, null, List.of()));
       // values...
-      List<DataEntryValue.Input> values = new ArrayList<>();
       while (dvs.moveToStartElement("dataValue", "group")) {
         Map<String, String> dv = dvs.readAttributes();
         String de = dv.get("dataElement");
@@ -206,26 +285,13 @@ public final class DataEntryInput {
         Boolean deleted = deletedStr == null ? null : "true".equalsIgnoreCase(deletedStr);
         if (dvs.moveToStartElement("annotation", "dataValue")) value = dvs.getElementValue();
         // values also get group ou, pe set because of potential merge
-        values.add(
+        DataEntryValue.Input dataValue =
             new DataEntryValue.Input(
-                de, ou, coc, co, null, null, null, pe, value, comment, followup, deleted));
-      }
-      DataEntryGroup.Input adxGroup =
-          new DataEntryGroup.Input(ids, ds, completionDate, null, ou, pe, aoc, aco, null, values);
-      // if this ADX group has same DS group properties...
-      if (last != null && last.canMergeWith(adxGroup)) {
-        // auto-merge ADX group into a DS group purely for faster decode
-        // (less DB queries due to fewer groups)
-        // but only merge in-order to maintain value order
-        res.remove(res.size() - 1); // old last
-        last = last.mergedWith(adxGroup);
-        res.add(last);
-      } else {
-        res.add(adxGroup);
-        last = adxGroup;
+                de, ou, coc, co, null, null, null, pe, value, comment, followup, deleted);
+        if (!chunker.add(dataValue)) return;
       }
+      chunker.endGroup();
     }
-    return res;
   }
 
   @Nonnull
@@ -234,7 +300,7 @@ public final class DataEntryInput {
     IdSchemes schemes = options.getIdSchemes();
     JsonObject dvs =
         JsonMixed.of(
-            JsonNode.of(
+            org.hisp.dhis.jsontree.JsonNode.of(
                 wrapAndCheckCompressionFormat(in).readAllBytes(),
                 StandardCharsets.UTF_8,
                 null,
@@ -270,20 +336,7 @@ public final class DataEntryInput {
 
     // deletion scope
     DataEntryGroup.Input.Scope deletion = null;
-    if (!dvs.get("deletion").isUndefined()) {
-      JsonObject del = dvs.getObject("deletion");
-      deletion =
-          new DataEntryGroup.Input.Scope(
-              del.getArray("orgUnits").stringValues(),
-              del.getArray("periods").stringValues(),
-              del.getList("elements", JsonObject.class)
-                  .toList(
-                      e ->
-                          new DataEntryGroup.Input.Scope.Element(
-                              e.getString("dataElement").string(),
-                              e.getString("categoryOptionCombo").string(),
-                              e.getString("attributeOptionCombo").string())));
-    }
+    if (!dvs.get("deletion").isUndefined()) deletion = toDeletionScope(dvs.getObject("deletion"));
 
     // values...
     List<DataEntryValue.Input> values = new ArrayList<>();
@@ -312,6 +365,159 @@ public final class DataEntryInput {
             ids, ds, completionDate, null, ou, pe, aocId, aocMap, deletion, values));
   }
 
+  /**
+   * Reads the JSON input incrementally. Unlike {@link #fromJson(InputStream, ImportOptions)} the
+   * group properties must precede the {@code dataValues} as values are imported while they are
+   * read.
+   */
+  public static void fromJson(
+      @Nonnull InputStream in,
+      @Nonnull ImportOptions options,
+      int chunkSize,
+      @Nonnull ChunkConsumer chunks)
+      throws IOException, BadRequestException {
+    IdSchemes schemes = options.getIdSchemes();
+    Chunker chunker = new Chunker(chunkSize, chunks);
+    String ds = null;
+    String completionDate = null;
+    String ou = null;
+    String pe = null;
+    String aocId = null;
+    Map<String, String> aocMap = null;
+    DataEntryGroup.Input.Scope deletion = null;
+    boolean valuesRead = false;
+    try (JsonParser p = JSON_MAPPER.createParser(wrapAndCheckCompressionFormat(in))) {
+      if (p.nextToken() != JsonToken.START_OBJECT)
+        throw new JsonParseException(p, "Data value set must be a JSON object");
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String name = p.currentName();
+        JsonToken token = p.nextToken();
+        if (valuesRead && GROUP_PROPERTIES.contains(name))
+          throw new BadRequestException(ErrorCode.E8013, name);
+        switch (name) {
+          case "dataSet" -> ds = p.getValueAsString();
+          case "completeDate" -> completionDate = p.getValueAsString();
+          case "orgUnit" -> ou = p.getValueAsString();
+          case "period" -> pe = p.getValueAsString();
+          case "attributeOptionCombo" -> {
+            if (token == JsonToken.START_OBJECT) {
+              aocMap = toStringMap(JSON_MAPPER.readTree(p));
+            } else {
+              aocId = p.getValueAsString();
+            }
+          }
+          case "dryRun" -> {
+            if (token != JsonToken.VALUE_NULL) options.setDryRun(p.getValueAsBoolean());
+          }
+          case "idScheme" -> schemes.setIdScheme(p.getValueAsString());
+          case "dataSetIdScheme" -> schemes.setDataSetIdScheme(p.getValueAsString());
+          case "dataElementIdScheme" -> schemes.setDataElementIdScheme(p.getValueAsString());
+          case "orgUnitIdScheme" -> schemes.setOrgUnitIdScheme(p.getValueAsString());
+          case "categoryOptionComboIdScheme" ->
+              schemes.setCategoryOptionComboIdScheme(p.getValueAsString());
+          case "attributeOptionComboIdScheme" ->
+              schemes.setAttributeOptionComboIdScheme(p.getValueAsString());
+          case "categoryIdScheme" -> schemes.setCategoryIdScheme(p.getValueAsString());
+          case "categoryOptionIdScheme" -> schemes.setCategoryOptionIdScheme(p.getValueAsString());
+          case "deletion" ->
+              deletion = toDeletionScope(JsonMixed.of(JSON_MAPPER.readTree(p).toString()));
+          case "dataValues" -> {
+            valuesRead = true;
+            chunker.startGroup(
+                new DataEntryGroup.Input(
+                    DataEntryGroup.Ids.of(schemes),
+                    ds,
+                    completionDate,
+                    null,
+                    ou,
+                    pe,
+                    aocId,
+                    aocMap,
+                    deletion,
+                    List.of()));
+            if (token == JsonToken.START_ARRAY) {
+              for (JsonToken e = p.nextToken(); e != JsonToken.END_ARRAY; e = p.nextToken()) {
+                if (e != JsonToken.START_OBJECT) {
+                  p.skipChildren();
+                } else if (!chunker.add(toValueInput(JSON_MAPPER.readTree(p)))) {
+                  return;
+                }
+              }
+            } else {
+              p.skipChildren();
+            }
+            chunker.endGroup();
+          }
+          default -> p.skipChildren();
+        }
+      }
+    }
+    if (!valuesRead) {
+      chunker.startGroup(
+          new DataEntryGroup.Input(
+              DataEntryGroup.Ids.of(schemes),
+              ds,
+              completionDate,
+              null,
+              ou,
+              pe,
+              aocId,
+              aocMap,
+              deletion,
+              List.of()));
+      chunker.endGroup();
+    }
+  }
+
+  @Nonnull
+  private static DataEntryGroup.Input.Scope toDeletionScope(@Nonnull JsonObject del) {
+    return new DataEntryGroup.Input.Scope(
+        del.getArray("orgUnits").stringValues(),
+        del.getArray("periods").stringValues(),
+        del.getList("elements", JsonObject.class)
+            .toList(
+                e ->
+                    new DataEntryGroup.Input.Scope.Element(
+                        e.getString("dataElement").string(),
+                        e.getString("categoryOptionCombo").string(),
+                        e.getString("attributeOptionCombo").string())));
+  }
+
+  @Nonnull
+  private static DataEntryValue.Input toValueInput(@Nonnull JsonNode dv) {
+    JsonNode coc = dv.path("categoryOptionCombo");
+    return new DataEntryValue.Input(
+        text(dv.path("dataElement")),
+        text(dv.path("orgUnit")),
+        coc.isObject() ? null : text(coc),
+        coc.isObject() ? toStringMap(coc) : null,
+        text(dv.path("attributeOptionCombo")),
+        null,
+        null,
+        text(dv.path("period")),
+        text(dv.path("value")),
+        text(dv.path("comment")),
+        bool(dv.path("followUp")),
+        bool(dv.path("deleted")));
+  }
+
+  @CheckForNull
+  private static String text(@Nonnull JsonNode node) {
+    return node.isMissingNode() || node.isNull() ? null : node.asText();
+  }
+
+  @CheckForNull
+  private static Boolean bool(@Nonnull JsonNode node) {
+    return node.isMissingNode() || node.isNull() ? null : node.asBoolean();
+  }
+
+  @Nonnull
+  private static Map<String, String> toStringMap(@Nonnull JsonNode obj) {
+    Map<String, String> map = new LinkedHashMap<>();
+    obj.fields().forEachRemaining(e -> map.put(e.getKey(), text(e.getValue())));
+    return map;
+  }
+
   @Nonnull
   public static List<DataEntryGroup.Input> fromPdf(
       @Nonnull InputStream in, @Nonnull ImportOptions options)
@@ -347,4 +553,76 @@ public final class DataEntryInput {
       throw new BadRequestException(ErrorCode.E8006, ex.getMessage());
     }
   }
+
+  /**
+   * Collects all chunks into a list. Consecutive groups with the same group properties are merged
+   * purely for faster decode (fewer DB queries due to fewer groups) but only merged in-order to
+   * maintain value order.
+   */
+  private static ChunkConsumer collectInto(List<DataEntryGroup.Input> res) {
+    return (chunk, offset) -> {
+      int last = res.size() - 1;
+      if (last >= 0 && res.get(last).canMergeWith(chunk)) {
+        res.set(last, res.get(last).mergedWith(chunk));
+      } else {
+        res.add(chunk);
+      }
+      return true;
+    };
+  }
+
+  /** Cuts the values of the groups read into chunks of a maximum size. */
+  private static final class Chunker {
+    private final int chunkSize;
+    private final ChunkConsumer chunks;
+    private DataEntryGroup.Input group;
+    private List<DataEntryValue.Input> values = new ArrayList<>();
+    private int offset;
+    private boolean groupAccepted;
+    private boolean stopped;
+
+    Chunker(int chunkSize, ChunkConsumer chunks) {
+      this.chunkSize = chunkSize;
+      this.chunks = chunks;
+    }
+
+    void startGroup(DataEntryGroup.Input group) {
+      this.group = group;
+      this.groupAccepted = false;
+    }
+
+    /**
+     * @return false, if reading should stop
+     */
+    boolean add(DataEntryValue.Input value) {
+      values.add(value);
+      if (values.size() >= chunkSize) accept();
+      return !stopped;
+    }
+
+    void endGroup() {
+      if (!values.isEmpty() || !groupAccepted) accept();
+    }
+
+    private void accept() {
+      if (stopped) return;
+      DataEntryGroup.Input g = group;
+      DataEntryGroup.Input chunk =
+          new DataEntryGroup.Input(
+              g.ids(),
+              g.dataSet(),
+              g.completionDate(),
+              g.dataElement(),
+              g.orgUnit(),
+              g.period(),
+              g.attributeOptionCombo(),
+              g.attributeOptions(),
+              groupAccepted ? null : g.deletion(),
+              values);
+      stopped = !chunks.accept(chunk, offset);
+      offset += values.size();
+      values = new ArrayList<>();
+      groupAccepted = true;
+    }
+  }
 }
@@ -33,9 +33,14 @@ import static org.hisp.dhis.feedback.DataEntrySummary.toConflict;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
 import static org.hisp.dhis.util.DateUtils.toMediumDate;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.IntStream;
 import javax.annotation.CheckForNull;
@@ -77,6 +82,11 @@ public class DataEntryPipeline {
 
   public ImportSummary importXml(InputStream in, ImportOptions options, JobProgress progress)
       throws BadRequestException {
+    if (options.getChunkSize() > 0)
+      return importChunks(
+          chunks -> DataEntryInput.fromXml(in, options, options.getChunkSize(), chunks),
+          options,
+          progress);
     progress.startingStage("Deserializing XML data");
     List<DataEntryGroup.Input> groups =
         progress.runStageAndRethrow(
@@ -100,6 +110,11 @@ public class DataEntryPipeline {
   public ImportSummary importCsv(InputStream in, ImportOptions options, JobProgress progress) {
     if (!options.isFirstRowIsHeader())
       throw new UnsupportedOperationException("CSV without header row is no longer supported.");
+    if (options.getChunkSize() > 0)
+      return importChunks(
+          chunks -> DataEntryInput.fromCsv(in, options, options.getChunkSize(), chunks),
+          options,
+          progress);
     progress.startingStage("Deserializing CVS data");
     List<DataEntryGroup.Input> groups =
         progress.runStage(() -> DataEntryInput.fromCsv(in, options));
@@ -107,6 +122,11 @@ public class DataEntryPipeline {
   }
 
   public ImportSummary importJson(InputStream in, ImportOptions options, JobProgress progress) {
+    if (options.getChunkSize() > 0)
+      return importChunks(
+          chunks -> DataEntryInput.fromJson(in, options, options.getChunkSize(), chunks),
+          options,
+          progress);
     progress.startingStage("Deserializing JSON data");
     List<DataEntryGroup.Input> groups =
         progress.runStage(() -> DataEntryInput.fromJson(in, options));
@@ -145,6 +165,75 @@ public class DataEntryPipeline {
     }
   }
 
+  @FunctionalInterface
+  private interface ChunkedInput {
+    void read(DataEntryInput.ChunkConsumer chunks) throws IOException, BadRequestException;
+  }
+
+  /**
+   * Imports each chunk as soon as it has been read so that only a single chunk of values is held in
+   * memory. Conflicts still refer to the index of the value within the entire input.
+   */
+  private ImportSummary importChunks(
+      ChunkedInput input, ImportOptions options, JobProgress progress) {
+    boolean delete = options.getImportStrategy().isDelete();
+    ImportResult result = new ImportResult();
+    try {
+      // options are read per chunk as the input header may change them
+      input.read(
+          (chunk, offset) ->
+              importChunk(chunk, offset, options.getDataEntryOptions(), delete, progress, result));
+    } catch (BadRequestException ex) {
+      result.conflicts.add(toConflict(IntStream.of(-1), ex.getCode(), ex.getArgs()));
+      result.stopped = true;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    ImportSummary summary =
+        result.stopped
+            ? toImportSummary(result.summary, delete, result.conflicts)
+            : completeImport(result, options.getDataEntryOptions(), delete, progress);
+    summary.setImportOptions(options);
+    return summary;
+  }
+
+  /**
+   * @return true, if reading the input should continue
+   */
+  private boolean importChunk(
+      DataEntryGroup.Input chunk,
+      int offset,
+      DataEntryGroup.Options options,
+      boolean delete,
+      JobProgress progress,
+      ImportResult result) {
+    try {
+      progress.startingStage("Decoding group %s from value %d".formatted(chunk.describe(), offset));
+      DataEntryGroup group =
+          progress
+              .nonNullStagePostCondition(
+                  progress.runStageAndRethrow(
+                      BadRequestException.class, () -> service.decodeGroup(chunk)))
+              .withIndexOffset(offset);
+      List<DataEntryGroup> groups = List.of(group);
+      if (group.dataSet() == null && settings.getCurrentSettings().getDataEntryAutoGroup()) {
+        progress.startingStage("Splitting group " + group.describe());
+        groups =
+            progress.nonNullStagePostCondition(
+                progress.runStageAndRethrow(
+                    ConflictException.class, () -> service.splitGroup(group)));
+      }
+      for (DataEntryGroup g : groups) {
+        if (!importGroup(g, options, delete, progress, result)) return false;
+      }
+      return true;
+    } catch (BadRequestException | ConflictException ex) {
+      result.conflicts.add(toConflict(IntStream.of(-1), ex.getCode(), ex.getArgs()));
+      result.stopped = true;
+      return false;
+    }
+  }
+
   /**
    * Values not belonging to a single DS must be split into groups per DS but groups belonging to
    * the same DS should be merged into a single group.
@@ -212,40 +301,81 @@ public class DataEntryPipeline {
     return merged;
   }
 
+  /** The state accumulated while importing groups one after another. */
+  private static final class ImportResult {
+    DataEntrySummary summary = new DataEntrySummary(0, 0, 0, 0, List.of());
+    final List<ImportConflict> conflicts = new ArrayList<>();
+    final Set<DataSetCompletion> markComplete = new LinkedHashSet<>();
+    final Set<DataSetCompletion> failedComplete = new HashSet<>();
+    boolean anyGroupNotCompleted;
+    boolean stopped;
+  }
+
   @Nonnull
   private ImportSummary importGroups(
       List<DataEntryGroup> groups,
       DataEntryGroup.Options options,
       JobProgress progress,
       boolean delete) {
-    DataEntrySummary summary = new DataEntrySummary(0, 0, 0, 0, List.of());
-    List<ImportConflict> conflicts = new ArrayList<>();
-    List<DataSetCompletion> markComplete = new ArrayList<>(groups.size());
+    ImportResult result = new ImportResult();
     for (DataEntryGroup g : groups) {
-      try {
-        // further stages happen within the service method...
-        DataEntrySummary res =
-            delete
-                ? service.deleteGroup(options, g, progress)
-                : service.upsertGroup(options, g, progress);
-        DataSetCompletion c = g.completion();
-        if (c != null && res.ignored() == 0) markComplete.add(c);
-        summary = summary.mergedWith(res);
-      } catch (ConflictException ex) {
-        conflicts.add(
-            toConflict(
-                g.values().stream().mapToInt(DataEntryValue::index), ex.getCode(), ex.getArgs()));
-        if (options.atomic()) return toImportSummary(summary, delete, conflicts);
+      if (!importGroup(g, options, delete, progress, result))
+        return toImportSummary(result.summary, delete, result.conflicts);
+    }
+    return completeImport(result, options, delete, progress);
+  }
+
+  /**
+   * @return false, if the import should stop because the group failed in atomic mode
+   */
+  private boolean importGroup(
+      DataEntryGroup g,
+      DataEntryGroup.Options options,
+      boolean delete,
+      JobProgress progress,
+      ImportResult result) {
+    DataSetCompletion c = g.completion();
+    try {
+      // further stages happen within the service method...
+      DataEntrySummary res =
+          delete
+              ? service.deleteGroup(options, g, progress)
+              : service.upsertGroup(options, g, progress);
+      if (c != null && res.ignored() == 0) {
+        result.markComplete.add(c);
+      } else {
+        if (c != null) result.failedComplete.add(c);
+        result.anyGroupNotCompleted = true;
       }
+      result.summary = result.summary.mergedWith(res);
+      return true;
+    } catch (ConflictException ex) {
+      result.conflicts.add(
+          toConflict(
+              g.values().stream().mapToInt(DataEntryValue::index), ex.getCode(), ex.getArgs()));
+      if (c != null) result.failedComplete.add(c);
+      result.anyGroupNotCompleted = true;
+      result.stopped = options.atomic();
+      return !options.atomic();
     }
+  }
+
+  @Nonnull
+  private ImportSummary completeImport(
+      ImportResult result, DataEntryGroup.Options options, boolean delete, JobProgress progress) {
+    // a group imported in chunks is only completed when all its chunks were
+    List<DataSetCompletion> markComplete =
+        result.markComplete.stream().filter(c -> !result.failedComplete.contains(c)).toList();
     boolean completionSuccessful =
         options.dryRun() || completeDataSetSlices(markComplete, progress);
     String dataSetComplete = "false";
     if (completionSuccessful
-        && groups.size() == markComplete.size()
+        && !result.anyGroupNotCompleted
+        && !markComplete.isEmpty()
         && markComplete.stream().map(DataSetCompletion::completed).distinct().count() == 1)
       dataSetComplete = toMediumDate(markComplete.get(0).completed());
-    return toImportSummary(summary, delete, conflicts).setDataSetComplete(dataSetComplete);
+    return toImportSummary(result.summary, delete, result.conflicts)
+        .setDataSetComplete(dataSetComplete);
   }
 
   @Nonnull
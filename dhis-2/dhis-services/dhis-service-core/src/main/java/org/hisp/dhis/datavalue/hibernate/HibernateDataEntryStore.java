@@ -41,7 +41,11 @@ import static org.hisp.dhis.user.CurrentUserUtil.getCurrentUserDetails;
 import static org.hisp.dhis.user.CurrentUserUtil.getCurrentUsername;
 
 import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -70,12 +74,16 @@ import org.hisp.dhis.datavalue.DataEntryStore;
 import org.hisp.dhis.datavalue.DataEntryValue;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueKey;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.hibernate.HibernateGenericStore;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodStore;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.user.UserDetails;
 import org.intellij.lang.annotations.Language;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -97,13 +105,40 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
    */
   private static final int MAX_ROWS_PER_INSERT = 500;
 
+  /** Number of characters of COPY input that are buffered before they are sent. */
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  @Language("sql")
+  private static final String UPSERT_ON_CONFLICT =
+      """
+      ON CONFLICT (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+      DO UPDATE SET
+        value = EXCLUDED.value,
+        comment = CASE
+          WHEN datavalue.deleted = false AND EXCLUDED.deleted = true THEN datavalue.comment
+          ELSE EXCLUDED.comment
+        END,
+        deleted = EXCLUDED.deleted,
+        followup = EXCLUDED.followup,
+        lastupdated = now(),
+        storedby = current_setting('dhis2.user')
+      """;
+
+  /**
+   * Minimum number of rows of an upsert that use {@link #copyAndMergeValues(Connection, List)}, 0
+   * when disabled
+   */
+  private final int copyThreshold;
+
   public HibernateDataEntryStore(
       EntityManager entityManager,
       PeriodStore periodStore,
       JdbcTemplate jdbcTemplate,
-      ApplicationEventPublisher publisher) {
+      ApplicationEventPublisher publisher,
+      DhisConfigurationProvider config) {
     super(entityManager, jdbcTemplate, publisher, DataValue.class, false);
     this.periodStore = periodStore;
+    this.copyThreshold = config.getIntProperty(ConfigurationKey.DATA_ENTRY_COPY_THRESHOLD);
   }
 
   @Nonnull
@@ -861,18 +896,8 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
       INSERT INTO datavalue
       (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, value, comment, followup, deleted)
       VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-      ON CONFLICT (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
-      DO UPDATE SET
-        value = EXCLUDED.value,
-        comment = CASE
-          WHEN datavalue.deleted = false AND EXCLUDED.deleted = true THEN datavalue.comment
-          ELSE EXCLUDED.comment
-        END,
-        deleted = EXCLUDED.deleted,
-        followup = EXCLUDED.followup,
-        lastupdated = now(),
-        storedby = current_setting('dhis2.user')
-        """;
+      """
+            + UPSERT_ON_CONFLICT;
 
     String user = getCurrentUsername();
     AtomicInteger imported = new AtomicInteger();
@@ -883,6 +908,10 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
             stmt.setString(1, user);
             stmt.execute();
           }
+          if (copyThreshold > 0 && size >= copyThreshold) {
+            imported.set(copyAndMergeValues(conn, internalValues));
+            return;
+          }
           int from = 0;
           while (from < size) {
             int n = min(MAX_ROWS_PER_INSERT, size - from);
@@ -912,6 +941,88 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
     return imported.get();
   }
 
+  /**
+   * Streams the rows into a temporary staging table using COPY and merges them into the data value
+   * table with a single set-based upsert. The staging table is created once per connection and only
+   * holds rows until the end of the transaction.
+   */
+  private static int copyAndMergeValues(Connection conn, List<DataEntryRow> rows)
+      throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.execute(
+          """
+          CREATE TEMP TABLE IF NOT EXISTS datavalue_staging (
+            dataelementid bigint, periodid bigint, sourceid bigint,
+            categoryoptioncomboid bigint, attributeoptioncomboid bigint,
+            value text, comment text, followup boolean, deleted boolean)
+          ON COMMIT DELETE ROWS""");
+      stmt.execute("TRUNCATE datavalue_staging");
+    }
+    CopyIn copy =
+        conn.unwrap(PGConnection.class)
+            .getCopyAPI()
+            .copyIn("COPY datavalue_staging FROM STDIN (FORMAT text)");
+    try {
+      StringBuilder buf = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+      for (DataEntryRow row : rows) {
+        buf.append(row.de()).append('\t');
+        buf.append(row.pe()).append('\t');
+        buf.append(row.ou()).append('\t');
+        buf.append(row.coc()).append('\t');
+        buf.append(row.aoc()).append('\t');
+        appendCopyText(buf, row.value());
+        buf.append('\t');
+        appendCopyText(buf, row.comment());
+        buf.append('\t');
+        buf.append(row.followup() == null ? "\\N" : row.followup().toString()).append('\t');
+        buf.append(row.deleted()).append('\n');
+        if (buf.length() >= COPY_BUFFER_SIZE) writeToCopy(copy, buf);
+      }
+      writeToCopy(copy, buf);
+      copy.endCopy();
+    } finally {
+      if (copy.isActive()) copy.cancelCopy();
+    }
+
+    @Language("sql")
+    String merge =
+        """
+      INSERT INTO datavalue
+      (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, value, comment, followup, deleted)
+      SELECT dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, value, comment, followup, deleted
+      FROM datavalue_staging
+      """
+            + UPSERT_ON_CONFLICT;
+    try (Statement stmt = conn.createStatement()) {
+      return stmt.executeUpdate(merge);
+    }
+  }
+
+  /** Appends a value escaped for the COPY text format, null becomes {@code \N}. */
+  private static void appendCopyText(StringBuilder buf, @CheckForNull String value) {
+    if (value == null) {
+      buf.append("\\N");
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\' -> buf.append("\\\\");
+        case '\t' -> buf.append("\\t");
+        case '\n' -> buf.append("\\n");
+        case '\r' -> buf.append("\\r");
+        default -> buf.append(c);
+      }
+    }
+  }
+
+  private static void writeToCopy(CopyIn copy, StringBuilder buf) throws SQLException {
+    if (buf.isEmpty()) return;
+    byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+    copy.writeToCopy(bytes, 0, bytes.length);
+    buf.setLength(0);
+  }
+
   @Nonnull
   private List<DataEntryRow> upsertValuesResolveIds(List<DataEntryValue> values) {
     Map<String, Long> des = getDataElementIdMap(values.stream().map(DataEntryValue::dataElement));
@@ -452,8 +452,9 @@ public class HibernateDataValueStore extends HibernateGenericStore<DataValue>
     if (params.hasLastUpdated()) {
       where
           .append(sqlHelper.whereAnd())
-          .append("dv.lastupdated >= ")
-          .append(DateUtils.toMediumDate(params.getLastUpdated()));
+          .append("dv.lastupdated >= '")
+          .append(DateUtils.toLongDateWithMillis(params.getLastUpdated()))
+          .append("'");
     }
   }
 
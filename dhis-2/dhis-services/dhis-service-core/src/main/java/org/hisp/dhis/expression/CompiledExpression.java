@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.expression;
+
+import static org.hisp.dhis.parser.expression.ExpressionItem.ITEM_EVALUATE;
+import static org.hisp.dhis.parser.expression.ExpressionItem.ITEM_GET_EXPRESSION_INFO;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.hisp.dhis.antlr.AntlrExpressionVisitor;
+import org.hisp.dhis.antlr.Parser;
+import org.hisp.dhis.common.DimensionalItemId;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.expression.dataitem.DimensionalItem;
+import org.hisp.dhis.expression.function.FunctionSubexpression;
+import org.hisp.dhis.parser.expression.CommonExpressionVisitor;
+import org.hisp.dhis.parser.expression.ExpressionItemMethod;
+import org.hisp.dhis.parser.expression.antlr.ExpressionParser.ExprContext;
+
+/**
+ * An expression prepared for repeated evaluation. The expression is parsed once and the {@link
+ * DimensionalItemId} of each dimensional item in the parse tree is computed once and given a slot,
+ * so evaluating it again neither re-parses the text nor rebuilds the item ids. The items in the
+ * slots are resolved against the item map of the parameters and kept for as long as the same item
+ * map is used, as is the case when one expression is evaluated for many org units and periods.
+ *
+ * <p>All other nodes are evaluated by the {@link CommonExpressionVisitor} as usual, so results are
+ * the same as when evaluating the expression text. Subexpressions are not given a slot, since their
+ * item ids depend on the query modifiers in effect when they are reached.
+ */
+final class CompiledExpression {
+  /** The root of the parse tree. */
+  private final ExprContext root;
+
+  /** Slot of each dimensional item node in the parse tree, by node identity. */
+  private final Map<ExprContext, Integer> slots;
+
+  /** The item id of each slot. */
+  private final DimensionalItemId[] itemIds;
+
+  /** The items of the slots as resolved by the item map they were last resolved against. */
+  private volatile ResolvedItems resolvedItems;
+
+  private record ResolvedItems(
+      Map<DimensionalItemId, DimensionalItemObject> itemMap, DimensionalItemObject[] items) {}
+
+  private CompiledExpression(
+      ExprContext root, Map<ExprContext, Integer> slots, DimensionalItemId[] itemIds) {
+    this.root = root;
+    this.slots = slots;
+    this.itemIds = itemIds;
+  }
+
+  /**
+   * Compiles an expression.
+   *
+   * @param expression the expression text
+   * @param infoVisitor a visitor to find the expression items, created with the parameters of the
+   *     expression and a fresh {@link ExpressionInfo}; its item method is replaced
+   * @return the compiled expression, or null if the parse tree could not be captured
+   */
+  static CompiledExpression compile(String expression, CommonExpressionVisitor infoVisitor) {
+    Object tree = Parser.visit(expression, new TreeCapture());
+
+    if (!(tree instanceof ExprContext root)) {
+      return null;
+    }
+
+    Map<ExprContext, DimensionalItemId> nodeIds = new IdentityHashMap<>();
+
+    infoVisitor.setItemMethod(
+        (item, ctx, visitor) -> {
+          if (item instanceof DimensionalItem dimensionalItem
+              && !(item instanceof FunctionSubexpression)) {
+            nodeIds.put(ctx, dimensionalItem.getDimensionalItemId(ctx, visitor));
+          }
+
+          return ITEM_GET_EXPRESSION_INFO.apply(item, ctx, visitor);
+        });
+
+    infoVisitor.visit(root);
+
+    Map<ExprContext, Integer> slots = new IdentityHashMap<>();
+    DimensionalItemId[] itemIds = new DimensionalItemId[nodeIds.size()];
+
+    for (Map.Entry<ExprContext, DimensionalItemId> entry : nodeIds.entrySet()) {
+      itemIds[slots.size()] = entry.getValue();
+      slots.put(entry.getKey(), slots.size());
+    }
+
+    return new CompiledExpression(root, slots, itemIds);
+  }
+
+  /**
+   * Returns the item method to evaluate this expression with the given parameters. Dimensional
+   * items with a slot are looked up directly, all other items are evaluated by {@link
+   * org.hisp.dhis.parser.expression.ExpressionItem#ITEM_EVALUATE}.
+   *
+   * @param params the expression parameters
+   * @return the item method
+   */
+  ExpressionItemMethod itemMethod(ExpressionParams params) {
+    DimensionalItemObject[] items = resolve(params.getItemMap());
+
+    return (item, ctx, visitor) -> {
+      Integer slot = slots.get(ctx);
+
+      return slot != null
+          ? ((DimensionalItem) item).evaluate(items[slot], visitor)
+          : ITEM_EVALUATE.apply(item, ctx, visitor);
+    };
+  }
+
+  /**
+   * Evaluates this expression.
+   *
+   * @param visitor a visitor created with the item method from {@link #itemMethod}
+   * @return the expression value
+   */
+  Object evaluate(CommonExpressionVisitor visitor) {
+    return visitor.visit(root);
+  }
+
+  private DimensionalItemObject[] resolve(Map<DimensionalItemId, DimensionalItemObject> itemMap) {
+    ResolvedItems resolved = resolvedItems;
+
+    if (resolved != null && resolved.itemMap() == itemMap) {
+      return resolved.items();
+    }
+
+    DimensionalItemObject[] items = new DimensionalItemObject[itemIds.length];
+
+    if (itemMap != null) {
+      for (int i = 0; i < itemIds.length; i++) {
+        items[i] = itemMap.get(itemIds[i]);
+      }
+    }
+
+    resolvedItems = new ResolvedItems(itemMap, items);
+
+    return items;
+  }
+
+  /**
+   * Visitor returning the root {@link ExprContext} of the parse tree instead of evaluating it, so
+   * the tree can be kept and visited again.
+   */
+  private static class TreeCapture extends AntlrExpressionVisitor {
+    @Override
+    public Object visitExpr(ExprContext ctx) {
+      return ctx;
+    }
+
+    @Override
+    protected Object aggregateResult(Object aggregate, Object nextResult) {
+      return nextResult != null ? nextResult : aggregate;
+    }
+  }
+}
@@ -58,7 +58,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -68,6 +70,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.antlr.Parser;
 import org.hisp.dhis.antlr.ParserException;
+import org.hisp.dhis.antlr.ParserExceptionWithoutContext;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.DimensionService;
@@ -127,6 +130,7 @@ import org.hisp.dhis.parser.expression.function.VectorSum;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.util.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -245,10 +249,20 @@ public class DefaultExpressionService implements ExpressionService {
   /** Cache for the constant map. */
   private final Cache<Map<String, Constant>> constantMapCache;
 
+  /**
+   * Cache for compiled expressions by parse type, data type and expression text. An empty value
+   * marks an expression that is evaluated from its text because it could not be compiled.
+   */
+  private final Cache<Optional<CompiledExpression>> compiledExpressionCache;
+
+  /** Whether expression values are computed from compiled expressions. */
+  private final boolean compiledEvaluation;
+
   // -------------------------------------------------------------------------
   // Constructor
   // -------------------------------------------------------------------------
 
+  @Autowired
   public DefaultExpressionService(
       @Qualifier("org.hisp.dhis.expression.ExpressionStore")
           HibernateGenericStore<Expression> expressionStore,
@@ -260,6 +274,32 @@ public class DefaultExpressionService implements ExpressionService {
       SqlBuilder sqlBuilder,
       @Qualifier("org.hisp.dhis.organisationunit.OrganisationUnitGroupStore")
           OrganisationUnitGroupStore organisationUnitGroupStore) {
+    this(
+        expressionStore,
+        constantService,
+        dimensionService,
+        idObjectManager,
+        i18nManager,
+        cacheProvider,
+        sqlBuilder,
+        organisationUnitGroupStore,
+        true);
+  }
+
+  /**
+   * Creates a service which computes expression values from compiled expressions only if {@code
+   * compiledEvaluation} is set, otherwise from the expression text, for comparing the two.
+   */
+  DefaultExpressionService(
+      HibernateGenericStore<Expression> expressionStore,
+      ConstantService constantService,
+      DimensionService dimensionService,
+      IdentifiableObjectManager idObjectManager,
+      I18nManager i18nManager,
+      CacheProvider cacheProvider,
+      SqlBuilder sqlBuilder,
+      OrganisationUnitGroupStore organisationUnitGroupStore,
+      boolean compiledEvaluation) {
     checkNotNull(expressionStore);
     checkNotNull(constantService);
     checkNotNull(dimensionService);
@@ -275,6 +315,8 @@ public class DefaultExpressionService implements ExpressionService {
     this.idObjectManager = idObjectManager;
     this.i18nManager = i18nManager;
     this.constantMapCache = cacheProvider.createAllConstantsCache();
+    this.compiledExpressionCache = cacheProvider.createCompiledExpressionCache();
+    this.compiledEvaluation = compiledEvaluation;
     this.sqlBuilder = sqlBuilder;
     this.organisationUnitGroupStore = organisationUnitGroupStore;
   }
@@ -612,11 +654,22 @@ public class DefaultExpressionService implements ExpressionService {
       return null;
     }
 
-    CommonExpressionVisitor visitor = newVisitor(ITEM_EVALUATE, params);
+    CompiledExpression compiled = getCompiledExpression(params);
+
+    Object value;
+    ExpressionState state;
 
-    Object value = visit(params.getExpression(), params.getDataType(), visitor, true);
+    if (compiled != null) {
+      CommonExpressionVisitor visitor = newVisitor(compiled.itemMethod(params), params);
 
-    ExpressionState state = visitor.getState();
+      value = visit(params.getExpression(), params.getDataType(), visitor, compiled);
+      state = visitor.getState();
+    } else {
+      CommonExpressionVisitor visitor = newVisitor(ITEM_EVALUATE, params);
+
+      value = visit(params.getExpression(), params.getDataType(), visitor, true);
+      state = visitor.getState();
+    }
 
     int itemsFound = state.getItemsFound();
     int itemValuesFound = state.getItemValuesFound();
@@ -740,11 +793,68 @@ public class DefaultExpressionService implements ExpressionService {
         .build();
   }
 
+  /**
+   * Returns the compiled expression for the given parameters, compiling it if not yet done, or null
+   * if the expression is to be evaluated from its text. Expressions with initial query modifiers
+   * are not compiled, as these change the ids of the items within the expression.
+   */
+  private CompiledExpression getCompiledExpression(ExpressionParams params) {
+    if (!compiledEvaluation || params.getInitialQueryMods() != null) {
+      return null;
+    }
+
+    String key = params.getParseType() + ":" + params.getDataType() + ":" + params.getExpression();
+
+    return compiledExpressionCache.get(key, k -> Optional.ofNullable(compile(params))).orElse(null);
+  }
+
+  /** Compiles an expression, or returns null if it cannot be compiled. */
+  private CompiledExpression compile(ExpressionParams params) {
+    ExpressionParams infoParams = params.toBuilder().expressionInfo(new ExpressionInfo()).build();
+
+    try {
+      return CompiledExpression.compile(
+          params.getExpression(), newVisitor(ITEM_GET_EXPRESSION_INFO, infoParams));
+    } catch (RuntimeException ex) {
+      log.debug(
+          "Evaluating expression '{}' without compiling: {}",
+          params.getExpression(),
+          ex.getMessage());
+
+      return null;
+    }
+  }
+
   /** Visits an expression and returns the expected expression type. */
   private Object visit(
       String expression, DataType dataType, CommonExpressionVisitor visitor, boolean logWarnings) {
+    return visit(expression, dataType, () -> Parser.visit(expression, visitor), logWarnings);
+  }
+
+  /** Evaluates a compiled expression and returns the expected expression type. */
+  private Object visit(
+      String expression,
+      DataType dataType,
+      CommonExpressionVisitor visitor,
+      CompiledExpression compiled) {
+    return visit(
+        expression,
+        dataType,
+        () -> {
+          try {
+            return compiled.evaluate(visitor);
+          } catch (ParserExceptionWithoutContext ex) {
+            throw new ParserException(ex.getMessage());
+          }
+        },
+        true);
+  }
+
+  /** Computes the result of visiting an expression and returns the expected expression type. */
+  private Object visit(
+      String expression, DataType dataType, Supplier<Object> visit, boolean logWarnings) {
     try {
-      Object result = Parser.visit(expression, visitor);
+      Object result = visit.get();
 
       switch (dataType) {
         case NUMERIC:
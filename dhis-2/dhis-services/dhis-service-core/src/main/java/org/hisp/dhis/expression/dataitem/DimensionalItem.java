@@ -77,8 +77,18 @@ public abstract class DimensionalItem implements ExpressionItem {
   public final Object evaluate(ExprContext ctx, CommonExpressionVisitor visitor) {
     DimensionalItemId itemId = getDimensionalItemId(ctx, visitor);
 
-    DimensionalItemObject item = visitor.getParams().getItemMap().get(itemId);
+    return evaluate(visitor.getParams().getItemMap().get(itemId), visitor);
+  }
 
+  /**
+   * Evaluates this item when its {@link DimensionalItemObject} has already been resolved, as is
+   * done by a compiled expression.
+   *
+   * @param item the item resolved from the parameters' item map, or null if not found
+   * @param visitor the tree visitor
+   * @return the item value
+   */
+  public final Object evaluate(DimensionalItemObject item, CommonExpressionVisitor visitor) {
     Object value = (item != null) ? visitor.getParams().getValueMap().get(item) : null;
 
     return visitor.getState().handleNulls(value, getItemValueType(item, visitor));
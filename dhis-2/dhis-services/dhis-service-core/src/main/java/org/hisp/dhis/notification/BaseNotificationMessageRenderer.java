@@ -45,6 +45,8 @@ import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.DeliveryChannel;
 import org.hisp.dhis.common.RegexUtils;
 import org.hisp.dhis.option.Option;
@@ -94,6 +96,14 @@ public abstract class BaseNotificationMessageRenderer<T> implements Notification
   private static final Pattern DATA_ELEMENT_PATTERN =
       Pattern.compile("#\\{([A-Za-z][A-Za-z0-9]{10})}");
 
+  /**
+   * Expressions of a template text by type. Extracting them is independent of the entity rendered,
+   * so when the same template is rendered for many entities, as for scheduled notifications, this
+   * is done once per template text instead of once per entity. The region is shared by all
+   * renderers, which is why keys are prefixed with the renderer class.
+   */
+  private final Cache<Map<ExpressionType, Set<String>>> expressionsByTemplate;
+
   private final Map<ExpressionType, BiFunction<T, Set<String>, Map<String, String>>>
       expressionToValueResolvers =
           Map.of(
@@ -127,6 +137,10 @@ public abstract class BaseNotificationMessageRenderer<T> implements Notification
     }
   }
 
+  protected BaseNotificationMessageRenderer(CacheProvider cacheProvider) {
+    this.expressionsByTemplate = cacheProvider.createNotificationExpressionsCache();
+  }
+
   // -------------------------------------------------------------------------
   // Public methods
   // -------------------------------------------------------------------------
@@ -137,7 +151,7 @@ public abstract class BaseNotificationMessageRenderer<T> implements Notification
         template.getDisplaySubjectTemplate() + " " + template.getDisplayMessageTemplate();
 
     Map<String, String> expressionToValueMap =
-        extractExpressionsByType(collatedTemplate).entrySet().stream()
+        getExpressionsByType(collatedTemplate).entrySet().stream()
             .map(entry -> resolveValuesFromExpressions(entry.getValue(), entry.getKey(), entity))
             .collect(HashMap::new, Map::putAll, Map::putAll);
 
@@ -272,6 +286,11 @@ public abstract class BaseNotificationMessageRenderer<T> implements Notification
             (oldStr, newStr) -> newStr);
   }
 
+  private Map<ExpressionType, Set<String>> getExpressionsByType(String template) {
+    return expressionsByTemplate.get(
+        getClass().getName() + ":" + template, key -> extractExpressionsByType(template));
+  }
+
   private Map<ExpressionType, Set<String>> extractExpressionsByType(String template) {
     return Arrays.stream(ExpressionType.values())
         .collect(Collectors.toMap(Function.identity(), type -> extractExpressions(template, type)));
@@ -38,6 +38,7 @@ import java.util.Date;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.dataset.CompleteDataSetRegistration;
 import org.hisp.dhis.dataset.notifications.DataSetNotificationTemplateVariables;
@@ -82,7 +83,9 @@ public class DataSetNotificationMessageRenderer
 
   private final CategoryService dataElementCategoryService;
 
-  public DataSetNotificationMessageRenderer(CategoryService dataElementCategoryService) {
+  public DataSetNotificationMessageRenderer(
+      CategoryService dataElementCategoryService, CacheProvider cacheProvider) {
+    super(cacheProvider);
     checkNotNull(dataElementCategoryService);
 
     this.dataElementCategoryService = dataElementCategoryService;
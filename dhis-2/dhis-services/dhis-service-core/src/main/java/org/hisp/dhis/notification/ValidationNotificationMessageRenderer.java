@@ -48,6 +48,7 @@ import java.util.Date;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.validation.ValidationResult;
 import org.hisp.dhis.validation.notification.ValidationRuleTemplateVariable;
 import org.springframework.stereotype.Service;
@@ -85,7 +86,9 @@ public class ValidationNotificationMessageRenderer
   // Constructors
   // -------------------------------------------------------------------------
 
-  public ValidationNotificationMessageRenderer() {}
+  public ValidationNotificationMessageRenderer(CacheProvider cacheProvider) {
+    super(cacheProvider);
+  }
 
   // -------------------------------------------------------------------------
   // Overrides
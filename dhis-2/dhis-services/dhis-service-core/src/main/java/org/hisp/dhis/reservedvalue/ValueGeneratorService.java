@@ -62,7 +62,11 @@ public class ValueGeneratorService {
       throws ReserveValueException {
     BigInteger maxValue = BigInteger.TEN.pow(segment.getParameter().length());
     List<Integer> generatedNumbers =
-        sequentialNumberCounterStore.getNextValues(textPattern.getOwnerUid(), key, numberOfValues);
+        sequentialNumberCounterStore.getNextValues(
+            textPattern.getOwnerUid(),
+            key,
+            numberOfValues,
+            maxValue.min(BigInteger.valueOf(Integer.MAX_VALUE)).intValue());
 
     boolean outOfValues = generatedNumbers.stream().anyMatch(n -> maxValue.intValue() <= n);
 
@@ -29,40 +29,179 @@
  */
 package org.hisp.dhis.reservedvalue.hibernate;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.reservedvalue.SequentialNumberCounterStore;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
+ * When {@link ConfigurationKey#RESERVED_VALUE_SEQUENTIAL_BLOCK_SIZE} is set, values are handed out
+ * from blocks leased from the counter instead of incrementing the counter for every reservation. A
+ * lease is committed in its own transaction, so values handed out from it are never handed out
+ * again even if the reserving transaction rolls back.
+ *
  * @author Stian Sandvold
  */
-@RequiredArgsConstructor
+@Slf4j
 @Repository("org.hisp.dhis.reservedvalue.SequentialNumberCounterStore")
 public class HibernateSequentialNumberCounterStore implements SequentialNumberCounterStore {
+  /**
+   * Patterns with fewer values than this many blocks always increment the counter by the number of
+   * values requested, so that leases cannot use up their capacity.
+   */
+  private static final int MIN_BLOCKS_PER_PATTERN = 100;
+
   private final EntityManager entityManager;
 
+  private final TransactionTemplate transactionTemplate;
+
+  private final int blockSize;
+
+  private final Map<CounterKey, Lease> leases = new ConcurrentHashMap<>();
+
+  public HibernateSequentialNumberCounterStore(
+      EntityManager entityManager,
+      DhisConfigurationProvider config,
+      PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.blockSize = config.getIntProperty(ConfigurationKey.RESERVED_VALUE_SEQUENTIAL_BLOCK_SIZE);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
   @Override
   public List<Integer> getNextValues(String uid, String key, int length) {
-    int count =
-        (int)
-            entityManager
-                .createNativeQuery("SELECT * FROM incrementSequentialCounter(:uid, :key, :length)")
-                .setParameter("uid", uid)
-                .setParameter("key", key)
-                .setParameter("length", length)
-                .getSingleResult();
-
-    return IntStream.range(count - length, length + (count - length)).boxed().toList();
+    return getNextValues(uid, key, length, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Integer> getNextValues(String uid, String key, int length, int maxValue) {
+    if (blockSize <= 1 || (long) blockSize * MIN_BLOCKS_PER_PATTERN > maxValue) {
+      int count = increment(uid, key, length);
+      return IntStream.range(count - length, count).boxed().toList();
+    }
+
+    Lease lease = leases.computeIfAbsent(new CounterKey(uid, key), k -> new Lease());
+    List<Integer> values = new ArrayList<>(length);
+    while (values.size() < length) {
+      Block block = lease.block;
+      if (block != null) {
+        block.take(length - values.size(), values);
+      }
+      if (values.size() < length) {
+        synchronized (lease) {
+          if (lease.block == block) {
+            int size = Math.max(blockSize, length - values.size());
+            int end = transactionTemplate.execute(status -> increment(uid, key, size));
+            lease.block = new Block(end - size, end);
+          }
+        }
+      }
+    }
+    return values;
   }
 
   @Override
   public void deleteCounter(String uid) {
+    leases.keySet().removeIf(k -> k.uid().equals(uid));
     entityManager
         .createQuery("DELETE SequentialNumberCounter WHERE owneruid = :uid")
         .setParameter("uid", uid)
         .executeUpdate();
   }
+
+  /**
+   * Gives the unused values of the leased blocks back to the counter, which is only possible if no
+   * other server leased a block after them. Otherwise the unused values are lost.
+   */
+  @PreDestroy
+  public void releaseLeases() {
+    leases.forEach(
+        (key, lease) -> {
+          Block block = lease.block;
+          if (block == null || block.next.get() >= block.end) {
+            return;
+          }
+          long next = block.next.getAndSet(block.end);
+          if (next >= block.end) {
+            return;
+          }
+          try {
+            Integer released =
+                transactionTemplate.execute(
+                    status ->
+                        entityManager
+                            .createNativeQuery(
+                                "update sequentialnumbercounter set counter = :next"
+                                    + " where owneruid = :uid and key = :key and counter = :end")
+                            .setParameter("next", (int) next)
+                            .setParameter("uid", key.uid())
+                            .setParameter("key", key.key())
+                            .setParameter("end", block.end)
+                            .executeUpdate());
+            if (released == null || released == 0) {
+              log.info(
+                  "Sequential values {} to {} of '{}' for {} were leased but not used",
+                  next,
+                  block.end - 1,
+                  key.key(),
+                  key.uid());
+            }
+          } catch (RuntimeException ex) {
+            log.warn("Failed to release sequential values leased for {}", key.uid(), ex);
+          }
+        });
+    leases.clear();
+  }
+
+  private int increment(String uid, String key, int length) {
+    return (int)
+        entityManager
+            .createNativeQuery("SELECT * FROM incrementSequentialCounter(:uid, :key, :length)")
+            .setParameter("uid", uid)
+            .setParameter("key", key)
+            .setParameter("length", length)
+            .getSingleResult();
+  }
+
+  private record CounterKey(String uid, String key) {}
+
+  private static final class Lease {
+    private volatile Block block;
+  }
+
+  /** Values from {@code next} (inclusive) to {@code end} (exclusive) not yet handed out. */
+  private static final class Block {
+    private final AtomicLong next;
+
+    private final int end;
+
+    Block(int start, int end) {
+      this.next = new AtomicLong(start);
+      this.end = end;
+    }
+
+    /**
+     * Takes up to {@code n} values without locking. Values claimed beyond the end of the block are
+     * not handed out, the block is exhausted then.
+     */
+    void take(int n, List<Integer> values) {
+      long from = next.getAndAdd(n);
+      for (long value = from; value < Math.min(from + n, end); value++) {
+        values.add((int) value);
+      }
+    }
+  }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.scheduling;
+
+import static org.hisp.dhis.datastore.DatastoreNamespaceProtection.ProtectionType.RESTRICTED;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+import org.hisp.dhis.datastore.DatastoreEntry;
+import org.hisp.dhis.datastore.DatastoreNamespaceProtection;
+import org.hisp.dhis.datastore.DatastoreService;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.security.Authorities;
+import org.hisp.dhis.user.SystemUser;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps state of a {@link Job} between its runs, like a checkpoint or watermark, in the datastore.
+ *
+ * <p>Each job uses its own namespace which has to be {@link #protect(String) protected} so that the
+ * state cannot be read or changed via the datastore API. The state itself is always accessed as the
+ * {@link SystemUser}, so it works irrespective of the user a job runs as.
+ *
+ * <p>Failing to read or write the state is logged but never fails the job. A job without state
+ * starts from the beginning.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobStateService {
+
+  private static final ObjectMapper jsonMapper = JacksonObjectMapperConfig.staticJsonMapper();
+
+  private final DatastoreService datastore;
+
+  /**
+   * Restricts reads and writes of the given namespace to superusers.
+   *
+   * @param namespace datastore namespace of a job
+   */
+  public void protect(@Nonnull String namespace) {
+    datastore.addProtection(
+        new DatastoreNamespaceProtection(
+            namespace, RESTRICTED, RESTRICTED, Authorities.ALL.toString()));
+  }
+
+  /**
+   * @param namespace datastore namespace of the job
+   * @param key key of the state, usually the job id
+   * @param type type the state is deserialized to
+   * @return the state or null if there is none or it cannot be read
+   */
+  @CheckForNull
+  public <T> T get(@Nonnull String namespace, @Nonnull String key, @Nonnull Class<T> type) {
+    DatastoreEntry entry = getEntry(namespace, key);
+    if (entry == null || entry.getValue() == null) {
+      return null;
+    }
+    try {
+      return jsonMapper.readValue(entry.getValue(), type);
+    } catch (JsonProcessingException ex) {
+      log.warn("Ignoring unreadable state in namespace {} for job {}", namespace, key, ex);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the state serialized as JSON, replacing a previous state.
+   *
+   * @param namespace datastore namespace of the job
+   * @param key key of the state, usually the job id
+   * @param state the state to store
+   */
+  public void put(@Nonnull String namespace, @Nonnull String key, @Nonnull Object state) {
+    try {
+      datastore.saveOrUpdateEntry(
+          new DatastoreEntry(namespace, key, jsonMapper.writeValueAsString(state)),
+          new SystemUser());
+    } catch (JsonProcessingException | BadRequestException | ForbiddenException ex) {
+      // the run itself is not affected, only a later run starts from the beginning again
+      log.warn("Failed to store state in namespace {} for job {}", namespace, key, ex);
+    }
+  }
+
+  /**
+   * Removes the state if there is one.
+   *
+   * @param namespace datastore namespace of the job
+   * @param key key of the state, usually the job id
+   */
+  public void delete(@Nonnull String namespace, @Nonnull String key) {
+    DatastoreEntry entry = getEntry(namespace, key);
+    if (entry != null) {
+      datastore.deleteEntry(entry, new SystemUser());
+    }
+  }
+
+  @CheckForNull
+  private DatastoreEntry getEntry(String namespace, String key) {
+    try {
+      return datastore.getEntry(namespace, key, new SystemUser());
+    } catch (ForbiddenException ex) {
+      log.warn("Failed to read state in namespace {} for job {}", namespace, key, ex);
+      return null;
+    }
+  }
+}
@@ -31,16 +31,21 @@ package org.hisp.dhis.datavalue;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.hisp.dhis.common.IdProperty;
 import org.hisp.dhis.dxf2.common.ImportOptions;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ErrorCode;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
 
@@ -303,6 +308,99 @@ class DataEntryInputTest {
     assertEquals(IdProperty.CODE, ids.categoryOptions());
   }
 
+  @Test
+  void testFromJson_Chunks() throws Exception {
+    List<DataEntryGroup.Input> chunks = new ArrayList<>();
+    List<Integer> offsets = new ArrayList<>();
+    fromJsonChunks(
+        """
+        {
+          "dataSet": "ds123456789",
+          "deletion": { "orgUnits": ["ou123456789"], "periods": ["2022"], "elements": [] },
+          "dataValues": [
+            {"dataElement": "de111111111", "period": "2021", "value": "1"},
+            {"dataElement": "de222222222", "period": "2021", "value": 2},
+            {"dataElement": "de333333333", "period": "2021", "value": "3"}
+          ]
+        }""",
+        2,
+        (chunk, offset) -> {
+          chunks.add(chunk);
+          offsets.add(offset);
+          return true;
+        });
+    assertEquals(List.of(0, 2), offsets);
+    assertEquals(List.of(2, 1), chunks.stream().map(c -> c.values().size()).toList());
+    assertEquals("ds123456789", chunks.get(1).dataSet());
+    assertEquals("2", chunks.get(0).values().get(1).value());
+    assertNotNull(chunks.get(0).deletion());
+    assertNull(chunks.get(1).deletion());
+  }
+
+  @Test
+  void testFromJson_ChunksStop() throws Exception {
+    List<DataEntryGroup.Input> chunks = new ArrayList<>();
+    fromJsonChunks(
+        """
+        {
+          "dataValues": [
+            {"dataElement": "de111111111", "period": "2021", "value": "1"},
+            {"dataElement": "de222222222", "period": "2021", "value": "2"}
+          ]
+        }""",
+        1,
+        (chunk, offset) -> !chunks.add(chunk));
+    assertEquals(1, chunks.size());
+  }
+
+  @Test
+  void testFromJson_ChunksGroupPropertyAfterValues() {
+    BadRequestException ex =
+        assertThrows(
+            BadRequestException.class,
+            () ->
+                fromJsonChunks(
+                    """
+                {
+                  "dataValues": [],
+                  "orgUnit": "ou123456789"
+                }""",
+                    10,
+                    (chunk, offset) -> true));
+    assertEquals(ErrorCode.E8013, ex.getCode());
+  }
+
+  @Test
+  void testFromCsv_Chunks() throws Exception {
+    String csv =
+        """
+        dataelement,period,orgunit,value
+        de111111111,2021,ou123456789,1
+        de222222222,2021,ou123456789,2
+        de333333333,2021,ou123456789,3
+        """;
+    List<Integer> offsets = new ArrayList<>();
+    try (InputStream in = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))) {
+      DataEntryInput.fromCsv(
+          in,
+          new ImportOptions(),
+          2,
+          (chunk, offset) -> {
+            offsets.add(offset);
+            return true;
+          });
+    }
+    assertEquals(List.of(0, 2), offsets);
+  }
+
+  private static void fromJsonChunks(
+      @Language("json") String json, int chunkSize, DataEntryInput.ChunkConsumer chunks)
+      throws IOException, BadRequestException {
+    try (InputStream in = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) {
+      DataEntryInput.fromJson(in, new ImportOptions(), chunkSize, chunks);
+    }
+  }
+
   private static DataEntryGroup.Input fromJson(@Language("json") String json) {
     try (InputStream in = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) {
       return DataEntryInput.fromJson(in, new ImportOptions()).get(0);
@@ -112,6 +112,7 @@ import org.hisp.dhis.program.ProgramTrackedEntityAttributeDimensionItem;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsService;
 import org.hisp.dhis.test.TestBase;
+import org.hisp.dhis.test.cache.TestCache;
 import org.hisp.dhis.test.random.BeanRandomizer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -258,6 +259,7 @@ class ExpressionServiceTest extends TestBase {
   @BeforeEach
   public void setUp() {
     when(cacheProvider.createAllConstantsCache()).thenReturn(new NoOpCache<>());
+    when(cacheProvider.createCompiledExpressionCache()).thenReturn(new TestCache<>());
     target =
         new DefaultExpressionService(
             hibernateGenericStore,
@@ -515,8 +517,18 @@ class ExpressionServiceTest extends TestBase {
       Map<DimensionalItemObject, Object> valueMap,
       Map<String, Integer> orgUnitCountMap,
       Integer days) {
+    return exprValue(target, expression, itemMap, valueMap, orgUnitCountMap, days);
+  }
+
+  private static Double exprValue(
+      ExpressionService service,
+      String expression,
+      Map<DimensionalItemId, DimensionalItemObject> itemMap,
+      Map<DimensionalItemObject, Object> valueMap,
+      Map<String, Integer> orgUnitCountMap,
+      Integer days) {
     return castDouble(
-        target.getExpressionValue(
+        service.getExpressionValue(
             ExpressionParams.builder()
                 .expression(expression)
                 .parseType(INDICATOR_EXPRESSION)
@@ -956,6 +968,60 @@ class ExpressionServiceTest extends TestBase {
     assertEquals(54d, exprValue(expressionR, itemMap, valueMap, orgUnitCountMap, null), DELTA);
   }
 
+  @Test
+  void testGetExpressionValueCompiledMatchesUncompiled() {
+    Map<DimensionalItemId, DimensionalItemObject> itemMap =
+        ImmutableMap.<DimensionalItemId, DimensionalItemObject>builder()
+            .put(getId(opA), opA)
+            .put(getId(opB), opB)
+            .put(getId(opE), opE)
+            .put(getId(opF), opF)
+            .put(getId(reportingRate), reportingRate)
+            .build();
+
+    Map<String, Integer> orgUnitCountMap = new HashMap<>();
+    orgUnitCountMap.put(groupA.getUid(), groupA.getMembers().size());
+
+    mockConstantService();
+
+    DefaultExpressionService uncompiledTarget =
+        new DefaultExpressionService(
+            hibernateGenericStore,
+            constantService,
+            dimensionService,
+            idObjectManager,
+            i18nManager,
+            cacheProvider,
+            sqlBuilder,
+            organisationUnitGroupStore,
+            false);
+
+    List<String> expressions =
+        List.of(expressionA, expressionD, expressionE, expressionH, expressionN, expressionR);
+
+    // Same item map with changing values, as when evaluating for many org units and periods
+    for (double base : new double[] {12d, 3d, 0d}) {
+      Map<DimensionalItemObject, Object> valueMap = new HashMap<>();
+      valueMap.put(opA, base);
+      valueMap.put(opB, base + 22d);
+      valueMap.put(opE, base + 4d);
+      valueMap.put(reportingRate, base + 8d);
+
+      for (String expression : expressions) {
+        Double compiled = exprValue(target, expression, itemMap, valueMap, orgUnitCountMap, 5);
+        Double uncompiled =
+            exprValue(uncompiledTarget, expression, itemMap, valueMap, orgUnitCountMap, 5);
+
+        assertEquals(uncompiled, compiled, expression);
+      }
+    }
+
+    // A different item map is resolved again
+    Map<DimensionalItemObject, Object> valueMap = Map.of(opA, 12d, opB, 34d);
+    assertEquals(46d, exprValue(expressionA, itemMap, valueMap, null, null), DELTA);
+    assertEquals(12d, exprValue(expressionA, Map.of(getId(opA), opA), valueMap, null, null), DELTA);
+  }
+
   @Test
   void testGetExpressionValueOrgUnitGroupCountMissingMemberCountIsZero() {
     // An OUG{} indicator queried for an org unit whose subtree has no members of the group: the
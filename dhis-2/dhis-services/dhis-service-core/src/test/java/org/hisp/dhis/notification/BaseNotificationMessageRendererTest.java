@@ -44,8 +44,10 @@ import java.util.function.Function;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.DeliveryChannel;
+import org.hisp.dhis.test.cache.TestCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -58,6 +60,8 @@ class BaseNotificationMessageRendererTest {
   // Setup
   // -------------------------------------------------------------------------
 
+  private CacheProvider cacheProvider;
+
   private BaseNotificationMessageRenderer<Entity> renderer;
 
   private static final Pair<String, String> ATTR_A =
@@ -70,7 +74,9 @@ class BaseNotificationMessageRendererTest {
 
   @BeforeEach
   void setUpTest() {
-    renderer = new MockNotificationMessageRenderer();
+    cacheProvider = Mockito.mock(CacheProvider.class);
+    Mockito.when(cacheProvider.createNotificationExpressionsCache()).thenReturn(new TestCache<>());
+    renderer = new MockNotificationMessageRenderer(cacheProvider);
   }
 
   // -------------------------------------------------------------------------
@@ -205,6 +211,23 @@ class BaseNotificationMessageRendererTest {
     assertEquals("Translated B", message.getMessage());
   }
 
+  @Test
+  void testRenderersSharingTheCacheUseTheirOwnSupportedExpressions() {
+    Entity e = entity();
+    String templateString = format("V{a} A{%s}", ATTR_A.getKey());
+    NotificationTemplate template = template(templateString);
+    BaseNotificationMessageRenderer<Entity> variablesOnly =
+        new VariablesOnlyNotificationMessageRenderer(cacheProvider);
+
+    NotificationMessage message = renderer.render(e, template);
+    NotificationMessage variablesOnlyMessage = variablesOnly.render(e, template);
+
+    assertEquals(format("%s %s", e.propertyA, ATTR_A.getValue()), message.getMessage());
+    assertEquals(
+        format("%s %s", e.propertyA, BaseNotificationMessageRenderer.MISSING_VALUE_REPLACEMENT),
+        variablesOnlyMessage.getMessage());
+  }
+
   // -------------------------------------------------------------------------
   // Factory methods
   // -------------------------------------------------------------------------
@@ -246,6 +269,10 @@ class BaseNotificationMessageRendererTest {
           }
         };
 
+    MockNotificationMessageRenderer(CacheProvider cacheProvider) {
+      super(cacheProvider);
+    }
+
     @Override
     protected Map<TemplateVariable, Function<Entity, String>> getVariableResolvers() {
       return VARIABLE_RESOLVERS;
@@ -276,6 +303,17 @@ class BaseNotificationMessageRendererTest {
     }
   }
 
+  static class VariablesOnlyNotificationMessageRenderer extends MockNotificationMessageRenderer {
+    VariablesOnlyNotificationMessageRenderer(CacheProvider cacheProvider) {
+      super(cacheProvider);
+    }
+
+    @Override
+    protected Set<ExpressionType> getSupportedExpressionTypes() {
+      return Set.of(ExpressionType.VARIABLE);
+    }
+  }
+
   static class Entity {
 
     final String propertyA;
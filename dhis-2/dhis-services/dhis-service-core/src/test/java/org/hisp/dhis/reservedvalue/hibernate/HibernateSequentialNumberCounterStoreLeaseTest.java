@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.reservedvalue.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Tests leasing blocks of sequential values against an in-memory counter that behaves like the
+ * {@code incrementSequentialCounter} database function.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class HibernateSequentialNumberCounterStoreLeaseTest {
+  private static final String UID = "uid";
+
+  private static final String KEY = "ABC-####";
+
+  private static final int MAX_VALUE = 9999;
+
+  @Mock private EntityManager entityManager;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  /** The next value of the counter, as stored in sequentialnumbercounter. */
+  private final AtomicInteger counter = new AtomicInteger(1);
+
+  /** Number of times the counter was incremented. */
+  private final AtomicInteger increments = new AtomicInteger();
+
+  /** Number of attempts to give unused values back to the counter. */
+  private final AtomicInteger releases = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> counterQuery());
+  }
+
+  @Test
+  void shouldIncrementCounterByValuesRequestedWithoutBlockSize() {
+    HibernateSequentialNumberCounterStore store = store(0);
+
+    assertEquals(List.of(1, 2, 3), store.getNextValues(UID, KEY, 3, MAX_VALUE));
+    assertEquals(List.of(4, 5), store.getNextValues(UID, KEY, 2, MAX_VALUE));
+    assertEquals(6, counter.get());
+    assertEquals(2, increments.get());
+  }
+
+  @Test
+  void shouldIncrementCounterByValuesRequestedForPatternsWithFewBlocks() {
+    HibernateSequentialNumberCounterStore store = store(10);
+
+    // 10 * 100 blocks exceed the capacity of the pattern
+    assertEquals(List.of(1, 2, 3), store.getNextValues(UID, KEY, 3, 999));
+    assertEquals(List.of(4, 5), store.getNextValues(UID, KEY, 2, 999));
+    assertEquals(6, counter.get());
+    assertEquals(2, increments.get());
+  }
+
+  @Test
+  void shouldHandOutValuesFromLeasedBlock() {
+    HibernateSequentialNumberCounterStore store = store(10);
+
+    assertEquals(List.of(1, 2, 3), store.getNextValues(UID, KEY, 3, MAX_VALUE));
+    assertEquals(List.of(4, 5), store.getNextValues(UID, KEY, 2, MAX_VALUE));
+    assertEquals(11, counter.get());
+    assertEquals(1, increments.get());
+  }
+
+  @Test
+  void shouldLeaseNextBlockOnceBlockIsExhausted() {
+    HibernateSequentialNumberCounterStore store = store(10);
+    store.getNextValues(UID, KEY, 8, MAX_VALUE);
+
+    // 9 and 10 are left, claiming 5 overshoots the end of the block
+    assertEquals(List.of(9, 10, 11, 12, 13), store.getNextValues(UID, KEY, 5, MAX_VALUE));
+    assertEquals(List.of(14), store.getNextValues(UID, KEY, 1, MAX_VALUE));
+    assertEquals(21, counter.get());
+    assertEquals(2, increments.get());
+  }
+
+  @Test
+  void shouldLeaseBlockOfRemainingValuesIfMoreRemainThanBlockSize() {
+    HibernateSequentialNumberCounterStore store = store(10);
+    store.getNextValues(UID, KEY, 3, MAX_VALUE);
+
+    // 4 to 10 are left in the block, the remaining 18 values are leased at once
+    assertEquals(range(4, 29), store.getNextValues(UID, KEY, 25, MAX_VALUE));
+    assertEquals(29, counter.get());
+    assertEquals(2, increments.get());
+  }
+
+  @Test
+  void shouldNotHandOutValueTwiceWhenTakingConcurrently() throws Exception {
+    HibernateSequentialNumberCounterStore store = store(10);
+    int threads = 16;
+    int calls = 100;
+    Callable<List<Integer>> task =
+        () -> {
+          List<Integer> values = new ArrayList<>();
+          for (int i = 0; i < calls; i++) {
+            values.addAll(store.getNextValues(UID, KEY, 3, MAX_VALUE));
+          }
+          return values;
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Integer> values = new ArrayList<>();
+    try {
+      for (Future<List<Integer>> future : executor.invokeAll(Collections.nCopies(threads, task))) {
+        values.addAll(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Set<Integer> distinct = new HashSet<>(values);
+    assertEquals(threads * calls * 3, values.size());
+    assertEquals(values.size(), distinct.size());
+    assertTrue(values.stream().allMatch(value -> value > 0 && value < counter.get()));
+  }
+
+  @Test
+  void shouldGiveUnusedValuesBackOnRelease() {
+    HibernateSequentialNumberCounterStore store = store(10);
+    store.getNextValues(UID, KEY, 3, MAX_VALUE);
+
+    store.releaseLeases();
+
+    assertEquals(4, counter.get());
+    assertEquals(1, releases.get());
+    assertEquals(List.of(4, 5), store.getNextValues(UID, KEY, 2, MAX_VALUE));
+  }
+
+  @Test
+  void shouldNotGiveUnusedValuesBackIfAnotherServerLeasedAfter() {
+    HibernateSequentialNumberCounterStore store = store(10);
+    HibernateSequentialNumberCounterStore otherServer = store(10);
+    store.getNextValues(UID, KEY, 3, MAX_VALUE);
+    assertEquals(List.of(11), otherServer.getNextValues(UID, KEY, 1, MAX_VALUE));
+
+    store.releaseLeases();
+
+    assertEquals(21, counter.get());
+    assertEquals(1, releases.get());
+    assertEquals(List.of(12), otherServer.getNextValues(UID, KEY, 1, MAX_VALUE));
+  }
+
+  @Test
+  void shouldNotReleaseExhaustedBlock() {
+    HibernateSequentialNumberCounterStore store = store(10);
+    store.getNextValues(UID, KEY, 10, MAX_VALUE);
+
+    store.releaseLeases();
+
+    assertEquals(11, counter.get());
+    assertEquals(0, releases.get());
+  }
+
+  private HibernateSequentialNumberCounterStore store(int blockSize) {
+    when(config.getIntProperty(ConfigurationKey.RESERVED_VALUE_SEQUENTIAL_BLOCK_SIZE))
+        .thenReturn(blockSize);
+    return new HibernateSequentialNumberCounterStore(entityManager, config, transactionManager);
+  }
+
+  /**
+   * A query that increments the counter like {@code incrementSequentialCounter} or sets it back to
+   * the first unused value of a block if the counter is still at the end of the block.
+   */
+  private Query counterQuery() {
+    Map<String, Object> parameters = new HashMap<>();
+    return mock(
+        Query.class,
+        invocation ->
+            switch (invocation.getMethod().getName()) {
+              case "setParameter" -> {
+                parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+                yield invocation.getMock();
+              }
+              case "getSingleResult" -> {
+                increments.incrementAndGet();
+                yield counter.addAndGet((int) parameters.get("length"));
+              }
+              case "executeUpdate" -> {
+                releases.incrementAndGet();
+                yield counter.compareAndSet(
+                        (int) parameters.get("end"), (int) parameters.get("next"))
+                    ? 1
+                    : 0;
+              }
+              default -> RETURNS_DEFAULTS.answer(invocation);
+            });
+  }
+
+  private static List<Integer> range(int from, int to) {
+    return IntStream.range(from, to).boxed().toList();
+  }
+}
@@ -30,13 +30,18 @@
 package org.hisp.dhis.predictor;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.Collections.emptySet;
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
+import static org.hisp.dhis.common.DimensionItemType.DATA_ELEMENT;
+import static org.hisp.dhis.common.DimensionItemType.DATA_ELEMENT_OPERAND;
 import static org.hisp.dhis.common.OrganisationUnitDescendants.DESCENDANTS;
 import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
 import static org.hisp.dhis.expression.ParseType.PREDICTOR_EXPRESSION;
 import static org.hisp.dhis.expression.ParseType.PREDICTOR_SKIP_TEST;
+import static org.hisp.dhis.external.conf.ConfigurationKey.PREDICTOR_PARALLELISM;
 import static org.hisp.dhis.predictor.PredictionDataFilter.filter;
 import static org.hisp.dhis.predictor.PredictionFormatter.formatPrediction;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM_OUTLIER;
@@ -44,14 +49,26 @@ import static org.hisp.dhis.util.DateUtils.addDays;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -76,6 +93,7 @@ import org.hisp.dhis.expression.ExpressionInfo;
 import org.hisp.dhis.expression.ExpressionParams;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.expression.ExpressionValidationOutcome;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitLevel;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
@@ -84,10 +102,15 @@ import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
+import org.hisp.dhis.security.SecurityContextRunnable;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserService;
+import org.hisp.dhis.util.Timer;
 import org.springframework.context.ApplicationContext;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -99,6 +122,9 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 @RequiredArgsConstructor
 public class DefaultPredictionService implements PredictionService {
+  private static final ThreadFactory ORG_UNIT_WORKER_THREAD_FACTORY =
+      new ThreadFactoryBuilder().setNameFormat("PREDICTOR-WORKER-%d").setDaemon(true).build();
+
   private final PredictorService predictorService;
 
   private final ExpressionService expressionService;
@@ -122,6 +148,8 @@ public class DefaultPredictionService implements PredictionService {
 
   private final UserService userService;
 
+  private final DhisConfigurationProvider config;
+
   // -------------------------------------------------------------------------
   // Prediction business logic
   // -------------------------------------------------------------------------
@@ -169,6 +197,15 @@ public class DefaultPredictionService implements PredictionService {
         progress.runStage(List.of(), () -> fetchPredictors(predictors, predictorGroups));
 
     PredictionSummary summary = new PredictionSummary();
+    int parallelism = config.getIntProperty(PREDICTOR_PARALLELISM);
+
+    if (parallelism > 1) {
+      predictInParallel(predictorList, startDate, endDate, summary, parallelism, progress);
+
+      return summary;
+    }
+
+    Timer timer = new Timer().start();
     progress.startingStage(
         format("Running predictors from %s to %s", startDate, endDate),
         predictorList.size(),
@@ -179,11 +216,157 @@ public class DefaultPredictionService implements PredictionService {
             format("Running predictor %s from %s to %s", predictor.getName(), startDate, endDate),
         predictor -> predict(predictor, startDate, endDate, summary),
         (success, failed) ->
-            format("Finished predictors from %s to %s: %s", startDate, endDate, summary));
+            format(
+                "Finished predictors from %s to %s: %s%s",
+                startDate, endDate, summary, getThroughput(summary, timer)));
 
     return summary;
   }
 
+  /**
+   * Runs predictors in parallel. The predictors are expanded into simple predictors and grouped
+   * into waves by their dependencies (see {@link #getPredictorWaves}). The predictors within a wave
+   * run in parallel, and any threads left over are used to split each predictor's organisation
+   * units between parallel workers. The workers of all predictors share one executor for the run,
+   * so there are never more of them than the configured parallelism.
+   */
+  private void predictInParallel(
+      List<Predictor> predictorList,
+      Date startDate,
+      Date endDate,
+      PredictionSummary summary,
+      int parallelism,
+      JobProgress progress) {
+    progress.startingStage("Ordering predictors by dependencies");
+    List<List<Predictor>> waves =
+        progress.runStage(
+            List.of(),
+            ws -> format("Ordered predictors in %d waves", ws.size()),
+            () -> getPredictorWaves(predictorList));
+
+    PredictionService self = applicationContext.getBean(PredictionService.class);
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+
+    Timer timer = new Timer().start();
+
+    ExecutorService orgUnitExecutor =
+        Executors.newFixedThreadPool(parallelism, ORG_UNIT_WORKER_THREAD_FACTORY);
+
+    try {
+      for (int i = 0; i < waves.size(); i++) {
+        List<Predictor> wave = waves.get(i);
+        int predictorThreads = min(parallelism, wave.size());
+        int orgUnitThreads = max(1, parallelism / predictorThreads);
+
+        progress.startingStage(
+            format(
+                "Running predictors wave %d of %d from %s to %s",
+                i + 1, waves.size(), startDate, endDate),
+            wave.size(),
+            SKIP_ITEM_OUTLIER);
+        progress.runStageInParallel(
+            predictorThreads,
+            wave,
+            predictor ->
+                format(
+                    "Running predictor %s from %s to %s", predictor.getName(), startDate, endDate),
+            predictor ->
+                new DelegatingSecurityContextRunnable(
+                        () ->
+                            self.predictSimple(
+                                predictor,
+                                startDate,
+                                endDate,
+                                summary,
+                                orgUnitExecutor,
+                                orgUnitThreads),
+                        securityContext)
+                    .run());
+      }
+    } finally {
+      orgUnitExecutor.shutdownNow();
+    }
+
+    progress.startingStage(format("Finished predictors from %s to %s", startDate, endDate));
+    progress.completedStage(format("%s%s", summary, getThroughput(summary, timer)));
+  }
+
+  /**
+   * Expands predictors into simple predictors and groups them into waves that can run in parallel.
+   * A predictor goes into a later wave than any predictor listed before it that reads its output,
+   * whose output it reads, or that has the same output. This gives the same results as running the
+   * predictors one after another in the order they are listed.
+   */
+  List<List<Predictor>> getPredictorWaves(List<Predictor> predictorList) {
+    List<Predictor> simplePredictors =
+        predictorList.stream().map(preprocessor::preprocess).flatMap(List::stream).toList();
+
+    List<Set<String>> inputs = simplePredictors.stream().map(this::getInputDataElements).toList();
+
+    List<List<Predictor>> waves = new ArrayList<>();
+    int[] predictorWaves = new int[simplePredictors.size()];
+
+    for (int j = 0; j < simplePredictors.size(); j++) {
+      String output = simplePredictors.get(j).getOutput().getUid();
+      int wave = 0;
+
+      for (int i = 0; i < j; i++) {
+        String earlierOutput = simplePredictors.get(i).getOutput().getUid();
+
+        if (output.equals(earlierOutput)
+            || inputs.get(j).contains(earlierOutput)
+            || inputs.get(i).contains(output)) {
+          wave = max(wave, predictorWaves[i] + 1);
+        }
+      }
+
+      predictorWaves[j] = wave;
+
+      if (wave == waves.size()) {
+        waves.add(new ArrayList<>());
+      }
+
+      waves.get(wave).add(simplePredictors.get(j));
+    }
+
+    return waves;
+  }
+
+  /**
+   * Gets the UIDs of the data elements that a predictor reads from the data values. Items fetched
+   * from analytics are not included, since they do not see predictions from the same run.
+   */
+  private Set<String> getInputDataElements(Predictor predictor) {
+    ExpressionInfo info =
+        expressionService.getExpressionInfo(
+            ExpressionParams.builder()
+                .expression(predictor.getGenerator().getExpression())
+                .parseType(PREDICTOR_EXPRESSION)
+                .dataType(DataType.fromValueType(predictor.getOutput().getValueType()))
+                .expressionInfo(new ExpressionInfo())
+                .build());
+
+    if (predictor.getSampleSkipTest() != null) {
+      addSampleSkipTestToExInfo(info, predictor.getSampleSkipTest().getExpression());
+    }
+
+    return info.getAllItemIds().stream()
+        .filter(
+            id ->
+                id.getDimensionItemType() == DATA_ELEMENT
+                    || id.getDimensionItemType() == DATA_ELEMENT_OPERAND)
+        .map(DimensionalItemId::getId0)
+        .collect(Collectors.toSet());
+  }
+
+  private static String getThroughput(PredictionSummary summary, Timer timer) {
+    long millis = max(1, timer.getTimeInMs());
+
+    return format(
+        ", %d predictions in %d ms (%.1f per second)",
+        summary.getPredictions(), millis, summary.getPredictions() * 1000.0 / millis);
+  }
+
   private List<Predictor> fetchPredictors(
       @CheckForNull List<String> predictors, @CheckForNull List<String> predictorGroups) {
     if (isEmpty(predictors) && isEmpty(predictorGroups)) {
@@ -231,9 +414,21 @@ public class DefaultPredictionService implements PredictionService {
     return preprocessor.getDescription(expression);
   }
 
-  @Transactional
+  @Override
   public void predictSimple(
       Predictor predictor, Date startDate, Date endDate, PredictionSummary predictionSummary) {
+    predictSimple(predictor, startDate, endDate, predictionSummary, Runnable::run, 1);
+  }
+
+  @Override
+  @Transactional
+  public void predictSimple(
+      Predictor predictor,
+      Date startDate,
+      Date endDate,
+      PredictionSummary predictionSummary,
+      Executor orgUnitExecutor,
+      int orgUnitWorkers) {
     Expression generator = predictor.getGenerator();
     Expression skipTest = predictor.getSampleSkipTest();
     DataElement outputDataElement = predictor.getOutput();
@@ -269,15 +464,93 @@ public class DefaultPredictionService implements PredictionService {
     Set<OrganisationUnit> currentUserOrgUnits =
         (currentUser != null) ? currentUser.getOrganisationUnits() : emptySet();
 
-    PredictionDataConsolidator consolidator =
-        new PredictionDataConsolidator(
-            items,
-            predictor.getOrganisationUnitDescendants().equals(DESCENDANTS),
-            new PredictionDataValueFetcher(dataValueService, categoryService, currentUserOrgUnits),
-            new PredictionAnalyticsDataFetcher(analyticsService, categoryService));
+    boolean includeDescendants = predictor.getOrganisationUnitDescendants().equals(DESCENDANTS);
+
+    Function<Set<OrganisationUnit>, PredictionDataConsolidator> newConsolidator =
+        queryRoots ->
+            new PredictionDataConsolidator(
+                items,
+                includeDescendants,
+                new PredictionDataValueFetcher(dataValueService, categoryService, queryRoots),
+                new PredictionAnalyticsDataFetcher(analyticsService, categoryService));
+
+    BiConsumer<PredictionDataConsolidator, PredictionWriter> predictOrgUnits =
+        (consolidator, writer) -> {
+          PredictionData data;
+
+          while ((data = filter(consolidator.getData())) != null) {
+            List<DataValue> predictions = new ArrayList<>();
+
+            List<PredictionContext> contexts =
+                PredictionContextGenerator.getContexts(
+                    outputPeriods, data.getValues(), defaultCategoryOptionCombo, preDis);
+
+            for (PredictionContext c : contexts) {
+              Map<DimensionalItemObject, Object> valueMap =
+                  firstNonNull(c.getPeriodValueMap().get(c.getOutputPeriod()), new HashMap<>());
+
+              List<Period> samplePeriods =
+                  new ArrayList<>(samplePeriodsMap.get(c.getOutputPeriod()));
+
+              samplePeriods.removeAll(
+                  getSkippedPeriods(
+                      allSamplePeriods,
+                      baseExParams,
+                      c.getPeriodValueMap(),
+                      skipTest,
+                      data.getOrgUnit()));
+
+              if (!isEvaluationRequired(
+                  requireData,
+                  exInfo,
+                  samplePeriods,
+                  valueMap,
+                  c.getPeriodValueMap(),
+                  baseExParams.getItemMap())) {
+                continue;
+              }
+
+              Object value =
+                  expressionService.getExpressionValue(
+                      baseExParams.toBuilder()
+                          .expression(predictor.getGenerator().getExpression())
+                          .parseType(PREDICTOR_EXPRESSION)
+                          .dataType(expressionDataType)
+                          .valueMap(valueMap)
+                          .days(c.getOutputPeriod().getDaysInPeriod())
+                          .missingValueStrategy(generator.getMissingValueStrategy())
+                          .orgUnit(data.getOrgUnit())
+                          .samplePeriods(samplePeriods)
+                          .periodValueMap(c.getPeriodValueMap())
+                          .build());
+
+              DataValue prediction =
+                  processPrediction(predictor, c, value, currentUser, data.getOrgUnit());
+
+              rememberPredictedValue(prediction, predictions, contexts, forwardReference);
+            }
+
+            writer.addPredictions(predictions, data.getOldPredictions());
+          }
+        };
+
+    // Workers must not use this thread's Hibernate session: they only get values loaded here and
+    // data values read through JDBC. Analytics queries and org unit functions (which look at lazily
+    // loaded collections) need the session, so those predictors run on this thread only.
+    boolean splitOrgUnits =
+        orgUnitWorkers > 1
+            && items.stream()
+                .allMatch(i -> i instanceof DataElement || i instanceof DataElementOperand)
+            && exInfo.getOrgUnitGroupIds().isEmpty()
+            && exInfo.getOrgUnitDataSetIds().isEmpty()
+            && exInfo.getOrgUnitProgramIds().isEmpty();
+
+    PredictionDataConsolidator consolidator = newConsolidator.apply(currentUserOrgUnits);
 
     PredictionWriter predictionWriter = new PredictionWriter(dataDumpService, predictionSummary);
 
+    List<PredictionWriter> workerWriters = new ArrayList<>();
+
     predictionSummary.incrementPredictors();
 
     for (OrganisationUnitLevel orgUnitLevel : predictor.getOrganisationUnitLevels()) {
@@ -285,6 +558,47 @@ public class DefaultPredictionService implements PredictionService {
           organisationUnitService.getOrganisationUnitsAtOrgUnitLevels(
               Lists.newArrayList(orgUnitLevel), currentUserOrgUnits);
 
+      if (splitOrgUnits && orgUnits.size() > 1) {
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+
+        for (OrgUnitChunk chunk : getOrgUnitChunks(orgUnits, currentUserOrgUnits, orgUnitWorkers)) {
+          // Each worker owns its fetcher and writer, created here in the main thread. Without
+          // descendants only the data of the chunk's own org units is needed, so query just those.
+          PredictionDataConsolidator workerConsolidator =
+              newConsolidator.apply(
+                  includeDescendants ? chunk.queryRoots() : Set.copyOf(chunk.orgUnits()));
+          PredictionWriter workerWriter = new PredictionWriter(dataDumpService, predictionSummary);
+          workerWriters.add(workerWriter);
+
+          workers.add(
+              CompletableFuture.runAsync(
+                  new SecurityContextRunnable() {
+                    @Override
+                    public void call() {
+                      workerConsolidator.init(
+                          orgUnitLevel.getLevel(),
+                          chunk.orgUnits(),
+                          dataValueQueryPeriods,
+                          analyticsQueryPeriods,
+                          existingOutputPeriods,
+                          outputDataElementOperand);
+
+                      predictOrgUnits.accept(workerConsolidator, workerWriter);
+                    }
+
+                    @Override
+                    public void handleError(Throwable ex) {
+                      throw new CompletionException(ex);
+                    }
+                  },
+                  orgUnitExecutor));
+        }
+
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+
+        continue;
+      }
+
       consolidator.init(
           orgUnitLevel.getLevel(),
           orgUnits,
@@ -293,65 +607,83 @@ public class DefaultPredictionService implements PredictionService {
           existingOutputPeriods,
           outputDataElementOperand);
 
-      PredictionData data;
+      predictOrgUnits.accept(consolidator, predictionWriter);
+    }
 
-      while ((data = filter(consolidator.getData())) != null) {
-        List<DataValue> predictions = new ArrayList<>();
+    // Predictions are written only after all levels, as when running on a single thread
+    predictionWriter.commit();
+    workerWriters.forEach(PredictionWriter::commit);
+  }
 
-        List<PredictionContext> contexts =
-            PredictionContextGenerator.getContexts(
-                outputPeriods, data.getValues(), defaultCategoryOptionCombo, preDis);
+  /**
+   * Splits organisation units into chunks of about the same size, one for each worker. Children of
+   * the same parent stay in the same chunk where possible, so the parent can be queried in place of
+   * its children.
+   */
+  static List<OrgUnitChunk> getOrgUnitChunks(
+      List<OrganisationUnit> orgUnits, Set<OrganisationUnit> currentUserOrgUnits, int chunkCount) {
+    Map<String, OrgUnitChunk> groups = new LinkedHashMap<>();
+
+    for (OrganisationUnit orgUnit : orgUnits) {
+      OrganisationUnit root = getQueryRoot(orgUnit, currentUserOrgUnits);
+
+      groups
+          .computeIfAbsent(
+              root.getUid(),
+              uid -> new OrgUnitChunk(new ArrayList<>(), new HashSet<>(Set.of(root))))
+          .orgUnits()
+          .add(orgUnit);
+    }
 
-        for (PredictionContext c : contexts) {
-          Map<DimensionalItemObject, Object> valueMap =
-              firstNonNull(c.getPeriodValueMap().get(c.getOutputPeriod()), new HashMap<>());
+    List<OrgUnitChunk> parts = new ArrayList<>(groups.values());
 
-          List<Period> samplePeriods = new ArrayList<>(samplePeriodsMap.get(c.getOutputPeriod()));
+    if (parts.size() < chunkCount) {
+      parts.clear();
 
-          samplePeriods.removeAll(
-              getSkippedPeriods(
-                  allSamplePeriods,
-                  baseExParams,
-                  c.getPeriodValueMap(),
-                  skipTest,
-                  data.getOrgUnit()));
-
-          if (!isEvaluationRequired(
-              requireData,
-              exInfo,
-              samplePeriods,
-              valueMap,
-              c.getPeriodValueMap(),
-              baseExParams.getItemMap())) {
-            continue;
-          }
+      for (OrganisationUnit orgUnit : orgUnits) {
+        parts.add(new OrgUnitChunk(List.of(orgUnit), Set.of(orgUnit)));
+      }
+    }
 
-          Object value =
-              expressionService.getExpressionValue(
-                  baseExParams.toBuilder()
-                      .expression(predictor.getGenerator().getExpression())
-                      .parseType(PREDICTOR_EXPRESSION)
-                      .dataType(expressionDataType)
-                      .valueMap(valueMap)
-                      .days(c.getOutputPeriod().getDaysInPeriod())
-                      .missingValueStrategy(generator.getMissingValueStrategy())
-                      .orgUnit(data.getOrgUnit())
-                      .samplePeriods(samplePeriods)
-                      .periodValueMap(c.getPeriodValueMap())
-                      .build());
-
-          DataValue prediction =
-              processPrediction(predictor, c, value, currentUser, data.getOrgUnit());
-
-          rememberPredictedValue(prediction, predictions, contexts, forwardReference);
-        }
+    parts.sort(Comparator.comparingInt((OrgUnitChunk c) -> c.orgUnits().size()).reversed());
 
-        predictionWriter.addPredictions(predictions, data.getOldPredictions());
+    List<OrgUnitChunk> chunks = new ArrayList<>();
+
+    for (OrgUnitChunk part : parts) {
+      if (chunks.size() < chunkCount) {
+        chunks.add(new OrgUnitChunk(new ArrayList<>(), new HashSet<>()));
       }
+
+      OrgUnitChunk smallest =
+          chunks.stream().min(Comparator.comparingInt(c -> c.orgUnits().size())).orElseThrow();
+
+      smallest.orgUnits().addAll(part.orgUnits());
+      smallest.queryRoots().addAll(part.queryRoots());
     }
-    predictionWriter.commit();
+
+    return chunks;
+  }
+
+  /**
+   * Gets the subtree to query for an organisation unit: its parent if the parent is within the
+   * current user's organisation units (so all its children are predicted), otherwise itself.
+   */
+  private static OrganisationUnit getQueryRoot(
+      OrganisationUnit orgUnit, Set<OrganisationUnit> currentUserOrgUnits) {
+    OrganisationUnit parent = orgUnit.getParent();
+
+    if (parent != null
+        && currentUserOrgUnits.stream()
+            .anyMatch(ou -> parent.getStoredPath().startsWith(ou.getStoredPath()))) {
+      return parent;
+    }
+
+    return orgUnit;
   }
 
+  /** Organisation units predicted by one worker, and the subtrees to query for their data. */
+  record OrgUnitChunk(List<OrganisationUnit> orgUnits, Set<OrganisationUnit> queryRoots) {}
+
   // -------------------------------------------------------------------------
   // Supportive Methods
   // -------------------------------------------------------------------------
@@ -312,19 +312,25 @@ public class PredictionDataValueFetcher implements Runnable {
   // Supportive Methods
   // -------------------------------------------------------------------------
 
-  /** Gets the next deflated data value. Remembers it and its path. */
+  /**
+   * Gets the next deflated data value. Remembers it and its path. Skips data values of any
+   * organisation units we are not fetching, such as those handled by another worker when the
+   * organisation units are split between parallel workers.
+   */
   private void getNextDeflatedDataValue() {
-    nextDeflatedDataValue = dequeueDeflatedDataValue();
+    do {
+      nextDeflatedDataValue = dequeueDeflatedDataValue();
 
-    checkForProducerException(); // Check for exception during dequeue
+      checkForProducerException(); // Check for exception during dequeue
 
-    if (nextDeflatedDataValue == END_OF_DDV_DATA) {
-      nextOrgUnit = null; // No more data
+      if (nextDeflatedDataValue == END_OF_DDV_DATA) {
+        nextOrgUnit = null; // No more data
 
-      return;
-    }
+        return;
+      }
 
-    nextOrgUnit = orgUnitLookup.get(truncatePathToLevel(nextDeflatedDataValue.getSourcePath()));
+      nextOrgUnit = orgUnitLookup.get(truncatePathToLevel(nextDeflatedDataValue.getSourcePath()));
+    } while (nextOrgUnit == null);
   }
 
   /** Dequeues the next {@see DeflatedDataValue} from the database feed */
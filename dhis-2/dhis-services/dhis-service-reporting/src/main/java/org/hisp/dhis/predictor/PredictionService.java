@@ -31,6 +31,7 @@ package org.hisp.dhis.predictor;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.hisp.dhis.expression.ExpressionValidationOutcome;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
@@ -104,6 +105,25 @@ public interface PredictionService {
   void predictSimple(
       Predictor predictor, Date startDate, Date endDate, PredictionSummary predictionSummary);
 
+  /**
+   * Executes a simple predictor (no preprocessor) for a date range, splitting the organisation
+   * units of each level between parallel workers
+   *
+   * @param predictor the predictor to run
+   * @param startDate the start date of the predictor run
+   * @param endDate the end date of the predictor run
+   * @param predictionSummary the prediction summary to add to
+   * @param orgUnitExecutor the executor to run the organisation unit workers on
+   * @param orgUnitWorkers the maximum number of organisation unit workers
+   */
+  void predictSimple(
+      Predictor predictor,
+      Date startDate,
+      Date endDate,
+      PredictionSummary predictionSummary,
+      Executor orgUnitExecutor,
+      int orgUnitWorkers);
+
   /**
    * Tests whether a predictor expression is valid.
    *
@@ -138,17 +138,24 @@ public class DataValidationRunner {
 
     for (PeriodTypeExtended ptx : context.getPeriodTypeXs()) {
       for (Period p : ptx.getPeriods()) {
+        List<OrganisationUnit> periodOrgUnits = context.getOrgUnitsToValidate(orgUnits, ptx, p);
+
+        if (periodOrgUnits.isEmpty()) {
+          continue;
+        }
+
         DataValidationRun run = new DataValidationRun(context, ptx, p);
-        run.getData(orgUnits);
+        run.getData(periodOrgUnits);
 
-        for (OrganisationUnit ou : orgUnits) {
+        for (OrganisationUnit ou : periodOrgUnits) {
           for (ValidationRuleExtended ruleX : ptx.getRuleXs()) {
             if (context.isAnalysisComplete()) {
               return;
             }
-            // Skip validation if org unit level does not match
+            // Skip validation if org unit level does not match or data has not changed
             Set<Integer> levels = ruleX.getOrganisationUnitLevels();
-            if (levels.isEmpty() || levels.contains(ou.getLevel())) {
+            if ((levels.isEmpty() || levels.contains(ou.getLevel()))
+                && context.isToBeValidated(ou, ruleX.getRule(), p)) {
               run.addValidationResultsToContext(run.validateRule(ou, ruleX));
             }
           }
@@ -216,6 +223,15 @@ public class DataValidationRunner {
               results::add);
         }
       }
+
+      if (context.isIncremental() && !context.processExpressionDetails()) {
+        return context.replaceInitialResults(
+            orgUnit,
+            ruleX.getRule(),
+            period,
+            periodService.getDayInPeriod(period, new Date()),
+            results);
+      }
       return results;
     }
 
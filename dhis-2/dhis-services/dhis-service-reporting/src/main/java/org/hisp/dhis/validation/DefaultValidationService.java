@@ -29,6 +29,7 @@
  */
 package org.hisp.dhis.validation;
 
+import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_STAGE;
 
@@ -51,6 +52,7 @@ import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.DimensionItemType;
 import org.hisp.dhis.common.DimensionalItemId;
 import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.MapMap;
 import org.hisp.dhis.common.SetMap;
 import org.hisp.dhis.dataanalysis.ValidationRuleExpressionDetails;
 import org.hisp.dhis.dataelement.DataElement;
@@ -59,6 +61,9 @@ import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.datavalue.DataExportService;
 import org.hisp.dhis.datavalue.DataExportValue;
 import org.hisp.dhis.datavalue.DataValueKey;
+import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.datavalue.DeflatedDataValue;
+import org.hisp.dhis.datavalue.DeflatedDataValueParams;
 import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionInfo;
 import org.hisp.dhis.expression.ExpressionParams;
@@ -97,6 +102,8 @@ public class DefaultValidationService implements ValidationService {
 
   private final DataExportService dataExportService;
 
+  private final DataValueService dataValueService;
+
   private final CategoryService categoryService;
 
   private final ValidationNotificationService notificationService;
@@ -144,8 +151,7 @@ public class DefaultValidationService implements ValidationService {
 
     if (context.isPersistResults()) {
       progress.startingStage("Persisting Results", SKIP_STAGE);
-      progress.runStage(
-          () -> validationResultService.saveValidationResults(context.getValidationResults()));
+      progress.runStage(() -> persistResults(context));
     }
 
     clock
@@ -160,6 +166,13 @@ public class DefaultValidationService implements ValidationService {
     return results;
   }
 
+  private void persistResults(ValidationRunContext context) {
+    context.getStaleValidationResults().forEach(validationResultService::deleteValidationResult);
+    validationResultService.updateValidationResults(
+        new HashSet<>(context.getUpdatedValidationResults()));
+    validationResultService.saveValidationResults(context.getValidationResults());
+  }
+
   @Override
   public ValidationRuleExpressionDetails getValidationRuleExpressionDetails(
       ValidationAnalysisParams parameters) {
@@ -261,12 +274,16 @@ public class DefaultValidationService implements ValidationService {
     User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
     Map<PeriodType, PeriodTypeExtended> periodTypeXMap = getExtendedPeriods(parameters);
 
+    SetMap<ValidationRule, DimensionalItemId> ruleItemIds = new SetMap<>();
+
     ExpressionParams baseExParams =
-        getExpressionInfo(periodTypeXMap, parameters.getValidationRules());
+        getExpressionInfo(periodTypeXMap, parameters.getValidationRules(), ruleItemIds);
+
+    List<OrganisationUnit> orgUnits = getOrganisationUnits(parameters);
 
     ValidationRunContext.Builder builder =
         ValidationRunContext.newBuilder()
-            .withOrgUnits(getOrganisationUnits(parameters))
+            .withOrgUnits(orgUnits)
             .withPeriodTypeXs(new ArrayList<>(periodTypeXMap.values()))
             .withSendNotifications(parameters.isSendNotifications())
             .withPersistResults(parameters.isPersistResults())
@@ -282,6 +299,17 @@ public class DefaultValidationService implements ValidationService {
           .withCogDimensionConstraints(categoryService.getCogDimensionConstraints(currentUser));
     }
 
+    if (parameters.getChangedSince() != null) {
+      setChangedRules(
+          builder,
+          orgUnits,
+          parameters.getChangedSince(),
+          parameters.getValidatedIsoPeriods(),
+          periodTypeXMap.values(),
+          baseExParams.getItemMap(),
+          ruleItemIds);
+    }
+
     List<ValidationResult> initialResults =
         validationResultService.getValidationResults(
             parameters.getOrgUnit(),
@@ -291,6 +319,146 @@ public class DefaultValidationService implements ValidationService {
     return builder.build().addInitialResults(initialResults);
   }
 
+  /**
+   * Restricts an incremental analysis to the combinations of organisation unit, period and rule
+   * affected by data values changed (or deleted) since the given time. A data value affects the
+   * periods of its rules which it would be fetched for, as in {@link DataValidationRunner}. Rules
+   * with values not stored as data values, with sliding windows, which have changed themselves or
+   * which never skip missing values are untracked and evaluated for all combinations. So are
+   * periods the previous analysis did not validate.
+   */
+  private void setChangedRules(
+      ValidationRunContext.Builder builder,
+      List<OrganisationUnit> orgUnits,
+      Date changedSince,
+      Set<String> validatedIsoPeriods,
+      Collection<PeriodTypeExtended> periodTypeXs,
+      Map<DimensionalItemId, DimensionalItemObject> itemMap,
+      SetMap<ValidationRule, DimensionalItemId> ruleItemIds) {
+    SetMap<Long, ValidationRule> dataElementRules = new SetMap<>();
+    Set<ValidationRule> untrackedRules = new HashSet<>();
+    Set<Period> untrackedPeriods = new HashSet<>();
+    Set<DataElement> dataElements = new HashSet<>();
+
+    for (PeriodTypeExtended periodTypeX : periodTypeXs) {
+      for (Period period : periodTypeX.getPeriods()) {
+        if (!validatedIsoPeriods.contains(period.getIsoDate())) {
+          untrackedPeriods.add(period);
+        }
+      }
+
+      for (ValidationRuleExtended ruleX : periodTypeX.getRuleXs()) {
+        ValidationRule rule = ruleX.getRule();
+        Set<DataElement> ruleDataElements = getDataElements(ruleItemIds.get(rule), itemMap);
+
+        if (ruleDataElements == null
+            || ruleX.getLeftSlidingWindow()
+            || ruleX.getRightSlidingWindow()
+            || rule.getLeftSide().getMissingValueStrategy() == NEVER_SKIP
+            || rule.getRightSide().getMissingValueStrategy() == NEVER_SKIP
+            || rule.getLastUpdated() == null
+            || !rule.getLastUpdated().before(changedSince)) {
+          untrackedRules.add(rule);
+        } else {
+          dataElements.addAll(ruleDataElements);
+          ruleDataElements.forEach(de -> dataElementRules.putValue(de.getId(), rule));
+        }
+      }
+    }
+
+    MapMap<Period, Long, Set<ValidationRule>> changedRules = new MapMap<>();
+
+    if (!dataElements.isEmpty()) {
+      DeflatedDataValueParams params = new DeflatedDataValueParams();
+      params.setDataElements(dataElements);
+      params.setLastUpdated(changedSince);
+      params.setIncludeDeleted(true);
+
+      Map<Long, Period> periodIdMap = new HashMap<>();
+
+      for (DeflatedDataValue dv : dataValueService.getDeflatedDataValues(params)) {
+        Period changed = periodIdMap.computeIfAbsent(dv.getPeriodId(), periodService::getPeriod);
+        Set<ValidationRule> rules = dataElementRules.get(dv.getDataElementId());
+
+        if (changed != null && rules != null) {
+          addChangedRules(changedRules, dv.getSourceId(), changed, rules, periodTypeXs);
+        }
+      }
+    }
+
+    builder
+        .withChangedRules(changedRules)
+        .withUntrackedRules(untrackedRules)
+        .withUntrackedPeriods(untrackedPeriods);
+
+    if (untrackedRules.isEmpty() && untrackedPeriods.isEmpty()) {
+      Set<Long> changedOrgUnitIds = new HashSet<>();
+      changedRules
+          .values()
+          .forEach(orgUnitRules -> changedOrgUnitIds.addAll(orgUnitRules.keySet()));
+
+      builder.withOrgUnits(
+          orgUnits.stream().filter(ou -> changedOrgUnitIds.contains(ou.getId())).toList());
+    }
+  }
+
+  /**
+   * Returns the data elements of the given items, or null if not all items are data elements or
+   * data element operands.
+   */
+  private Set<DataElement> getDataElements(
+      Set<DimensionalItemId> itemIds, Map<DimensionalItemId, DimensionalItemObject> itemMap) {
+    if (itemIds == null || itemIds.isEmpty()) {
+      return null;
+    }
+
+    Set<DataElement> dataElements = new HashSet<>();
+
+    for (DimensionalItemId itemId : itemIds) {
+      DimensionalItemObject item = itemMap.get(itemId);
+
+      if (item instanceof DataElement de) {
+        dataElements.add(de);
+      } else if (item instanceof DataElementOperand deo && deo.getDataElement() != null) {
+        dataElements.add(deo.getDataElement());
+      } else {
+        return null;
+      }
+    }
+
+    return dataElements;
+  }
+
+  /** Adds the rules affected by a changed data value for an organisation unit and period. */
+  private void addChangedRules(
+      MapMap<Period, Long, Set<ValidationRule>> changedRules,
+      long orgUnitId,
+      Period changed,
+      Set<ValidationRule> rules,
+      Collection<PeriodTypeExtended> periodTypeXs) {
+    for (PeriodTypeExtended periodTypeX : periodTypeXs) {
+      if (!periodTypeX.getAllowedPeriodTypes().contains(changed.getPeriodType())) {
+        continue;
+      }
+
+      for (Period period : periodTypeX.getPeriods()) {
+        if (period.getStartDate().before(changed.getStartDate())
+            || period.getStartDate().after(changed.getEndDate())) {
+          continue;
+        }
+
+        for (ValidationRule rule : rules) {
+          if (periodTypeX.getPeriodType().equals(rule.getPeriodType())) {
+            changedRules
+                .computeIfAbsent(period, p -> new HashMap<>())
+                .computeIfAbsent(orgUnitId, id -> new HashSet<>())
+                .add(rule);
+          }
+        }
+      }
+    }
+  }
+
   private Map<PeriodType, PeriodTypeExtended> getExtendedPeriods(
       ValidationAnalysisParams parameters) {
     Map<PeriodType, PeriodTypeExtended> byType = new HashMap<>();
@@ -365,7 +533,9 @@ public class DefaultValidationService implements ValidationService {
   }
 
   private ExpressionParams getExpressionInfo(
-      Map<PeriodType, PeriodTypeExtended> periodTypeXMap, Collection<ValidationRule> rules) {
+      Map<PeriodType, PeriodTypeExtended> periodTypeXMap,
+      Collection<ValidationRule> rules,
+      SetMap<ValidationRule, DimensionalItemId> ruleItemIds) {
     SetMap<PeriodTypeExtended, DimensionalItemId> periodItemIds = new SetMap<>();
 
     Set<DimensionalItemId> allItemIds = new HashSet<>();
@@ -378,6 +548,8 @@ public class DefaultValidationService implements ValidationService {
           addToExpressionInfo(expressionInfo, rule.getRightSide());
 
       processItemIds(leftItemIds, rightItemIds, rule, periodTypeXMap, periodItemIds, allItemIds);
+
+      ruleItemIds.putValues(rule, Sets.union(leftItemIds, rightItemIds));
     }
 
     expressionInfo.setItemIds(allItemIds);
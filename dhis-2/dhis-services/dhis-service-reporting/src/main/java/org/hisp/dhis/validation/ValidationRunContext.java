@@ -33,6 +33,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -47,6 +48,7 @@ import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.category.CategoryOptionGroup;
 import org.hisp.dhis.common.DimensionalItemId;
 import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.MapMap;
 import org.hisp.dhis.common.MapMapMap;
 import org.hisp.dhis.dataanalysis.ValidationRuleExpressionDetails;
 import org.hisp.dhis.expression.ExpressionParams;
@@ -93,6 +95,34 @@ public class ValidationRunContext {
 
   @lombok.Builder.Default private boolean persistResults = false;
 
+  // -------------------------------------------------------------------------
+  // Incremental analysis
+  // -------------------------------------------------------------------------
+
+  /**
+   * In an incremental analysis, the rules to evaluate by period and organisation unit id, as they
+   * are affected by changed data. Null when all combinations are evaluated.
+   */
+  private final MapMap<Period, Long, Set<ValidationRule>> changedRules;
+
+  /**
+   * Rules evaluated for all combinations even in an incremental analysis, as their changes cannot
+   * be traced to data values.
+   */
+  @lombok.Builder.Default private Set<ValidationRule> untrackedRules = Set.of();
+
+  /**
+   * Periods evaluated for all combinations even in an incremental analysis, as the previous
+   * analysis did not validate them.
+   */
+  @lombok.Builder.Default private Set<Period> untrackedPeriods = Set.of();
+
+  /** Initial results of changed combinations which no longer apply. */
+  private final Queue<ValidationResult> staleValidationResults = new ConcurrentLinkedQueue<>();
+
+  /** Initial results of changed combinations updated in place with the new values. */
+  private final Queue<ValidationResult> updatedValidationResults = new ConcurrentLinkedQueue<>();
+
   private final MapMapMap<OrganisationUnit, ValidationRule, Period, List<ValidationResult>>
       initialValidationResults = new MapMapMap<>();
 
@@ -124,6 +154,9 @@ public class ValidationRunContext {
       int maxResults,
       boolean sendNotifications,
       boolean persistResults,
+      MapMap<Period, Long, Set<ValidationRule>> changedRules,
+      Set<ValidationRule> untrackedRules,
+      Set<Period> untrackedPeriods,
       ValidationRuleExpressionDetails validationRuleExpressionDetails) {
     this.orgUnits = orgUnits;
     this.periodTypeXs = periodTypeXs;
@@ -136,6 +169,9 @@ public class ValidationRunContext {
     this.maxResults = maxResults;
     this.sendNotifications = sendNotifications;
     this.persistResults = persistResults;
+    this.changedRules = changedRules;
+    this.untrackedRules = untrackedRules;
+    this.untrackedPeriods = untrackedPeriods;
     this.validationRuleExpressionDetails = validationRuleExpressionDetails;
 
     requireNonNull(periodTypeXs, "Missing required property 'periodTypeXs'");
@@ -166,6 +202,10 @@ public class ValidationRunContext {
       Period period,
       String attributeOptionCombo,
       int dayInPeriod) {
+    if (isIncremental() && !isUntracked(validationRule, period)) {
+      return false; // Initial results of changed combinations are replaced
+    }
+
     List<ValidationResult> validationResultList =
         initialValidationResults.getValue(organisationUnit, validationRule, period);
 
@@ -181,6 +221,102 @@ public class ValidationRunContext {
     return false;
   }
 
+  public boolean isIncremental() {
+    return changedRules != null;
+  }
+
+  /**
+   * Returns the organisation units to evaluate for a period. In an incremental analysis these are
+   * the ones with changed data, unless the period or a rule of the period type is untracked.
+   */
+  public List<OrganisationUnit> getOrgUnitsToValidate(
+      List<OrganisationUnit> orgUnits, PeriodTypeExtended periodTypeX, Period period) {
+    if (!isIncremental()
+        || periodTypeX.getRuleXs().stream()
+            .anyMatch(ruleX -> isUntracked(ruleX.getRule(), period))) {
+      return orgUnits;
+    }
+
+    Map<Long, Set<ValidationRule>> orgUnitRules = changedRules.get(period);
+
+    if (orgUnitRules == null) {
+      return List.of();
+    }
+
+    return orgUnits.stream().filter(ou -> orgUnitRules.containsKey(ou.getId())).toList();
+  }
+
+  /** Returns true if a rule is to be evaluated for an organisation unit and period. */
+  public boolean isToBeValidated(
+      OrganisationUnit organisationUnit, ValidationRule validationRule, Period period) {
+    if (!isIncremental() || isUntracked(validationRule, period)) {
+      return true;
+    }
+
+    Set<ValidationRule> rules = changedRules.getValue(period, organisationUnit.getId());
+
+    return rules != null && rules.contains(validationRule);
+  }
+
+  /**
+   * In an incremental analysis, replaces the initial results of a changed combination evaluated on
+   * the same day in the period by the new results. Initial results found again are updated in place
+   * with the new values, initial results not found again become stale.
+   *
+   * @return the new results which do not replace an initial result
+   */
+  public Set<ValidationResult> replaceInitialResults(
+      OrganisationUnit organisationUnit,
+      ValidationRule validationRule,
+      Period period,
+      int dayInPeriod,
+      Set<ValidationResult> results) {
+    if (!isIncremental() || isUntracked(validationRule, period)) {
+      return results;
+    }
+
+    List<ValidationResult> initialResults =
+        initialValidationResults.getValue(organisationUnit, validationRule, period);
+
+    if (initialResults == null) {
+      return results;
+    }
+
+    Set<ValidationResult> newResults = new HashSet<>(results);
+
+    for (ValidationResult initial : initialResults) {
+      if (initial.getDayInPeriod() != dayInPeriod) {
+        continue;
+      }
+
+      ValidationResult replacement =
+          newResults.stream()
+              .filter(
+                  vr ->
+                      vr.getAttributeOptionCombo()
+                          .getUid()
+                          .equals(initial.getAttributeOptionCombo().getUid()))
+              .findFirst()
+              .orElse(null);
+
+      if (replacement != null) {
+        newResults.remove(replacement);
+        initial.setLeftsideValue(replacement.getLeftsideValue());
+        initial.setRightsideValue(replacement.getRightsideValue());
+        updatedValidationResults.add(initial);
+      } else {
+        validationResults.remove(initial);
+        staleValidationResults.add(initial);
+      }
+    }
+
+    return newResults;
+  }
+
+  private boolean isUntracked(ValidationRule validationRule, Period period) {
+    return untrackedRules.contains(validationRule) || untrackedPeriods.contains(period);
+  }
+
   public int getNumberOfTasks() {
     return (orgUnits.size() + ORG_UNITS_PER_TASK - 1) / ORG_UNITS_PER_TASK;
   }
@@ -35,10 +35,12 @@ import static org.hisp.dhis.util.DateUtils.addDays;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import jakarta.annotation.PostConstruct;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.SetUtils;
@@ -49,6 +51,7 @@ import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.scheduling.Job;
 import org.hisp.dhis.scheduling.JobEntry;
 import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobStateService;
 import org.hisp.dhis.scheduling.JobType;
 import org.hisp.dhis.scheduling.parameters.MonitoringJobParameters;
 import org.hisp.dhis.validation.ValidationAnalysisParams;
@@ -60,12 +63,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
+ * An incremental monitoring job keeps the start time of its last completed run in the datastore
+ * under the job id, together with the rules and periods it validated. When the rules have changed
+ * since, all data is validated again. Periods the last run did not validate are validated for all
+ * organisation units and rules.
+ *
  * @author Lars Helge Overland
  * @author Jim Grace
  */
 @Component
 @RequiredArgsConstructor
 public class MonitoringJob implements Job {
+  static final String WATERMARK_NAMESPACE = "monitoring";
+
   private final ValidationService validationService;
 
   private final ValidationRuleService validationRuleService;
@@ -74,6 +84,16 @@ public class MonitoringJob implements Job {
 
   private final MessageService messageService;
 
+  private final JobStateService jobStateService;
+
+  /** Watermark of the last completed run of the job, stored under the job id. */
+  record Watermark(String parameters, long lastRun, List<String> periods) {}
+
+  @PostConstruct
+  void init() {
+    jobStateService.protect(WATERMARK_NAMESPACE);
+  }
+
   @Override
   public JobType getJobType() {
     return JobType.MONITORING;
@@ -84,6 +104,7 @@ public class MonitoringJob implements Job {
   public void execute(JobEntry config, JobProgress progress) {
     progress.startingProcess("Data validation");
     try {
+      Date startTime = new Date();
       MonitoringJobParameters params = (MonitoringJobParameters) config.parameters();
       List<String> groupUIDs = params.getValidationRuleGroups();
       Collection<ValidationRule> rules = getValidationRules(groupUIDs);
@@ -94,16 +115,25 @@ public class MonitoringJob implements Job {
               ps -> rules.stream().map(IdentifiableObject::getName).collect(joining(", ")),
               () -> getPeriods(params, rules));
 
-      ValidationAnalysisParams parameters =
+      ValidationAnalysisParams.Builder builder =
           validationService
               .newParamsBuilder(rules, null, periods)
               .withIncludeOrgUnitDescendants(true)
               .withMaxResults(ValidationService.MAX_SCHEDULED_ALERTS)
               .withSendNotifications(params.isSendNotifications())
-              .withPersistResults(params.isPersistResults())
-              .build();
+              .withPersistResults(params.isPersistResults());
+
+      String watermarkKey = config.id().getValue();
+      String fingerprint = fingerprint(params, rules);
+      if (params.isIncremental()) {
+        setChangedSince(builder, watermarkKey, fingerprint);
+      }
+
+      validationService.validationAnalysis(builder.build(), progress);
 
-      validationService.validationAnalysis(parameters, progress);
+      if (params.isIncremental()) {
+        writeWatermark(watermarkKey, fingerprint, startTime, periods);
+      }
 
       progress.completedProcess("Data validation done");
     } catch (RuntimeException ex) {
@@ -113,6 +143,38 @@ public class MonitoringJob implements Job {
     }
   }
 
+  /**
+   * Identifies the parameters that decide which results exist. Results of data unchanged since the
+   * last run are only up to date for the same rules, so a run with other rules validates all data.
+   */
+  static String fingerprint(MonitoringJobParameters params, Collection<ValidationRule> rules) {
+    return rules.stream().map(IdentifiableObject::getUid).sorted().collect(joining(","))
+        + ":"
+        + params.isPersistResults();
+  }
+
+  /**
+   * Makes the analysis incremental if the last run of the job used the same parameters. Without
+   * such a run all data is validated.
+   */
+  private void setChangedSince(
+      ValidationAnalysisParams.Builder builder, String key, String fingerprint) {
+    Watermark watermark = jobStateService.get(WATERMARK_NAMESPACE, key, Watermark.class);
+    if (watermark == null
+        || watermark.periods() == null
+        || !fingerprint.equals(watermark.parameters())) {
+      return;
+    }
+    builder.withChangedSince(new Date(watermark.lastRun()), Set.copyOf(watermark.periods()));
+  }
+
+  private void writeWatermark(
+      String key, String fingerprint, Date startTime, List<Period> periods) {
+    List<String> isoPeriods = periods.stream().map(Period::getIsoDate).distinct().toList();
+    jobStateService.put(
+        WATERMARK_NAMESPACE, key, new Watermark(fingerprint, startTime.getTime(), isoPeriods));
+  }
+
   private Collection<ValidationRule> getValidationRules(List<String> groupUIDs) {
     if (groupUIDs.isEmpty()) {
       return validationRuleService.getValidationRulesWithNotificationTemplates();
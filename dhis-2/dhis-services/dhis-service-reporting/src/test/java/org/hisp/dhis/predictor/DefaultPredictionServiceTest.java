@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.predictor;
+
+import static org.hisp.dhis.common.DimensionItemType.DATA_ELEMENT;
+import static org.hisp.dhis.test.utils.Assertions.assertContainsOnly;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.hisp.dhis.common.DimensionalItemId;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.expression.Expression;
+import org.hisp.dhis.expression.ExpressionInfo;
+import org.hisp.dhis.expression.ExpressionParams;
+import org.hisp.dhis.expression.ExpressionService;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.predictor.DefaultPredictionService.OrgUnitChunk;
+import org.hisp.dhis.test.TestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests how {@link DefaultPredictionService} splits predictors into waves and organisation units
+ * into chunks for running in parallel.
+ */
+@ExtendWith(MockitoExtension.class)
+class DefaultPredictionServiceTest extends TestBase {
+  private static final Pattern DATA_ELEMENT_REF = Pattern.compile("#\\{(\\w+)}");
+
+  @Mock private ExpressionService expressionService;
+
+  @Mock private PredictionPreprocessor preprocessor;
+
+  @InjectMocks private DefaultPredictionService service;
+
+  private DataElement dataElementA;
+
+  private DataElement dataElementB;
+
+  private DataElement dataElementC;
+
+  private DataElement dataElementD;
+
+  private DataElement dataElementE;
+
+  private OrganisationUnit orgUnitA;
+
+  private OrganisationUnit orgUnitB;
+
+  private OrganisationUnit orgUnitC;
+
+  private OrganisationUnit orgUnitD;
+
+  private OrganisationUnit orgUnitE;
+
+  private OrganisationUnit orgUnitF;
+
+  private OrganisationUnit orgUnitG;
+
+  private OrganisationUnit orgUnitH;
+
+  private OrganisationUnit orgUnitI;
+
+  private OrganisationUnit orgUnitJ;
+
+  private OrganisationUnit orgUnitK;
+
+  private OrganisationUnit orgUnitL;
+
+  // -------------------------------------------------------------------------
+  // Fixture
+  // -------------------------------------------------------------------------
+
+  @BeforeEach
+  void setUp() {
+    dataElementA = createDataElement('A');
+    dataElementB = createDataElement('B');
+    dataElementC = createDataElement('C');
+    dataElementD = createDataElement('D');
+    dataElementE = createDataElement('E');
+
+    // A
+    // - B (E, F, G)
+    // - C (H)
+    // - D (I)
+    //   - J (K, L)
+    orgUnitA = createOrganisationUnit('A');
+    orgUnitB = createOrganisationUnit('B', orgUnitA);
+    orgUnitC = createOrganisationUnit('C', orgUnitA);
+    orgUnitD = createOrganisationUnit('D', orgUnitA);
+    orgUnitE = createOrganisationUnit('E', orgUnitB);
+    orgUnitF = createOrganisationUnit('F', orgUnitB);
+    orgUnitG = createOrganisationUnit('G', orgUnitB);
+    orgUnitH = createOrganisationUnit('H', orgUnitC);
+    orgUnitI = createOrganisationUnit('I', orgUnitD);
+    orgUnitJ = createOrganisationUnit('J', orgUnitD);
+    orgUnitK = createOrganisationUnit('K', orgUnitJ);
+    orgUnitL = createOrganisationUnit('L', orgUnitJ);
+  }
+
+  // -------------------------------------------------------------------------
+  // Predictor waves
+  // -------------------------------------------------------------------------
+
+  @Test
+  void testGetPredictorWavesIndependent() {
+    Predictor predictorA = predictor('A', dataElementC, dataElementA);
+    Predictor predictorB = predictor('B', dataElementD, dataElementB);
+
+    assertEquals(
+        List.of(List.of(predictorA, predictorB)),
+        getPredictorWaves(List.of(predictorA, predictorB)));
+  }
+
+  @Test
+  void testGetPredictorWavesReadsEarlierOutput() {
+    Predictor predictorA = predictor('A', dataElementC, dataElementA);
+    Predictor predictorB = predictor('B', dataElementD, dataElementC);
+    Predictor predictorC = predictor('C', dataElementE, dataElementD);
+
+    assertEquals(
+        List.of(List.of(predictorA), List.of(predictorB), List.of(predictorC)),
+        getPredictorWaves(List.of(predictorA, predictorB, predictorC)));
+  }
+
+  @Test
+  void testGetPredictorWavesSameOutput() {
+    Predictor predictorA = predictor('A', dataElementC, dataElementA);
+    Predictor predictorB = predictor('B', dataElementC, dataElementB);
+
+    assertEquals(
+        List.of(List.of(predictorA), List.of(predictorB)),
+        getPredictorWaves(List.of(predictorA, predictorB)));
+  }
+
+  @Test
+  void testGetPredictorWavesWritesEarlierInput() {
+    Predictor predictorA = predictor('A', dataElementC, dataElementA);
+    Predictor predictorB = predictor('B', dataElementA, dataElementB);
+    Predictor predictorC = predictor('C', dataElementD, dataElementB);
+
+    assertEquals(
+        List.of(List.of(predictorA, predictorC), List.of(predictorB)),
+        getPredictorWaves(List.of(predictorA, predictorB, predictorC)));
+  }
+
+  @Test
+  void testGetPredictorWavesExpanded() {
+    Predictor predictorA = predictor('A', dataElementC, dataElementA);
+    Predictor predictorB = predictor('B', dataElementD, dataElementB);
+    Predictor predictorC = predictor('C', dataElementE, dataElementD);
+
+    stubPredictors();
+    when(preprocessor.preprocess(predictorA)).thenReturn(List.of(predictorA, predictorB));
+
+    assertEquals(
+        List.of(List.of(predictorA, predictorB), List.of(predictorC)),
+        service.getPredictorWaves(List.of(predictorA, predictorC)));
+  }
+
+  // -------------------------------------------------------------------------
+  // Organisation unit chunks
+  // -------------------------------------------------------------------------
+
+  @Test
+  void testGetOrgUnitChunksKeepsSiblingsTogether() {
+    List<OrgUnitChunk> chunks =
+        DefaultPredictionService.getOrgUnitChunks(
+            List.of(orgUnitE, orgUnitH, orgUnitF, orgUnitI, orgUnitG), Set.of(orgUnitA), 2);
+
+    assertEquals(2, chunks.size());
+    assertContainsOnly(List.of(orgUnitE, orgUnitF, orgUnitG), chunks.get(0).orgUnits());
+    assertContainsOnly(List.of(orgUnitB), chunks.get(0).queryRoots());
+    assertContainsOnly(List.of(orgUnitH, orgUnitI), chunks.get(1).orgUnits());
+    assertContainsOnly(List.of(orgUnitC, orgUnitD), chunks.get(1).queryRoots());
+  }
+
+  @Test
+  void testGetOrgUnitChunksFewerParentsThanChunks() {
+    List<OrgUnitChunk> chunks =
+        DefaultPredictionService.getOrgUnitChunks(
+            List.of(orgUnitE, orgUnitF, orgUnitG, orgUnitK, orgUnitL), Set.of(orgUnitA), 3);
+
+    assertEquals(3, chunks.size());
+    assertEquals(List.of(2, 2, 1), chunks.stream().map(chunk -> chunk.orgUnits().size()).toList());
+
+    for (OrgUnitChunk chunk : chunks) {
+      assertContainsOnly(chunk.orgUnits(), chunk.queryRoots());
+    }
+
+    assertContainsOnly(
+        List.of(orgUnitE, orgUnitF, orgUnitG, orgUnitK, orgUnitL),
+        chunks.stream().flatMap(chunk -> chunk.orgUnits().stream()).toList());
+  }
+
+  @Test
+  void testGetOrgUnitChunksParentOutsideUserOrgUnits() {
+    List<OrgUnitChunk> chunks =
+        DefaultPredictionService.getOrgUnitChunks(
+            List.of(orgUnitE, orgUnitF, orgUnitK), Set.of(orgUnitE, orgUnitF, orgUnitJ), 2);
+
+    assertEquals(2, chunks.size());
+    assertContainsOnly(List.of(orgUnitE, orgUnitK), chunks.get(0).orgUnits());
+    assertContainsOnly(List.of(orgUnitE, orgUnitJ), chunks.get(0).queryRoots());
+    assertContainsOnly(List.of(orgUnitF), chunks.get(1).orgUnits());
+    assertContainsOnly(List.of(orgUnitF), chunks.get(1).queryRoots());
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  private List<List<Predictor>> getPredictorWaves(List<Predictor> predictors) {
+    stubPredictors();
+
+    return service.getPredictorWaves(predictors);
+  }
+
+  /**
+   * Stubs predictors to be run without expansion, each reading the data elements referenced in its
+   * generator.
+   */
+  private void stubPredictors() {
+    when(preprocessor.preprocess(any(Predictor.class)))
+        .thenAnswer(invocation -> List.of(invocation.getArgument(0)));
+
+    when(expressionService.getExpressionInfo(any(ExpressionParams.class)))
+        .thenAnswer(
+            invocation -> {
+              ExpressionParams params = invocation.getArgument(0);
+              ExpressionInfo info = params.getExpressionInfo();
+              Matcher matcher = DATA_ELEMENT_REF.matcher(params.getExpression());
+
+              while (matcher.find()) {
+                info.getItemIds().add(new DimensionalItemId(DATA_ELEMENT, matcher.group(1)));
+              }
+
+              return info;
+            });
+  }
+
+  private Predictor predictor(char uniqueCharacter, DataElement output, DataElement input) {
+    Expression generator = new Expression("#{" + input.getUid() + "}", "Generator");
+
+    return createPredictor(
+        output,
+        null,
+        String.valueOf(uniqueCharacter),
+        generator,
+        null,
+        new MonthlyPeriodType(),
+        Set.of(),
+        1,
+        0,
+        0);
+  }
+}
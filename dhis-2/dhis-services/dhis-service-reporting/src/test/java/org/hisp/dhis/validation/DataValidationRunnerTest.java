@@ -40,18 +40,24 @@ import static org.hisp.dhis.test.TestBase.createExpression2;
 import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
 import static org.hisp.dhis.test.TestBase.createPeriod;
 import static org.hisp.dhis.test.TestBase.createValidationRule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.RandomUtils;
 import org.hisp.dhis.analytics.AnalyticsService;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.MapMap;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
@@ -68,6 +74,7 @@ import org.hisp.dhis.period.PeriodType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -216,6 +223,86 @@ class DataValidationRunnerTest {
     assertThat(ctx.getValidationResults().size(), is(0));
   }
 
+  @Test
+  void verifyIncrementalValidationOnlyFetchesChangedData() {
+    Expression leftExpression = createExpression2('A', "#{FUrCpcvMAmC.OrDRjJL9bTS}");
+    Expression rightExpression = createExpression2('B', "-10");
+
+    ValidationRuleExtended vre =
+        createValidationRuleExtended(leftExpression, rightExpression, Operator.not_equal_to);
+
+    PeriodTypeExtended periodType = createPeriodTypeExtended(vre);
+    periodType.addDataElement(deA);
+
+    MapMap<Period, Long, Set<ValidationRule>> changedRules = new MapMap<>();
+    changedRules.putEntry(p2, ouB.getId(), Set.of(vre.getRule()));
+
+    ValidationRunContext ctx =
+        ValidationRunContext.newBuilder()
+            .withOrgUnits(organisationUnits)
+            .withItemMap(new HashMap<>())
+            .withBaseExParams(ExpressionParams.builder().build())
+            .withDefaultAttributeCombo(createCategoryOptionCombo('A', 'B'))
+            .withPeriodTypeXs(List.of(periodType))
+            .withMaxResults(500)
+            .withChangedRules(changedRules)
+            .build();
+
+    when(dataValueService.getDeflatedDataValues(any(DeflatedDataValueParams.class)))
+        .thenReturn(List.of());
+
+    subject.run(organisationUnits, ctx);
+
+    ArgumentCaptor<DeflatedDataValueParams> params =
+        ArgumentCaptor.forClass(DeflatedDataValueParams.class);
+    verify(dataValueService, times(1)).getDeflatedDataValues(params.capture());
+    assertEquals(Set.of(ouB), params.getValue().getOrganisationUnits());
+    assertEquals(p2.getStartDate(), params.getValue().getIncludedDate());
+    assertThat(ctx.getValidationResults().size(), is(0));
+  }
+
+  @Test
+  void verifyIncrementalValidationFetchesAllDataOfUntrackedPeriods() {
+    Expression leftExpression = createExpression2('A', "#{FUrCpcvMAmC.OrDRjJL9bTS}");
+    Expression rightExpression = createExpression2('B', "-10");
+
+    ValidationRuleExtended vre =
+        createValidationRuleExtended(leftExpression, rightExpression, Operator.not_equal_to);
+
+    PeriodTypeExtended periodType = createPeriodTypeExtended(vre);
+    periodType.addDataElement(deA);
+
+    MapMap<Period, Long, Set<ValidationRule>> changedRules = new MapMap<>();
+    changedRules.putEntry(p2, ouB.getId(), Set.of(vre.getRule()));
+
+    ValidationRunContext ctx =
+        ValidationRunContext.newBuilder()
+            .withOrgUnits(organisationUnits)
+            .withItemMap(new HashMap<>())
+            .withBaseExParams(ExpressionParams.builder().build())
+            .withDefaultAttributeCombo(createCategoryOptionCombo('A', 'B'))
+            .withPeriodTypeXs(List.of(periodType))
+            .withMaxResults(500)
+            .withChangedRules(changedRules)
+            .withUntrackedPeriods(Set.of(p3))
+            .build();
+
+    when(dataValueService.getDeflatedDataValues(any(DeflatedDataValueParams.class)))
+        .thenReturn(List.of());
+
+    subject.run(organisationUnits, ctx);
+
+    ArgumentCaptor<DeflatedDataValueParams> params =
+        ArgumentCaptor.forClass(DeflatedDataValueParams.class);
+    verify(dataValueService, times(2)).getDeflatedDataValues(params.capture());
+    Map<Date, Set<OrganisationUnit>> orgUnitsByPeriod = new HashMap<>();
+    params
+        .getAllValues()
+        .forEach(p -> orgUnitsByPeriod.put(p.getIncludedDate(), p.getOrganisationUnits()));
+    assertEquals(Set.of(ouB), orgUnitsByPeriod.get(p2.getStartDate()));
+    assertEquals(Set.copyOf(organisationUnits), orgUnitsByPeriod.get(p3.getStartDate()));
+  }
+
   private void mockExpressionService(
       Expression expression, Map<DimensionalItemObject, Object> vals, Double val) {
     ExpressionParams params =
@@ -0,0 +1,19 @@
+-- Blocking keys of tracked entities used to find potential duplicates without comparing every
+-- pair of tracked entities. Only tracked entities sharing a key of the same attribute are compared.
+create table if not exists trackedentityblockingkey (
+    trackedentityid bigint not null,
+    trackedentitytypeid bigint not null,
+    trackedentityattributeid bigint not null,
+    blockingkey character varying(100) not null,
+    constraint pk_trackedentityblockingkey primary key (trackedentityid, trackedentityattributeid, blockingkey),
+    constraint fk_trackedentityblockingkey_trackedentityid foreign key (trackedentityid)
+        references trackedentity (trackedentityid) on delete cascade
+);
+
+create index if not exists in_trackedentityblockingkey_type_key
+    on trackedentityblockingkey (trackedentitytypeid, trackedentityattributeid, blockingkey);
+
+-- detection picks up tracked entities changed since its last run
+create index if not exists in_trackedentity_lastupdated on trackedentity (lastupdated);
+
+alter table potentialduplicate add column if not exists score double precision;
@@ -0,0 +1,9 @@
+-- Number of analytics queries which used each column of an analytics table type, and whether the
+-- column was indexed by the last analytics table generation. Shared by all servers of an instance.
+create table if not exists analyticscolumnusage (
+    tabletype character varying(50) not null,
+    columnname character varying(255) not null,
+    querycount bigint not null default 0,
+    indexed boolean not null default false,
+    constraint pk_analyticscolumnusage primary key (tabletype, columnname)
+);
@@ -454,6 +454,59 @@ public enum ConfigurationKey {
 
   PROGRAM_TEMPORARY_OWNERSHIP_TIMEOUT("tracker.temporary.ownership.timeout", "3", false),
 
+  /**
+   * Number of threads running the in-memory validations of independent entity graphs of a tracker
+   * import in parallel. Validations needing the database always run sequentially. Experimental.
+   * (default: 1, validation is sequential)
+   */
+  TRACKER_IMPORT_VALIDATION_PARALLELISM("tracker.import.validation.parallelism", "1", false),
+
+  /**
+   * Run the database lookups of JDBC preheat suppliers concurrently, each on its own connection.
+   * Experimental. (default: off)
+   */
+  TRACKER_IMPORT_PREHEAT_CONCURRENT("tracker.import.preheat.concurrent", Constants.OFF, false),
+
+  /**
+   * Cache the metadata loaded by the tracker preheat across imports until metadata changes.
+   * Experimental. (default: off)
+   */
+  TRACKER_IMPORT_PREHEAT_CACHE_ENABLED("tracker.import.preheat.cache.enabled", Constants.OFF, false),
+
+  /**
+   * Number of threads evaluating program rules of independent enrollments of a tracker import.
+   * Experimental. (default: 1)
+   */
+  TRACKER_IMPORT_RULE_ENGINE_PARALLELISM("tracker.import.rule.engine.parallelism", "1", false),
+
+  /**
+   * Cache the program rules and variables mapped for the rule engine across tracker imports until
+   * metadata changes. Experimental. (default: off)
+   */
+  TRACKER_IMPORT_RULE_ENGINE_CACHE_ENABLED(
+      "tracker.import.rule.engine.cache.enabled", Constants.OFF, false),
+
+  /**
+   * Number of sequential TextPattern values each server leases from the database counter at a time
+   * and hands out from memory. Unused values of a lease are lost if another server leased after it.
+   * Experimental. (default: 0, every reservation increments the database counter)
+   */
+  RESERVED_VALUE_SEQUENTIAL_BLOCK_SIZE("reserved.value.sequential.block.size", "0", false),
+
+  /**
+   * Minimum number of aggregate data values of a single upsert that are streamed into a staging
+   * table with COPY and merged into the data value table with a single statement. Experimental.
+   * (default: 0, values are always upserted with multi-row inserts)
+   */
+  DATA_ENTRY_COPY_THRESHOLD("data.entry.copy.threshold", "0", false),
+
+  /**
+   * Maximum number of threads used to run predictors, both across independent predictors and across
+   * organisation unit subtrees of a single predictor. Experimental. (default: 1, predictors run
+   * sequentially)
+   */
+  PREDICTOR_PARALLELISM("predictor.parallelism", "1", false),
+
   /** Use unlogged tables during analytics export. (default: ON) */
   ANALYTICS_TABLE_UNLOGGED("analytics.table.unlogged", Constants.ON),
 
@@ -469,6 +522,18 @@ public enum ConfigurationKey {
    */
   ANALYTICS_TABLE_SKIP_COLUMN("analytics.table.skip_column", "", false),
 
+  /**
+   * Pre-aggregated rollup tables to create for the data value analytics table, as a comma-separated
+   * list of period type and organisation unit level, e.g. 'Yearly:2,Quarterly:3'. Experimental.
+   */
+  ANALYTICS_TABLE_ROLLUPS("analytics.table.rollups", "", false),
+
+  /**
+   * Create indexes for analytics tables only on columns which were used by analytics queries, as
+   * recorded in the persisted analytics column usage. Experimental.
+   */
+  ANALYTICS_TABLE_INDEX_USED_ONLY("analytics.table.index_used_only", Constants.OFF, false),
+
   /**
    * Artemis support mode, 2 modes supported: EMBEDDED (starts up an embedded Artemis which lives in
    * the same process as your DHIS2 instance), NATIVE (connects to an external Artemis instance,
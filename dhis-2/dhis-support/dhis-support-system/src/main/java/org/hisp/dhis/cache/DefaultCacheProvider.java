@@ -134,7 +134,7 @@ public class DefaultCacheProvider implements CacheProvider {
   public <V> Cache<V> createOutliersCache() {
     return registerCache(
         this.<V>newBuilder()
-            .forRegion(Region.analyticsResponse.name())
+            .forRegion(Region.analyticsOutliers.name())
             .expireAfterWrite(12, TimeUnit.HOURS)
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
@@ -496,4 +496,34 @@ public class DefaultCacheProvider implements CacheProvider {
             .forceInMemory()
             .withMaximumSize(orZeroInTestRun(1)));
   }
+
+  @Override
+  public <V> Cache<V> createProgramRulesCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.programRulesCache.name())
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1K))));
+  }
+
+  @Override
+  public <V> Cache<V> createNotificationExpressionsCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.notificationExpressionsCache.name())
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
+  }
+
+  @Override
+  public <V> Cache<V> createCompiledExpressionCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.compiledExpressionCache.name())
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
+  }
 }
@@ -85,9 +85,9 @@ class DefaultCacheProviderTest {
   @Test
   void testInvalidateSpecificKey() {
 
-    registerCache(Region.analyticsResponse, () -> defaultCacheProvider.createOutliersCache());
+    registerCache(Region.analyticsOutliers, () -> defaultCacheProvider.createOutliersCache());
     String key = "specificKeyInRegionToInvalidate";
-    CacheInvalidationEvent event = new CacheInvalidationEvent(this, Region.analyticsResponse, key);
+    CacheInvalidationEvent event = new CacheInvalidationEvent(this, Region.analyticsOutliers, key);
 
     defaultCacheProvider.handleCacheInvalidationEvent(event);
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.analyze;
+
+import static org.hisp.dhis.analytics.AnalyticsTableType.DATA_VALUE;
+import static org.hisp.dhis.analytics.AnalyticsTableType.EVENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+class RequestExecutionPlanStoreTest extends PostgresIntegrationTestBase {
+  @Autowired private RequestExecutionPlanStore executionPlanStore;
+
+  @Test
+  void testGetColumnUsageIncludesSavedAndPendingUsage() {
+    executionPlanStore.addColumnUsage(DATA_VALUE, Set.of("dx", "uidlevel2", "yearly"));
+    executionPlanStore.addColumnUsage(DATA_VALUE, Set.of("dx", "uidlevel2"));
+    executionPlanStore.saveColumnUsage();
+    executionPlanStore.addColumnUsage(DATA_VALUE, Set.of("dx"));
+
+    assertEquals(
+        Map.of("dx", 3L, "uidlevel2", 2L, "yearly", 1L),
+        executionPlanStore.getColumnUsage(DATA_VALUE));
+    assertEquals(Map.of(), executionPlanStore.getColumnUsage(EVENT));
+
+    executionPlanStore.saveColumnUsage();
+
+    assertEquals(
+        Map.of("dx", 3L, "uidlevel2", 2L, "yearly", 1L),
+        executionPlanStore.getColumnUsage(DATA_VALUE));
+  }
+
+  @Test
+  void testSetIndexedColumnsReplacesPreviousColumns() {
+    executionPlanStore.addColumnUsage(DATA_VALUE, Set.of("dx"));
+    executionPlanStore.saveColumnUsage();
+
+    executionPlanStore.setIndexedColumns(DATA_VALUE, List.of("dx", "co"));
+    assertEquals(Set.of("dx", "co"), executionPlanStore.getIndexedColumns(DATA_VALUE));
+
+    executionPlanStore.setIndexedColumns(DATA_VALUE, List.of("co", "uidlevel2"));
+    assertEquals(Set.of("co", "uidlevel2"), executionPlanStore.getIndexedColumns(DATA_VALUE));
+    assertEquals(Set.of(), executionPlanStore.getIndexedColumns(EVENT));
+    assertEquals(Map.of("dx", 1L), executionPlanStore.getColumnUsage(DATA_VALUE));
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datavalue.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.datavalue.DataEntryValue;
+import org.hisp.dhis.datavalue.DataValueKey;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodStore;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Upserts the same values for two org units, one with the multi-row inserts and one with COPY into
+ * the staging table, and expects both to leave the same rows in the data value table.
+ */
+@Transactional
+class HibernateDataEntryStoreCopyTest extends PostgresIntegrationTestBase {
+  @Autowired private PeriodStore periodStore;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private ApplicationEventPublisher publisher;
+
+  @Autowired private DataElementService dataElementService;
+
+  @Autowired private OrganisationUnitService organisationUnitService;
+
+  private HibernateDataEntryStore multiRowStore;
+
+  private HibernateDataEntryStore copyStore;
+
+  private List<DataElement> dataElements;
+
+  private Period period;
+
+  private OrganisationUnit multiRowOrgUnit;
+
+  private OrganisationUnit copyOrgUnit;
+
+  @BeforeEach
+  void setUp() {
+    multiRowStore = store(0);
+    copyStore = store(1);
+
+    dataElements =
+        List.of(
+            createDataElement('A'),
+            createDataElement('B'),
+            createDataElement('C'),
+            createDataElement('D'),
+            createDataElement('E'));
+    dataElements.forEach(dataElementService::addDataElement);
+    period = Period.of("202401");
+    multiRowOrgUnit = createOrganisationUnit('A');
+    organisationUnitService.addOrganisationUnit(multiRowOrgUnit);
+    copyOrgUnit = createOrganisationUnit('B');
+    organisationUnitService.addOrganisationUnit(copyOrgUnit);
+  }
+
+  @Test
+  void shouldInsertSameRowsAsMultiRowInserts() {
+    upsert(
+        List.of(
+            value(0, "tab\tseparated", "comment with \\ backslash", true),
+            value(1, "back\\slash and \\N", null, null),
+            value(2, "line\nbreak\r\nand carriage return", "multi\nline\tcomment", false),
+            value(3, "", "", null),
+            value(4, "ünïcödé €", null, true)));
+
+    assertSameRows(5);
+  }
+
+  @Test
+  void shouldUpdateSameRowsAsMultiRowInserts() {
+    upsert(
+        List.of(
+            value(0, "1", "comment", true),
+            value(1, "2", null, false),
+            value(2, "3", "comment", null)));
+
+    upsert(
+        List.of(
+            value(0, "1\t1", null, null),
+            value(1, "2\\2", "new\ncomment", true),
+            value(2, "3", "comment", false),
+            value(3, "4", null, null)));
+
+    assertSameRows(4);
+  }
+
+  @Test
+  void shouldDeleteSameRowsAsMultiRowInserts() {
+    upsert(
+        List.of(
+            value(0, "1", "kept on delete", true),
+            value(1, "2", null, false),
+            value(2, "3", "comment", null)));
+
+    assertEquals(2, multiRowStore.deleteByKeys(keys(multiRowOrgUnit, 0, 1)));
+    assertEquals(2, copyStore.deleteByKeys(keys(copyOrgUnit, 0, 1)));
+
+    List<Map<String, Object>> rows = assertSameRows(3);
+    assertEquals(true, rows.get(0).get("deleted"));
+    assertEquals("kept on delete", rows.get(0).get("comment"));
+    assertEquals(false, rows.get(2).get("deleted"));
+  }
+
+  private HibernateDataEntryStore store(int copyThreshold) {
+    DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+    when(config.getIntProperty(ConfigurationKey.DATA_ENTRY_COPY_THRESHOLD))
+        .thenReturn(copyThreshold);
+    return new HibernateDataEntryStore(entityManager, periodStore, jdbcTemplate, publisher, config);
+  }
+
+  /** Values of the test for a single org unit, the org unit is filled in by {@link #upsert}. */
+  private DataEntryValue value(int dataElement, String value, String comment, Boolean followUp) {
+    return new DataEntryValue(
+        dataElement,
+        UID.of(dataElements.get(dataElement)),
+        UID.of(multiRowOrgUnit),
+        null,
+        null,
+        period,
+        value,
+        comment,
+        followUp,
+        false);
+  }
+
+  private void upsert(List<DataEntryValue> values) {
+    assertEquals(values.size(), multiRowStore.upsertValues(values));
+    assertEquals(values.size(), copyStore.upsertValues(withOrgUnit(values, copyOrgUnit)));
+  }
+
+  private static List<DataEntryValue> withOrgUnit(
+      List<DataEntryValue> values, OrganisationUnit orgUnit) {
+    return values.stream()
+        .map(
+            v ->
+                new DataEntryValue(
+                    v.index(),
+                    v.dataElement(),
+                    UID.of(orgUnit),
+                    v.categoryOptionCombo(),
+                    v.attributeOptionCombo(),
+                    v.period(),
+                    v.value(),
+                    v.comment(),
+                    v.followUp(),
+                    v.deleted()))
+        .toList();
+  }
+
+  private List<DataValueKey> keys(OrganisationUnit orgUnit, int... dataElementIndexes) {
+    return Arrays.stream(dataElementIndexes)
+        .mapToObj(
+            i -> new DataValueKey(UID.of(dataElements.get(i)), UID.of(orgUnit), null, null, period))
+        .toList();
+  }
+
+  /**
+   * Asserts both org units have the same data value rows and returns those of the org unit written
+   * with COPY.
+   */
+  private List<Map<String, Object>> assertSameRows(int expectedRows) {
+    List<Map<String, Object>> multiRowRows = rows(multiRowOrgUnit);
+    List<Map<String, Object>> copyRows = rows(copyOrgUnit);
+    assertEquals(expectedRows, multiRowRows.size());
+    assertEquals(multiRowRows, copyRows);
+    return copyRows;
+  }
+
+  private List<Map<String, Object>> rows(OrganisationUnit orgUnit) {
+    return jdbcTemplate.queryForList(
+        """
+        select de.uid as dataelement, pe.iso, dv.categoryoptioncomboid, dv.attributeoptioncomboid, \
+        dv.value, dv.comment, dv.followup, dv.deleted, dv.storedby \
+        from datavalue dv \
+        join dataelement de on de.dataelementid = dv.dataelementid \
+        join period pe on pe.periodid = dv.periodid \
+        where dv.sourceid = ? order by de.code""",
+        orgUnit.getId());
+  }
+}
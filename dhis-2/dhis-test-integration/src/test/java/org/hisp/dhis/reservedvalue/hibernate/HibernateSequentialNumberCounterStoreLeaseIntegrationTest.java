@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.reservedvalue.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Leases blocks of sequential values from the {@code incrementSequentialCounter} database function.
+ * Each store stands for a server with its own leases. Leases are committed in their own
+ * transaction, so the tests run without a test transaction.
+ */
+class HibernateSequentialNumberCounterStoreLeaseIntegrationTest
+    extends PostgresIntegrationTestBase {
+  private static final String UID = "LeaseTest01";
+
+  private static final String KEY = "ABC-####";
+
+  private static final int MAX_VALUE = 9999;
+
+  private static final int BLOCK_SIZE = 10;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @AfterEach
+  void tearDown() {
+    transactionTemplate.executeWithoutResult(status -> store().deleteCounter(UID));
+  }
+
+  @Test
+  void shouldHandOutValuesFromLeasedBlocks() {
+    HibernateSequentialNumberCounterStore store = store();
+
+    assertEquals(List.of(1, 2, 3), store.getNextValues(UID, KEY, 3, MAX_VALUE));
+    assertEquals(range(4, 12), store.getNextValues(UID, KEY, 8, MAX_VALUE));
+    assertEquals(range(12, 37), store.getNextValues(UID, KEY, 25, MAX_VALUE));
+  }
+
+  @Test
+  void shouldNotHandOutValuesLeasedByAnotherServer() {
+    HibernateSequentialNumberCounterStore store = store();
+    HibernateSequentialNumberCounterStore otherServer = store();
+
+    assertEquals(List.of(1, 2, 3), store.getNextValues(UID, KEY, 3, MAX_VALUE));
+    assertEquals(List.of(11, 12), otherServer.getNextValues(UID, KEY, 2, MAX_VALUE));
+    assertEquals(List.of(4, 5), store.getNextValues(UID, KEY, 2, MAX_VALUE));
+  }
+
+  @Test
+  void shouldGiveUnusedValuesBackOnRelease() {
+    HibernateSequentialNumberCounterStore store = store();
+    store.getNextValues(UID, KEY, 3, MAX_VALUE);
+
+    store.releaseLeases();
+
+    assertEquals(List.of(4, 5), store().getNextValues(UID, KEY, 2, MAX_VALUE));
+  }
+
+  @Test
+  void shouldNotGiveUnusedValuesBackIfAnotherServerLeasedAfter() {
+    HibernateSequentialNumberCounterStore store = store();
+    HibernateSequentialNumberCounterStore otherServer = store();
+    store.getNextValues(UID, KEY, 3, MAX_VALUE);
+    otherServer.getNextValues(UID, KEY, 1, MAX_VALUE);
+
+    store.releaseLeases();
+
+    assertEquals(List.of(21), store().getNextValues(UID, KEY, 1, MAX_VALUE));
+  }
+
+  @Test
+  void shouldNotHandOutValueTwiceWhenTakingConcurrently() throws Exception {
+    HibernateSequentialNumberCounterStore store = store();
+    HibernateSequentialNumberCounterStore otherServer = store();
+    int threads = 8;
+    int calls = 20;
+    List<Callable<List<Integer>>> tasks = new ArrayList<>();
+    for (HibernateSequentialNumberCounterStore server : List.of(store, otherServer)) {
+      Callable<List<Integer>> task =
+          () -> {
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+              values.addAll(server.getNextValues(UID, KEY, 3, MAX_VALUE));
+            }
+            return values;
+          };
+      tasks.addAll(Collections.nCopies(threads / 2, task));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Integer> values = new ArrayList<>();
+    try {
+      for (Future<List<Integer>> future : executor.invokeAll(tasks)) {
+        values.addAll(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(threads * calls * 3, values.size());
+    assertEquals(values.size(), new HashSet<>(values).size());
+    assertTrue(values.stream().allMatch(value -> value > 0));
+  }
+
+  private HibernateSequentialNumberCounterStore store() {
+    DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+    when(config.getIntProperty(ConfigurationKey.RESERVED_VALUE_SEQUENTIAL_BLOCK_SIZE))
+        .thenReturn(BLOCK_SIZE);
+    return new HibernateSequentialNumberCounterStore(entityManager, config, transactionManager);
+  }
+
+  private static List<Integer> range(int from, int to) {
+    return IntStream.range(from, to).boxed().toList();
+  }
+}
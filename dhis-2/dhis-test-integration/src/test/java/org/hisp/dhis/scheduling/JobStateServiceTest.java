@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.hisp.dhis.datastore.DatastoreEntry;
+import org.hisp.dhis.datastore.DatastoreService;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.annotation.Transactional;
+
+@TestInstance(Lifecycle.PER_CLASS)
+@Transactional
+class JobStateServiceTest extends PostgresIntegrationTestBase {
+
+  private static final String NAMESPACE = "jobStateServiceTest";
+
+  private static final String KEY = "jobA";
+
+  @Autowired private JobStateService jobStateService;
+
+  @Autowired private DatastoreService datastoreService;
+
+  record State(String parameters, long changedSince) {}
+
+  @BeforeAll
+  void setUpNamespace() {
+    jobStateService.protect(NAMESPACE);
+  }
+
+  @BeforeEach
+  void setUp() {
+    injectSecurityContextUser(createAndAddUser(false, "jobUser", null));
+  }
+
+  @Test
+  void shouldStoreAndDeleteStateAsNonSuperUser() {
+    jobStateService.put(NAMESPACE, KEY, new State("a\"b", 1));
+    jobStateService.put(NAMESPACE, KEY, new State("a\"b", 2));
+
+    assertEquals(new State("a\"b", 2), jobStateService.get(NAMESPACE, KEY, State.class));
+
+    jobStateService.delete(NAMESPACE, KEY);
+
+    assertNull(jobStateService.get(NAMESPACE, KEY, State.class));
+  }
+
+  @Test
+  void shouldNotReadOrWriteStateViaDatastoreAsNonSuperUser() {
+    jobStateService.put(NAMESPACE, KEY, new State("a", 1));
+
+    assertThrows(AccessDeniedException.class, () -> datastoreService.getEntry(NAMESPACE, KEY));
+    assertThrows(
+        AccessDeniedException.class,
+        () -> datastoreService.saveOrUpdateEntry(new DatastoreEntry(NAMESPACE, KEY, "{}")));
+    assertEquals(new State("a", 1), jobStateService.get(NAMESPACE, KEY, State.class));
+  }
+
+  @Test
+  void shouldIgnoreUnreadableState() {
+    jobStateService.put(NAMESPACE, KEY, "not a state object");
+
+    assertNull(jobStateService.get(NAMESPACE, KEY, State.class));
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.deduplication;
+
+import static org.hisp.dhis.tracker.test.TrackerTestBase.createTrackedEntity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.dbms.DbmsManager;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.trackedentity.TrackedEntityType;
+import org.hisp.dhis.tracker.deduplication.PotentialDuplicateDetectionService.ChunkResult;
+import org.hisp.dhis.tracker.model.TrackedEntity;
+import org.hisp.dhis.tracker.model.TrackedEntityAttributeValue;
+import org.hisp.dhis.tracker.trackedentityattributevalue.TrackedEntityAttributeValueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+class PotentialDuplicateDetectionServiceTest extends PostgresIntegrationTestBase {
+  private static final int CHUNK_SIZE = 100;
+
+  @Autowired private PotentialDuplicateDetectionService detectionService;
+
+  @Autowired private DeduplicationService deduplicationService;
+
+  @Autowired private TrackedEntityAttributeValueService trackedEntityAttributeValueService;
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private DbmsManager dbmsManager;
+
+  private OrganisationUnit orgUnit;
+
+  private TrackedEntityType trackedEntityType;
+
+  private TrackedEntityAttribute firstName;
+
+  private TrackedEntityAttribute lastName;
+
+  private Map<Long, ValueType> attributes;
+
+  @BeforeEach
+  void setUp() {
+    orgUnit = createOrganisationUnit('A');
+    manager.save(orgUnit);
+    trackedEntityType = createTrackedEntityType('A');
+    manager.save(trackedEntityType);
+    firstName = createTrackedEntityAttribute('F');
+    manager.save(firstName);
+    lastName = createTrackedEntityAttribute('L');
+    manager.save(lastName);
+
+    attributes = new LinkedHashMap<>();
+    attributes.put(firstName.getId(), ValueType.TEXT);
+    attributes.put(lastName.getId(), ValueType.TEXT);
+  }
+
+  @Test
+  void shouldAddPairScoringAtLeastThreshold() {
+    TrackedEntity original = createPerson("John", "Smith");
+    TrackedEntity duplicate = createPerson("Jon", "Smith");
+
+    ChunkResult result = detect(0.9, 100);
+
+    assertEquals(2, result.trackedEntities());
+    assertEquals(1, result.candidates());
+    assertEquals(1, result.created());
+    List<PotentialDuplicate> potentialDuplicates = getPotentialDuplicates(original);
+    assertEquals(1, potentialDuplicates.size());
+    PotentialDuplicate potentialDuplicate = potentialDuplicates.get(0);
+    assertEquals(original.getUid(), potentialDuplicate.getOriginal().getValue());
+    assertEquals(duplicate.getUid(), potentialDuplicate.getDuplicate().getValue());
+    assertNotNull(potentialDuplicate.getScore());
+    assertTrue(potentialDuplicate.getScore() >= 0.9);
+  }
+
+  @Test
+  void shouldNotAddPairScoringBelowThreshold() {
+    TrackedEntity original = createPerson("John", "Smith");
+    createPerson("Jon", "Smith");
+
+    ChunkResult result = detect(0.99, 100);
+
+    assertEquals(1, result.candidates());
+    assertEquals(0, result.created());
+    assertEquals(List.of(), getPotentialDuplicates(original));
+  }
+
+  @Test
+  void shouldSkipBlocksLargerThanMaxBlockSize() {
+    TrackedEntity original = createPerson("John", "Smith");
+    createPerson("John", "Smith");
+    createPerson("John", "Smith");
+
+    ChunkResult result = detect(0.9, 2);
+
+    assertEquals(3, result.trackedEntities());
+    assertEquals(0, result.candidates());
+    assertEquals(0, result.created());
+    assertEquals(List.of(), getPotentialDuplicates(original));
+  }
+
+  @Test
+  void shouldPairTrackedEntitiesOfBlocksUpToMaxBlockSize() {
+    createPerson("John", "Smith");
+    createPerson("John", "Smith");
+    createPerson("John", "Smith");
+
+    ChunkResult result = detect(0.9, 3);
+
+    assertEquals(3, result.candidates());
+    assertEquals(3, result.created());
+  }
+
+  @Test
+  void shouldNotAddPairThatIsAlreadyKnown() throws PotentialDuplicateConflictException {
+    TrackedEntity original = createPerson("John", "Smith");
+    TrackedEntity duplicate = createPerson("Jon", "Smith");
+    PotentialDuplicate known = new PotentialDuplicate(original.getUID(), duplicate.getUID());
+    known.setStatus(DeduplicationStatus.INVALID);
+    deduplicationService.addPotentialDuplicate(known);
+    dbmsManager.flushSession();
+
+    ChunkResult result = detect(0.9, 100);
+
+    assertEquals(1, result.candidates());
+    assertEquals(0, result.created());
+  }
+
+  @Test
+  void shouldNotAddPairAgainWhenDetectingTwice() {
+    TrackedEntity original = createPerson("John", "Smith");
+    createPerson("Jon", "Smith");
+    assertEquals(1, detect(0.9, 100).created());
+    dbmsManager.flushSession();
+
+    ChunkResult result = detect(0.9, 100);
+
+    assertEquals(1, result.candidates());
+    assertEquals(0, result.created());
+    assertEquals(1, getPotentialDuplicates(original).size());
+  }
+
+  private ChunkResult detect(double threshold, int maxBlockSize) {
+    return detectionService.detect(
+        trackedEntityType.getId(), attributes, new Date(0), 0, CHUNK_SIZE, threshold, maxBlockSize);
+  }
+
+  private TrackedEntity createPerson(String first, String last) {
+    TrackedEntity trackedEntity = createTrackedEntity(orgUnit, trackedEntityType);
+    manager.save(trackedEntity);
+    trackedEntityAttributeValueService.addTrackedEntityAttributeValue(
+        new TrackedEntityAttributeValue(firstName, trackedEntity, first));
+    trackedEntityAttributeValueService.addTrackedEntityAttributeValue(
+        new TrackedEntityAttributeValue(lastName, trackedEntity, last));
+    dbmsManager.flushSession();
+    return trackedEntity;
+  }
+
+  private List<PotentialDuplicate> getPotentialDuplicates(TrackedEntity trackedEntity) {
+    PotentialDuplicateCriteria criteria = new PotentialDuplicateCriteria();
+    criteria.setTrackedEntities(List.of(trackedEntity.getUID()));
+    return deduplicationService.getPotentialDuplicates(criteria);
+  }
+}
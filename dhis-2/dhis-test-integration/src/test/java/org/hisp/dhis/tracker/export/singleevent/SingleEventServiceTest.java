@@ -40,10 +40,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -77,6 +79,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.function.Executable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -91,6 +94,8 @@ class SingleEventServiceTest extends PostgresIntegrationTestBase {
 
   @Autowired private IdentifiableObjectManager manager;
 
+  @Autowired private JdbcTemplate jdbcTemplate;
+
   private OrganisationUnit orgUnit;
 
   private User importUser;
@@ -400,6 +405,35 @@ class SingleEventServiceTest extends PostgresIntegrationTestBase {
         Set.of("GieVkTxp4HG", "DATAEL00005", "DATAEL00007"), dataElements(events.get(0)));
   }
 
+  @Test
+  void shouldPageThroughEventsWithoutOccurredDateUsingPageTokens()
+      throws ForbiddenException, BadRequestException {
+    SingleEventOperationParams params = operationParamsBuilder.orgUnitMode(ACCESSIBLE).build();
+    List<String> events = getEvents(params);
+    assertTrue(events.size() > 2, "test needs at least three events");
+    // single events require an occurred date since 2.43, older data can still lack it
+    jdbcTemplate.execute("alter table singleevent alter column occurreddate drop not null");
+    // events without an occurred date are sorted first, so the first two pages end on them
+    for (String uid : events.subList(events.size() - 2, events.size())) {
+      jdbcTemplate.update("update singleevent set occurreddate = null where uid = ?", uid);
+    }
+
+    List<String> expected = getEvents(params);
+    List<String> paged = new ArrayList<>();
+    PageParams pageParams = PageParams.of(1, 1, false);
+    Page<SingleEvent> page;
+    do {
+      page = singleEventService.findEvents(params, pageParams);
+      paged.addAll(uids(page.getItems()));
+      if (page.getNextPage() != null) {
+        assertNotNull(page.getNextPageToken(), "every page except the last needs a page token");
+      }
+      pageParams = PageParams.of(page.getNextPage(), 1, false, page.getNextPageToken());
+    } while (page.getNextPage() != null);
+
+    assertEquals(expected, paged);
+  }
+
   private void grantPublicAccess(IdentifiableObject object, String access) {
     object.getSharing().setPublicAccess(access);
     manager.updateNoAcl(object);
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.program.notification;
+
+import static org.hisp.dhis.program.notification.NotificationTrigger.SCHEDULED_DAYS_DUE_DATE;
+import static org.hisp.dhis.program.notification.NotificationTrigger.SCHEDULED_DAYS_ENROLLMENT_DATE;
+import static org.hisp.dhis.program.notification.NotificationTrigger.SCHEDULED_DAYS_INCIDENT_DATE;
+import static org.hisp.dhis.tracker.test.TrackerTestBase.createTrackedEntity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManager;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.event.EventStatus;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.program.EnrollmentStatus;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramStage;
+import org.hisp.dhis.program.notification.NotificationTrigger;
+import org.hisp.dhis.program.notification.ProgramNotificationRecipient;
+import org.hisp.dhis.program.notification.ProgramNotificationTemplate;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.hisp.dhis.trackedentity.TrackedEntityType;
+import org.hisp.dhis.tracker.model.Enrollment;
+import org.hisp.dhis.tracker.model.TrackedEntity;
+import org.hisp.dhis.tracker.model.TrackerEvent;
+import org.hisp.dhis.tracker.program.notification.DefaultProgramNotificationService.DueNotification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Checks that selecting the due scheduled notifications of all templates at once matches the
+ * entities selected per template by {@link
+ * ProgramNotificationService#getEnrollmentsWithScheduledNotifications} and {@link
+ * ProgramNotificationService#getWithScheduledNotifications}.
+ */
+@Transactional
+class DueNotificationQueryTest extends PostgresIntegrationTestBase {
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private CategoryService categoryService;
+
+  @Autowired private ProgramNotificationService programNotificationService;
+
+  @Autowired private EntityManager entityManager;
+
+  private DefaultProgramNotificationService service;
+
+  private CategoryOptionCombo coc;
+
+  private OrganisationUnit orgUnit;
+
+  private TrackedEntityType trackedEntityType;
+
+  private Program programA;
+
+  private Program programB;
+
+  private ProgramStage stageA;
+
+  private ProgramStage stageB;
+
+  private Date today;
+
+  @BeforeEach
+  void setUp() {
+    service = AopTestUtils.getUltimateTargetObject(programNotificationService);
+    coc = categoryService.getDefaultCategoryOptionCombo();
+    orgUnit = createOrganisationUnit('A');
+    manager.save(orgUnit);
+    trackedEntityType = createTrackedEntityType('A');
+    manager.save(trackedEntityType);
+    programA = createProgram('A', new HashSet<>(), orgUnit);
+    manager.save(programA);
+    programB = createProgram('B', new HashSet<>(), orgUnit);
+    manager.save(programB);
+    stageA = createProgramStage('A', programA);
+    manager.save(stageA);
+    stageB = createProgramStage('B', programA);
+    manager.save(stageB);
+
+    Calendar cal = Calendar.getInstance();
+    PeriodType.clearTimeOfDay(cal);
+    today = cal.getTime();
+  }
+
+  @Test
+  void shouldSelectSameEnrollmentsAsPerTemplateQuery() {
+    ProgramNotificationTemplate enrolledToday = template("a", 0, SCHEDULED_DAYS_ENROLLMENT_DATE);
+    ProgramNotificationTemplate enrolledInTwoDays =
+        template("b", -2, SCHEDULED_DAYS_ENROLLMENT_DATE);
+    ProgramNotificationTemplate occurredThreeDaysAgo =
+        template("c", 3, SCHEDULED_DAYS_INCIDENT_DATE);
+    ProgramNotificationTemplate otherProgram = template("d", 0, SCHEDULED_DAYS_ENROLLMENT_DATE);
+    programA.setNotificationTemplates(
+        Set.of(enrolledToday, enrolledInTwoDays, occurredThreeDaysAgo));
+    manager.update(programA);
+    programB.setNotificationTemplates(Set.of(otherProgram));
+    manager.update(programB);
+
+    Enrollment enrolledTodayOccurredThreeDaysAgo = enrollment(programA, day(0), day(-3));
+    Enrollment enrolledInTwoDaysOccurredToday = enrollment(programA, day(2), day(0));
+    Enrollment completed = enrollment(programA, day(0), day(-3));
+    completed.setStatus(EnrollmentStatus.COMPLETED);
+    manager.update(completed);
+    enrollment(programA, day(-1), day(-1));
+    entityManager.flush();
+
+    List<ProgramNotificationTemplate> templates =
+        List.of(enrolledToday, enrolledInTwoDays, occurredThreeDaysAgo, otherProgram);
+    List<List<DueNotification>> chunks = service.getDueNotificationChunks(templates, today);
+
+    assertChunksOfSingleTemplate(chunks);
+    assertEquals(ids(enrolledTodayOccurredThreeDaysAgo), dueEnrollments(chunks, enrolledToday));
+    assertEquals(ids(enrolledInTwoDaysOccurredToday), dueEnrollments(chunks, enrolledInTwoDays));
+    assertEquals(
+        ids(enrolledTodayOccurredThreeDaysAgo), dueEnrollments(chunks, occurredThreeDaysAgo));
+    assertEquals(Set.of(), dueEnrollments(chunks, otherProgram));
+    for (ProgramNotificationTemplate template : templates) {
+      assertEquals(
+          ids(service.getEnrollmentsWithScheduledNotifications(template, today)),
+          dueEnrollments(chunks, template),
+          template.getName());
+    }
+  }
+
+  @Test
+  void shouldSelectSameEventsAsPerTemplateQuery() {
+    ProgramNotificationTemplate dayAfterDue = template("a", 1, SCHEDULED_DAYS_DUE_DATE);
+    ProgramNotificationTemplate dayBeforeDue = template("b", -1, SCHEDULED_DAYS_DUE_DATE);
+    ProgramNotificationTemplate otherStage = template("c", 0, SCHEDULED_DAYS_DUE_DATE);
+    stageA.setNotificationTemplates(Set.of(dayAfterDue, dayBeforeDue));
+    manager.update(stageA);
+    stageB.setNotificationTemplates(Set.of(otherStage));
+    manager.update(stageB);
+
+    Enrollment enrollment = enrollment(programA, day(0), day(0));
+    TrackerEvent scheduledYesterday = event(enrollment, stageA, day(-1));
+    TrackerEvent scheduledTomorrow = event(enrollment, stageA, day(1));
+    TrackerEvent skipped = event(enrollment, stageA, day(1));
+    skipped.setStatus(EventStatus.SKIPPED);
+    manager.update(skipped);
+    TrackerEvent occurred = event(enrollment, stageA, day(-1));
+    occurred.setOccurredDate(day(0));
+    manager.update(occurred);
+    TrackerEvent deleted = event(enrollment, stageA, day(-1));
+    deleted.setDeleted(true);
+    manager.update(deleted);
+    TrackerEvent scheduledTodayOnOtherStage = event(enrollment, stageB, day(0));
+    event(enrollment, stageB, day(-1));
+    entityManager.flush();
+
+    List<ProgramNotificationTemplate> templates = List.of(dayAfterDue, dayBeforeDue, otherStage);
+    List<List<DueNotification>> chunks = service.getDueNotificationChunks(templates, today);
+
+    assertChunksOfSingleTemplate(chunks);
+    assertEquals(ids(scheduledYesterday), dueEvents(chunks, dayAfterDue));
+    assertEquals(ids(scheduledTomorrow), dueEvents(chunks, dayBeforeDue));
+    assertEquals(ids(scheduledTodayOnOtherStage), dueEvents(chunks, otherStage));
+    for (ProgramNotificationTemplate template : templates) {
+      assertEquals(
+          ids(service.getWithScheduledNotifications(template, today)),
+          dueEvents(chunks, template),
+          template.getName());
+    }
+  }
+
+  private static void assertChunksOfSingleTemplate(List<List<DueNotification>> chunks) {
+    for (List<DueNotification> chunk : chunks) {
+      assertEquals(
+          1,
+          chunk.stream()
+              .map(due -> List.of(due.templateId(), due.event()))
+              .collect(Collectors.toSet())
+              .size());
+    }
+  }
+
+  private static Set<Long> dueEnrollments(
+      List<List<DueNotification>> chunks, ProgramNotificationTemplate template) {
+    return due(chunks, template, false);
+  }
+
+  private static Set<Long> dueEvents(
+      List<List<DueNotification>> chunks, ProgramNotificationTemplate template) {
+    return due(chunks, template, true);
+  }
+
+  private static Set<Long> due(
+      List<List<DueNotification>> chunks, ProgramNotificationTemplate template, boolean event) {
+    return chunks.stream()
+        .flatMap(List::stream)
+        .filter(due -> due.templateId() == template.getId() && due.event() == event)
+        .map(DueNotification::entityId)
+        .collect(Collectors.toSet());
+  }
+
+  private static Set<Long> ids(IdentifiableObject... objects) {
+    return ids(List.of(objects));
+  }
+
+  private static Set<Long> ids(List<? extends IdentifiableObject> objects) {
+    return objects.stream().map(IdentifiableObject::getId).collect(Collectors.toSet());
+  }
+
+  private ProgramNotificationTemplate template(
+      String name, int relativeScheduledDays, NotificationTrigger trigger) {
+    ProgramNotificationTemplate template =
+        createProgramNotificationTemplate(
+            name,
+            relativeScheduledDays,
+            trigger,
+            ProgramNotificationRecipient.TRACKED_ENTITY_INSTANCE);
+    manager.save(template);
+    return template;
+  }
+
+  private Enrollment enrollment(Program program, Date enrollmentDate, Date occurredDate) {
+    TrackedEntity trackedEntity = createTrackedEntity(orgUnit, trackedEntityType);
+    manager.save(trackedEntity);
+    Enrollment enrollment = new Enrollment(enrollmentDate, occurredDate, trackedEntity, program);
+    enrollment.setOrganisationUnit(orgUnit);
+    enrollment.setAttributeOptionCombo(coc);
+    manager.save(enrollment);
+    return enrollment;
+  }
+
+  private TrackerEvent event(Enrollment enrollment, ProgramStage stage, Date scheduledDate) {
+    TrackerEvent event = new TrackerEvent();
+    event.setEnrollment(enrollment);
+    event.setProgramStage(stage);
+    event.setOrganisationUnit(orgUnit);
+    event.setScheduledDate(scheduledDate);
+    event.setAttributeOptionCombo(coc);
+    manager.save(event);
+    return event;
+  }
+
+  private Date day(int daysFromToday) {
+    return org.apache.commons.lang3.time.DateUtils.addDays(today, daysFromToday);
+  }
+}
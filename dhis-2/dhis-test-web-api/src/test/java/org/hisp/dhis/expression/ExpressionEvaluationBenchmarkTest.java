@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.expression;
+
+import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.analytics.DataType;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.NoOpCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.DimensionService;
+import org.hisp.dhis.common.DimensionalItemId;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.db.sql.SqlBuilder;
+import org.hisp.dhis.hibernate.HibernateGenericStore;
+import org.hisp.dhis.i18n.I18nManager;
+import org.hisp.dhis.organisationunit.OrganisationUnitGroupStore;
+import org.hisp.dhis.test.webapi.H2ControllerIntegrationTestBase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+/**
+ * JMH benchmark comparing the evaluation of compiled expressions with visiting the expression text
+ * for each evaluation, as done when a validation rule or predictor is evaluated for many org units,
+ * periods and attribute option combos.
+ *
+ * <p>Like {@code FieldFilterSerializationBenchmarkTest}, this runs with {@code forks(0)} in the
+ * same JVM as the test runner to use the Spring services.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpressionEvaluationBenchmarkTest extends H2ControllerIntegrationTestBase {
+  /** Number of value maps evaluated per benchmark invocation, one per org unit and period. */
+  private static final int VALUE_MAP_COUNT = 1_000;
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+    @Param({"2", "8", "32"})
+    public int itemCount;
+
+    @Param({"sum", "condition"})
+    public String shape;
+
+    public List<ExpressionParams> params;
+
+    // Services are created from the Spring beans of the test instance
+    public static ExpressionService compiledExpressionService;
+
+    public static ExpressionService textExpressionService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      List<DataElement> dataElements = new ArrayList<>();
+      List<String> items = new ArrayList<>();
+
+      for (int i = 0; i < itemCount; i++) {
+        DataElement dataElement = new DataElement("DE" + i);
+        dataElement.setUid(CodeGenerator.generateUid());
+        dataElement.setValueType(ValueType.NUMBER);
+        dataElements.add(dataElement);
+        items.add("#{" + dataElement.getUid() + "}");
+      }
+
+      String expression =
+          "sum".equals(shape)
+              ? String.join(" + ", items)
+              : "if(" + items.get(0) + " > 10, " + String.join(" * 2 + ", items) + ", 0)";
+
+      ExpressionParams base =
+          ExpressionParams.builder()
+              .expression(expression)
+              .parseType(VALIDATION_RULE_EXPRESSION)
+              .dataType(DataType.NUMERIC)
+              .build();
+
+      Map<DimensionalItemId, DimensionalItemObject> itemMap = new HashMap<>();
+      List<DimensionalItemId> itemIds =
+          new ArrayList<>(compiledExpressionService.getExpressionInfo(base).getItemIds());
+
+      for (DimensionalItemId itemId : itemIds) {
+        dataElements.stream()
+            .filter(de -> de.getUid().equals(itemId.getId0()))
+            .findFirst()
+            .ifPresent(de -> itemMap.put(itemId, de));
+      }
+
+      params = new ArrayList<>(VALUE_MAP_COUNT);
+
+      for (int i = 0; i < VALUE_MAP_COUNT; i++) {
+        Map<DimensionalItemObject, Object> valueMap = new HashMap<>();
+
+        for (int j = 0; j < dataElements.size(); j++) {
+          if ((i + j) % 7 != 0) {
+            valueMap.put(dataElements.get(j), (double) (i + j));
+          }
+        }
+
+        params.add(base.toBuilder().itemMap(itemMap).valueMap(valueMap).build());
+      }
+    }
+  }
+
+  public static class ExpressionBenchmarks {
+    @Benchmark
+    public void visitExpressionText(BenchmarkState state, Blackhole bh) {
+      for (ExpressionParams params : state.params) {
+        bh.consume(BenchmarkState.textExpressionService.getExpressionValue(params));
+      }
+    }
+
+    @Benchmark
+    public void evaluateCompiledExpression(BenchmarkState state, Blackhole bh) {
+      for (ExpressionParams params : state.params) {
+        bh.consume(BenchmarkState.compiledExpressionService.getExpressionValue(params));
+      }
+    }
+  }
+
+  @Autowired
+  @Qualifier("org.hisp.dhis.expression.ExpressionStore")
+  private HibernateGenericStore<Expression> expressionStore;
+
+  @Autowired private ConstantService constantService;
+
+  @Autowired private DimensionService dimensionService;
+
+  @Autowired private IdentifiableObjectManager idObjectManager;
+
+  @Autowired private I18nManager i18nManager;
+
+  @Autowired private SqlBuilder sqlBuilder;
+
+  @Autowired
+  @Qualifier("org.hisp.dhis.organisationunit.OrganisationUnitGroupStore")
+  private OrganisationUnitGroupStore organisationUnitGroupStore;
+
+  @Test
+  @Timeout(unit = TimeUnit.MINUTES, value = 60)
+  void executeJmhRunner() throws Exception {
+    BenchmarkState.compiledExpressionService = newExpressionService(true);
+    BenchmarkState.textExpressionService = newExpressionService(false);
+
+    Options opt =
+        new OptionsBuilder()
+            .include(
+                "org.hisp.dhis.expression.ExpressionEvaluationBenchmarkTest.ExpressionBenchmarks.*")
+            .shouldFailOnError(true)
+            .forks(0) // Run in same JVM to preserve Spring context
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(5))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(5))
+            .resultFormat(ResultFormatType.CSV)
+            .result("jmh-expression-result.csv")
+            .build();
+
+    new Runner(opt).run();
+  }
+
+  /**
+   * Creates an expression service with its own compiled expression cache, as the cache regions of
+   * the test run do not keep any entries.
+   */
+  private ExpressionService newExpressionService(boolean compiledEvaluation) {
+    CacheProvider cacheProvider = mock(CacheProvider.class);
+    when(cacheProvider.createAllConstantsCache()).thenReturn(new NoOpCache<>());
+    when(cacheProvider.createCompiledExpressionCache())
+        .thenReturn(new LocalCache<>(new SimpleCacheBuilder<>()));
+
+    return new DefaultExpressionService(
+        expressionStore,
+        constantService,
+        dimensionService,
+        idObjectManager,
+        i18nManager,
+        cacheProvider,
+        sqlBuilder,
+        organisationUnitGroupStore,
+        compiledEvaluation);
+  }
+}
@@ -34,6 +34,7 @@ import static org.hisp.dhis.test.utils.Assertions.assertStartsWith;
 import static org.hisp.dhis.test.webapi.Assertions.assertNoDiff;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -43,6 +44,7 @@ import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.junit.jupiter.api.Test;
 
@@ -58,7 +60,7 @@ class PageTest {
     commonPager.setPrevPage("a");
     commonPager.setNextPage("b");
     commonPager.force(2, 3);
-    Page.Pager trackerPager = new Page.Pager(2, 3, 20L, 7, "a", "b");
+    Page.Pager trackerPager = new Page.Pager(2, 3, 20L, 7, "a", "b", null);
 
     ObjectMapper mapper = JacksonObjectMapperConfig.staticJsonMapper();
 
@@ -152,6 +154,33 @@ class PageTest {
         "fields=displayName");
   }
 
+  @Test
+  void shouldSetNextPageLinkUsingPageToken() throws BadRequestException {
+    List<String> fruits = List.of("apple", "banana", "cherry", "mango");
+    PageParams pageParams = PageParams.of(null, 3, false);
+    org.hisp.dhis.tracker.Page<String> exportPage =
+        new org.hisp.dhis.tracker.Page<>(fruits, pageParams)
+            .withNextPageToken(fruit -> PageToken.of(fruit.length()));
+
+    Page<String> page =
+        Page.withPager(
+            "fruits",
+            exportPage,
+            "http://localhost/organisationUnits?page=1&pageSize=3&fields=displayName");
+
+    assertEquals(List.of("apple", "banana", "cherry"), page.getItems());
+    String pageToken = PageToken.of("cherry".length()).encode();
+    assertEquals(pageToken, page.getPager().getNextPageToken());
+    assertNull(page.getPager().getPrevPage());
+    String nextPage = page.getPager().getNextPage();
+    assertAll(
+        () -> assertStartsWith("http://localhost/organisationUnits", nextPage),
+        () -> assertContains("pageToken=" + pageToken, nextPage),
+        () -> assertContains("pageSize=3", nextPage),
+        () -> assertContains("fields=displayName", nextPage),
+        () -> assertFalse(nextPage.contains("page="), nextPage));
+  }
+
   private static void assertPagerLink(
       String actual, int page, int pageSize, String start, String additionalParam) {
     assertNotNull(actual);
@@ -34,16 +34,17 @@ import java.util.function.Function;
 import java.util.function.LongSupplier;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
 /**
  * Create a page of items. A page is guaranteed to have items, a page number and page size. All
  * other fields are optional.
  */
-@RequiredArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Getter
 @ToString
 @EqualsAndHashCode
@@ -55,6 +56,23 @@ public class Page<T> {
   private final Integer prevPage;
   private final Integer nextPage;
 
+  /**
+   * Token pointing to the last item of this page. It is only set by stores supporting keyset
+   * pagination if there is a next page and the items are in their default order. It is derived from
+   * the items and thus not part of the equality of pages.
+   */
+  @EqualsAndHashCode.Exclude @CheckForNull private final PageToken nextPageToken;
+
+  public Page(
+      @Nonnull List<T> items,
+      int page,
+      int pageSize,
+      Long total,
+      Integer prevPage,
+      Integer nextPage) {
+    this(items, page, pageSize, total, prevPage, nextPage, null);
+  }
+
   public static <T> Page<T> empty() {
     return new Page<>(List.of(), 0, 0, 0L, null, null);
   }
@@ -89,6 +107,7 @@ public class Page<T> {
       this.items = items;
       this.nextPage = null;
     }
+    this.nextPageToken = null;
   }
 
   /**
@@ -102,7 +121,14 @@ public class Page<T> {
    */
   @Deprecated(forRemoval = true)
   public <U> Page<U> withFilteredItems(List<U> items) {
-    return new Page<>(items, this.page, this.pageSize, this.total, this.prevPage, this.nextPage);
+    return new Page<>(
+        items,
+        this.page,
+        this.pageSize,
+        this.total,
+        this.prevPage,
+        this.nextPage,
+        this.nextPageToken);
   }
 
   /** Create a new page based on this existing page mapping the individual items. */
@@ -113,6 +139,27 @@ public class Page<T> {
         this.pageSize,
         this.total,
         this.prevPage,
-        this.nextPage);
+        this.nextPage,
+        this.nextPageToken);
+  }
+
+  /**
+   * Create a new page based on this existing page with a {@link #getNextPageToken()} pointing to
+   * its last item. The token is only set if there is a next page.
+   *
+   * @param token creates the token from the last item of the page
+   */
+  public Page<T> withNextPageToken(@Nonnull Function<T, PageToken> token) {
+    if (nextPage == null || items.isEmpty()) {
+      return this;
+    }
+    return new Page<>(
+        items,
+        this.page,
+        this.pageSize,
+        this.total,
+        this.prevPage,
+        this.nextPage,
+        token.apply(items.get(items.size() - 1)));
   }
 }
@@ -30,6 +30,7 @@
 package org.hisp.dhis.tracker;
 
 import java.util.Objects;
+import javax.annotation.CheckForNull;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -58,7 +59,14 @@ public class PageParams {
   /** Indicates whether to fetch the total number of items. */
   final boolean pageTotal;
 
-  private PageParams(Integer page, Integer pageSize, boolean pageTotal) throws BadRequestException {
+  /**
+   * Position after which the page starts. Stores seek to it instead of using an offset if the items
+   * are returned in their default order.
+   */
+  @CheckForNull final PageToken pageToken;
+
+  private PageParams(Integer page, Integer pageSize, boolean pageTotal, PageToken pageToken)
+      throws BadRequestException {
     if (page != null && page < 1) {
       throw new BadRequestException("page must be greater than or equal to 1 if specified");
     }
@@ -70,20 +78,31 @@ public class PageParams {
     this.page = Objects.requireNonNullElse(page, DEFAULT_PAGE);
     this.pageSize = Objects.requireNonNullElse(pageSize, DEFAULT_PAGE_SIZE);
     this.pageTotal = pageTotal;
+    this.pageToken = pageToken;
   }
 
   public static PageParams of(Integer page, Integer pageSize, boolean pageTotal)
       throws BadRequestException {
-    return new PageParams(page, pageSize, pageTotal);
+    return new PageParams(page, pageSize, pageTotal, null);
+  }
+
+  public static PageParams of(
+      Integer page, Integer pageSize, boolean pageTotal, PageToken pageToken)
+      throws BadRequestException {
+    return new PageParams(page, pageSize, pageTotal, pageToken);
   }
 
   /** Create page parameters for the first page of a single item with no totals. */
   public static PageParams single() {
-    return new PageParams(1, 1, false);
+    return new PageParams(1, 1, false, null);
   }
 
   /** Zero-based offset to be used in a SQL offset clause. */
   public int getOffset() {
     return (page - 1) * pageSize;
   }
+
+  public boolean hasPageToken() {
+    return pageToken != null;
+  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.hisp.dhis.feedback.BadRequestException;
+
+/**
+ * {@link PageToken} marks the position after which the next page of items starts when paging
+ * through items in their default order. Stores use it to seek to the next page using {@code where
+ * (orderKey, id) < (?, ?)} instead of skipping rows using an SQL offset. Its cost thus does not
+ * grow with the page number.
+ *
+ * <p>The token is opaque to clients. It is only valid for the default order of the store that
+ * issued it.
+ *
+ * @param orderKey value of the leading order column of the last item on the page if the default
+ *     order is not by primary key only
+ * @param id primary key of the last item on the page
+ */
+public record PageToken(@CheckForNull Long orderKey, long id) {
+  private static final String SEPARATOR = ":";
+
+  /** Create a token for a store whose default order is by primary key only. */
+  public static PageToken of(long id) {
+    return new PageToken(null, id);
+  }
+
+  public boolean hasOrderKey() {
+    return orderKey != null;
+  }
+
+  /** Encode the token into a URL-safe string to be handed to clients. */
+  @Nonnull
+  public String encode() {
+    String value = orderKey == null ? String.valueOf(id) : orderKey + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a token previously created using {@link #encode()}.
+   *
+   * @return the token or null if {@code token} is null
+   * @throws BadRequestException if the token is malformed
+   */
+  @CheckForNull
+  public static PageToken decode(@CheckForNull String token) throws BadRequestException {
+    if (token == null) {
+      return null;
+    }
+
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = value.indexOf(SEPARATOR);
+      if (separator < 0) {
+        return of(Long.parseLong(value));
+      }
+      return new PageToken(
+          Long.parseLong(value.substring(0, separator)),
+          Long.parseLong(value.substring(separator + 1)));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("pageToken '" + token + "' is invalid");
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.deduplication;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+import org.hisp.dhis.common.ValueType;
+
+/**
+ * Builds the blocking keys of attribute values and scores the similarity of two values. Tracked
+ * entities sharing a blocking key are compared with each other, all others are not, which keeps
+ * detection linear in the number of tracked entities. How keys are built depends on the value type:
+ *
+ * <ul>
+ *   <li>dates: the date and the date with day and month swapped, to also pair transposed dates
+ *   <li>phone numbers: the last {@value #PHONE_SUFFIX_LENGTH} digits, ignoring country prefixes and
+ *       formatting
+ *   <li>other text: the Soundex code of each word, so that names spelled differently but sounding
+ *       alike are paired
+ *   <li>anything else: the trimmed, lower-cased value
+ * </ul>
+ */
+final class BlockingKeys {
+  static final int PHONE_SUFFIX_LENGTH = 7;
+
+  /** Longer values are truncated to fit the {@code blockingkey} column. */
+  private static final int MAX_VALUE_LENGTH = 98;
+
+  private static final JaroWinklerSimilarity JARO_WINKLER = new JaroWinklerSimilarity();
+
+  private BlockingKeys() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  /** Returns the blocking keys of the value, none if it does not have any. */
+  @Nonnull
+  static Set<String> of(@Nonnull ValueType valueType, @CheckForNull String value) {
+    Set<String> keys = new LinkedHashSet<>();
+    if (value == null || value.isBlank()) {
+      return keys;
+    }
+    if (valueType.isDate()) {
+      LocalDate date = parseDate(value);
+      if (date != null) {
+        keys.add("d:" + date);
+        if (date.getDayOfMonth() <= 12 && date.getDayOfMonth() != date.getMonthValue()) {
+          keys.add("d:" + LocalDate.of(date.getYear(), date.getDayOfMonth(), date.getMonthValue()));
+        }
+      }
+    } else if (valueType == ValueType.PHONE_NUMBER) {
+      String suffix = phoneSuffix(value);
+      if (suffix != null) {
+        keys.add("p:" + suffix);
+      }
+    } else if (valueType.isText()) {
+      for (String word : normalize(value).split("[^\\p{L}]+")) {
+        String code = soundex(word);
+        if (code != null) {
+          keys.add("s:" + code);
+        }
+      }
+    } else {
+      String normalized = normalize(value);
+      keys.add("v:" + normalized.substring(0, Math.min(normalized.length(), MAX_VALUE_LENGTH)));
+    }
+    return keys;
+  }
+
+  /** Returns the similarity of two values of the given type in [0, 1]. */
+  static double similarity(@Nonnull ValueType valueType, @Nonnull String a, @Nonnull String b) {
+    if (valueType.isDate()) {
+      LocalDate dateA = parseDate(a);
+      LocalDate dateB = parseDate(b);
+      if (dateA == null || dateB == null) {
+        return 0;
+      }
+      if (dateA.equals(dateB)) {
+        return 1;
+      }
+      boolean transposed =
+          dateA.getYear() == dateB.getYear()
+              && dateA.getDayOfMonth() == dateB.getMonthValue()
+              && dateA.getMonthValue() == dateB.getDayOfMonth();
+      return transposed ? 0.8 : 0;
+    }
+    if (valueType == ValueType.PHONE_NUMBER) {
+      String suffixA = phoneSuffix(a);
+      return suffixA != null && suffixA.equals(phoneSuffix(b)) ? 1 : 0;
+    }
+    if (valueType.isText()) {
+      return JARO_WINKLER.apply(normalize(a), normalize(b));
+    }
+    return normalize(a).equals(normalize(b)) ? 1 : 0;
+  }
+
+  private static String normalize(String value) {
+    return value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  @CheckForNull
+  private static LocalDate parseDate(String value) {
+    try {
+      return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+
+  @CheckForNull
+  private static String phoneSuffix(String value) {
+    String digits = value.replaceAll("\\D", "");
+    return digits.length() < PHONE_SUFFIX_LENGTH
+        ? null
+        : digits.substring(digits.length() - PHONE_SUFFIX_LENGTH);
+  }
+
+  /**
+   * American Soundex of a word: its first letter followed by three digits encoding the following
+   * consonants. Returns null for words shorter than two letters, which do not block usefully.
+   */
+  @CheckForNull
+  static String soundex(String word) {
+    if (word.length() < 2) {
+      return null;
+    }
+    String upper = word.toUpperCase(Locale.ROOT);
+    char first = upper.charAt(0);
+    if (first < 'A' || first > 'Z') {
+      return null;
+    }
+    StringBuilder code = new StringBuilder(4).append(first);
+    char previous = soundexDigit(first);
+    for (int i = 1; i < upper.length() && code.length() < 4; i++) {
+      char c = upper.charAt(i);
+      char digit = soundexDigit(c);
+      if (digit != '0' && digit != previous) {
+        code.append(digit);
+      }
+      // H and W do not separate letters with the same code, vowels do
+      if (c != 'H' && c != 'W') {
+        previous = digit;
+      }
+    }
+    while (code.length() < 4) {
+      code.append('0');
+    }
+    return code.toString();
+  }
+
+  private static char soundexDigit(char c) {
+    return switch (c) {
+      case 'B', 'F', 'P', 'V' -> '1';
+      case 'C', 'G', 'J', 'K', 'Q', 'S', 'X', 'Z' -> '2';
+      case 'D', 'T' -> '3';
+      case 'L' -> '4';
+      case 'M', 'N' -> '5';
+      case 'R' -> '6';
+      default -> '0';
+    };
+  }
+}
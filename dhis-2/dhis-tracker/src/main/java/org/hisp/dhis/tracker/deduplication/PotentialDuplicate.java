@@ -115,6 +115,14 @@ public class PotentialDuplicate implements IdentifiableObject {
   @Column(name = "status")
   private DeduplicationStatus status = DeduplicationStatus.OPEN;
 
+  /**
+   * score is the similarity of original and duplicate in [0, 1] for potential duplicates found by
+   * the potential duplicate detection job. It is null for potential duplicates flagged by users.
+   */
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  @Column(name = "score")
+  private Double score;
+
   public PotentialDuplicate() {}
 
   public PotentialDuplicate(UID original, UID duplicate) {
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.deduplication;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.scheduling.Job;
+import org.hisp.dhis.scheduling.JobEntry;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobStateService;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.parameters.PotentialDuplicateDetectionJobParameters;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.trackedentity.TrackedEntityType;
+import org.hisp.dhis.tracker.deduplication.PotentialDuplicateDetectionService.ChunkResult;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds {@link PotentialDuplicate}s for tracked entities of a type that are similar on the
+ * configured attributes. The first run indexes all tracked entities of the type, later runs only
+ * those changed since the previous run completed. The start time of the last completed run is kept
+ * in the datastore under the job id together with the parameters of that run. When the parameters
+ * have changed since, all tracked entities of the type are indexed again.
+ */
+@Component
+@RequiredArgsConstructor
+public class PotentialDuplicateDetectionJob implements Job {
+  static final String WATERMARK_NAMESPACE = "potentialDuplicateDetection";
+
+  private static final int CHUNK_SIZE = 1000;
+
+  private final PotentialDuplicateDetectionService detectionService;
+
+  private final IdentifiableObjectManager manager;
+
+  private final JobStateService jobStateService;
+
+  /** Watermark of the last completed run of the job, stored under the job id. */
+  record Watermark(String parameters, long changedSince) {}
+
+  @PostConstruct
+  void init() {
+    jobStateService.protect(WATERMARK_NAMESPACE);
+  }
+
+  @Override
+  public JobType getJobType() {
+    return JobType.POTENTIAL_DUPLICATE_DETECTION;
+  }
+
+  @Override
+  public void execute(JobEntry config, JobProgress progress) {
+    PotentialDuplicateDetectionJobParameters params =
+        (PotentialDuplicateDetectionJobParameters) config.parameters();
+    String watermarkKey = config.id().getValue();
+    String fingerprint = fingerprint(params);
+
+    progress.startingProcess("Detecting potential duplicates");
+
+    progress.startingStage("Loading tracked entity type");
+    TrackedEntityType type =
+        progress.nonNullStagePostCondition(
+            progress.runStage(
+                () -> manager.get(TrackedEntityType.class, params.getTrackedEntityType())));
+    progress.startingStage("Loading attributes");
+    List<TrackedEntityAttribute> attributes =
+        progress.runStage(
+            List.of(),
+            () -> manager.loadByUid(TrackedEntityAttribute.class, params.getAttributes()));
+    Map<Long, ValueType> valueTypes = new LinkedHashMap<>();
+    attributes.forEach(a -> valueTypes.put(a.getId(), a.getValueType()));
+    if (valueTypes.isEmpty()) {
+      progress.failedProcess("Attributes could not be loaded");
+      return;
+    }
+
+    Date startedAt = new Date();
+    Date changedSince = new Date(readWatermark(watermarkKey, fingerprint));
+    long lastTrackedEntityId = 0;
+    int trackedEntities = 0;
+    int candidates = 0;
+    int created = 0;
+    progress.startingStage(
+        "Indexing and pairing tracked entities changed since %1$tF %1$tT", changedSince);
+    while (!progress.isCancelled()) {
+      progress.startingWorkItem("Tracked entities after id " + lastTrackedEntityId);
+      ChunkResult chunk;
+      try {
+        chunk =
+            detectionService.detect(
+                type.getId(),
+                valueTypes,
+                changedSince,
+                lastTrackedEntityId,
+                CHUNK_SIZE,
+                params.getThreshold(),
+                params.getMaxBlockSize());
+      } catch (RuntimeException ex) {
+        progress.failedWorkItem(ex);
+        progress.failedProcess(ex);
+        return;
+      }
+      trackedEntities += chunk.trackedEntities();
+      candidates += chunk.candidates();
+      created += chunk.created();
+      lastTrackedEntityId = chunk.lastTrackedEntityId();
+      progress.completedWorkItem(
+          "%d tracked entities, %d candidate pairs, %d potential duplicates added",
+          chunk.trackedEntities(), chunk.candidates(), chunk.created());
+      if (chunk.trackedEntities() < CHUNK_SIZE) {
+        break;
+      }
+    }
+
+    if (progress.isCancelled()) {
+      progress.failedStage("Cancelled after tracked entity with id " + lastTrackedEntityId);
+      progress.failedProcess("Cancelled, the next run processes the same tracked entities again");
+      return;
+    }
+    progress.completedStage(null);
+
+    // if storing fails the next run indexes all tracked entities again, which is slower but correct
+    jobStateService.put(
+        WATERMARK_NAMESPACE, watermarkKey, new Watermark(fingerprint, startedAt.getTime()));
+    progress.completedProcess(
+        "%d tracked entities indexed, %d candidate pairs scored, %d potential duplicates added",
+        trackedEntities, candidates, created);
+  }
+
+  /**
+   * Identifies the parameters that decide which blocking keys exist and which pairs are added. Keys
+   * and pairs of tracked entities unchanged since the last run are only valid for the same
+   * parameters.
+   */
+  static String fingerprint(PotentialDuplicateDetectionJobParameters params) {
+    return "%s:%s:%s:%d"
+        .formatted(
+            params.getTrackedEntityType(),
+            params.getAttributes().stream().sorted().collect(Collectors.joining(",")),
+            params.getThreshold(),
+            params.getMaxBlockSize());
+  }
+
+  private long readWatermark(String key, String fingerprint) {
+    Watermark watermark = jobStateService.get(WATERMARK_NAMESPACE, key, Watermark.class);
+    if (watermark == null || !fingerprint.equals(watermark.parameters())) {
+      return 0L;
+    }
+    return watermark.changedSince();
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.deduplication;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.common.ValueType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Finds potential duplicates among tracked entities of a type using blocking keys (see {@link
+ * BlockingKeys}). Each call processes a chunk of tracked entities changed since a given time: it
+ * replaces their blocking keys, pairs them with the tracked entities sharing a key and scores each
+ * pair on the configured attributes. Pairs scoring at least the threshold are added as {@link
+ * PotentialDuplicate}s unless the pair is already known, in any status.
+ */
+@Service
+@RequiredArgsConstructor
+class PotentialDuplicateDetectionService {
+  private static final String CHANGED_TRACKED_ENTITIES_SQL =
+      """
+      select te.trackedentityid, te.deleted from trackedentity te \
+      where te.trackedentitytypeid = :type and te.lastupdated >= :changedSince \
+      and te.trackedentityid > :after \
+      order by te.trackedentityid limit :limit""";
+
+  private static final String DELETE_KEYS_SQL =
+      """
+      delete from trackedentityblockingkey \
+      where trackedentityid in (:trackedEntities) and trackedentityattributeid in (:attributes)""";
+
+  private static final String INSERT_KEY_SQL =
+      """
+      insert into trackedentityblockingkey \
+      (trackedentityid, trackedentitytypeid, trackedentityattributeid, blockingkey) \
+      values (:trackedEntity, :type, :attribute, :key) on conflict do nothing""";
+
+  private static final String ATTRIBUTE_VALUES_SQL =
+      """
+      select teav.trackedentityid, te.uid, teav.trackedentityattributeid, teav.value \
+      from trackedentityattributevalue teav \
+      join trackedentity te on te.trackedentityid = teav.trackedentityid \
+      where teav.trackedentityid in (:trackedEntities) \
+      and teav.trackedentityattributeid in (:attributes)""";
+
+  // Blocks larger than :maxBlockSize are skipped, see
+  // PotentialDuplicateDetectionJobParameters#maxBlockSize
+  private static final String CANDIDATES_SQL =
+      """
+      with chunk as ( \
+        select trackedentityid, trackedentitytypeid, trackedentityattributeid, blockingkey \
+        from trackedentityblockingkey where trackedentityid in (:trackedEntities) \
+        and trackedentityattributeid in (:attributes)), \
+      blocks as ( \
+        select k.trackedentitytypeid, k.trackedentityattributeid, k.blockingkey \
+        from trackedentityblockingkey k \
+        join (select distinct trackedentitytypeid, trackedentityattributeid, blockingkey from chunk) c \
+        using (trackedentitytypeid, trackedentityattributeid, blockingkey) \
+        group by k.trackedentitytypeid, k.trackedentityattributeid, k.blockingkey \
+        having count(*) <= :maxBlockSize) \
+      select distinct c.trackedentityid as a, k.trackedentityid as b \
+      from chunk c \
+      join blocks bl using (trackedentitytypeid, trackedentityattributeid, blockingkey) \
+      join trackedentityblockingkey k using (trackedentitytypeid, trackedentityattributeid, blockingkey) \
+      join trackedentity te on te.trackedentityid = k.trackedentityid \
+      where k.trackedentityid <> c.trackedentityid and te.deleted = false""";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  private final DeduplicationService deduplicationService;
+
+  /**
+   * Outcome of processing a chunk of tracked entities.
+   *
+   * @param lastTrackedEntityId id of the last tracked entity of the chunk, to continue after
+   * @param trackedEntities number of tracked entities in the chunk
+   * @param candidates number of pairs sharing a blocking key that were scored
+   * @param created number of potential duplicates added
+   */
+  record ChunkResult(long lastTrackedEntityId, int trackedEntities, int candidates, int created) {}
+
+  /**
+   * Processes up to {@code chunkSize} tracked entities of the type changed since {@code
+   * changedSince} with an id greater than {@code afterTrackedEntityId}.
+   *
+   * @param attributes value types of the attributes to use keyed by their id
+   */
+  @Transactional
+  public ChunkResult detect(
+      long trackedEntityTypeId,
+      @Nonnull Map<Long, ValueType> attributes,
+      @Nonnull Date changedSince,
+      long afterTrackedEntityId,
+      int chunkSize,
+      double threshold,
+      int maxBlockSize) {
+    List<Long> trackedEntities = new ArrayList<>();
+    List<Long> live = new ArrayList<>();
+    jdbcTemplate.query(
+        CHANGED_TRACKED_ENTITIES_SQL,
+        new MapSqlParameterSource()
+            .addValue("type", trackedEntityTypeId)
+            .addValue("changedSince", changedSince)
+            .addValue("after", afterTrackedEntityId)
+            .addValue("limit", chunkSize),
+        rs -> {
+          trackedEntities.add(rs.getLong(1));
+          if (!rs.getBoolean(2)) {
+            live.add(rs.getLong(1));
+          }
+        });
+    if (trackedEntities.isEmpty()) {
+      return new ChunkResult(afterTrackedEntityId, 0, 0, 0);
+    }
+    long lastTrackedEntityId = trackedEntities.get(trackedEntities.size() - 1);
+
+    jdbcTemplate.update(
+        DELETE_KEYS_SQL,
+        new MapSqlParameterSource()
+            .addValue("trackedEntities", trackedEntities)
+            .addValue("attributes", attributes.keySet()));
+    if (live.isEmpty()) {
+      return new ChunkResult(lastTrackedEntityId, trackedEntities.size(), 0, 0);
+    }
+
+    Map<Long, Values> values = new HashMap<>();
+    loadValues(live, attributes.keySet(), values);
+    insertKeys(trackedEntityTypeId, attributes, values);
+
+    Set<Pair> candidates = new HashSet<>();
+    jdbcTemplate.query(
+        CANDIDATES_SQL,
+        new MapSqlParameterSource()
+            .addValue("trackedEntities", live)
+            .addValue("attributes", attributes.keySet())
+            .addValue("maxBlockSize", maxBlockSize),
+        rs -> {
+          long a = rs.getLong(1);
+          long b = rs.getLong(2);
+          candidates.add(new Pair(Math.min(a, b), Math.max(a, b)));
+        });
+    if (candidates.isEmpty()) {
+      return new ChunkResult(lastTrackedEntityId, trackedEntities.size(), 0, 0);
+    }
+
+    List<Long> others =
+        candidates.stream()
+            .flatMap(pair -> Stream.of(pair.original(), pair.duplicate()))
+            .filter(id -> !values.containsKey(id))
+            .distinct()
+            .toList();
+    if (!others.isEmpty()) {
+      loadValues(others, attributes.keySet(), values);
+    }
+
+    int created = 0;
+    for (Pair pair : candidates) {
+      Values original = values.get(pair.original());
+      Values duplicate = values.get(pair.duplicate());
+      if (original == null || duplicate == null) {
+        continue;
+      }
+      double score = score(attributes, original, duplicate);
+      if (score >= threshold && add(original.uid(), duplicate.uid(), score)) {
+        created++;
+      }
+    }
+    return new ChunkResult(lastTrackedEntityId, trackedEntities.size(), candidates.size(), created);
+  }
+
+  /**
+   * Averages the similarity of the attributes both tracked entities have a value for. A pair
+   * sharing a single attribute is only scored when a single attribute is configured, as one
+   * matching value alone (a common name for example) is no evidence of a duplicate.
+   */
+  static double score(Map<Long, ValueType> attributes, Values original, Values duplicate) {
+    double sum = 0;
+    int compared = 0;
+    for (Map.Entry<Long, ValueType> attribute : attributes.entrySet()) {
+      String a = original.values().get(attribute.getKey());
+      String b = duplicate.values().get(attribute.getKey());
+      if (a != null && b != null) {
+        sum += BlockingKeys.similarity(attribute.getValue(), a, b);
+        compared++;
+      }
+    }
+    return compared < Math.min(2, attributes.size()) ? 0 : sum / compared;
+  }
+
+  private boolean add(String original, String duplicate, double score) {
+    PotentialDuplicate potentialDuplicate =
+        new PotentialDuplicate(UID.of(original), UID.of(duplicate));
+    potentialDuplicate.setScore(score);
+    try {
+      if (deduplicationService.exists(potentialDuplicate)) {
+        return false;
+      }
+      deduplicationService.addPotentialDuplicate(potentialDuplicate);
+      return true;
+    } catch (PotentialDuplicateConflictException ex) {
+      // original and duplicate are never null and the status is OPEN, so this cannot happen
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private void loadValues(
+      List<Long> trackedEntities, Set<Long> attributes, Map<Long, Values> values) {
+    jdbcTemplate.query(
+        ATTRIBUTE_VALUES_SQL,
+        new MapSqlParameterSource()
+            .addValue("trackedEntities", trackedEntities)
+            .addValue("attributes", attributes),
+        rs -> {
+          values
+              .computeIfAbsent(rs.getLong(1), id -> new Values(rs.getString(2), new HashMap<>()))
+              .values()
+              .put(rs.getLong(3), rs.getString(4));
+        });
+  }
+
+  private void insertKeys(
+      long trackedEntityTypeId, Map<Long, ValueType> attributes, Map<Long, Values> values) {
+    List<SqlParameterSource> rows = new ArrayList<>();
+    values.forEach(
+        (trackedEntity, teValues) ->
+            teValues
+                .values()
+                .forEach(
+                    (attribute, value) -> {
+                      for (String key : BlockingKeys.of(attributes.get(attribute), value)) {
+                        rows.add(
+                            new MapSqlParameterSource()
+                                .addValue("trackedEntity", trackedEntity)
+                                .addValue("type", trackedEntityTypeId)
+                                .addValue("attribute", attribute)
+                                .addValue("key", key));
+                      }
+                    }));
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_KEY_SQL, rows.toArray(new SqlParameterSource[0]));
+    }
+  }
+
+  /** A pair of tracked entity ids, the lower id is the original. */
+  private record Pair(long original, long duplicate) {}
+
+  /** The uid and attribute values keyed by attribute id of a tracked entity. */
+  record Values(String uid, Map<Long, String> values) {}
+}
@@ -70,6 +70,7 @@ import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityType;
 import org.hisp.dhis.tracker.Page;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.export.Geometries;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.OrderJdbcClause;
@@ -114,7 +115,7 @@ class JdbcEnrollmentStore {
     }
 
     MapSqlParameterSource sqlParams = new MapSqlParameterSource();
-    String sql = getQuery(enrollmentParams, sqlParams);
+    String sql = getQuery(enrollmentParams, null, sqlParams);
     return jdbcTemplate.query(
         sql,
         sqlParams,
@@ -142,7 +143,10 @@ class JdbcEnrollmentStore {
    * order by ...
    * </pre>
    */
-  private String getQuery(EnrollmentQueryParams enrollmentParams, MapSqlParameterSource sqlParams) {
+  private String getQuery(
+      EnrollmentQueryParams enrollmentParams,
+      PageParams pageParams,
+      MapSqlParameterSource sqlParams) {
     StringBuilder sql = new StringBuilder();
     addSelect(sql, enrollmentParams);
     sql.append(" from enrollment e ");
@@ -157,7 +161,7 @@ class JdbcEnrollmentStore {
     addJoinOnCategoryOptionCombo(sql);
     addLeftJoinOnNotes(sql);
     addLeftJoinOnAttributes(sql, enrollmentParams);
-    addWhereConditions(sql, sqlParams, enrollmentParams);
+    addWhereConditions(sql, sqlParams, enrollmentParams, pageParams);
     addOrderBy(sql, enrollmentParams);
 
     return sql.toString();
@@ -204,7 +208,10 @@ class JdbcEnrollmentStore {
   }
 
   private void addWhereConditions(
-      StringBuilder sql, MapSqlParameterSource sqlParams, EnrollmentQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      EnrollmentQueryParams params,
+      PageParams pageParams) {
     SqlHelper hlp = new SqlHelper(true);
     addLastUpdatedConditions(sql, sqlParams, params, hlp);
     addOrgUnitConditions(sql, sqlParams, params, hlp);
@@ -212,6 +219,20 @@ class JdbcEnrollmentStore {
     addEnrollmentConditions(sql, sqlParams, params, hlp);
     addTrackedEntityConditions(sql, sqlParams, params, hlp);
     addAttributeOptionComboConditions(sql, sqlParams, params, hlp);
+    addPageTokenCondition(sql, sqlParams, params, pageParams, hlp);
+  }
+
+  /** Seeks past the last enrollment of the previous page. Only applies to the default order. */
+  private void addPageTokenCondition(
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      EnrollmentQueryParams params,
+      PageParams pageParams,
+      SqlHelper hlp) {
+    if (isSeeking(params, pageParams)) {
+      sql.append(hlp.whereAnd()).append("e.enrollmentid < :pageTokenId");
+      sqlParams.addValue("pageTokenId", pageParams.getPageToken().id());
+    }
   }
 
   private void addJoinOnProgram(StringBuilder sql) {
@@ -471,9 +492,14 @@ class JdbcEnrollmentStore {
     }
 
     MapSqlParameterSource sqlParams = new MapSqlParameterSource();
-    String sql = getQuery(enrollmentParams, sqlParams);
-    sql +=
-        String.format(" LIMIT %d OFFSET %d", pageParams.getPageSize() + 1, pageParams.getOffset());
+    String sql = getQuery(enrollmentParams, pageParams, sqlParams);
+    if (isSeeking(enrollmentParams, pageParams)) {
+      sql += String.format(" LIMIT %d", pageParams.getPageSize() + 1);
+    } else {
+      sql +=
+          String.format(
+              " LIMIT %d OFFSET %d", pageParams.getPageSize() + 1, pageParams.getOffset());
+    }
 
     List<Enrollment> enrollments =
         jdbcTemplate.query(
@@ -482,7 +508,24 @@ class JdbcEnrollmentStore {
             new EnrollmentRowMapper(
                 enrollmentParams.isIncludeAttributes(),
                 enrollmentParams.getEnrolledInTrackerProgram()));
-    return new Page<>(enrollments, pageParams, () -> countEnrollments(enrollmentParams));
+    Page<Enrollment> page =
+        new Page<>(enrollments, pageParams, () -> countEnrollments(enrollmentParams));
+    if (!isKeysetPaged(enrollmentParams)) {
+      return page;
+    }
+    return page.withNextPageToken(enrollment -> PageToken.of(enrollment.getId()));
+  }
+
+  /**
+   * Enrollments in their default order can be paged using a {@link PageToken} which seeks past the
+   * last enrollment of the previous page via its primary key.
+   */
+  private static boolean isKeysetPaged(EnrollmentQueryParams params) {
+    return params.getOrder() == null || params.getOrder().isEmpty();
+  }
+
+  private static boolean isSeeking(EnrollmentQueryParams params, PageParams pageParams) {
+    return pageParams != null && pageParams.hasPageToken() && isKeysetPaged(params);
   }
 
   private long countEnrollments(EnrollmentQueryParams params) {
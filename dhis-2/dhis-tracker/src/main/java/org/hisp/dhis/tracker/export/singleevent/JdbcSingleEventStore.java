@@ -41,7 +41,10 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -76,6 +79,7 @@ import org.hisp.dhis.system.util.SqlUtils;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.Page;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.export.Geometries;
@@ -116,6 +120,12 @@ class JdbcSingleEventStore {
 
   private static final String DEFAULT_ORDER = "ev_occurreddate desc, ev_id desc";
 
+  /**
+   * Order key of page tokens pointing to an event without an occurred date. Such events are sorted
+   * first by the default order, as if they occurred after any other event.
+   */
+  private static final long NULL_OCCURRED_DATE_ORDER_KEY = Long.MAX_VALUE;
+
   private static final String PK_COLUMN = "ev_id";
 
   /**
@@ -157,7 +167,40 @@ class JdbcSingleEventStore {
 
   public Page<SingleEvent> getEvents(SingleEventQueryParams queryParams, PageParams pageParams) {
     List<SingleEvent> events = fetchEvents(queryParams, pageParams);
-    return new Page<>(events, pageParams, () -> getEventCount(queryParams));
+    Page<SingleEvent> page = new Page<>(events, pageParams, () -> getEventCount(queryParams));
+    if (!isKeysetPaged(queryParams)) {
+      return page;
+    }
+    return page.withNextPageToken(JdbcSingleEventStore::toPageToken);
+  }
+
+  /**
+   * Events in their default order can be paged using a {@link PageToken} which seeks past the last
+   * event of the previous page via its occurred date and primary key.
+   */
+  private static boolean isKeysetPaged(SingleEventQueryParams queryParams) {
+    return queryParams.getOrder().isEmpty();
+  }
+
+  private static boolean isSeeking(SingleEventQueryParams queryParams, PageParams pageParams) {
+    return pageParams != null
+        && pageParams.hasPageToken()
+        && pageParams.getPageToken().hasOrderKey()
+        && isKeysetPaged(queryParams);
+  }
+
+  /**
+   * Events without an occurred date are sorted first by the default order. Their token has the
+   * order key {@link #NULL_OCCURRED_DATE_ORDER_KEY}.
+   */
+  private static PageToken toPageToken(SingleEvent event) {
+    if (event.getOccurredDate() == null) {
+      return new PageToken(NULL_OCCURRED_DATE_ORDER_KEY, event.getId());
+    }
+    // Timestamp.toInstant() keeps the microseconds stored by Postgres
+    long occurredDate =
+        ChronoUnit.MICROS.between(Instant.EPOCH, event.getOccurredDate().toInstant());
+    return new PageToken(occurredDate, event.getId());
   }
 
   private List<SingleEvent> fetchEvents(SingleEventQueryParams queryParams, PageParams pageParams) {
@@ -198,6 +241,7 @@ class JdbcSingleEventStore {
               event = eventsByUid.get(eventUid);
             } else {
               event = new SingleEvent();
+              event.setId(resultSet.getLong("ev_id"));
               event.setUid(eventUid);
               eventsByUid.put(eventUid, event);
               dataElementUids.put(eventUid, new HashSet<>());
@@ -525,12 +569,12 @@ class JdbcSingleEventStore {
     }
     sqlBuilder.append(" from (");
 
-    sqlBuilder.append(getQuery(queryParams, mapSqlParameterSource, user));
+    sqlBuilder.append(getQuery(queryParams, pageParams, mapSqlParameterSource, user));
 
     sqlBuilder.append(getOrderQuery(queryParams));
 
     if (pageParams != null) {
-      sqlBuilder.append(getLimitAndOffsetClause(pageParams));
+      sqlBuilder.append(getLimitAndOffsetClause(queryParams, pageParams));
     }
 
     sqlBuilder.append(") as event left join (");
@@ -570,7 +614,10 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
    * </pre>
    */
   private String getQuery(
-      SingleEventQueryParams params, MapSqlParameterSource sqlParams, UserDetails user) {
+      SingleEventQueryParams params,
+      PageParams pageParams,
+      MapSqlParameterSource sqlParams,
+      UserDetails user) {
     StringBuilder sql = new StringBuilder();
     addSelect(sql, params, sqlParams);
     sql.append(" from singleevent ev ");
@@ -581,7 +628,7 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     addJoinOnOrgUnit(sql);
     addLeftJoinOnAssignedUser(sql);
     addJoinOnCategoryOptionCombo(sql, user);
-    addWhereConditions(sql, sqlParams, params);
+    addWhereConditions(sql, sqlParams, params, pageParams);
     return sql.toString();
   }
 
@@ -717,7 +764,10 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
   }
 
   private void addWhereConditions(
-      StringBuilder sql, MapSqlParameterSource sqlParams, SingleEventQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      SingleEventQueryParams params,
+      PageParams pageParams) {
     SqlHelper hlp = new SqlHelper(true);
     addDataElementConditions(sql, sqlParams, params);
     addProgramConditions(sql, sqlParams, params, hlp);
@@ -730,6 +780,7 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     addEventConditions(sql, sqlParams, params, hlp);
     addAssignedUserConditions(sql, sqlParams, params, hlp);
     addDeletedCondition(sql, params, hlp);
+    addPageTokenCondition(sql, sqlParams, params, pageParams, hlp);
   }
 
   private void addDataElementConditions(
@@ -907,9 +958,48 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     }
   }
 
-  private String getLimitAndOffsetClause(final PageParams pageParams) {
+  /**
+   * Seeks past the last event of the previous page. Only applies to the default order {@code
+   * ev_occurreddate desc, ev_id desc}. Events without an occurred date are sorted first, so a page
+   * following an event without an occurred date starts with the remaining events without an
+   * occurred date. Events with an occurred date never precede one without, so the row comparison
+   * excludes events without an occurred date.
+   */
+  private void addPageTokenCondition(
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      SingleEventQueryParams params,
+      PageParams pageParams,
+      SqlHelper hlp) {
+    if (!isSeeking(params, pageParams)) {
+      return;
+    }
+
+    PageToken token = pageParams.getPageToken();
+    sqlParams.addValue("page_token_id", token.id());
+
+    if (token.orderKey() == NULL_OCCURRED_DATE_ORDER_KEY) {
+      sql.append(hlp.whereAnd())
+          .append(" (ev.occurreddate is not null or ev.eventid < :page_token_id) ");
+      return;
+    }
+
+    sqlParams.addValue(
+        "page_token_occurreddate",
+        Timestamp.from(Instant.EPOCH.plus(token.orderKey(), ChronoUnit.MICROS)),
+        Types.TIMESTAMP);
+    sql.append(hlp.whereAnd())
+        .append(" (ev.occurreddate, ev.eventid) < (:page_token_occurreddate, :page_token_id) ");
+  }
+
+  private String getLimitAndOffsetClause(
+      final SingleEventQueryParams params, final PageParams pageParams) {
     // get extra event to determine if there is a nextPage
-    return " limit " + (pageParams.getPageSize() + 1) + " offset " + pageParams.getOffset() + " ";
+    String limit = " limit " + (pageParams.getPageSize() + 1);
+    if (isSeeking(params, pageParams)) {
+      return limit + " ";
+    }
+    return limit + " offset " + pageParams.getOffset() + " ";
   }
 
   private String getOrderQuery(SingleEventQueryParams params) {
@@ -53,6 +53,7 @@ import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.Page;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.OrderJdbcClause;
 import org.hisp.dhis.tracker.model.TrackedEntity;
@@ -147,7 +148,24 @@ class JdbcTrackedEntityStore {
           new TrackedEntityIdentifiers(rowSet.getLong("trackedentityid"), rowSet.getString("uid")));
     }
 
-    return new Page<>(ids, pageParams, () -> getTrackedEntityCount(params));
+    Page<TrackedEntityIdentifiers> page =
+        new Page<>(ids, pageParams, () -> getTrackedEntityCount(params));
+    if (!isKeysetPaged(params)) {
+      return page;
+    }
+    return page.withNextPageToken(id -> PageToken.of(id.id()));
+  }
+
+  /**
+   * Tracked entities in their default order can be paged using a {@link PageToken} which seeks past
+   * the last tracked entity of the previous page via its primary key.
+   */
+  private static boolean isKeysetPaged(TrackedEntityQueryParams params) {
+    return params.getOrder().isEmpty();
+  }
+
+  private static boolean isSeeking(TrackedEntityQueryParams params, PageParams pageParams) {
+    return pageParams != null && pageParams.hasPageToken() && isKeysetPaged(params);
   }
 
   private void validateMaxTeLimit(TrackedEntityQueryParams params) {
@@ -236,21 +254,21 @@ class JdbcTrackedEntityStore {
     StringBuilder sql = new StringBuilder();
     addOuterSelect(sql, params);
     sql.append(" from (");
-    addSubqueryBody(sql, sqlParameters, params);
+    addSubqueryBody(sql, sqlParameters, params, pageParams);
     sql.append(" ");
     if (needsDistinctOnForEnrolledAt(params)) {
       addDistinctOnOrderBy(sql, params);
     } else {
       addOrderBy(sql, params);
       sql.append(" ");
-      addLimitAndOffset(sql, pageParams);
+      addLimitAndOffset(sql, params, pageParams);
     }
     sql.append(") ").append(MAIN_QUERY_ALIAS).append(" ");
     addOrderBy(sql, params);
     // LIMIT must be in outer query for DISTINCT ON (applied after final ORDER BY)
     if (needsDistinctOnForEnrolledAt(params)) {
       sql.append(" ");
-      addLimitAndOffset(sql, pageParams);
+      addLimitAndOffset(sql, params, pageParams);
     }
     return sql.toString();
   }
@@ -261,7 +279,7 @@ class JdbcTrackedEntityStore {
     StringBuilder sql = new StringBuilder("select count(trackedentityid) from (");
     addOuterSelect(sql, params);
     sql.append(" from (");
-    addSubqueryBody(sql, sqlParameters, params);
+    addSubqueryBody(sql, sqlParameters, params, null);
     sql.append(") ").append(MAIN_QUERY_ALIAS).append(" ");
     sql.append(") tecount");
     return sql.toString();
@@ -273,7 +291,7 @@ class JdbcTrackedEntityStore {
     StringBuilder sql = new StringBuilder("select count(trackedentityid) from (");
     addOuterSelect(sql, params);
     sql.append(" from (");
-    addSubqueryBody(sql, sqlParameters, params);
+    addSubqueryBody(sql, sqlParameters, params, null);
     sql.append(") ").append(MAIN_QUERY_ALIAS).append(" ");
     sql.append("limit ").append(getMaxTeLimit(params) + 1);
     sql.append(" ) tecount");
@@ -287,13 +305,19 @@ class JdbcTrackedEntityStore {
     }
   }
 
-  /** Builds the subquery SELECT, FROM, JOINs and WHERE. No ORDER BY or LIMIT. */
+  /**
+   * Builds the subquery SELECT, FROM, JOINs and WHERE. No ORDER BY or LIMIT. The WHERE seeks past
+   * the previous page if {@code pageParams} contain a {@link PageToken}.
+   */
   private void addSubqueryBody(
-      StringBuilder sql, MapSqlParameterSource sqlParameters, TrackedEntityQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParameters,
+      TrackedEntityQueryParams params,
+      PageParams pageParams) {
     addSubquerySelect(sql, params);
     sql.append(" from trackedentity ").append(MAIN_QUERY_ALIAS).append(" ");
     addSubqueryJoins(sql, sqlParameters, params);
-    addSubqueryWhere(sql, sqlParameters, params);
+    addSubqueryWhere(sql, sqlParameters, params, pageParams);
   }
 
   private void addSubqueryJoins(
@@ -311,11 +335,30 @@ class JdbcTrackedEntityStore {
   }
 
   private void addSubqueryWhere(
-      StringBuilder sql, MapSqlParameterSource sqlParameters, TrackedEntityQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParameters,
+      TrackedEntityQueryParams params,
+      PageParams pageParams) {
     SqlHelper sqlHelper = new SqlHelper(true);
     addAttributeFilterConditions(sql, sqlParameters, params, sqlHelper);
     addTrackedEntityConditions(sql, sqlParameters, params, sqlHelper);
     addEnrollmentAndEventExistsCondition(sql, sqlParameters, params, sqlHelper);
+    addPageTokenCondition(sql, sqlParameters, params, pageParams, sqlHelper);
+  }
+
+  /** Seeks past the last tracked entity of the previous page. Only applies to the default order. */
+  private void addPageTokenCondition(
+      StringBuilder sql,
+      MapSqlParameterSource sqlParameters,
+      TrackedEntityQueryParams params,
+      PageParams pageParams,
+      SqlHelper sqlHelper) {
+    if (isSeeking(params, pageParams)) {
+      sql.append(sqlHelper.whereAnd())
+          .append(MAIN_QUERY_ALIAS)
+          .append(".trackedentityid < :pageTokenId ");
+      sqlParameters.addValue("pageTokenId", pageParams.getPageToken().id());
+    }
   }
 
   /**
@@ -890,18 +933,21 @@ class JdbcTrackedEntityStore {
    * rows to consider. For DISTINCT ON queries the LIMIT is placed in the outer query instead (see
    * {@link #getQuery}).
    *
-   * <p>If page parameters are set, uses page size and offset. The validation in {@link
-   * TrackedEntityOperationParamsMapper} guarantees the page size is within the system limit.
-   * Otherwise, falls back to the system-wide max TE limit.
+   * <p>If page parameters are set, uses page size and offset. No offset is needed when seeking
+   * using a {@link PageToken}. The validation in {@link TrackedEntityOperationParamsMapper}
+   * guarantees the page size is within the system limit. Otherwise, falls back to the system-wide
+   * max TE limit.
    */
-  private void addLimitAndOffset(StringBuilder sql, PageParams pageParams) {
+  private void addLimitAndOffset(
+      StringBuilder sql, TrackedEntityQueryParams params, PageParams pageParams) {
     int systemMaxLimit = settingsProvider.getCurrentSettings().getTrackedEntityMaxLimit();
 
     if (pageParams != null) {
       sql.append("limit ")
-          .append(pageParams.getPageSize() + 1) // get extra te to determine if there is a nextPage
-          .append(" offset ")
-          .append(pageParams.getOffset());
+          .append(pageParams.getPageSize() + 1); // get extra te to determine if there is a nextPage
+      if (!isSeeking(params, pageParams)) {
+        sql.append(" offset ").append(pageParams.getOffset());
+      }
     } else if (systemMaxLimit > 0) {
       sql.append("limit ").append(systemMaxLimit);
     }
@@ -78,6 +78,7 @@ import org.hisp.dhis.system.util.SqlUtils;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.Page;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.export.Geometries;
@@ -168,7 +169,23 @@ class JdbcTrackerEventStore {
 
   public Page<TrackerEvent> getEvents(TrackerEventQueryParams queryParams, PageParams pageParams) {
     List<TrackerEvent> events = fetchEvents(queryParams, pageParams);
-    return new Page<>(events, pageParams, () -> getEventCount(queryParams));
+    Page<TrackerEvent> page = new Page<>(events, pageParams, () -> getEventCount(queryParams));
+    if (!isKeysetPaged(queryParams)) {
+      return page;
+    }
+    return page.withNextPageToken(event -> PageToken.of(event.getId()));
+  }
+
+  /**
+   * Events in their default order can be paged using a {@link PageToken} which seeks past the last
+   * event of the previous page via its primary key.
+   */
+  private static boolean isKeysetPaged(TrackerEventQueryParams queryParams) {
+    return queryParams.getOrder().isEmpty();
+  }
+
+  private static boolean isSeeking(TrackerEventQueryParams queryParams, PageParams pageParams) {
+    return pageParams != null && pageParams.hasPageToken() && isKeysetPaged(queryParams);
   }
 
   private List<TrackerEvent> fetchEvents(
@@ -211,6 +228,7 @@ class JdbcTrackerEventStore {
               event = eventsByUid.get(eventUid);
             } else {
               event = new TrackerEvent();
+              event.setId(resultSet.getLong("ev_id"));
               event.setUid(eventUid);
               eventsByUid.put(eventUid, event);
               dataElementUids.put(eventUid, new HashSet<>());
@@ -464,12 +482,12 @@ class JdbcTrackerEventStore {
     }
     sqlBuilder.append(" from (");
 
-    sqlBuilder.append(getQuery(queryParams, mapSqlParameterSource, user));
+    sqlBuilder.append(getQuery(queryParams, pageParams, mapSqlParameterSource, user));
 
     sqlBuilder.append(getOrderQuery(queryParams));
 
     if (pageParams != null) {
-      sqlBuilder.append(getLimitAndOffsetClause(pageParams));
+      sqlBuilder.append(getLimitAndOffsetClause(queryParams, pageParams));
     }
 
     sqlBuilder.append(") as event left join (");
@@ -515,7 +533,10 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
    * </pre>
    */
   private String getQuery(
-      TrackerEventQueryParams params, MapSqlParameterSource sqlParams, UserDetails user) {
+      TrackerEventQueryParams params,
+      PageParams pageParams,
+      MapSqlParameterSource sqlParams,
+      UserDetails user) {
     StringBuilder sql = new StringBuilder();
     addSelect(sql, params);
     sql.append(" from trackerevent ev ");
@@ -534,7 +555,7 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     addLeftJoinOnAssignedUser(sql);
     addJoinOnAttributes(sql, params);
     addJoinOnCategoryOptionCombo(sql, user);
-    addWhereConditions(sql, sqlParams, params);
+    addWhereConditions(sql, sqlParams, params, pageParams);
     return sql.toString();
   }
 
@@ -883,7 +904,10 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
   }
 
   private void addWhereConditions(
-      StringBuilder sql, MapSqlParameterSource sqlParams, TrackerEventQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      TrackerEventQueryParams params,
+      PageParams pageParams) {
     SqlHelper hlp = new SqlHelper(true);
     addDataElementConditions(sql, sqlParams, params);
     addAttributeFilterConditions(sql, sqlParams, params, hlp);
@@ -900,6 +924,7 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     addAssignedUserConditions(sql, sqlParams, params, hlp);
     addDeletedCondition(sql, params, hlp);
     addEnrollmentUidConditions(sql, sqlParams, params, hlp);
+    addPageTokenCondition(sql, sqlParams, params, pageParams, hlp);
   }
 
   private void addDataElementConditions(
@@ -1192,9 +1217,27 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     }
   }
 
-  private String getLimitAndOffsetClause(final PageParams pageParams) {
+  /** Seeks past the last event of the previous page. Only applies to the default order. */
+  private void addPageTokenCondition(
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      TrackerEventQueryParams params,
+      PageParams pageParams,
+      SqlHelper hlp) {
+    if (isSeeking(params, pageParams)) {
+      sqlParams.addValue("page_token_id", pageParams.getPageToken().id());
+      sql.append(hlp.whereAnd()).append(" ev.eventid < :page_token_id ");
+    }
+  }
+
+  private String getLimitAndOffsetClause(
+      final TrackerEventQueryParams params, final PageParams pageParams) {
     // get extra event to determine if there is a nextPage
-    return " limit " + (pageParams.getPageSize() + 1) + " offset " + pageParams.getOffset() + " ";
+    String limit = " limit " + (pageParams.getPageSize() + 1);
+    if (isSeeking(params, pageParams)) {
+      return limit + " ";
+    }
+    return limit + " offset " + pageParams.getOffset() + " ";
   }
 
   private String getOrderQuery(TrackerEventQueryParams params) {
@@ -44,6 +44,7 @@ import org.hisp.dhis.tracker.imports.bundle.TrackerBundleService;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.notification.NotificationDispatcher;
 import org.hisp.dhis.tracker.imports.preprocess.Preprocessor;
+import org.hisp.dhis.tracker.imports.programrule.engine.RuleEngineStatistics;
 import org.hisp.dhis.tracker.imports.report.Error;
 import org.hisp.dhis.tracker.imports.report.ImportReport;
 import org.hisp.dhis.tracker.imports.report.PersistenceReport;
@@ -88,6 +89,8 @@ public class DefaultTrackerImportService implements TrackerImportService {
     TrackerBundle trackerBundle =
         jobProgress.nonNullStagePostCondition(
             jobProgress.runStage(
+                null,
+                DefaultTrackerImportService::preheatSummary,
                 () -> trackerBundleService.create(params, trackerObjects, currentUser)));
 
     jobProgress.startingStage("Running PreProcess");
@@ -102,7 +105,10 @@ public class DefaultTrackerImportService implements TrackerImportService {
 
     if (!trackerBundle.isSkipRuleEngine() && !params.getImportStrategy().isDelete()) {
       jobProgress.startingStage("Running Rule Engine");
-      jobProgress.runStage(() -> trackerBundleService.runRuleEngine(trackerBundle));
+      jobProgress.runStage(
+          null,
+          DefaultTrackerImportService::ruleEngineSummary,
+          () -> trackerBundleService.runRuleEngine(trackerBundle));
 
       jobProgress.startingStage("Running Rule Engine Validation");
       ValidationResult result =
@@ -154,6 +160,35 @@ public class DefaultTrackerImportService implements TrackerImportService {
     return validationReport.hasErrors() && params.getAtomicMode() == AtomicMode.ALL;
   }
 
+  /**
+   * Summarizes the time each preheat supplier took, for example {@code ClassBasedSupplier 12ms}.
+   */
+  private static String preheatSummary(TrackerBundle bundle) {
+    return bundle.getPreheat().getSupplierTimings().entrySet().stream()
+        .map(e -> e.getKey() + " " + e.getValue().toMillis() + "ms")
+        .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Summarizes the rule engine evaluation, for example {@code Evaluated 10 enrollments and 40
+   * events in 50ms (1000/s)}.
+   */
+  private static String ruleEngineSummary(TrackerBundle bundle) {
+    RuleEngineStatistics statistics = bundle.getRuleEngineStatistics();
+    if (statistics == null) {
+      return null;
+    }
+
+    long millis = statistics.duration().toMillis();
+    long evaluated = (long) statistics.enrollments() + statistics.events();
+    return String.format(
+        "Evaluated %d enrollments and %d events in %dms (%d/s)",
+        statistics.enrollments(),
+        statistics.events(),
+        millis,
+        evaluated * 1000 / Math.max(millis, 1));
+  }
+
   /**
    * Calculates the payload size for each {@link TrackerType}, combining data from both the {@link
    * TrackerBundle} and the {@link ValidationReport}.
@@ -59,6 +59,7 @@ import org.hisp.dhis.tracker.imports.domain.TrackerDto;
 import org.hisp.dhis.tracker.imports.domain.TrackerEvent;
 import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
 import org.hisp.dhis.tracker.imports.programrule.engine.Notification;
+import org.hisp.dhis.tracker.imports.programrule.engine.RuleEngineStatistics;
 import org.hisp.dhis.tracker.imports.programrule.executor.RuleActionExecutor;
 import org.hisp.dhis.user.UserDetails;
 
@@ -140,6 +141,9 @@ public class TrackerBundle {
   @Builder.Default
   private Map<Event, List<RuleActionExecutor<Event>>> eventRuleActionExecutors = new HashMap<>();
 
+  /** Statistics of the rule engine evaluation (or null if rule engine not run yet). */
+  private RuleEngineStatistics ruleEngineStatistics;
+
   @Builder.Default
   private Map<TrackerType, Map<UID, TrackerImportStrategy>> resolvedStrategyMap = initStrategyMap();
 
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.bundle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.tracker.TrackerType;
+import org.hisp.dhis.tracker.imports.domain.Enrollment;
+import org.hisp.dhis.tracker.imports.domain.Relationship;
+import org.hisp.dhis.tracker.imports.domain.RelationshipItem;
+import org.hisp.dhis.tracker.imports.domain.TrackerDto;
+import org.hisp.dhis.tracker.imports.domain.TrackerEvent;
+
+/**
+ * Splits a {@link TrackerBundle} into bundles of independent entity graphs. Two entities are
+ * dependent if one references the other: an enrollment its tracked entity, a tracker event its
+ * enrollment (and the tracked entity of a saved enrollment) and a relationship the entities it
+ * links. Dependent entities always end up in the same partition so that validating partitions on
+ * their own yields the same result as validating the whole bundle.
+ *
+ * <p>Partitions share the {@link TrackerBundle#getPreheat()} and all other settings of the bundle.
+ * They are meant to be read concurrently, the preheat must thus not be modified while partitions
+ * are processed.
+ */
+public final class TrackerBundlePartitioner {
+  private TrackerBundlePartitioner() {
+    throw new UnsupportedOperationException("util");
+  }
+
+  /**
+   * Partition the entities of given bundle into at most {@code partitions} bundles of roughly equal
+   * size. Entities keep their order within a partition.
+   *
+   * @param bundle bundle to partition
+   * @param partitions maximum number of partitions to create
+   * @return bundles containing disjoint sets of entities
+   */
+  @Nonnull
+  public static List<TrackerBundle> partition(@Nonnull TrackerBundle bundle, int partitions) {
+    Components components = new Components();
+    bundle.getTrackedEntities().forEach(components::add);
+    for (Enrollment enrollment : bundle.getEnrollments()) {
+      components.add(enrollment);
+      components.union(enrollment, TrackerType.TRACKED_ENTITY, enrollment.getTrackedEntity());
+    }
+    for (TrackerEvent event : bundle.getTrackerEvents()) {
+      components.add(event);
+      components.union(event, TrackerType.ENROLLMENT, event.getEnrollment());
+      org.hisp.dhis.tracker.model.Enrollment savedEnrollment =
+          event.getEnrollment() == null
+              ? null
+              : bundle.getPreheat().getEnrollment(event.getEnrollment());
+      if (savedEnrollment != null && savedEnrollment.getTrackedEntity() != null) {
+        components.union(
+            event, TrackerType.TRACKED_ENTITY, UID.of(savedEnrollment.getTrackedEntity().getUid()));
+      }
+    }
+    bundle.getSingleEvents().forEach(components::add);
+    for (Relationship relationship : bundle.getRelationships()) {
+      components.add(relationship);
+      components.union(relationship, relationship.getFrom());
+      components.union(relationship, relationship.getTo());
+    }
+
+    Map<Node, Integer> partitionByComponent = components.assign(partitions);
+    int partitionCount = (int) partitionByComponent.values().stream().distinct().count();
+    List<TrackerBundle> result = new ArrayList<>(partitionCount);
+    for (int i = 0; i < partitionCount; i++) {
+      int partition = i;
+      Predicate<TrackerDto> inPartition =
+          dto -> partitionByComponent.get(components.find(Node.of(dto))) == partition;
+      result.add(
+          copySettings(bundle)
+              .trackedEntities(filter(bundle.getTrackedEntities(), inPartition))
+              .enrollments(filter(bundle.getEnrollments(), inPartition))
+              .trackerEvents(filter(bundle.getTrackerEvents(), inPartition))
+              .singleEvents(filter(bundle.getSingleEvents(), inPartition))
+              .relationships(filter(bundle.getRelationships(), inPartition))
+              .build());
+    }
+    return result;
+  }
+
+  private static TrackerBundle.TrackerBundleBuilder copySettings(TrackerBundle bundle) {
+    return TrackerBundle.builder()
+        .user(bundle.getUser())
+        .importMode(bundle.getImportMode())
+        .importStrategy(bundle.getImportStrategy())
+        .skipTextPatternValidation(bundle.isSkipTextPatternValidation())
+        .skipSideEffects(bundle.isSkipSideEffects())
+        .skipRuleEngine(bundle.isSkipRuleEngine())
+        .atomicMode(bundle.getAtomicMode())
+        .flushMode(bundle.getFlushMode())
+        .validationMode(bundle.getValidationMode())
+        .preheat(bundle.getPreheat())
+        .resolvedStrategyMap(bundle.getResolvedStrategyMap())
+        .enrollmentRuleActionExecutors(bundle.getEnrollmentRuleActionExecutors())
+        .eventRuleActionExecutors(bundle.getEventRuleActionExecutors());
+  }
+
+  private static <T extends TrackerDto> List<T> filter(
+      List<T> entities, Predicate<TrackerDto> inPartition) {
+    return new ArrayList<>(entities.stream().filter(inPartition).toList());
+  }
+
+  private record Node(TrackerType type, UID uid) {
+    static Node of(TrackerDto dto) {
+      return new Node(dto.getTrackerType(), dto.getUID());
+    }
+  }
+
+  /** Union-find over the entities of a bundle and the entities they reference. */
+  private static final class Components {
+    private final Map<Node, Node> parents = new HashMap<>();
+
+    private final Map<Node, Integer> sizes = new HashMap<>();
+
+    void add(TrackerDto dto) {
+      Node node = Node.of(dto);
+      parents.putIfAbsent(node, node);
+      sizes.merge(find(node), 1, Integer::sum);
+    }
+
+    void union(TrackerDto dto, RelationshipItem item) {
+      if (item == null) {
+        return;
+      }
+      union(dto, TrackerType.TRACKED_ENTITY, item.getTrackedEntity());
+      union(dto, TrackerType.ENROLLMENT, item.getEnrollment());
+      union(dto, TrackerType.EVENT, item.getEvent());
+    }
+
+    void union(TrackerDto dto, TrackerType type, UID uid) {
+      if (uid == null) {
+        return;
+      }
+      Node other = new Node(type, uid);
+      parents.putIfAbsent(other, other);
+
+      Node a = find(Node.of(dto));
+      Node b = find(other);
+      if (a.equals(b)) {
+        return;
+      }
+      int sizeA = sizes.getOrDefault(a, 0);
+      int sizeB = sizes.getOrDefault(b, 0);
+      if (sizeA < sizeB) {
+        Node tmp = a;
+        a = b;
+        b = tmp;
+      }
+      parents.put(b, a);
+      sizes.put(a, sizeA + sizeB);
+      sizes.remove(b);
+    }
+
+    Node find(Node node) {
+      Node root = node;
+      while (!parents.get(root).equals(root)) {
+        root = parents.get(root);
+      }
+      // compress the path so later lookups are constant
+      while (!node.equals(root)) {
+        Node parent = parents.get(node);
+        parents.put(node, root);
+        node = parent;
+      }
+      return root;
+    }
+
+    /**
+     * Assigns components to partitions, largest component first to the partition with the least
+     * entities.
+     */
+    Map<Node, Integer> assign(int partitions) {
+      List<Map.Entry<Node, Integer>> roots =
+          sizes.entrySet().stream()
+              .filter(e -> e.getValue() > 0)
+              .sorted(Map.Entry.<Node, Integer>comparingByValue().reversed())
+              .toList();
+      int partitionCount = Math.max(1, Math.min(partitions, roots.size()));
+
+      PriorityQueue<int[]> loads =
+          new PriorityQueue<>(
+              Comparator.<int[]>comparingInt(l -> l[1]).thenComparingInt(l -> l[0]));
+      for (int i = 0; i < partitionCount; i++) {
+        loads.add(new int[] {i, 0});
+      }
+
+      Map<Node, Integer> partitionByComponent = new HashMap<>();
+      for (Map.Entry<Node, Integer> root : roots) {
+        int[] load = loads.poll();
+        partitionByComponent.put(root.getKey(), load[0]);
+        load[1] += root.getValue();
+        loads.add(load);
+      }
+      return partitionByComponent;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.bundle.persister;
+
+import static org.hisp.dhis.changelog.ChangeLogType.CREATE;
+import static org.hisp.dhis.changelog.ChangeLogType.UPDATE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.eventdatavalue.EventDataValue;
+import org.hisp.dhis.program.UserInfoSnapshot;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.tracker.model.TrackedEntity;
+import org.hisp.dhis.tracker.model.TrackedEntityAttributeValue;
+import org.hisp.dhis.tracker.model.TrackerEvent;
+import org.hisp.dhis.user.UserDetails;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Writes values assigned by program rules outside a tracker import back to the database. Changes
+ * are staged on the given entities and applied through the same JDBC writers and change logs the
+ * tracker import uses on {@link #flush()}.
+ *
+ * <p>The entities must not be managed by a writable Hibernate session, otherwise the changes are
+ * written twice.
+ */
+public class RuleAssignmentWriter {
+  private final DataSource dataSource;
+
+  private final UserDetails user;
+
+  private final EntityWriteBatch batch;
+
+  private final ChangeLogAccumulator changeLogs = new ChangeLogAccumulator();
+
+  private final Set<TrackerEvent> updatedEvents =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private final Set<TrackedEntity> updatedTrackedEntities =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+
+  public RuleAssignmentWriter(
+      @Nonnull DataSource dataSource,
+      @Nonnull ObjectMapper objectMapper,
+      @Nonnull UserDetails user) {
+    this.dataSource = dataSource;
+    this.user = user;
+    this.batch = new EntityWriteBatch(objectMapper);
+  }
+
+  /**
+   * Stages the assignment of {@code value} to the data value of {@code dataElement} of {@code
+   * event}.
+   */
+  public void assignDataValue(
+      @Nonnull TrackerEvent event, @Nonnull DataElement dataElement, @Nonnull String value) {
+    Date now = new Date();
+    UserInfoSnapshot userInfo = UserInfoSnapshot.from(user);
+    EventDataValue dataValue =
+        event.getEventDataValues().stream()
+            .filter(dv -> dataElement.getUid().equals(dv.getDataElement()))
+            .findFirst()
+            .orElse(null);
+
+    if (dataValue == null) {
+      dataValue = new EventDataValue();
+      dataValue.setDataElement(dataElement.getUid());
+      dataValue.setCreated(now);
+      dataValue.setCreatedByUserInfo(userInfo);
+      event.getEventDataValues().add(dataValue);
+      changeLogs.addTrackerEventChangeLog(
+          event,
+          dataElement,
+          event.getProgramStage().getProgram(),
+          null,
+          value,
+          CREATE,
+          user.getUsername());
+    } else {
+      changeLogs.addTrackerEventChangeLog(
+          event,
+          dataElement,
+          event.getProgramStage().getProgram(),
+          dataValue.getValue(),
+          value,
+          UPDATE,
+          user.getUsername());
+    }
+    dataValue.setValue(value);
+    dataValue.setLastUpdated(now);
+    dataValue.setLastUpdatedByUserInfo(userInfo);
+
+    if (updatedEvents.add(event)) {
+      event.setLastUpdated(now);
+      event.setLastUpdatedByUserInfo(userInfo);
+      batch.stageUpdate(event);
+    }
+  }
+
+  /**
+   * Stages the assignment of {@code value} to the value of {@code attribute} of {@code
+   * trackedEntity}.
+   */
+  public void assignAttributeValue(
+      @Nonnull TrackedEntity trackedEntity,
+      @Nonnull TrackedEntityAttribute attribute,
+      @Nonnull String value) {
+    Date now = new Date();
+    TrackedEntityAttributeValue attributeValue =
+        trackedEntity.getTrackedEntityAttributeValues().stream()
+            .filter(av -> attribute.getUid().equals(av.getAttribute().getUid()))
+            .findFirst()
+            .orElse(null);
+
+    if (attributeValue == null) {
+      attributeValue = new TrackedEntityAttributeValue(attribute, trackedEntity);
+      attributeValue.setValue(value).setUpdatedBy(user.getUsername()).setLastUpdated(now);
+      trackedEntity.getTrackedEntityAttributeValues().add(attributeValue);
+      batch.stageTeavInsert(attributeValue);
+      changeLogs.addTrackedEntityChangeLog(
+          trackedEntity, attribute, null, value, CREATE, user.getUsername());
+    } else {
+      String previousValue = attributeValue.getValue();
+      attributeValue.setValue(value).setUpdatedBy(user.getUsername()).setLastUpdated(now);
+      batch.stageTeavUpdate(attributeValue);
+      changeLogs.addTrackedEntityChangeLog(
+          trackedEntity, attribute, previousValue, value, UPDATE, user.getUsername());
+    }
+
+    if (updatedTrackedEntities.add(trackedEntity)) {
+      trackedEntity.setLastUpdated(now);
+      trackedEntity.setLastUpdatedByUserInfo(UserInfoSnapshot.from(user));
+      batch.stageUpdate(trackedEntity);
+    }
+  }
+
+  /**
+   * Applies all staged changes on the connection bound to the current transaction.
+   *
+   * @return the number of events and tracked entities that were updated
+   */
+  public int flush() {
+    int updated = updatedEvents.size() + updatedTrackedEntities.size();
+    Connection conn = DataSourceUtils.getConnection(dataSource);
+    try {
+      batch.flush(conn);
+      changeLogs.flushAll(conn);
+    } catch (SQLException e) {
+      throw new PersistenceException(e);
+    } finally {
+      DataSourceUtils.releaseConnection(conn, dataSource);
+    }
+    updatedEvents.clear();
+    updatedTrackedEntities.clear();
+    return updated;
+  }
+}
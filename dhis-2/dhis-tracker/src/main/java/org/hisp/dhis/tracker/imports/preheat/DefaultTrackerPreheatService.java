@@ -30,14 +30,25 @@
 package org.hisp.dhis.tracker.imports.preheat;
 
 import java.beans.Introspector;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.preheat.PreheatException;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
+import org.hisp.dhis.tracker.imports.preheat.supplier.JdbcAbstractPreheatSupplier;
 import org.hisp.dhis.tracker.imports.preheat.supplier.PreheatSupplier;
+import org.hisp.dhis.tracker.imports.util.ThreadPools;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
@@ -53,6 +64,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class DefaultTrackerPreheatService
     implements TrackerPreheatService, ApplicationContextAware {
+  /**
+   * Threads running JDBC preheat supplier lookups. Bound to the number of JDBC suppliers as each
+   * lookup holds a database connection.
+   */
+  private static final Executor PREHEAT_THREAD_POOL =
+      ThreadPools.newFixedThreadPool("TRACKER-PREHEAT", 6);
+
   private ApplicationContext ctx;
 
   @Override
@@ -63,9 +81,20 @@ public class DefaultTrackerPreheatService
   @Qualifier("preheatOrder")
   private final List<String> preheatSuppliers;
 
+  private final DhisConfigurationProvider config;
+
+  private final PreheatSupplierMetrics metrics;
+
   // TODO this flag should be configurable
   private static final boolean FAIL_FAST_ON_PREHEAT_ERROR = false;
 
+  /**
+   * Runs the preheat suppliers in the configured order. With {@link
+   * ConfigurationKey#TRACKER_IMPORT_PREHEAT_CONCURRENT} enabled the database lookups of {@link
+   * JdbcAbstractPreheatSupplier}s are started in that order but run concurrently to the suppliers
+   * following them. Their results are added to the preheat once all suppliers ran. A JDBC supplier
+   * can thus only depend on suppliers preceding it and no supplier can depend on a JDBC supplier.
+   */
   @Nonnull
   @Override
   @Transactional(readOnly = true)
@@ -74,10 +103,22 @@ public class DefaultTrackerPreheatService
     TrackerPreheat preheat = new TrackerPreheat();
     preheat.setIdSchemes(idSchemeParams);
 
+    boolean concurrent = config.isEnabled(ConfigurationKey.TRACKER_IMPORT_PREHEAT_CONCURRENT);
+    Map<String, CompletableFuture<TimedResult>> lookups = new LinkedHashMap<>();
+
     for (String supplier : preheatSuppliers) {
       final String beanName = Introspector.decapitalize(supplier);
+      long start = System.nanoTime();
       try {
-        ctx.getBean(beanName, PreheatSupplier.class).add(trackerObjects, preheat);
+        PreheatSupplier preheatSupplier = ctx.getBean(beanName, PreheatSupplier.class);
+        if (concurrent && preheatSupplier instanceof JdbcAbstractPreheatSupplier jdbcSupplier) {
+          JdbcAbstractPreheatSupplier.Query query = jdbcSupplier.prepare(trackerObjects, preheat);
+          if (query != null) {
+            lookups.put(supplier, lookupAsync(query));
+          }
+        } else {
+          preheatSupplier.add(trackerObjects, preheat);
+        }
       } catch (BeansException beanException) {
         processException(
             "Unable to find a preheat supplier with name "
@@ -90,12 +131,47 @@ public class DefaultTrackerPreheatService
             "An error occurred while executing a preheat supplier with name " + supplier,
             e,
             supplier);
+      } finally {
+        addTiming(preheat, supplier, Duration.ofNanos(System.nanoTime() - start));
       }
     }
 
+    lookups.forEach(
+        (supplier, lookup) -> {
+          try {
+            TimedResult result = lookup.join();
+            result.addTo().accept(preheat);
+            addTiming(preheat, supplier, result.duration());
+          } catch (CompletionException e) {
+            processException(
+                "An error occurred while executing a preheat supplier with name " + supplier,
+                e,
+                supplier);
+          }
+        });
+
+    preheat.getSupplierTimings().forEach(metrics::record);
+
     return preheat;
   }
 
+  private static CompletableFuture<TimedResult> lookupAsync(
+      JdbcAbstractPreheatSupplier.Query query) {
+    return ThreadPools.supplyAsyncWithMdc(
+        () -> {
+          long start = System.nanoTime();
+          Consumer<TrackerPreheat> addTo = query.execute();
+          return new TimedResult(addTo, Duration.ofNanos(System.nanoTime() - start));
+        },
+        PREHEAT_THREAD_POOL);
+  }
+
+  private static void addTiming(TrackerPreheat preheat, String supplier, Duration duration) {
+    preheat.getSupplierTimings().merge(supplier, duration, Duration::plus);
+  }
+
+  private record TimedResult(Consumer<TrackerPreheat> addTo, Duration duration) {}
+
   private void processException(String message, Exception e, String supplier) {
     if (FAIL_FAST_ON_PREHEAT_ERROR) {
       throw new PreheatException(
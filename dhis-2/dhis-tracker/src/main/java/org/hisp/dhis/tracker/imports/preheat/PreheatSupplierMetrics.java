@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.preheat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.annotation.CheckForNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer timers for the tracker preheat, exposed through the Prometheus scrape endpoint at
+ * {@code /api/metrics}:
+ *
+ * <ul>
+ *   <li>{@code dhis.tracker.preheat.supplier} (tag {@code supplier}: simple class name of the
+ *       supplier): time spent by a preheat supplier including its database lookups
+ * </ul>
+ *
+ * <p>All timers are no-ops when no {@link MeterRegistry} is available in the application context.
+ */
+@Component
+public class PreheatSupplierMetrics {
+
+  static final String SUPPLIER_TIMER = "dhis.tracker.preheat.supplier";
+
+  private final MeterRegistry registry;
+
+  @Autowired
+  public PreheatSupplierMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+    this(registryProvider.getIfAvailable());
+  }
+
+  PreheatSupplierMetrics(@CheckForNull MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /** Records the time given preheat supplier took. */
+  public void record(String supplier, Duration duration) {
+    if (registry != null) {
+      registry.timer(SUPPLIER_TIMER, "supplier", supplier).record(duration);
+    }
+  }
+}
@@ -34,10 +34,12 @@ import static org.hisp.dhis.tracker.imports.util.RelationshipKeySupport.hasRelat
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -92,6 +94,9 @@ public class TrackerPreheat {
   private final Map<Class<? extends IdentifiableObject>, Map<String, IdentifiableObject>> map =
       new HashMap<>();
 
+  /** Time spent by each preheat supplier, in the order the suppliers ran. */
+  @Getter private final Map<String, Duration> supplierTimings = new LinkedHashMap<>();
+
   /** Internal map of all default object (like category option combo, etc). */
   private final Map<Class<? extends IdentifiableObject>, IdentifiableObject> defaults =
       new HashMap<>();
@@ -30,17 +30,21 @@
 package org.hisp.dhis.tracker.imports.preheat.cache;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.cache2k.Cache;
 import org.cache2k.Cache2kBuilder;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
@@ -48,28 +52,52 @@ import org.springframework.stereotype.Service;
 /**
  * Pre-heat cache implementation for metadata objects.
  *
+ * <p>Cached objects are detached copies created by the preheat mappers, so they can be shared by
+ * concurrent imports and must be treated as read-only. All cached objects belong to a {@link
+ * Snapshot} which is replaced by an empty one whenever metadata changes. Objects fetched before
+ * such a change are dropped instead of being added to the new snapshot.
+ *
  * @author Luciano Fiandesio
  */
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class DefaultPreheatCacheService implements PreheatCacheService {
+  private final DhisConfigurationProvider config;
+
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0));
+
   /**
-   * Data structure to hold the metadata cache:
+   * Data structure to hold the metadata cache of one version of the metadata:
    *
-   * <p>- the key is the full class name of the metadata class getting cached (e.g.
-   * "org.hisp.dhis.program.Program")
+   * <p>- the key is the simple class name of the metadata class getting cached (e.g. "Program")
    *
    * <p>- the value is a Cache2K cache holding the objects to cache
    *
    * <p>Caveat: this data structure may reference multiple times the same objects, if different
    * {@link TrackerIdScheme} are used during different imports.
    */
-  private static final Map<String, Cache<String, IdentifiableObject>> cache = new HashMap<>();
+  private record Snapshot(long version, Map<String, Cache<String, IdentifiableObject>> caches) {
+    Snapshot(long version) {
+      this(version, new ConcurrentHashMap<>());
+    }
+  }
+
+  @Override
+  public long getVersion() {
+    return snapshot.get().version();
+  }
 
   @Override
   public Optional<IdentifiableObject> get(final String cacheKey, final String id) {
-    if (isCacheEnabled() && cache.containsKey(cacheKey)) {
-      return Optional.ofNullable(cache.get(cacheKey).get(id));
+    Cache<String, IdentifiableObject> cache = snapshot.get().caches().get(cacheKey);
+    if (isCacheEnabled() && cache != null) {
+      try {
+        return Optional.ofNullable(cache.get(id));
+      } catch (IllegalStateException e) {
+        // the snapshot has been invalidated and its caches closed concurrently
+        return Optional.empty();
+      }
     }
 
     return Optional.empty();
@@ -86,6 +114,7 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
       throw new IllegalArgumentException("MappingFunction cannot be null");
     }
 
+    long version = getVersion();
     Optional<IdentifiableObject> value = get(cacheKey, id);
     if (value.isPresent()) {
       return value;
@@ -93,7 +122,7 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
 
     value = mappingFunction.apply(cacheKey, id);
     if (value.isPresent()) {
-      put(cacheKey, id, value.get(), cacheTTL, capacity);
+      put(cacheKey, id, value.get(), cacheTTL, capacity, version);
     }
 
     return value;
@@ -101,14 +130,15 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
 
   @Override
   public boolean hasKey(String cacheKey) {
-    return cache.containsKey(cacheKey);
+    return snapshot.get().caches().containsKey(cacheKey);
   }
 
   @Override
   public List<IdentifiableObject> getAll(String cacheKey) {
     List<IdentifiableObject> res = new ArrayList<>();
-    if (hasKey(cacheKey)) {
-      cache.get(cacheKey).keys().forEach(k -> res.add(cache.get(cacheKey).get(k)));
+    Cache<String, IdentifiableObject> cache = snapshot.get().caches().get(cacheKey);
+    if (cache != null) {
+      cache.keys().forEach(k -> res.add(cache.get(k)));
     }
     return res;
   }
@@ -120,24 +150,40 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
       IdentifiableObject object,
       final int cacheTTL,
       final long capacity) {
+    put(cacheKey, id, object, cacheTTL, capacity, getVersion());
+  }
+
+  @Override
+  public void put(
+      String cacheKey,
+      String id,
+      IdentifiableObject object,
+      int cacheTTL,
+      long capacity,
+      long version) {
     if (cacheKey == null || id == null || object == null) return;
 
-    if (isCacheEnabled()) {
-      if (cache.containsKey(cacheKey)) {
-        cache.get(cacheKey).put(id, object);
-      } else {
-        Cache<String, IdentifiableObject> c =
-            new Cache2kBuilder<String, IdentifiableObject>() {}.expireAfterWrite(
-                    cacheTTL, TimeUnit.MINUTES)
-                .name(cacheKey)
-                .permitNullValues(false)
-                .entryCapacity(capacity == -1 ? Long.MAX_VALUE : capacity)
-                .build();
-
-        c.put(id, object);
-
-        cache.put(cacheKey, c);
-      }
+    Snapshot current = snapshot.get();
+    if (!isCacheEnabled() || current.version() != version) {
+      return;
+    }
+
+    Cache<String, IdentifiableObject> cache =
+        current
+            .caches()
+            .computeIfAbsent(
+                cacheKey,
+                k ->
+                    new Cache2kBuilder<String, IdentifiableObject>() {}.expireAfterWrite(
+                            cacheTTL, TimeUnit.MINUTES)
+                        .name(cacheKey + "-" + current.version())
+                        .permitNullValues(false)
+                        .entryCapacity(capacity == -1 ? Long.MAX_VALUE : capacity)
+                        .build());
+    try {
+      cache.put(id, object);
+    } catch (IllegalStateException e) {
+      // the snapshot has been invalidated and its caches closed concurrently
     }
   }
 
@@ -149,17 +195,12 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
 
   @Override
   public void invalidateCache() {
-    cache.values().forEach(Cache::removeAll);
+    Snapshot previous = snapshot.getAndUpdate(s -> new Snapshot(s.version() + 1));
+    previous.caches().values().forEach(Cache::close);
+    log.debug("Invalidated tracker preheat cache version {}", previous.version());
   }
 
   private boolean isCacheEnabled() {
-    return false;
-
-    // Due to concerns and issues with the current cache implementation, we
-    // decided to
-    // deactivate the cache in the preheat completely for now.
-    // return !isTestRun( this.environment.getActiveProfiles() )
-    // && config.isEnabled(
-    // ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
+    return config.isEnabled(ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED);
   }
 }
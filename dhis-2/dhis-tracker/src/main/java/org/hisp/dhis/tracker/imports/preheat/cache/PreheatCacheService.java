@@ -95,7 +95,30 @@ public interface PreheatCacheService {
    */
   void put(String cacheKey, String id, IdentifiableObject object, int cacheTTL, long capacity);
 
-  /** Invalidates all caches. */
+  /**
+   * Adds an object to the pre-heat cache unless the cache was invalidated after given version. Pass
+   * the {@link #getVersion()} read before fetching the object, so that objects fetched before a
+   * metadata change do not end up in the cache.
+   *
+   * @param cacheKey the full class name of the object being cached
+   * @param id the identifier of the object being cached, used as cache key
+   * @param object The object being cached
+   * @param cacheTTL The amount of **minutes**
+   * @param capacity The maximum number of entries hold by the cache.
+   * @param version the cache version the object was fetched at
+   */
+  void put(
+      String cacheKey,
+      String id,
+      IdentifiableObject object,
+      int cacheTTL,
+      long capacity,
+      long version);
+
+  /** Version of the cache, incremented every time the cache is invalidated. */
+  long getVersion();
+
+  /** Invalidates all caches by replacing them with empty ones of the next version. */
   void invalidateCache();
 
   /**
@@ -64,11 +64,15 @@ public class EnrollmentsWithAtLeastOneEventSupplier extends JdbcAbstractPreheatS
   }
 
   @Override
-  public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+  public Query prepare(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     List<Long> enrollmentIds =
         preheat.getEnrollments().values().stream().map(IdentifiableObject::getId).toList();
 
-    if (!enrollmentIds.isEmpty()) {
+    if (enrollmentIds.isEmpty()) {
+      return null;
+    }
+
+    return () -> {
       List<UID> uids = new ArrayList<>();
 
       MapSqlParameterSource parameters = new MapSqlParameterSource();
@@ -79,7 +83,7 @@ public class EnrollmentsWithAtLeastOneEventSupplier extends JdbcAbstractPreheatS
           rs -> {
             uids.add(UID.of(rs.getString(COLUMN)));
           });
-      preheat.setEnrollmentsWithOneOrMoreNonDeletedEvent(uids);
-    }
+      return p -> p.setEnrollmentsWithOneOrMoreNonDeletedEvent(uids);
+    };
   }
 }
@@ -29,6 +29,10 @@
  */
 package org.hisp.dhis.tracker.imports.preheat.supplier;
 
+import java.util.function.Consumer;
+import javax.annotation.CheckForNull;
+import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
+import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -36,6 +40,12 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 /**
  * Allows a {@link PreheatSupplier} to access the database using JDBC.
  *
+ * <p>Suppliers split their work into three steps so that the database lookup can run on a different
+ * thread and connection than the one building the {@link TrackerPreheat}. {@link
+ * #prepare(TrackerObjects, TrackerPreheat)} collects what to look up, {@link Query#execute()} runs
+ * the lookup without touching the preheat and the returned {@link Consumer} adds the results to the
+ * preheat.
+ *
  * @author Luciano Fiandesio
  */
 public abstract class JdbcAbstractPreheatSupplier extends AbstractPreheatSupplier {
@@ -45,4 +55,33 @@ public abstract class JdbcAbstractPreheatSupplier extends AbstractPreheatSupplie
       @Qualifier("readOnlyJdbcTemplate") JdbcTemplate jdbcTemplate) {
     this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
   }
+
+  @Override
+  public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+    Query query = prepare(trackerObjects, preheat);
+    if (query != null) {
+      query.execute().accept(preheat);
+    }
+  }
+
+  /**
+   * Collects the parameters of the lookup from the payload and the preheat. Runs on the thread
+   * building the preheat.
+   *
+   * @return the lookup or null if there is nothing to look up
+   */
+  @CheckForNull
+  public abstract Query prepare(TrackerObjects trackerObjects, TrackerPreheat preheat);
+
+  /** Database lookup of a {@link JdbcAbstractPreheatSupplier}. */
+  @FunctionalInterface
+  public interface Query {
+    /**
+     * Runs the lookup. Must not access the {@link TrackerPreheat} as it might run concurrently to
+     * other suppliers.
+     *
+     * @return adds the results of the lookup to the preheat
+     */
+    Consumer<TrackerPreheat> execute();
+  }
 }
@@ -81,17 +81,21 @@ public class OptionValueSupplier extends JdbcAbstractPreheatSupplier {
   }
 
   @Override
-  public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+  public Query prepare(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     Set<Pair<Long, String>> candidates = collectCandidates(trackerObjects, preheat);
 
     if (candidates.isEmpty()) {
-      return;
+      return null;
     }
 
-    for (List<Pair<Long, String>> chunk :
-        Lists.partition(new ArrayList<>(candidates), Constant.SPLIT_LIST_PARTITION_SIZE)) {
-      queryChunk(chunk, preheat);
-    }
+    return () -> {
+      List<Pair<Long, String>> valid = new ArrayList<>();
+      for (List<Pair<Long, String>> chunk :
+          Lists.partition(new ArrayList<>(candidates), Constant.SPLIT_LIST_PARTITION_SIZE)) {
+        valid.addAll(queryChunk(chunk));
+      }
+      return p -> valid.forEach(pair -> p.addValidOptionCode(pair.getLeft(), pair.getRight()));
+    };
   }
 
   Set<Pair<Long, String>> collectCandidates(TrackerObjects trackerObjects, TrackerPreheat preheat) {
@@ -152,7 +156,7 @@ public class OptionValueSupplier extends JdbcAbstractPreheatSupplier {
     }
   }
 
-  private void queryChunk(List<Pair<Long, String>> chunk, TrackerPreheat preheat) {
+  private List<Pair<Long, String>> queryChunk(List<Pair<Long, String>> chunk) {
     Long[] optionSetIds = new Long[chunk.size()];
     String[] codes = new String[chunk.size()];
     for (int i = 0; i < chunk.size(); i++) {
@@ -178,10 +182,12 @@ public class OptionValueSupplier extends JdbcAbstractPreheatSupplier {
                   return null;
                 });
 
+    List<Pair<Long, String>> valid = new ArrayList<>();
     for (Pair<Long, String> pair : chunk) { // NOSONAR confirmed comes from the query in between
       if (confirmed.contains(pair)) {
-        preheat.addValidOptionCode(pair.getLeft(), pair.getRight());
+        valid.add(pair);
       }
     }
+    return valid;
   }
 }
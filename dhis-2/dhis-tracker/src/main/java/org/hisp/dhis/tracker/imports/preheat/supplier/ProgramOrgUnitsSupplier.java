@@ -59,7 +59,7 @@ public class ProgramOrgUnitsSupplier extends JdbcAbstractPreheatSupplier {
   }
 
   @Override
-  public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+  public Query prepare(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     // fetch all existing Org Units from payload
     final List<Long> orgUnitIds =
         preheat.getAll(OrganisationUnit.class).stream()
@@ -68,7 +68,7 @@ public class ProgramOrgUnitsSupplier extends JdbcAbstractPreheatSupplier {
             .toList();
 
     if (orgUnitIds.isEmpty()) {
-      return;
+      return null;
     }
 
     final String sql =
@@ -81,27 +81,30 @@ public class ProgramOrgUnitsSupplier extends JdbcAbstractPreheatSupplier {
     MapSqlParameterSource parameters = new MapSqlParameterSource();
     parameters.addValue("ids", orgUnitIds);
 
-    preheat.setProgramWithOrgUnitsMap(
-        jdbcTemplate.query(
-            sql,
-            parameters,
-            rs -> {
-              Map<String, List<String>> map = new HashMap<>();
+    return () -> {
+      Map<String, List<String>> programWithOrgUnits =
+          jdbcTemplate.query(
+              sql,
+              parameters,
+              rs -> {
+                Map<String, List<String>> map = new HashMap<>();
 
-              while (rs.next()) {
-                final String pid = rs.getString("programuid");
-                final String ouid = rs.getString("organisationunituid");
+                while (rs.next()) {
+                  final String pid = rs.getString("programuid");
+                  final String ouid = rs.getString("organisationunituid");
 
-                if (map.containsKey(pid)) {
-                  map.get(pid).add(ouid);
-                } else {
-                  List<String> ouids = new ArrayList<>();
-                  ouids.add(ouid);
-                  map.put(pid, ouids);
+                  if (map.containsKey(pid)) {
+                    map.get(pid).add(ouid);
+                  } else {
+                    List<String> ouids = new ArrayList<>();
+                    ouids.add(ouid);
+                    map.put(pid, ouids);
+                  }
                 }
-              }
 
-              return map;
-            }));
+                return map;
+              });
+      return p -> p.setProgramWithOrgUnitsMap(programWithOrgUnits);
+    };
   }
 }
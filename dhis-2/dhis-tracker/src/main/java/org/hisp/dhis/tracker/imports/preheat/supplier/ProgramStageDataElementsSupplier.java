@@ -111,7 +111,7 @@ public class ProgramStageDataElementsSupplier extends JdbcAbstractPreheatSupplie
   }
 
   @Override
-  public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+  public Query prepare(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     // Stages named by the payload, plus the stages of every preheated program. An event in an
     // event program does not carry a program stage, EventProgramPreProcessor derives it from the
     // program, but that runs after preheat. Projecting the program's stages as well means the
@@ -126,7 +126,7 @@ public class ProgramStageDataElementsSupplier extends JdbcAbstractPreheatSupplie
             .collect(Collectors.toMap(IdentifiableObject::getId, ps -> ps, (a, b) -> a));
 
     if (programStagesById.isEmpty()) {
-      return;
+      return null;
     }
 
     // Data elements of the payload and of the program rules, both preheated by
@@ -148,34 +148,40 @@ public class ProgramStageDataElementsSupplier extends JdbcAbstractPreheatSupplie
 
     TrackerIdSchemeParam idScheme = preheat.getIdSchemes().getDataElementIdScheme();
 
-    Map<Long, Set<MetadataIdentifier>> compulsory = new HashMap<>();
-    Map<Long, Set<MetadataIdentifier>> members = new HashMap<>();
-    Map<Long, Set<UID>> memberUids = new HashMap<>();
+    Map<Long, UID> programStageUids = new HashMap<>();
+    programStagesById.forEach((id, programStage) -> programStageUids.put(id, UID.of(programStage)));
 
-    jdbcTemplate.query(
-        SQL,
-        parameters,
-        rs -> {
-          long programStageId = rs.getLong("programstageid");
-          MetadataIdentifier identifier = toMetadataIdentifier(idScheme, rs);
+    return () -> {
+      Map<Long, Set<MetadataIdentifier>> compulsory = new HashMap<>();
+      Map<Long, Set<MetadataIdentifier>> members = new HashMap<>();
+      Map<Long, Set<UID>> memberUids = new HashMap<>();
 
-          members.computeIfAbsent(programStageId, k -> new HashSet<>()).add(identifier);
-          memberUids
-              .computeIfAbsent(programStageId, k -> new HashSet<>())
-              .add(UID.of(rs.getString("uid")));
-          if (rs.getBoolean("compulsory")) {
-            compulsory.computeIfAbsent(programStageId, k -> new HashSet<>()).add(identifier);
-          }
-        });
+      jdbcTemplate.query(
+          SQL,
+          parameters,
+          rs -> {
+            long programStageId = rs.getLong("programstageid");
+            MetadataIdentifier identifier = toMetadataIdentifier(idScheme, rs);
 
-    programStagesById.forEach(
-        (programStageId, programStage) ->
-            preheat.putProgramStageDataElements(
-                UID.of(programStage),
-                new ProgramStageDataElements(
-                    compulsory.getOrDefault(programStageId, Set.of()),
-                    members.getOrDefault(programStageId, Set.of()),
-                    memberUids.getOrDefault(programStageId, Set.of()))));
+            members.computeIfAbsent(programStageId, k -> new HashSet<>()).add(identifier);
+            memberUids
+                .computeIfAbsent(programStageId, k -> new HashSet<>())
+                .add(UID.of(rs.getString("uid")));
+            if (rs.getBoolean("compulsory")) {
+              compulsory.computeIfAbsent(programStageId, k -> new HashSet<>()).add(identifier);
+            }
+          });
+
+      return p ->
+          programStageUids.forEach(
+              (programStageId, programStage) ->
+                  p.putProgramStageDataElements(
+                      programStage,
+                      new ProgramStageDataElements(
+                          compulsory.getOrDefault(programStageId, Set.of()),
+                          members.getOrDefault(programStageId, Set.of()),
+                          memberUids.getOrDefault(programStageId, Set.of()))));
+    };
   }
 
   /**
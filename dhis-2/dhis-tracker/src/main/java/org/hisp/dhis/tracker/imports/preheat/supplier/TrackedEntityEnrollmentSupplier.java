@@ -99,7 +99,7 @@ public class TrackedEntityEnrollmentSupplier extends JdbcAbstractPreheatSupplier
   }
 
   @Override
-  public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+  public Query prepare(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     List<UID> trackedEntityList =
         trackerObjects.getEnrollments().stream()
             .map(org.hisp.dhis.tracker.imports.domain.Enrollment::getTrackedEntity)
@@ -111,17 +111,19 @@ public class TrackedEntityEnrollmentSupplier extends JdbcAbstractPreheatSupplier
     List<List<UID>> trackedEntities =
         Lists.partition(new ArrayList<>(trackedEntityList), Constant.SPLIT_LIST_PARTITION_SIZE);
 
-    if (programList.isEmpty() || trackedEntities.isEmpty()) return;
+    if (programList.isEmpty() || trackedEntities.isEmpty()) return null;
 
-    Map<UID, List<Enrollment>> trackedEntityToEnrollmentMap = new HashMap<>();
+    if (trackerObjects.getEnrollments().isEmpty()) return null;
 
-    if (trackerObjects.getEnrollments().isEmpty()) return;
+    return () -> {
+      Map<UID, List<Enrollment>> trackedEntityToEnrollmentMap = new HashMap<>();
 
-    for (List<UID> trackedEntityListSubList : trackedEntities) {
-      queryTeAndAddToMap(trackedEntityToEnrollmentMap, trackedEntityListSubList, programList);
-    }
+      for (List<UID> trackedEntityListSubList : trackedEntities) {
+        queryTeAndAddToMap(trackedEntityToEnrollmentMap, trackedEntityListSubList, programList);
+      }
 
-    preheat.setTrackedEntityToEnrollmentMap(trackedEntityToEnrollmentMap);
+      return p -> p.setTrackedEntityToEnrollmentMap(trackedEntityToEnrollmentMap);
+    };
   }
 
   private void queryTeAndAddToMap(
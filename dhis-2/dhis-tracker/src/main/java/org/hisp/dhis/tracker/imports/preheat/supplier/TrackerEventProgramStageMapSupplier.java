@@ -29,8 +29,10 @@
  */
 package org.hisp.dhis.tracker.imports.preheat.supplier;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.apache.commons.lang3.tuple.Pair;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.program.ProgramStage;
 import org.hisp.dhis.tracker.imports.domain.Event;
@@ -75,9 +77,9 @@ public class TrackerEventProgramStageMapSupplier extends JdbcAbstractPreheatSupp
   }
 
   @Override
-  public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+  public Query prepare(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     if (trackerObjects.getEvents().isEmpty()) {
-      return;
+      return null;
     }
 
     List<String> notRepeatableProgramStageUids =
@@ -101,7 +103,12 @@ public class TrackerEventProgramStageMapSupplier extends JdbcAbstractPreheatSupp
             .distinct()
             .toList();
 
-    if (!notRepeatableProgramStageUids.isEmpty() && !enrollmentUids.isEmpty()) {
+    if (notRepeatableProgramStageUids.isEmpty() || enrollmentUids.isEmpty()) {
+      return null;
+    }
+
+    return () -> {
+      List<Pair<String, String>> programStageWithTrackerEvents = new ArrayList<>();
       MapSqlParameterSource parameters = new MapSqlParameterSource();
       parameters.addValue("programStageUids", notRepeatableProgramStageUids);
       parameters.addValue("enrollmentUids", UID.toValueList(enrollmentUids));
@@ -110,8 +117,11 @@ public class TrackerEventProgramStageMapSupplier extends JdbcAbstractPreheatSupp
           parameters,
           (RowCallbackHandler)
               rs ->
-                  preheat.addProgramStageWithTrackerEvents(
-                      rs.getString(PS_UID), rs.getString(PI_UID)));
-    }
+                  programStageWithTrackerEvents.add(
+                      Pair.of(rs.getString(PS_UID), rs.getString(PI_UID))));
+      return p ->
+          programStageWithTrackerEvents.forEach(
+              pair -> p.addProgramStageWithTrackerEvents(pair.getLeft(), pair.getRight()));
+    };
   }
 }
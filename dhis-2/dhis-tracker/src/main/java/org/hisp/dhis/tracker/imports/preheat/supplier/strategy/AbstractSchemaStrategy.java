@@ -135,8 +135,9 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
     List<IdentifiableObject> objects;
     final String cacheKey = buildCacheKey(schema);
 
-    if (isCacheable()) // check if this strategy requires caching
-    {
+    // only objects identified by UID are cached as the cache key does not include the idScheme
+    if (isCacheable() && TrackerIdScheme.UID.equals(idScheme)) {
+      long cacheVersion = cache.getVersion();
       Map<String, IdentifiableObject> foundInCache = new HashMap<>();
       for (String id : ids) {
         // is the object reference by the given id in cache?
@@ -168,7 +169,12 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
         objects.forEach(
             o ->
                 cache.put(
-                    cacheKey, idSchemeParam.getIdentifier(o), o, getCacheTTL(), getCapacity()));
+                    cacheKey,
+                    idSchemeParam.getIdentifier(o),
+                    o,
+                    getCacheTTL(),
+                    getCapacity(),
+                    cacheVersion));
 
         // add back the cached objects to the final list
         objects.addAll(foundInCache.values());
@@ -29,8 +29,7 @@
  */
 package org.hisp.dhis.tracker.imports.programrule;
 
-import static org.hisp.dhis.programrule.ProgramRuleActionType.SERVER_SUPPORTED_TYPES;
-
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -48,15 +47,11 @@ import org.hisp.dhis.constant.ConstantService;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ForbiddenException;
 import org.hisp.dhis.program.Program;
-import org.hisp.dhis.programrule.ProgramRule;
-import org.hisp.dhis.programrule.ProgramRuleVariableService;
 import org.hisp.dhis.rules.api.RuleContextRequirements;
 import org.hisp.dhis.rules.api.RuleEngineContext;
-import org.hisp.dhis.rules.models.Rule;
 import org.hisp.dhis.rules.models.RuleAttributeValue;
 import org.hisp.dhis.rules.models.RuleEnrollment;
 import org.hisp.dhis.rules.models.RuleEvent;
-import org.hisp.dhis.rules.models.RuleVariable;
 import org.hisp.dhis.tracker.export.trackerevent.TrackerEventOperationParams;
 import org.hisp.dhis.tracker.export.trackerevent.TrackerEventService;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
@@ -64,9 +59,10 @@ import org.hisp.dhis.tracker.imports.domain.Attribute;
 import org.hisp.dhis.tracker.imports.domain.MetadataIdentifier;
 import org.hisp.dhis.tracker.imports.domain.TrackerEvent;
 import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
+import org.hisp.dhis.tracker.imports.programrule.ProgramRulesCache.CompiledProgramRules;
 import org.hisp.dhis.tracker.imports.programrule.engine.ProgramRuleEngine;
-import org.hisp.dhis.tracker.imports.programrule.engine.ProgramRuleEntityMapperService;
 import org.hisp.dhis.tracker.imports.programrule.engine.RuleEngineEffects;
+import org.hisp.dhis.tracker.imports.programrule.engine.RuleEngineStatistics;
 import org.hisp.dhis.tracker.imports.programrule.engine.SupplementaryDataProvider;
 import org.hisp.dhis.tracker.model.Enrollment;
 import org.hisp.dhis.tracker.model.TrackedEntity;
@@ -82,17 +78,13 @@ import org.springframework.transaction.annotation.Transactional;
 class DefaultProgramRuleService implements ProgramRuleService {
   private final ProgramRuleEngine programRuleEngine;
 
-  private final ProgramRuleEntityMapperService mapperService;
-
   private final TrackerEventService trackerEventService;
 
   private final ConstantService constantService;
 
   private final SupplementaryDataProvider supplementaryDataProvider;
 
-  private final org.hisp.dhis.programrule.ProgramRuleService programRuleMetadataService;
-
-  private final ProgramRuleVariableService programRuleVariableService;
+  private final ProgramRulesCache programRulesCache;
 
   private final RuleActionEnrollmentMapper ruleActionEnrollmentMapper;
 
@@ -127,10 +119,15 @@ class DefaultProgramRuleService implements ProgramRuleService {
       return;
     }
 
+    long start = System.nanoTime();
+    EvaluationCount evaluated = new EvaluationCount();
     RuleEngineEffects ruleEffects =
         RuleEngineEffects.merge(
-            calculateEnrollmentRuleEffects(bundle, preheat, contextByProgram),
-            calculateSingleEventRuleEffects(bundle, preheat, contextByProgram));
+            calculateEnrollmentRuleEffects(bundle, preheat, contextByProgram, evaluated),
+            calculateSingleEventRuleEffects(bundle, preheat, contextByProgram, evaluated));
+    bundle.setRuleEngineStatistics(
+        new RuleEngineStatistics(
+            evaluated.enrollments, evaluated.events, Duration.ofNanos(System.nanoTime() - start)));
 
     bundle.setEnrollmentNotifications(ruleEffects.getEnrollmentNotifications());
     bundle.setTrackerEventNotifications(ruleEffects.getEventNotifications());
@@ -206,7 +203,8 @@ class DefaultProgramRuleService implements ProgramRuleService {
   private RuleEngineEffects calculateEnrollmentRuleEffects(
       TrackerBundle bundle,
       TrackerPreheat preheat,
-      Map<Program, ProgramRuleContext> contextByProgram) {
+      Map<Program, ProgramRuleContext> contextByProgram,
+      EvaluationCount evaluated) {
     Set<UID> payloadEnrollmentUids =
         bundle.getEnrollments().stream()
             .map(org.hisp.dhis.tracker.imports.domain.Enrollment::getUID)
@@ -265,6 +263,8 @@ class DefaultProgramRuleService implements ProgramRuleService {
                       payloadEventsByEnrollment,
                       bundle,
                       preheat);
+              evaluated.enrollments += enrollmentsWithEvents.size();
+              enrollmentsWithEvents.values().forEach(events -> evaluated.events += events.size());
 
               return programRuleEngine.evaluateEnrollmentsAndTrackerEvents(
                   enrollmentsWithEvents, ctx.ruleEngineContext());
@@ -291,6 +291,12 @@ class DefaultProgramRuleService implements ProgramRuleService {
       boolean needsTeAttributes,
       boolean needsAllEvents) {}
 
+  /** Number of enrollments and events passed to the rule engine during an import. */
+  private static final class EvaluationCount {
+    private int enrollments;
+    private int events;
+  }
+
   // Skips programs with no applicable rules.
   // orgUnitUids is computed lazily — collected at most once, only when the first program with
   // needsOrgUnitGroups = true is encountered.
@@ -303,15 +309,9 @@ class DefaultProgramRuleService implements ProgramRuleService {
     Map<Program, ProgramRuleContext> contextByProgram = new HashMap<>();
     Set<String> orgUnitUids = null;
     for (Program program : programs) {
-      List<ProgramRule> programRules =
-          programRuleMetadataService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
-      if (!programRules.isEmpty()) {
-        List<Rule> rules = mapperService.toRules(programRules);
-        List<RuleVariable> variables =
-            mapperService.toRuleVariables(
-                programRuleVariableService.getProgramRuleVariable(program));
-        RuleContextRequirements requirements =
-            programRuleEngine.analyzeContextRequirements(rules, variables);
+      CompiledProgramRules compiled = programRulesCache.get(program);
+      if (!compiled.rules().isEmpty()) {
+        RuleContextRequirements requirements = compiled.requirements();
         if (requirements.getNeedsOrgUnitGroups() && orgUnitUids == null) {
           orgUnitUids = collectOrgUnitUids(bundle, preheat);
         }
@@ -319,8 +319,8 @@ class DefaultProgramRuleService implements ProgramRuleService {
             program,
             new ProgramRuleContext(
                 new RuleEngineContext(
-                    rules,
-                    variables,
+                    compiled.rules(),
+                    compiled.variables(),
                     supplementaryDataProvider.getSupplementaryData(
                         requirements.getNeedsOrgUnitGroups(),
                         orgUnitUids != null ? orgUnitUids : Set.of(),
@@ -380,7 +380,8 @@ class DefaultProgramRuleService implements ProgramRuleService {
   private RuleEngineEffects calculateSingleEventRuleEffects(
       TrackerBundle bundle,
       TrackerPreheat preheat,
-      Map<Program, ProgramRuleContext> contextByProgram) {
+      Map<Program, ProgramRuleContext> contextByProgram,
+      EvaluationCount evaluated) {
     return bundle.getSingleEvents().stream()
         .collect(Collectors.groupingBy(event -> preheat.getProgram(event.getProgram())))
         .entrySet()
@@ -393,6 +394,7 @@ class DefaultProgramRuleService implements ProgramRuleService {
               }
               List<RuleEvent> events =
                   RuleEngineMapper.mapPayloadSingleEvents(preheat, entry.getValue());
+              evaluated.events += events.size();
               return Stream.of(
                   programRuleEngine.evaluateSingleEvents(events, ctx.ruleEngineContext()));
             })
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.programrule;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.scheduling.Job;
+import org.hisp.dhis.scheduling.JobEntry;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobStateService;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.parameters.ProgramRuleReevaluationJobParameters;
+import org.hisp.dhis.user.CurrentUserUtil;
+import org.hisp.dhis.user.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-evaluates the program rules of all enrollments of a program and writes the values assigned by
+ * the rules back, for example after a rule changed. Enrollments are processed in chunks, each in
+ * its own transaction. The id of the last enrollment processed is kept in the datastore so that a
+ * cancelled or failed run continues where it stopped when the job runs again. The checkpoint
+ * records the program it was written for, so it is ignored once the job is changed to re-evaluate
+ * another program.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProgramRuleReevaluationJob implements Job {
+  static final String CHECKPOINT_NAMESPACE = "programRuleReevaluation";
+
+  private final ProgramRuleReevaluationService reevaluationService;
+
+  private final JobStateService jobStateService;
+
+  /** Checkpoint of a run of the job, stored under the job id. */
+  record Checkpoint(String program, long lastEnrollmentId) {}
+
+  @PostConstruct
+  void init() {
+    jobStateService.protect(CHECKPOINT_NAMESPACE);
+  }
+
+  @Override
+  public JobType getJobType() {
+    return JobType.PROGRAM_RULE_REEVALUATION;
+  }
+
+  @Override
+  public void execute(JobEntry config, JobProgress progress) {
+    ProgramRuleReevaluationJobParameters params =
+        (ProgramRuleReevaluationJobParameters) config.parameters();
+    UID program = UID.of(params.getProgram());
+    String checkpointKey = config.id().getValue();
+    UserDetails user = CurrentUserUtil.getCurrentUserDetails();
+
+    progress.startingProcess("Re-evaluating program rules of program " + program);
+
+    long lastEnrollmentId = readCheckpoint(checkpointKey, program);
+    if (lastEnrollmentId > 0) {
+      progress.startingStage("Continuing after enrollment with id " + lastEnrollmentId);
+      progress.completedStage(null);
+    }
+
+    int enrollments = 0;
+    int updated = 0;
+    int skipped = 0;
+    progress.startingStage("Re-evaluating enrollments in chunks of " + params.getChunkSize());
+    while (!progress.isCancelled()) {
+      progress.startingWorkItem("Enrollments after id " + lastEnrollmentId);
+      ProgramRuleReevaluationService.ChunkResult chunk;
+      try {
+        chunk =
+            reevaluationService.reevaluate(program, lastEnrollmentId, params.getChunkSize(), user);
+      } catch (RuntimeException ex) {
+        progress.failedWorkItem(ex);
+        progress.failedProcess(ex);
+        return;
+      }
+      if (chunk.enrollments() == 0) {
+        progress.completedWorkItem(null);
+        break;
+      }
+      enrollments += chunk.enrollments();
+      updated += chunk.updated();
+      skipped += chunk.skipped();
+      lastEnrollmentId = chunk.lastEnrollmentId();
+      jobStateService.put(
+          CHECKPOINT_NAMESPACE,
+          checkpointKey,
+          new Checkpoint(program.getValue(), lastEnrollmentId));
+      progress.completedWorkItem(
+          "%d enrollments with %d events, %d updated, %d skipped",
+          chunk.enrollments(), chunk.events(), chunk.updated(), chunk.skipped());
+      if (chunk.enrollments() < params.getChunkSize()) {
+        break;
+      }
+    }
+
+    if (progress.isCancelled()) {
+      progress.failedStage("Cancelled after enrollment with id " + lastEnrollmentId);
+      progress.failedProcess("Cancelled, the next run continues where this one stopped");
+      return;
+    }
+    progress.completedStage(null);
+
+    jobStateService.delete(CHECKPOINT_NAMESPACE, checkpointKey);
+    progress.completedProcess(
+        "%d enrollments re-evaluated, %d events or tracked entities updated,"
+            + " %d assignments skipped as they would overwrite a value",
+        enrollments, updated, skipped);
+  }
+
+  /**
+   * Returns the id of the last enrollment processed by a previous run of the job for the given
+   * program or 0 if there is none.
+   */
+  private long readCheckpoint(String key, UID program) {
+    Checkpoint checkpoint = jobStateService.get(CHECKPOINT_NAMESPACE, key, Checkpoint.class);
+    if (checkpoint == null || !program.getValue().equals(checkpoint.program())) {
+      return 0L;
+    }
+    return checkpoint.lastEnrollmentId();
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.programrule;
+
+import static org.hisp.dhis.tracker.imports.programrule.executor.RuleActionExecutor.isEqual;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.eventdatavalue.EventDataValue;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.rules.api.RuleContextRequirements;
+import org.hisp.dhis.rules.api.RuleEngineContext;
+import org.hisp.dhis.rules.models.RuleAttributeValue;
+import org.hisp.dhis.rules.models.RuleEnrollment;
+import org.hisp.dhis.rules.models.RuleEvent;
+import org.hisp.dhis.setting.SystemSettingsProvider;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.tracker.imports.bundle.persister.RuleAssignmentWriter;
+import org.hisp.dhis.tracker.imports.programrule.ProgramRulesCache.CompiledProgramRules;
+import org.hisp.dhis.tracker.imports.programrule.engine.ProgramRuleEngine;
+import org.hisp.dhis.tracker.imports.programrule.engine.RuleEngineEffects;
+import org.hisp.dhis.tracker.imports.programrule.engine.SupplementaryDataProvider;
+import org.hisp.dhis.tracker.imports.programrule.engine.ValidationAction;
+import org.hisp.dhis.tracker.imports.programrule.engine.ValidationEffect;
+import org.hisp.dhis.tracker.model.Enrollment;
+import org.hisp.dhis.tracker.model.TrackedEntity;
+import org.hisp.dhis.tracker.model.TrackedEntityAttributeValue;
+import org.hisp.dhis.tracker.model.TrackerEvent;
+import org.hisp.dhis.user.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Re-evaluates the program rules of saved enrollments and their events and writes the values
+ * assigned by {@code ASSIGN} actions back, one chunk of enrollments per transaction.
+ */
+@Service
+@RequiredArgsConstructor
+class ProgramRuleReevaluationService {
+  private final EntityManager entityManager;
+
+  private final ProgramRulesCache programRulesCache;
+
+  private final ProgramRuleEngine programRuleEngine;
+
+  private final SupplementaryDataProvider supplementaryDataProvider;
+
+  private final ConstantService constantService;
+
+  private final SystemSettingsProvider settingsProvider;
+
+  private final DataSource dataSource;
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Outcome of re-evaluating a chunk of enrollments.
+   *
+   * @param lastEnrollmentId id of the last enrollment of the chunk, the checkpoint to continue from
+   * @param enrollments number of enrollments in the chunk, less than the chunk size for the last
+   *     one
+   * @param events number of events evaluated
+   * @param updated number of events and tracked entities updated
+   * @param skipped number of assignments not written as they would overwrite a different value
+   */
+  record ChunkResult(
+      long lastEnrollmentId, int enrollments, int events, int updated, int skipped) {}
+
+  /**
+   * Re-evaluates up to {@code chunkSize} enrollments of {@code program} with an id greater than
+   * {@code afterEnrollmentId}, in order of their id.
+   */
+  @Transactional
+  public ChunkResult reevaluate(
+      @Nonnull UID program, long afterEnrollmentId, int chunkSize, @Nonnull UserDetails user) {
+    // entities are written through JDBC, Hibernate must not flush them again
+    entityManager.unwrap(Session.class).setDefaultReadOnly(true);
+
+    List<Enrollment> enrollments =
+        entityManager
+            .createQuery(
+                """
+                from Enrollment en \
+                where en.program.uid = :program and en.deleted = false and en.id > :after \
+                order by en.id""",
+                Enrollment.class)
+            .setParameter("program", program.getValue())
+            .setParameter("after", afterEnrollmentId)
+            .setMaxResults(chunkSize)
+            .getResultList();
+    if (enrollments.isEmpty()) {
+      return new ChunkResult(afterEnrollmentId, 0, 0, 0, 0);
+    }
+    long lastEnrollmentId = enrollments.get(enrollments.size() - 1).getId();
+
+    Program target = enrollments.get(0).getProgram();
+    CompiledProgramRules compiled = programRulesCache.get(target);
+    if (compiled.rules().isEmpty()) {
+      return new ChunkResult(lastEnrollmentId, enrollments.size(), 0, 0, 0);
+    }
+
+    Map<String, List<TrackerEvent>> eventsByEnrollment =
+        entityManager
+            .createQuery(
+                "from TrackerEvent ev where ev.enrollment in (:enrollments) and ev.deleted = false",
+                TrackerEvent.class)
+            .setParameter("enrollments", enrollments)
+            .getResultList()
+            .stream()
+            .collect(Collectors.groupingBy(ev -> ev.getEnrollment().getUid()));
+
+    RuleEngineEffects effects =
+        programRuleEngine.evaluateEnrollmentsAndTrackerEvents(
+            toRuleEnrollments(enrollments, eventsByEnrollment, compiled.requirements()),
+            ruleEngineContext(compiled, enrollments, user));
+
+    Assignments assignments =
+        new Assignments(
+            new RuleAssignmentWriter(dataSource, objectMapper, user),
+            settingsProvider.getCurrentSettings().getRuleEngineAssignOverwrite());
+    for (Enrollment enrollment : enrollments) {
+      for (ValidationEffect effect :
+          assignEffects(effects.getEnrollmentValidationEffects(), enrollment.getUid())) {
+        assignments.assign(enrollment.getTrackedEntity(), target, effect);
+      }
+      for (TrackerEvent event : eventsByEnrollment.getOrDefault(enrollment.getUid(), List.of())) {
+        for (ValidationEffect effect :
+            assignEffects(effects.getEventValidationEffects(), event.getUid())) {
+          assignments.assign(event, effect);
+        }
+      }
+    }
+
+    int events = eventsByEnrollment.values().stream().mapToInt(List::size).sum();
+    return new ChunkResult(
+        lastEnrollmentId,
+        enrollments.size(),
+        events,
+        assignments.writer.flush(),
+        assignments.skipped);
+  }
+
+  private static Map<RuleEnrollment, List<RuleEvent>> toRuleEnrollments(
+      List<Enrollment> enrollments,
+      Map<String, List<TrackerEvent>> eventsByEnrollment,
+      RuleContextRequirements requirements) {
+    Map<RuleEnrollment, List<RuleEvent>> ruleEnrollments = new LinkedHashMap<>();
+    for (Enrollment enrollment : enrollments) {
+      List<RuleAttributeValue> attributes =
+          requirements.getNeedsAttributes()
+              ? enrollment.getTrackedEntity().getTrackedEntityAttributeValues().stream()
+                  .map(av -> new RuleAttributeValue(av.getAttribute().getUid(), av.getValue()))
+                  .toList()
+              : List.of();
+      ruleEnrollments.put(
+          RuleEngineMapper.mapSavedEnrollment(enrollment, attributes),
+          RuleEngineMapper.mapSavedEvents(
+              eventsByEnrollment.getOrDefault(enrollment.getUid(), List.of())));
+    }
+    return ruleEnrollments;
+  }
+
+  private RuleEngineContext ruleEngineContext(
+      CompiledProgramRules compiled, List<Enrollment> enrollments, UserDetails user) {
+    Map<String, String> constantMap =
+        constantService.getConstantMap().entrySet().stream()
+            .collect(
+                Collectors.toMap(Map.Entry::getKey, v -> Double.toString(v.getValue().getValue())));
+    boolean needsOrgUnitGroups = compiled.requirements().getNeedsOrgUnitGroups();
+    Set<String> orgUnitUids = new HashSet<>();
+    if (needsOrgUnitGroups) {
+      enrollments.stream()
+          .map(Enrollment::getOrganisationUnit)
+          .filter(Objects::nonNull)
+          .forEach(ou -> orgUnitUids.add(ou.getUid()));
+    }
+    return new RuleEngineContext(
+        compiled.rules(),
+        compiled.variables(),
+        supplementaryDataProvider.getSupplementaryData(needsOrgUnitGroups, orgUnitUids, user),
+        constantMap);
+  }
+
+  private static List<ValidationEffect> assignEffects(
+      Map<UID, List<ValidationEffect>> effects, String uid) {
+    return effects.getOrDefault(UID.of(uid), List.of()).stream()
+        .filter(e -> e.type() == ValidationAction.ASSIGN)
+        .filter(e -> e.field() != null && e.data() != null)
+        .toList();
+  }
+
+  /**
+   * Applies {@code ASSIGN} effects the way the tracker import does: a different value is only
+   * overwritten if the system setting allows it, and file values are never assigned.
+   */
+  @RequiredArgsConstructor
+  private static class Assignments {
+    private final RuleAssignmentWriter writer;
+
+    private final boolean canOverwrite;
+
+    private int skipped;
+
+    void assign(TrackedEntity trackedEntity, Program program, ValidationEffect effect) {
+      TrackedEntityAttribute attribute =
+          program.getTrackedEntityAttributes().stream()
+              .filter(a -> effect.field().getValue().equals(a.getUid()))
+              .findFirst()
+              .orElse(null);
+      if (attribute == null || attribute.getValueType().isFile()) {
+        return;
+      }
+
+      String current =
+          trackedEntity.getTrackedEntityAttributeValues().stream()
+              .filter(av -> attribute.getUid().equals(av.getAttribute().getUid()))
+              .map(TrackedEntityAttributeValue::getValue)
+              .findFirst()
+              .orElse(null);
+      if (isAssignable(current, effect.data(), attribute)) {
+        writer.assignAttributeValue(trackedEntity, attribute, effect.data());
+      }
+    }
+
+    void assign(TrackerEvent event, ValidationEffect effect) {
+      DataElement dataElement =
+          event.getProgramStage().getDataElements().stream()
+              .filter(de -> effect.field().getValue().equals(de.getUid()))
+              .findFirst()
+              .orElse(null);
+      if (dataElement == null || dataElement.isFileType()) {
+        return;
+      }
+
+      String current =
+          event.getEventDataValues().stream()
+              .filter(dv -> dataElement.getUid().equals(dv.getDataElement()))
+              .map(EventDataValue::getValue)
+              .findFirst()
+              .orElse(null);
+      if (isAssignable(current, effect.data(), dataElement)) {
+        writer.assignDataValue(event, dataElement, effect.data());
+      }
+    }
+
+    private boolean isAssignable(
+        @CheckForNull String current, String value, TrackedEntityAttribute attribute) {
+      return isAssignable(current, value, isEqual(value, current, attribute.getValueType()));
+    }
+
+    private boolean isAssignable(@CheckForNull String current, String value, DataElement element) {
+      return isAssignable(current, value, isEqual(value, current, element.getValueType()));
+    }
+
+    private boolean isAssignable(@CheckForNull String current, String value, boolean equal) {
+      if (equal) {
+        return false;
+      }
+      if (current != null && !canOverwrite) {
+        skipped++;
+        return false;
+      }
+      return value != null;
+    }
+  }
+}
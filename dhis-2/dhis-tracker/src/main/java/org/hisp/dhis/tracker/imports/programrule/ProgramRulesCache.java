@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.programrule;
+
+import static org.hisp.dhis.programrule.ProgramRuleActionType.SERVER_SUPPORTED_TYPES;
+
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.programrule.ProgramRule;
+import org.hisp.dhis.programrule.ProgramRuleService;
+import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.hisp.dhis.rules.api.RuleContextRequirements;
+import org.hisp.dhis.rules.models.Rule;
+import org.hisp.dhis.rules.models.RuleVariable;
+import org.hisp.dhis.tracker.imports.preheat.cache.PreheatCacheService;
+import org.hisp.dhis.tracker.imports.programrule.engine.ProgramRuleEngine;
+import org.hisp.dhis.tracker.imports.programrule.engine.ProgramRuleEntityMapperService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps the program rules and variables of a program to their rule engine representation and
+ * analyses their requirements. The result only depends on metadata, so it is cached across imports
+ * if enabled. Entries are keyed by the {@link PreheatCacheService#getVersion() metadata version} so
+ * that a metadata change makes all of them unreachable.
+ */
+@Component
+class ProgramRulesCache {
+  private final ProgramRuleEngine programRuleEngine;
+
+  private final ProgramRuleEntityMapperService mapperService;
+
+  private final ProgramRuleService programRuleService;
+
+  private final ProgramRuleVariableService programRuleVariableService;
+
+  private final PreheatCacheService preheatCacheService;
+
+  private final DhisConfigurationProvider config;
+
+  private final Cache<CompiledProgramRules> cache;
+
+  ProgramRulesCache(
+      ProgramRuleEngine programRuleEngine,
+      ProgramRuleEntityMapperService mapperService,
+      ProgramRuleService programRuleService,
+      ProgramRuleVariableService programRuleVariableService,
+      PreheatCacheService preheatCacheService,
+      DhisConfigurationProvider config,
+      CacheProvider cacheProvider) {
+    this.programRuleEngine = programRuleEngine;
+    this.mapperService = mapperService;
+    this.programRuleService = programRuleService;
+    this.programRuleVariableService = programRuleVariableService;
+    this.preheatCacheService = preheatCacheService;
+    this.config = config;
+    this.cache = cacheProvider.createProgramRulesCache();
+  }
+
+  /**
+   * Rules, variables and requirements of a program. {@code rules} is empty if the program has no
+   * rule with an action supported on the server.
+   */
+  record CompiledProgramRules(
+      @Nonnull List<Rule> rules,
+      @Nonnull List<RuleVariable> variables,
+      RuleContextRequirements requirements) {}
+
+  @Nonnull
+  CompiledProgramRules get(@Nonnull Program program) {
+    if (!config.isEnabled(ConfigurationKey.TRACKER_IMPORT_RULE_ENGINE_CACHE_ENABLED)) {
+      return compile(program);
+    }
+
+    String key = program.getUid() + ":" + preheatCacheService.getVersion();
+    return cache.get(key, k -> compile(program));
+  }
+
+  private CompiledProgramRules compile(Program program) {
+    List<ProgramRule> programRules =
+        programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
+    if (programRules.isEmpty()) {
+      return new CompiledProgramRules(List.of(), List.of(), null);
+    }
+
+    List<Rule> rules = mapperService.toRules(programRules);
+    List<RuleVariable> variables =
+        mapperService.toRuleVariables(programRuleVariableService.getProgramRuleVariable(program));
+    return new CompiledProgramRules(
+        rules, variables, programRuleEngine.analyzeContextRequirements(rules, variables));
+  }
+}
@@ -29,14 +29,19 @@
  */
 package org.hisp.dhis.tracker.imports.programrule.engine;
 
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.program.ProgramService;
@@ -50,6 +55,7 @@ import org.hisp.dhis.rules.models.RuleEnrollment;
 import org.hisp.dhis.rules.models.RuleEvent;
 import org.hisp.dhis.rules.models.RuleValidationResult;
 import org.hisp.dhis.rules.models.RuleVariable;
+import org.hisp.dhis.tracker.imports.util.ThreadPools;
 import org.springframework.stereotype.Component;
 
 /**
@@ -58,7 +64,6 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 public class DefaultProgramRuleEngine implements ProgramRuleEngine {
-
   private final ProgramRuleEntityMapperService programRuleEntityMapperService;
 
   private final ProgramRuleVariableService programRuleVariableService;
@@ -67,17 +72,31 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
 
   private final ProgramService programService;
 
+  private final int parallelism;
+
+  /**
+   * Threads evaluating chunks of enrollments. Bound to {@link
+   * ConfigurationKey#TRACKER_IMPORT_RULE_ENGINE_PARALLELISM}, null if enrollments are evaluated on
+   * the importing thread.
+   */
+  private final Executor ruleEngineThreadPool;
+
   private final RuleEngine ruleEngine;
 
   public DefaultProgramRuleEngine(
       ProgramRuleEntityMapperService programRuleEntityMapperService,
       ProgramRuleVariableService programRuleVariableService,
       ConstantService constantService,
-      ProgramService programService) {
+      ProgramService programService,
+      DhisConfigurationProvider config) {
     this.programRuleEntityMapperService = programRuleEntityMapperService;
     this.programRuleVariableService = programRuleVariableService;
     this.constantService = constantService;
     this.programService = programService;
+    this.parallelism =
+        config.getIntProperty(ConfigurationKey.TRACKER_IMPORT_RULE_ENGINE_PARALLELISM);
+    this.ruleEngineThreadPool =
+        parallelism > 1 ? ThreadPools.newFixedThreadPool("TRACKER-RULE-ENGINE", parallelism) : null;
     this.ruleEngine = RuleEngine.getInstance();
   }
 
@@ -111,6 +130,11 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
             constantService.getAllConstants()));
   }
 
+  /**
+   * Enrollments are evaluated independently of each other, so they are split into up to {@link
+   * ConfigurationKey#TRACKER_IMPORT_RULE_ENGINE_PARALLELISM} chunks evaluated concurrently. The
+   * {@link RuleEngineContext} is immutable and shared by all of them.
+   */
   @Override
   public RuleEngineEffects evaluateEnrollmentsAndTrackerEvents(
       @Nonnull Map<RuleEnrollment, List<RuleEvent>> enrollmentsWithEvents,
@@ -118,15 +142,38 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
     if (enrollmentsWithEvents.isEmpty()) {
       return RuleEngineEffects.of(Collections.emptyList());
     }
+    List<Map.Entry<RuleEnrollment, List<RuleEvent>>> entries =
+        new ArrayList<>(enrollmentsWithEvents.entrySet());
+    int chunks = Math.min(parallelism, entries.size());
+    if (chunks <= 1) {
+      return RuleEngineEffects.of(evaluate(entries, context));
+    }
+
+    int chunkSize = (entries.size() + chunks - 1) / chunks;
+    List<CompletableFuture<List<RuleEffects>>> futures =
+        Lists.partition(entries, chunkSize).stream()
+            .map(
+                chunk ->
+                    ThreadPools.supplyAsyncWithMdc(
+                        () -> evaluate(chunk, context), ruleEngineThreadPool))
+            .toList();
+
     List<RuleEffects> allEffects = new ArrayList<>();
-    for (Map.Entry<RuleEnrollment, List<RuleEvent>> entry : enrollmentsWithEvents.entrySet()) {
+    futures.stream().map(CompletableFuture::join).forEach(allEffects::addAll);
+    return RuleEngineEffects.of(allEffects);
+  }
+
+  private List<RuleEffects> evaluate(
+      List<Map.Entry<RuleEnrollment, List<RuleEvent>>> entries, RuleEngineContext context) {
+    List<RuleEffects> effects = new ArrayList<>();
+    for (Map.Entry<RuleEnrollment, List<RuleEvent>> entry : entries) {
       try {
-        allEffects.addAll(ruleEngine.evaluateAll(entry.getKey(), entry.getValue(), context));
+        effects.addAll(ruleEngine.evaluateAll(entry.getKey(), entry.getValue(), context));
       } catch (Exception e) {
         log.error("Call to rule-engine failed", e);
       }
     }
-    return RuleEngineEffects.of(allEffects);
+    return effects;
   }
 
   @Override
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+
+/** Thread pools running parts of a tracker import concurrently to the importing thread. */
+public class ThreadPools {
+  private ThreadPools() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * Creates a pool of a fixed number of daemon threads named after the given prefix, so that the
+   * threads are easy to spot in a thread dump.
+   *
+   * @param prefix prefix of the thread names like {@code TRACKER-PREHEAT}
+   * @param threads number of threads of the pool
+   * @return the thread pool
+   */
+  public static ExecutorService newFixedThreadPool(String prefix, int threads) {
+    return Executors.newFixedThreadPool(
+        threads, new ThreadFactoryBuilder().setNameFormat(prefix + "-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Runs the given supplier on the given executor with the MDC (Mapped Diagnostic Context) of the
+   * calling thread, so that log output of the async task carries the request ID of the import.
+   *
+   * @param supplier supplier to run
+   * @param executor executor to run the supplier on
+   * @return the future result of the supplier
+   */
+  public static <T> CompletableFuture<T> supplyAsyncWithMdc(
+      Supplier<T> supplier, Executor executor) {
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    return CompletableFuture.supplyAsync(
+        () -> {
+          Map<String, String> previous = MDC.getCopyOfContextMap();
+          if (mdc != null) {
+            MDC.setContextMap(mdc);
+          }
+          try {
+            return supplier.get();
+          } finally {
+            if (previous != null) {
+              MDC.setContextMap(previous);
+            } else {
+              MDC.clear();
+            }
+          }
+        },
+        executor);
+  }
+}
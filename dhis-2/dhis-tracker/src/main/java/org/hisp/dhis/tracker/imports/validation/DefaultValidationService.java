@@ -31,14 +31,26 @@ package org.hisp.dhis.tracker.imports.validation;
 
 import static org.hisp.dhis.tracker.imports.validation.PersistablesFilter.filter;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.security.SecurityContextRunnable;
 import org.hisp.dhis.tracker.imports.ValidationMode;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
+import org.hisp.dhis.tracker.imports.bundle.TrackerBundlePartitioner;
 import org.hisp.dhis.user.UserDetails;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -50,6 +62,8 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class DefaultValidationService implements ValidationService {
+  private static final ThreadFactory VALIDATION_THREAD_FACTORY =
+      new ThreadFactoryBuilder().setNameFormat("TRACKER-VALIDATION-%d").setDaemon(true).build();
 
   @Qualifier("org.hisp.dhis.tracker.imports.validation.validator.DefaultValidator")
   private final Validator<TrackerBundle> validator;
@@ -57,6 +71,8 @@ public class DefaultValidationService implements ValidationService {
   @Qualifier("org.hisp.dhis.tracker.imports.validation.validator.RuleEngineValidator")
   private final Validator<TrackerBundle> ruleEngineValidator;
 
+  private final DhisConfigurationProvider config;
+
   @Nonnull
   @Override
   public ValidationResult validate(@Nonnull TrackerBundle bundle) {
@@ -90,10 +106,16 @@ public class DefaultValidationService implements ValidationService {
             bundle.getPreheat().getIdSchemes(),
             bundle.getValidationMode() == ValidationMode.FAIL_FAST);
 
-    try {
-      validator.validate(reporter, bundle, bundle);
-    } catch (FailFastException e) {
-      // exit early when in FAIL_FAST validation mode
+    List<TrackerBundle> partitions = partition(bundle, validator);
+    if (partitions.size() > 1 && validator instanceof PartitionableValidator partitionable) {
+      validateInParallel(reporter, partitions, partitionable.inMemoryValidator());
+      partitionable.remainingValidator().validate(reporter, bundle, bundle);
+    } else {
+      try {
+        validator.validate(reporter, bundle, bundle);
+      } catch (FailFastException e) {
+        // exit early when in FAIL_FAST validation mode
+      }
     }
 
     PersistablesFilter.Result persistables =
@@ -107,4 +129,59 @@ public class DefaultValidationService implements ValidationService {
         new HashSet<>(ListUtils.union(reporter.getErrors(), persistables.getErrors())),
         new HashSet<>(reporter.getWarnings()));
   }
+
+  /**
+   * Partition the bundle into independent entity graphs if parallel validation is enabled and the
+   * validator can be split into in-memory and remaining validations. Bundles validated in {@link
+   * ValidationMode#FAIL_FAST} are never partitioned as the first error needs to stop the validation
+   * of all entities.
+   */
+  private List<TrackerBundle> partition(TrackerBundle bundle, Validator<TrackerBundle> validator) {
+    int parallelism = config.getIntProperty(ConfigurationKey.TRACKER_IMPORT_VALIDATION_PARALLELISM);
+    if (parallelism <= 1
+        || bundle.getValidationMode() != ValidationMode.FULL
+        || !(validator instanceof PartitionableValidator)) {
+      return List.of(bundle);
+    }
+    return TrackerBundlePartitioner.partition(bundle, parallelism);
+  }
+
+  /**
+   * Validate each partition on its own thread using a pool bounded by the number of partitions,
+   * which never exceeds the configured parallelism. Partitions share no entities so errors reported
+   * for one partition never affect the validation of another. The security context and MDC of the
+   * importing thread are propagated to the pool threads. Errors and warnings are collected in the
+   * given reporter once all partitions are validated.
+   */
+  private void validateInParallel(
+      Reporter reporter, List<TrackerBundle> partitions, Validator<TrackerBundle> validator) {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(partitions.size(), VALIDATION_THREAD_FACTORY);
+    try {
+      List<Reporter> reporters = new ArrayList<>(partitions.size());
+      List<CompletableFuture<Void>> futures = new ArrayList<>(partitions.size());
+      for (TrackerBundle partition : partitions) {
+        Reporter partitionReporter = new Reporter(reporter.getIdSchemes());
+        reporters.add(partitionReporter);
+        futures.add(
+            CompletableFuture.runAsync(
+                new SecurityContextRunnable() {
+                  @Override
+                  public void call() {
+                    validator.validate(partitionReporter, partition, partition);
+                  }
+
+                  @Override
+                  public void handleError(Throwable ex) {
+                    throw new CompletionException(ex);
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+      reporters.forEach(reporter::addAll);
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
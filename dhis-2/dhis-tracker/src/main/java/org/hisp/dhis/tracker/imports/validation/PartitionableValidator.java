@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.validation;
+
+import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
+
+/**
+ * {@link Validator} of a {@link TrackerBundle} that can be split in two phases. The first phase
+ * only reads the payload and the {@link org.hisp.dhis.tracker.imports.preheat.TrackerPreheat}, so
+ * it can validate independent partitions of a bundle concurrently. The second phase needs the
+ * database or the current user and has to validate the whole bundle on the importing thread.
+ *
+ * <p>Running {@link #inMemoryValidator()} followed by {@link #remainingValidator()} on the same
+ * {@link Reporter} reports the same errors and warnings as {@link #validate(Reporter,
+ * TrackerBundle, Object)}.
+ */
+public interface PartitionableValidator extends Validator<TrackerBundle> {
+  /**
+   * Validator only reading the payload and the preheat. It must not load lazy associations of
+   * preheated entities nor access the database.
+   */
+  Validator<TrackerBundle> inMemoryValidator();
+
+  /**
+   * Validator running the remaining validations on entities that are still valid after the {@link
+   * #inMemoryValidator()}.
+   */
+  Validator<TrackerBundle> remainingValidator();
+}
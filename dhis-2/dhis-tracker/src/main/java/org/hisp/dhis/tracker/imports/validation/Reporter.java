@@ -215,6 +215,22 @@ public class Reporter {
     getWarnings().add(warning);
   }
 
+  /**
+   * Add all errors, warnings and invalid entities of given reporter. Used to combine the reporters
+   * of bundle partitions validated independently of each other.
+   *
+   * @param other reporter to add errors and warnings from
+   */
+  void addAll(Reporter other) {
+    getErrors().addAll(other.getErrors());
+    getWarnings().addAll(other.getWarnings());
+    other
+        .getInvalidDTOs()
+        .forEach(
+            (type, uids) ->
+                this.invalidDTOs.computeIfAbsent(type, k -> new HashSet<>()).addAll(uids));
+  }
+
   /** Checks if a TrackerDto is invalid (i.e. has at least one Error in the Reporter). */
   public boolean isInvalid(TrackerDto dto) {
     return this.isInvalid(dto.getTrackerType(), dto.getUID());
@@ -34,6 +34,7 @@ import static org.hisp.dhis.tracker.imports.validation.validator.All.all;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
+import org.hisp.dhis.tracker.imports.validation.PartitionableValidator;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
 import org.hisp.dhis.tracker.imports.validation.validator.enrollment.EnrollmentValidator;
@@ -45,7 +46,7 @@ import org.springframework.stereotype.Component;
 /** Validator to validate the {@link TrackerBundle}. */
 @RequiredArgsConstructor
 @Component("org.hisp.dhis.tracker.imports.validation.validator.DefaultValidator")
-public class DefaultValidator implements Validator<TrackerBundle> {
+public class DefaultValidator implements PartitionableValidator {
 
   private final TrackedEntityValidator trackedEntityValidator;
 
@@ -64,6 +65,24 @@ public class DefaultValidator implements Validator<TrackerBundle> {
     bundleValidator().validate(reporter, bundle, input);
   }
 
+  @Override
+  public Validator<TrackerBundle> inMemoryValidator() {
+    return all(
+        trackedEntityValidator.inMemoryValidator(),
+        enrollmentValidator.inMemoryValidator(),
+        eventValidator.inMemoryValidator(),
+        relationshipValidator.inMemoryValidator());
+  }
+
+  @Override
+  public Validator<TrackerBundle> remainingValidator() {
+    return all(
+        trackedEntityValidator.remainingValidator(),
+        enrollmentValidator.remainingValidator(),
+        eventValidator.remainingValidator(),
+        relationshipValidator.remainingValidator());
+  }
+
   @Override
   public boolean needsToRun(TrackerImportStrategy strategy) {
     return true; // this main validator should always run
@@ -75,6 +75,36 @@ public class Each<T, R> implements Validator<T> {
     return new Each<>(map, validator);
   }
 
+  /**
+   * Create an {@link Each} like {@link #each(Function, Validator)} that skips elements which are
+   * already invalid. Use it to continue validating elements that passed a previous {@link
+   * Validator} run on the same {@link Reporter}.
+   *
+   * @param map function taking type T to Collection of R
+   * @param validator validator validating a single element of type R
+   * @return validator of type T
+   * @param <T> type of input to be mapped to a Collection of R
+   * @param <R> type of input to be validated by given validator
+   */
+  public static <T, R extends TrackerDto> Each<T, R> eachValid(
+      Function<T, ? extends Collection<R>> map, Validator<R> validator) {
+    return new Each<>(
+        map,
+        new Validator<>() {
+          @Override
+          public void validate(Reporter reporter, TrackerBundle bundle, R input) {
+            if (!reporter.isInvalid(input)) {
+              validator.validate(reporter, bundle, input);
+            }
+          }
+
+          @Override
+          public boolean needsToRun(TrackerImportStrategy strategy) {
+            return validator.needsToRun(strategy);
+          }
+        });
+  }
+
   @Override
   public void validate(Reporter reporter, TrackerBundle bundle, T input) {
     for (R in : map.apply(input)) {
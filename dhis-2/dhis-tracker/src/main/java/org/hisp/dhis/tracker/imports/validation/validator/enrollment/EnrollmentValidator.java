@@ -31,40 +31,46 @@ package org.hisp.dhis.tracker.imports.validation.validator.enrollment;
 
 import static org.hisp.dhis.tracker.imports.validation.validator.All.all;
 import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.Each.eachValid;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.Enrollment;
+import org.hisp.dhis.tracker.imports.validation.PartitionableValidator;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
 import org.springframework.stereotype.Component;
 
 /** Validator to validate all {@link Enrollment}s in the {@link TrackerBundle}. */
 @Component("org.hisp.dhis.tracker.imports.validation.validator.enrollment.EnrollmentValidator")
-public class EnrollmentValidator implements Validator<TrackerBundle> {
+public class EnrollmentValidator implements PartitionableValidator {
   private final Validator<TrackerBundle> validator;
 
+  private final Validator<TrackerBundle> inMemoryValidator;
+
+  private final Validator<TrackerBundle> remainingValidator;
+
   public EnrollmentValidator(
       SecurityEnrollmentValidator securityEnrollmentValidator,
       AttributeValidator attributeValidator) {
-    validator =
-        each(
-            TrackerBundle::getEnrollments,
-            seq(
-                new ExistenceValidator(),
-                new MandatoryFieldsValidator(),
-                new MetaValidator(),
-                new UpdatableFieldsValidator(),
-                new DataRelationsValidator(),
-                new CategoryOptionComboValidator(),
-                all(securityEnrollmentValidator, new CascadeDeleteEnrollmentValidator()),
-                all(
-                    new NoteValidator(),
-                    new ExistingEnrollmentValidator(),
-                    new GeoValidator(),
-                    new DateValidator(),
-                    attributeValidator)));
+    Validator<Enrollment> inMemory =
+        seq(new ExistenceValidator(), new MandatoryFieldsValidator(), new MetaValidator());
+    Validator<Enrollment> remaining =
+        seq(
+            new UpdatableFieldsValidator(),
+            new DataRelationsValidator(),
+            new CategoryOptionComboValidator(),
+            all(securityEnrollmentValidator, new CascadeDeleteEnrollmentValidator()),
+            all(
+                new NoteValidator(),
+                new ExistingEnrollmentValidator(),
+                new GeoValidator(),
+                new DateValidator(),
+                attributeValidator));
+    validator = each(TrackerBundle::getEnrollments, seq(inMemory, remaining));
+    inMemoryValidator = each(TrackerBundle::getEnrollments, inMemory);
+    remainingValidator = eachValid(TrackerBundle::getEnrollments, remaining);
   }
 
   @Override
@@ -72,6 +78,16 @@ public class EnrollmentValidator implements Validator<TrackerBundle> {
     validator.validate(reporter, bundle, input);
   }
 
+  @Override
+  public Validator<TrackerBundle> inMemoryValidator() {
+    return inMemoryValidator;
+  }
+
+  @Override
+  public Validator<TrackerBundle> remainingValidator() {
+    return remainingValidator;
+  }
+
   @Override
   public boolean needsToRun(TrackerImportStrategy strategy) {
     return true; // this main validator should always run
@@ -31,52 +31,58 @@ package org.hisp.dhis.tracker.imports.validation.validator.event;
 
 import static org.hisp.dhis.tracker.imports.validation.validator.All.all;
 import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.Each.eachValid;
 import static org.hisp.dhis.tracker.imports.validation.validator.Field.field;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.Event;
+import org.hisp.dhis.tracker.imports.validation.PartitionableValidator;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
 import org.springframework.stereotype.Component;
 
 /** Validator to validate all {@link Event}s in the {@link TrackerBundle}. */
 @Component("org.hisp.dhis.tracker.imports.validation.validator.event.EventValidator")
-public class EventValidator implements Validator<TrackerBundle> {
+public class EventValidator implements PartitionableValidator {
   private final Validator<TrackerBundle> validator;
 
+  private final Validator<TrackerBundle> inMemoryValidator;
+
+  private final Validator<TrackerBundle> remainingValidator;
+
   public EventValidator(
       SecurityTrackerEventValidator securityTrackerEventValidator,
       SecuritySingleEventValidator securitySingleEventValidator,
       CategoryOptValidator categoryOptValidator) {
-    validator =
-        all(
-            each(
-                TrackerBundle::getEvents,
-                seq(
-                    new ExistenceValidator(),
-                    new MandatoryFieldsValidator(),
-                    new MetaValidator(),
-                    new UpdatableFieldsValidator(),
-                    new DataRelationsValidator(),
-                    new BlockEntryFormAfterCompletionValidator(),
-                    new CategoryOptionComboValidator(),
-                    new StatusValidator(),
-                    all(
-                        securityTrackerEventValidator,
-                        securitySingleEventValidator,
-                        new CompletedTrackerEventValidator(),
-                        new CompletedSingleEventValidator()),
-                    all(
-                        categoryOptValidator,
-                        new DateValidator(),
-                        new GeoValidator(),
-                        new NoteValidator(),
-                        new DataValuesValidator(),
-                        new StatusUpdateValidator(),
-                        new AssignedUserValidator()))),
-            field(TrackerBundle::getTrackerEvents, new RepeatedEventsValidator()));
+    Validator<Event> inMemory =
+        seq(new ExistenceValidator(), new MandatoryFieldsValidator(), new MetaValidator());
+    Validator<Event> remaining =
+        seq(
+            new UpdatableFieldsValidator(),
+            new DataRelationsValidator(),
+            new BlockEntryFormAfterCompletionValidator(),
+            new CategoryOptionComboValidator(),
+            new StatusValidator(),
+            all(
+                securityTrackerEventValidator,
+                securitySingleEventValidator,
+                new CompletedTrackerEventValidator(),
+                new CompletedSingleEventValidator()),
+            all(
+                categoryOptValidator,
+                new DateValidator(),
+                new GeoValidator(),
+                new NoteValidator(),
+                new DataValuesValidator(),
+                new StatusUpdateValidator(),
+                new AssignedUserValidator()));
+    Validator<TrackerBundle> repeatedEvents =
+        field(TrackerBundle::getTrackerEvents, new RepeatedEventsValidator());
+    validator = all(each(TrackerBundle::getEvents, seq(inMemory, remaining)), repeatedEvents);
+    inMemoryValidator = each(TrackerBundle::getEvents, inMemory);
+    remainingValidator = all(eachValid(TrackerBundle::getEvents, remaining), repeatedEvents);
   }
 
   @Override
@@ -84,6 +90,16 @@ public class EventValidator implements Validator<TrackerBundle> {
     validator.validate(reporter, bundle, input);
   }
 
+  @Override
+  public Validator<TrackerBundle> inMemoryValidator() {
+    return inMemoryValidator;
+  }
+
+  @Override
+  public Validator<TrackerBundle> remainingValidator() {
+    return remainingValidator;
+  }
+
   @Override
   public boolean needsToRun(TrackerImportStrategy strategy) {
     return true; // this main validator should always run
@@ -30,32 +30,38 @@
 package org.hisp.dhis.tracker.imports.validation.validator.relationship;
 
 import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.Each.eachValid;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.Relationship;
+import org.hisp.dhis.tracker.imports.validation.PartitionableValidator;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
 import org.springframework.stereotype.Component;
 
 /** Validator to validate all {@link Relationship}s in the {@link TrackerBundle}. */
 @Component("org.hisp.dhis.tracker.imports.validation.validator.relationship.RelationshipValidator")
-public class RelationshipValidator implements Validator<TrackerBundle> {
+public class RelationshipValidator implements PartitionableValidator {
   private final Validator<TrackerBundle> validator;
 
+  private final Validator<TrackerBundle> inMemoryValidator;
+
+  private final Validator<TrackerBundle> remainingValidator;
+
   public RelationshipValidator(SecurityRelationshipValidator securityRelationshipValidator) {
-    validator =
-        each(
-            TrackerBundle::getRelationships,
-            seq(
-                new ExistenceValidator(),
-                new MandatoryFieldsValidator(),
-                new MetaValidator(),
-                new LinkValidator(),
-                new ConstraintValidator(),
-                securityRelationshipValidator,
-                new DuplicationValidator()));
+    Validator<Relationship> inMemory =
+        seq(new ExistenceValidator(), new MandatoryFieldsValidator(), new MetaValidator());
+    Validator<Relationship> remaining =
+        seq(
+            new LinkValidator(),
+            new ConstraintValidator(),
+            securityRelationshipValidator,
+            new DuplicationValidator());
+    validator = each(TrackerBundle::getRelationships, seq(inMemory, remaining));
+    inMemoryValidator = each(TrackerBundle::getRelationships, inMemory);
+    remainingValidator = eachValid(TrackerBundle::getRelationships, remaining);
   }
 
   @Override
@@ -63,6 +69,16 @@ public class RelationshipValidator implements Validator<TrackerBundle> {
     validator.validate(reporter, bundle, input);
   }
 
+  @Override
+  public Validator<TrackerBundle> inMemoryValidator() {
+    return inMemoryValidator;
+  }
+
+  @Override
+  public Validator<TrackerBundle> remainingValidator() {
+    return remainingValidator;
+  }
+
   @Override
   public boolean needsToRun(TrackerImportStrategy strategy) {
     return true; // this main validator should always run
@@ -31,11 +31,13 @@ package org.hisp.dhis.tracker.imports.validation.validator.trackedentity;
 
 import static org.hisp.dhis.tracker.imports.validation.validator.All.all;
 import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.Each.eachValid;
 import static org.hisp.dhis.tracker.imports.validation.validator.Seq.seq;
 
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
+import org.hisp.dhis.tracker.imports.validation.PartitionableValidator;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.Validator;
 import org.springframework.stereotype.Component;
@@ -43,22 +45,26 @@ import org.springframework.stereotype.Component;
 /** Validator to validate all {@link TrackedEntity}s in the {@link TrackerBundle}. */
 @Component(
     "org.hisp.dhis.tracker.imports.validation.validator.trackedentity.TrackedEntityValidator")
-public class TrackedEntityValidator implements Validator<TrackerBundle> {
+public class TrackedEntityValidator implements PartitionableValidator {
   private final Validator<TrackerBundle> validator;
 
+  private final Validator<TrackerBundle> inMemoryValidator;
+
+  private final Validator<TrackerBundle> remainingValidator;
+
   public TrackedEntityValidator(
       SecurityTrackedEntityValidator securityTrackedEntityValidator,
       AttributeValidator attributeValidator) {
-    validator =
-        each(
-            TrackerBundle::getTrackedEntities,
-            seq(
-                new ExistenceValidator(),
-                new MandatoryFieldsValidator(),
-                new MetaValidator(),
-                new UpdatableFieldsValidator(),
-                all(securityTrackedEntityValidator, new CascadeDeleteTrackedEntityValidator()),
-                all(attributeValidator)));
+    Validator<TrackedEntity> inMemory =
+        seq(new ExistenceValidator(), new MandatoryFieldsValidator(), new MetaValidator());
+    Validator<TrackedEntity> remaining =
+        seq(
+            new UpdatableFieldsValidator(),
+            all(securityTrackedEntityValidator, new CascadeDeleteTrackedEntityValidator()),
+            all(attributeValidator));
+    validator = each(TrackerBundle::getTrackedEntities, seq(inMemory, remaining));
+    inMemoryValidator = each(TrackerBundle::getTrackedEntities, inMemory);
+    remainingValidator = eachValid(TrackerBundle::getTrackedEntities, remaining);
   }
 
   @Override
@@ -66,6 +72,16 @@ public class TrackedEntityValidator implements Validator<TrackerBundle> {
     validator.validate(reporter, bundle, input);
   }
 
+  @Override
+  public Validator<TrackerBundle> inMemoryValidator() {
+    return inMemoryValidator;
+  }
+
+  @Override
+  public Validator<TrackerBundle> remainingValidator() {
+    return remainingValidator;
+  }
+
   @Override
   public boolean needsToRun(TrackerImportStrategy strategy) {
     return true; // this main validator should always run
@@ -39,6 +39,7 @@ import com.google.common.collect.Sets;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +102,35 @@ public class DefaultProgramNotificationService extends HibernateGenericStore<Tra
           Objects.nonNull(iwt.getProgramNotificationInstance())
               && PROGRAM_RULE.equals(iwt.getProgramNotificationTemplate().getNotificationTrigger());
 
+  private static final int DUE_NOTIFICATION_CHUNK_SIZE = 1000;
+
+  // Both statements keep the conditions of getEnrollmentsWithScheduledNotifications and
+  // getWithScheduledNotifications, with the target date computed per template.
+  private static final String DUE_ENROLLMENTS_SQL =
+      """
+      select t.programnotificationtemplateid, en.enrollmentid \
+      from programnotificationtemplate t \
+      join enrollment en on en.programid = t.programid \
+      where t.programnotificationtemplateid in (:templates) \
+      and en.status = 'ACTIVE' \
+      and ((t.notificationtrigger = 'SCHEDULED_DAYS_ENROLLMENT_DATE' \
+        and en.enrollmentdate = cast(:day as date) - t.relativescheduleddays) \
+      or (t.notificationtrigger = 'SCHEDULED_DAYS_INCIDENT_DATE' \
+        and en.occurreddate = cast(:day as date) - t.relativescheduleddays)) \
+      order by t.programnotificationtemplateid, en.enrollmentid""";
+
+  private static final String DUE_EVENTS_SQL =
+      """
+      select t.programnotificationtemplateid, ev.eventid \
+      from programnotificationtemplate t \
+      join trackerevent ev on ev.programstageid = t.programstageid \
+      where t.programnotificationtemplateid in (:templates) \
+      and ev.scheduleddate = cast(:day as date) - t.relativescheduleddays \
+      and ev.occurreddate is null \
+      and ev.status != 'SKIPPED' \
+      and ev.deleted is false \
+      order by t.programnotificationtemplateid, ev.eventid""";
+
   private static final Set<NotificationTrigger> SCHEDULED_EVENT_TRIGGERS =
       Sets.intersection(
           NotificationTrigger.getAllApplicableToEvent(),
@@ -157,22 +187,104 @@ public class DefaultProgramNotificationService extends HibernateGenericStore<Tra
     List<ProgramNotificationTemplate> scheduledTemplates =
         progress.runStage(List.of(), notificationTemplateService::getScheduledTemplates);
 
+    progress.startingStage("Selecting enrollments and events with notifications due");
+    List<List<DueNotification>> chunks =
+        progress.runStage(
+            List.of(),
+            due -> format("%d chunks of notifications due", due.size()),
+            () -> getDueNotificationChunks(scheduledTemplates, notificationDate));
+
     progress.startingStage(
-        "Processing ProgramStageNotification messages",
-        scheduledTemplates.size(),
-        SKIP_ITEM_OUTLIER);
+        "Processing ProgramStageNotification messages", chunks.size(), SKIP_ITEM_OUTLIER);
     AtomicInteger totalMessageCount = new AtomicInteger();
     progress.runStage(
-        scheduledTemplates.stream(),
-        template -> "Processing template " + template.getName(),
-        template -> {
-          MessageBatch batch = createScheduledMessageBatchForDay(template, notificationDate);
+        chunks.stream(),
+        chunk ->
+            format(
+                "Processing %d notifications of template %d",
+                chunk.size(), chunk.get(0).templateId()),
+        chunk -> {
+          MessageBatch batch = createScheduledMessageBatch(chunk);
           sendAll(batch);
           totalMessageCount.addAndGet(batch.messageCount());
+          // the rendered entities are not needed anymore, keep the session from growing
+          getSession().flush();
+          getSession().clear();
         },
         (success, failed) -> format("Created and sent %d messages", totalMessageCount.get()));
   }
 
+  /**
+   * Selects the enrollments and events with scheduled notifications due on the given day for all
+   * templates at once, one query for enrollments and one for events. This replaces two queries per
+   * template. The matches are returned in chunks of at most {@value #DUE_NOTIFICATION_CHUNK_SIZE},
+   * each chunk for a single template and entity kind, so that entities can be loaded, rendered and
+   * sent one chunk at a time.
+   */
+  List<List<DueNotification>> getDueNotificationChunks(
+      List<ProgramNotificationTemplate> templates, Date notificationDate) {
+    Set<Long> enrollmentTemplates =
+        templates.stream()
+            .filter(t -> SCHEDULED_ENROLLMENT_TRIGGERS.contains(t.getNotificationTrigger()))
+            .filter(t -> t.getRelativeScheduledDays() != null)
+            .map(ProgramNotificationTemplate::getId)
+            .collect(Collectors.toSet());
+    Set<Long> eventTemplates =
+        templates.stream()
+            .filter(t -> SCHEDULED_EVENT_TRIGGERS.contains(t.getNotificationTrigger()))
+            .filter(t -> t.getRelativeScheduledDays() != null)
+            .map(ProgramNotificationTemplate::getId)
+            .collect(Collectors.toSet());
+
+    List<List<DueNotification>> chunks = new ArrayList<>();
+    if (!enrollmentTemplates.isEmpty()) {
+      chunk(
+          getDueNotifications(DUE_ENROLLMENTS_SQL, enrollmentTemplates, notificationDate, false),
+          DUE_NOTIFICATION_CHUNK_SIZE,
+          chunks);
+    }
+    if (!eventTemplates.isEmpty()) {
+      chunk(
+          getDueNotifications(DUE_EVENTS_SQL, eventTemplates, notificationDate, true),
+          DUE_NOTIFICATION_CHUNK_SIZE,
+          chunks);
+    }
+    return chunks;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<DueNotification> getDueNotifications(
+      String sql, Set<Long> templates, Date notificationDate, boolean event) {
+    List<Object[]> rows =
+        getSession()
+            .createNativeQuery(sql)
+            .setParameterList("templates", templates)
+            .setParameter("day", notificationDate)
+            .list();
+    return rows.stream()
+        .map(
+            row ->
+                new DueNotification(
+                    ((Number) row[0]).longValue(), ((Number) row[1]).longValue(), event))
+        .toList();
+  }
+
+  /**
+   * Splits the due notifications, ordered by template, into chunks of at most the given size, each
+   * for a single template.
+   */
+  static void chunk(List<DueNotification> due, int chunkSize, List<List<DueNotification>> chunks) {
+    int from = 0;
+    for (int i = 1; i <= due.size(); i++) {
+      if (i == due.size()
+          || i - from == chunkSize
+          || due.get(i).templateId() != due.get(from).templateId()) {
+        chunks.add(due.subList(from, i));
+        from = i;
+      }
+    }
+  }
+
   @Override
   @Transactional
   public void sendScheduledNotifications(JobProgress progress) {
@@ -426,17 +538,25 @@ public class DefaultProgramNotificationService extends HibernateGenericStore<Tra
     return (event == null || event.isDeleted()) ? null : event;
   }
 
-  private MessageBatch createScheduledMessageBatchForDay(
-      ProgramNotificationTemplate template, Date day) {
+  private MessageBatch createScheduledMessageBatch(List<DueNotification> chunk) {
+    DueNotification first = chunk.get(0);
+    ProgramNotificationTemplate template =
+        getSession().get(ProgramNotificationTemplate.class, first.templateId());
+    List<Long> ids = chunk.stream().map(DueNotification::entityId).toList();
 
     // Single events cannot be scheduled.
-    List<TrackerEvent> events = getWithScheduledNotifications(template, day);
-    List<Enrollment> enrollments = getEnrollmentsWithScheduledNotifications(template, day);
-
-    MessageBatch eventBatch = createTrackerEventMessageBatch(template, events);
-    MessageBatch psBatch = createEnrollmentMessageBatch(template, enrollments);
-
-    return new MessageBatch(eventBatch, psBatch);
+    if (first.event()) {
+      return createTrackerEventMessageBatch(
+          template,
+          getQuery("from TrackerEvent ev where ev.id in (:ids)", TrackerEvent.class)
+              .setParameterList("ids", ids)
+              .list());
+    }
+    return createEnrollmentMessageBatch(
+        template,
+        getQuery("from Enrollment en where en.id in (:ids)", Enrollment.class)
+            .setParameterList("ids", ids)
+            .list());
   }
 
   @Override
@@ -931,6 +1051,9 @@ public class DefaultProgramNotificationService extends HibernateGenericStore<Tra
     }
   }
 
+  /** A template with a notification due for an enrollment or a tracker event. */
+  record DueNotification(long templateId, long entityId, boolean event) {}
+
   @Data
   @Builder
   static class NotificationInstanceWithTemplate {
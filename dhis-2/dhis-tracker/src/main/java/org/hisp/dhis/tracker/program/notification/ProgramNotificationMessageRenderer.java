@@ -38,7 +38,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.notification.BaseNotificationMessageRenderer;
 import org.hisp.dhis.notification.TemplateVariable;
 import org.hisp.dhis.program.notification.ProgramTemplateVariable;
@@ -50,7 +50,6 @@ import org.springframework.stereotype.Component;
  * @author Halvdan Hoem Grelland
  */
 @Component
-@RequiredArgsConstructor
 public class ProgramNotificationMessageRenderer
     extends BaseNotificationMessageRenderer<Enrollment> {
 
@@ -84,6 +83,10 @@ public class ProgramNotificationMessageRenderer
   private static final Set<ExpressionType> SUPPORTED_EXPRESSION_TYPES =
       ImmutableSet.of(ExpressionType.TRACKED_ENTITY_ATTRIBUTE, ExpressionType.VARIABLE);
 
+  public ProgramNotificationMessageRenderer(CacheProvider cacheProvider) {
+    super(cacheProvider);
+  }
+
   // -------------------------------------------------------------------------
   // Overrides
   // -------------------------------------------------------------------------
@@ -37,7 +37,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.eventdatavalue.EventDataValue;
 import org.hisp.dhis.notification.BaseNotificationMessageRenderer;
 import org.hisp.dhis.notification.TemplateVariable;
@@ -50,7 +50,6 @@ import org.springframework.stereotype.Component;
  * @author Halvdan Hoem Grelland
  */
 @Component
-@RequiredArgsConstructor
 public class ProgramStageNotificationMessageRenderer
     extends BaseNotificationMessageRenderer<TrackerEvent> {
 
@@ -119,6 +118,12 @@ public class ProgramStageNotificationMessageRenderer
           ExpressionType.VARIABLE,
           ExpressionType.DATA_ELEMENT);
 
+  public ProgramStageNotificationMessageRenderer(
+      ProgramStageDataElementFetcher programStageDataElementFetcher, CacheProvider cacheProvider) {
+    super(cacheProvider);
+    this.programStageDataElementFetcher = programStageDataElementFetcher;
+  }
+
   // -------------------------------------------------------------------------
   // Overrides
   // -------------------------------------------------------------------------
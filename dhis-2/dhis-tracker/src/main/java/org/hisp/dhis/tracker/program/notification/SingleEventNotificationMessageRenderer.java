@@ -36,7 +36,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.eventdatavalue.EventDataValue;
 import org.hisp.dhis.notification.BaseNotificationMessageRenderer;
 import org.hisp.dhis.notification.TemplateVariable;
@@ -45,7 +45,6 @@ import org.hisp.dhis.tracker.model.SingleEvent;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class SingleEventNotificationMessageRenderer
     extends BaseNotificationMessageRenderer<SingleEvent> {
 
@@ -90,6 +89,12 @@ public class SingleEventNotificationMessageRenderer
           ExpressionType.VARIABLE,
           ExpressionType.DATA_ELEMENT);
 
+  public SingleEventNotificationMessageRenderer(
+      ProgramStageDataElementFetcher programStageDataElementFetcher, CacheProvider cacheProvider) {
+    super(cacheProvider);
+    this.programStageDataElementFetcher = programStageDataElementFetcher;
+  }
+
   // -------------------------------------------------------------------------
   // Overrides
   // -------------------------------------------------------------------------
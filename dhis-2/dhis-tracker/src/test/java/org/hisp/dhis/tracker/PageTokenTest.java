@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker;
+
+import static org.hisp.dhis.test.utils.Assertions.assertStartsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.hisp.dhis.feedback.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+class PageTokenTest {
+  @Test
+  void shouldDecodeEncodedTokenWithoutOrderKey() throws BadRequestException {
+    PageToken token = PageToken.of(42L);
+
+    assertEquals(token, PageToken.decode(token.encode()));
+  }
+
+  @Test
+  void shouldDecodeEncodedTokenWithOrderKey() throws BadRequestException {
+    PageToken token = new PageToken(1_700_000_000_123_456L, 42L);
+
+    assertEquals(token, PageToken.decode(token.encode()));
+  }
+
+  @Test
+  void shouldDecodeNullToNull() throws BadRequestException {
+    assertNull(PageToken.decode(null));
+  }
+
+  @Test
+  void shouldFailWhenTokenIsMalformed() {
+    BadRequestException exception =
+        assertThrows(BadRequestException.class, () -> PageToken.decode("not a token"));
+    assertStartsWith("pageToken 'not a token' is invalid", exception.getMessage());
+  }
+}
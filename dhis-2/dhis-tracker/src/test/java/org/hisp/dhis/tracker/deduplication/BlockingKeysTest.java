@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.deduplication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.tracker.deduplication.PotentialDuplicateDetectionService.Values;
+import org.junit.jupiter.api.Test;
+
+class BlockingKeysTest {
+  @Test
+  void shouldBuildSoundexKeysOfEachWord() {
+    assertEquals(Set.of("s:J525", "s:S530"), BlockingKeys.of(ValueType.TEXT, "Johnson Smith"));
+    assertEquals(
+        BlockingKeys.of(ValueType.TEXT, "Jonson"), BlockingKeys.of(ValueType.TEXT, "Johnson"));
+  }
+
+  @Test
+  void shouldEncodeSoundex() {
+    assertEquals("R163", BlockingKeys.soundex("Robert"));
+    assertEquals("R163", BlockingKeys.soundex("Rupert"));
+    assertEquals("A261", BlockingKeys.soundex("Ashcraft"));
+    assertEquals("T522", BlockingKeys.soundex("Tymczak"));
+    assertEquals("P236", BlockingKeys.soundex("Pfister"));
+    assertNull(BlockingKeys.soundex("a"));
+  }
+
+  @Test
+  void shouldBuildDateKeysIncludingTransposedDayAndMonth() {
+    assertEquals(
+        Set.of("d:1990-03-04", "d:1990-04-03"), BlockingKeys.of(ValueType.DATE, "1990-03-04"));
+    assertEquals(Set.of("d:1990-03-24"), BlockingKeys.of(ValueType.DATE, "1990-03-24T00:00:00"));
+    assertTrue(BlockingKeys.of(ValueType.DATE, "not a date").isEmpty());
+  }
+
+  @Test
+  void shouldBuildPhoneKeyOfLastDigits() {
+    assertEquals(
+        BlockingKeys.of(ValueType.PHONE_NUMBER, "+47 912 34 567"),
+        BlockingKeys.of(ValueType.PHONE_NUMBER, "91234567"));
+    assertTrue(BlockingKeys.of(ValueType.PHONE_NUMBER, "1234").isEmpty());
+  }
+
+  @Test
+  void shouldNotBuildKeysOfBlankValues() {
+    assertTrue(BlockingKeys.of(ValueType.TEXT, " ").isEmpty());
+    assertTrue(BlockingKeys.of(ValueType.TEXT, null).isEmpty());
+  }
+
+  @Test
+  void shouldScoreAttributesBothTrackedEntitiesHaveValuesFor() {
+    Map<Long, ValueType> attributes = new LinkedHashMap<>();
+    attributes.put(1L, ValueType.TEXT);
+    attributes.put(2L, ValueType.DATE);
+    attributes.put(3L, ValueType.PHONE_NUMBER);
+    Values a = new Values("a", Map.of(1L, "Jane", 2L, "1990-03-04", 3L, "+4791234567"));
+    Values b = new Values("b", Map.of(1L, "Jane", 2L, "1990-04-03"));
+
+    assertEquals(0.9, PotentialDuplicateDetectionService.score(attributes, a, b), 1e-9);
+  }
+
+  @Test
+  void shouldNotScorePairsSharingASingleAttribute() {
+    Map<Long, ValueType> attributes = Map.of(1L, ValueType.TEXT, 2L, ValueType.DATE);
+    Values a = new Values("a", Map.of(1L, "Jane"));
+    Values b = new Values("b", Map.of(1L, "Jane", 2L, "1990-04-03"));
+
+    assertEquals(0.0, PotentialDuplicateDetectionService.score(attributes, a, b));
+  }
+}
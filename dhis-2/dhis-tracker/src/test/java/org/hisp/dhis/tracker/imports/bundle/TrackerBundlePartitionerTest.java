@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.bundle;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.tracker.imports.AtomicMode;
+import org.hisp.dhis.tracker.imports.domain.Enrollment;
+import org.hisp.dhis.tracker.imports.domain.Relationship;
+import org.hisp.dhis.tracker.imports.domain.RelationshipItem;
+import org.hisp.dhis.tracker.imports.domain.SingleEvent;
+import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
+import org.hisp.dhis.tracker.imports.domain.TrackerEvent;
+import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrackerBundlePartitionerTest {
+
+  private TrackerPreheat preheat;
+
+  @BeforeEach
+  void setUp() {
+    preheat = mock(TrackerPreheat.class);
+  }
+
+  @Test
+  void shouldKeepEntitiesOfOneGraphInTheSamePartition() {
+    TrackedEntity te1 = trackedEntity();
+    TrackedEntity te2 = trackedEntity();
+    Enrollment enrollment1 = enrollment(te1);
+    Enrollment enrollment2 = enrollment(te2);
+    TrackerEvent event1 = trackerEvent(enrollment1.getEnrollment());
+    TrackerEvent event2 = trackerEvent(enrollment2.getEnrollment());
+    TrackerBundle bundle =
+        TrackerBundle.builder()
+            .preheat(preheat)
+            .atomicMode(AtomicMode.OBJECT)
+            .trackedEntities(List.of(te1, te2))
+            .enrollments(List.of(enrollment1, enrollment2))
+            .trackerEvents(List.of(event1, event2))
+            .build();
+
+    List<TrackerBundle> partitions = TrackerBundlePartitioner.partition(bundle, 4);
+
+    assertEquals(2, partitions.size());
+    TrackerBundle partition1 = partitionOf(partitions, te1);
+    TrackerBundle partition2 = partitionOf(partitions, te2);
+    assertAll(
+        () -> assertEquals(List.of(enrollment1), partition1.getEnrollments()),
+        () -> assertEquals(List.of(event1), partition1.getTrackerEvents()),
+        () -> assertEquals(List.of(enrollment2), partition2.getEnrollments()),
+        () -> assertEquals(List.of(event2), partition2.getTrackerEvents()),
+        () -> assertSame(preheat, partition1.getPreheat()),
+        () -> assertEquals(AtomicMode.OBJECT, partition1.getAtomicMode()));
+  }
+
+  @Test
+  void shouldKeepEventsOfASavedEnrollmentWithItsTrackedEntity() {
+    TrackedEntity te = trackedEntity();
+    UID savedEnrollment = UID.generate();
+    org.hisp.dhis.tracker.model.Enrollment enrollment =
+        new org.hisp.dhis.tracker.model.Enrollment();
+    org.hisp.dhis.tracker.model.TrackedEntity savedTrackedEntity =
+        new org.hisp.dhis.tracker.model.TrackedEntity();
+    savedTrackedEntity.setUid(te.getTrackedEntity().getValue());
+    enrollment.setTrackedEntity(savedTrackedEntity);
+    when(preheat.getEnrollment(savedEnrollment)).thenReturn(enrollment);
+    TrackerEvent event = trackerEvent(savedEnrollment);
+    TrackerBundle bundle =
+        TrackerBundle.builder()
+            .preheat(preheat)
+            .trackedEntities(List.of(te, trackedEntity()))
+            .trackerEvents(List.of(event))
+            .build();
+
+    List<TrackerBundle> partitions = TrackerBundlePartitioner.partition(bundle, 2);
+
+    assertEquals(2, partitions.size());
+    assertEquals(List.of(event), partitionOf(partitions, te).getTrackerEvents());
+  }
+
+  @Test
+  void shouldJoinGraphsLinkedByARelationship() {
+    TrackedEntity te1 = trackedEntity();
+    TrackedEntity te2 = trackedEntity();
+    Relationship relationship =
+        Relationship.builder()
+            .relationship(UID.generate())
+            .from(RelationshipItem.builder().trackedEntity(te1.getTrackedEntity()).build())
+            .to(RelationshipItem.builder().trackedEntity(te2.getTrackedEntity()).build())
+            .build();
+    TrackerBundle bundle =
+        TrackerBundle.builder()
+            .preheat(preheat)
+            .trackedEntities(List.of(te1, te2))
+            .relationships(List.of(relationship))
+            .build();
+
+    List<TrackerBundle> partitions = TrackerBundlePartitioner.partition(bundle, 2);
+
+    assertEquals(1, partitions.size());
+    assertEquals(List.of(te1, te2), partitions.get(0).getTrackedEntities());
+    assertEquals(List.of(relationship), partitions.get(0).getRelationships());
+  }
+
+  @Test
+  void shouldNotCreateMorePartitionsThanRequested() {
+    TrackerBundle bundle =
+        TrackerBundle.builder()
+            .preheat(preheat)
+            .singleEvents(List.of(singleEvent(), singleEvent(), singleEvent(), singleEvent()))
+            .trackedEntities(List.of(trackedEntity(), trackedEntity()))
+            .build();
+
+    List<TrackerBundle> partitions = TrackerBundlePartitioner.partition(bundle, 3);
+
+    assertEquals(3, partitions.size());
+    assertEquals(
+        6,
+        partitions.stream()
+            .mapToInt(p -> p.getSingleEvents().size() + p.getTrackedEntities().size())
+            .sum());
+    partitions.forEach(
+        p -> assertEquals(2, p.getSingleEvents().size() + p.getTrackedEntities().size()));
+  }
+
+  private static TrackerBundle partitionOf(List<TrackerBundle> partitions, TrackedEntity te) {
+    return partitions.stream()
+        .filter(p -> p.getTrackedEntities().contains(te))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static TrackedEntity trackedEntity() {
+    return TrackedEntity.builder().trackedEntity(UID.generate()).build();
+  }
+
+  private static Enrollment enrollment(TrackedEntity te) {
+    return Enrollment.builder()
+        .enrollment(UID.generate())
+        .trackedEntity(te.getTrackedEntity())
+        .build();
+  }
+
+  private static TrackerEvent trackerEvent(UID enrollment) {
+    return TrackerEvent.builder().event(UID.generate()).enrollment(enrollment).build();
+  }
+
+  private static SingleEvent singleEvent() {
+    return SingleEvent.builder().event(UID.generate()).build();
+  }
+}
@@ -29,19 +29,29 @@
  */
 package org.hisp.dhis.tracker.imports.preheat;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.preheat.supplier.ClassBasedSupplier;
+import org.hisp.dhis.tracker.imports.preheat.supplier.EnrollmentsWithAtLeastOneEventSupplier;
 import org.hisp.dhis.tracker.imports.preheat.supplier.PreheatSupplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -63,8 +73,12 @@ import org.springframework.context.ApplicationContext;
 class DefaultTrackerPreheatServiceTest {
   @Mock private ClassBasedSupplier classBasedSupplier;
 
+  @Mock private EnrollmentsWithAtLeastOneEventSupplier enrollmentsWithAtLeastOneEventSupplier;
+
   @Mock private ApplicationContext applicationContext;
 
+  @Mock private DhisConfigurationProvider config;
+
   @Captor private ArgumentCaptor<Class<PreheatSupplier>> preheatSupplierClassCaptor;
 
   @Captor private ArgumentCaptor<String> bean;
@@ -81,7 +95,10 @@ class DefaultTrackerPreheatServiceTest {
   @BeforeEach
   public void setUp() {
     preheatService =
-        new DefaultTrackerPreheatService(List.of(ClassBasedSupplier.class.getSimpleName()));
+        new DefaultTrackerPreheatService(
+            List.of(ClassBasedSupplier.class.getSimpleName()),
+            config,
+            new PreheatSupplierMetrics((MeterRegistry) null));
 
     preheatService.setApplicationContext(applicationContext);
   }
@@ -123,4 +140,42 @@ class DefaultTrackerPreheatServiceTest {
     verify(applicationContext).getBean(bean.getValue(), preheatSupplierClassCaptor.getValue());
     verify(classBasedSupplier).add(any(), any());
   }
+
+  @Test
+  void shouldRunJdbcSupplierLookupOnPreheatThreadWhenConcurrent() {
+    when(config.isEnabled(ConfigurationKey.TRACKER_IMPORT_PREHEAT_CONCURRENT)).thenReturn(true);
+    preheatService =
+        new DefaultTrackerPreheatService(
+            List.of(
+                EnrollmentsWithAtLeastOneEventSupplier.class.getSimpleName(),
+                ClassBasedSupplier.class.getSimpleName()),
+            config,
+            new PreheatSupplierMetrics((MeterRegistry) null));
+    preheatService.setApplicationContext(applicationContext);
+    when(applicationContext.getBean(eq("classBasedSupplier"), eq(PreheatSupplier.class)))
+        .thenReturn(classBasedSupplier);
+    when(applicationContext.getBean(
+            eq("enrollmentsWithAtLeastOneEventSupplier"), eq(PreheatSupplier.class)))
+        .thenReturn(enrollmentsWithAtLeastOneEventSupplier);
+    UID enrollment = UID.generate();
+    AtomicReference<String> lookupThread = new AtomicReference<>();
+    when(enrollmentsWithAtLeastOneEventSupplier.prepare(any(), any()))
+        .thenReturn(
+            () -> {
+              lookupThread.set(Thread.currentThread().getName());
+              return p -> p.setEnrollmentsWithOneOrMoreNonDeletedEvent(List.of(enrollment));
+            });
+
+    TrackerPreheat preheat = preheatService.preheat(preheatParams, idSchemeParams);
+
+    verify(enrollmentsWithAtLeastOneEventSupplier, never()).add(any(), any());
+    verify(classBasedSupplier).add(any(), any());
+    assertEquals(List.of(enrollment), preheat.getEnrollmentsWithOneOrMoreNonDeletedEvent());
+    assertTrue(lookupThread.get().startsWith("TRACKER-PREHEAT-"));
+    assertEquals(
+        List.of(
+            EnrollmentsWithAtLeastOneEventSupplier.class.getSimpleName(),
+            ClassBasedSupplier.class.getSimpleName()),
+        List.copyOf(preheat.getSupplierTimings().keySet()));
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.preheat.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.program.Program;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultPreheatCacheServiceTest {
+  @Mock private DhisConfigurationProvider config;
+
+  private DefaultPreheatCacheService cache;
+
+  @BeforeEach
+  void setUp() {
+    when(config.isEnabled(ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED)).thenReturn(true);
+    cache = new DefaultPreheatCacheService(config);
+  }
+
+  @AfterEach
+  void tearDown() {
+    cache.invalidateCache();
+  }
+
+  @Test
+  void shouldReturnCachedObject() {
+    Program program = new Program();
+
+    cache.put("Program", "uid", program, 10, 10);
+
+    assertEquals(Optional.of(program), cache.get("Program", "uid"));
+  }
+
+  @Test
+  void shouldDropObjectFetchedBeforeInvalidation() {
+    long version = cache.getVersion();
+
+    cache.invalidateCache();
+    cache.put("Program", "uid", new Program(), 10, 10, version);
+
+    assertFalse(cache.get("Program", "uid").isPresent());
+  }
+
+  @Test
+  void shouldEmptyCacheOnInvalidation() {
+    cache.put("Program", "uid", new Program(), 10, 10);
+    long version = cache.getVersion();
+
+    cache.invalidateCache();
+
+    assertEquals(version + 1, cache.getVersion());
+    assertFalse(cache.get("Program", "uid").isPresent());
+    assertTrue(cache.getAll("Program").isEmpty());
+  }
+
+  @Test
+  void shouldNotCacheWhenDisabled() {
+    when(config.isEnabled(ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED)).thenReturn(false);
+
+    Optional<IdentifiableObject> program =
+        cache.get("Program", "uid", (k, id) -> Optional.of(new Program()), 10, 10);
+
+    assertTrue(program.isPresent());
+    assertFalse(cache.hasKey("Program"));
+  }
+}
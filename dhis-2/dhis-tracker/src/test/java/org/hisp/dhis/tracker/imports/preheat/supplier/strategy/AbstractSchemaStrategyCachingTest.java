@@ -38,6 +38,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -121,6 +122,7 @@ class AbstractSchemaStrategyCachingTest extends TrackerTestBase {
     Program program = rnd.nextObject(Program.class);
 
     when(cache.get(Program.class.getSimpleName(), uid)).thenReturn(Optional.empty());
+    when(cache.getVersion()).thenReturn(3L);
 
     doReturn(singletonList(program)).when(queryService).query(any(Query.class));
     ProgramStrategy strategy = new ProgramStrategy(schemaService, queryService, manager, cache);
@@ -136,6 +138,24 @@ class AbstractSchemaStrategyCachingTest extends TrackerTestBase {
     // Then
     assertThat(preheat.getAll(Program.class), hasSize(1));
 
-    verify(cache, times(1)).put(eq("Program"), anyString(), any(), eq(20), eq(10L));
+    verify(cache, times(1)).put(eq("Program"), anyString(), any(), eq(20), eq(10L), eq(3L));
+  }
+
+  @Test
+  void verifyObjectIdentifiedByCodeIsNotCached() {
+    final Schema schema = new ProgramSchemaDescriptor().getSchema();
+    Program program = rnd.nextObject(Program.class);
+    doReturn(singletonList(program)).when(queryService).query(any(Query.class));
+    ProgramStrategy strategy = new ProgramStrategy(schemaService, queryService, manager, cache);
+
+    strategy.queryForIdentifiableObjects(
+        preheat,
+        schema,
+        TrackerIdSchemeParam.CODE,
+        singletonList(singletonList(program.getCode())),
+        CopyMapper.class);
+
+    assertThat(preheat.getAll(Program.class), hasSize(1));
+    verifyNoInteractions(cache);
   }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.programrule;
+
+import static org.hisp.dhis.tracker.imports.programrule.ProgramRuleReevaluationJob.CHECKPOINT_NAMESPACE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.scheduling.JobEntry;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobStateService;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.parameters.ProgramRuleReevaluationJobParameters;
+import org.hisp.dhis.tracker.imports.programrule.ProgramRuleReevaluationJob.Checkpoint;
+import org.hisp.dhis.tracker.imports.programrule.ProgramRuleReevaluationService.ChunkResult;
+import org.hisp.dhis.user.CurrentUserUtil;
+import org.hisp.dhis.user.UserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramRuleReevaluationJobTest {
+  private static final UID PROGRAM = UID.generate();
+
+  @Mock private ProgramRuleReevaluationService reevaluationService;
+
+  @Mock private JobStateService jobStateService;
+
+  private final UserDetails user = mock(UserDetails.class);
+
+  private MockedStatic<CurrentUserUtil> currentUserUtil;
+
+  private ProgramRuleReevaluationJob job;
+
+  private JobEntry jobEntry;
+
+  @BeforeEach
+  void setUp() {
+    currentUserUtil = mockStatic(CurrentUserUtil.class);
+    currentUserUtil.when(CurrentUserUtil::getCurrentUserDetails).thenReturn(user);
+
+    job = new ProgramRuleReevaluationJob(reevaluationService, jobStateService);
+    jobEntry =
+        new JobEntry(
+            UID.generate(),
+            JobType.PROGRAM_RULE_REEVALUATION,
+            new ProgramRuleReevaluationJobParameters(PROGRAM.getValue(), 2));
+  }
+
+  @AfterEach
+  void tearDown() {
+    currentUserUtil.close();
+  }
+
+  @Test
+  void shouldProtectCheckpointNamespace() {
+    job.init();
+
+    verify(jobStateService).protect(CHECKPOINT_NAMESPACE);
+  }
+
+  @Test
+  void shouldReevaluateAllChunksAndDeleteCheckpoint() {
+    when(reevaluationService.reevaluate(PROGRAM, 0, 2, user))
+        .thenReturn(new ChunkResult(7, 2, 3, 1, 0));
+    when(reevaluationService.reevaluate(PROGRAM, 7, 2, user))
+        .thenReturn(new ChunkResult(12, 1, 0, 1, 1));
+
+    job.execute(jobEntry, JobProgress.noop());
+
+    InOrder inOrder = inOrder(jobStateService);
+    inOrder
+        .verify(jobStateService)
+        .put(CHECKPOINT_NAMESPACE, checkpointKey(), new Checkpoint(PROGRAM.getValue(), 7));
+    inOrder
+        .verify(jobStateService)
+        .put(CHECKPOINT_NAMESPACE, checkpointKey(), new Checkpoint(PROGRAM.getValue(), 12));
+    inOrder.verify(jobStateService).delete(CHECKPOINT_NAMESPACE, checkpointKey());
+  }
+
+  @Test
+  void shouldContinueAfterCheckpoint() {
+    when(jobStateService.get(CHECKPOINT_NAMESPACE, checkpointKey(), Checkpoint.class))
+        .thenReturn(new Checkpoint(PROGRAM.getValue(), 40));
+    when(reevaluationService.reevaluate(PROGRAM, 40, 2, user))
+        .thenReturn(new ChunkResult(40, 0, 0, 0, 0));
+
+    job.execute(jobEntry, JobProgress.noop());
+
+    verify(reevaluationService, never()).reevaluate(eq(PROGRAM), eq(0L), eq(2), any());
+    verify(jobStateService, never()).put(any(), any(), any());
+  }
+
+  @Test
+  void shouldStartOverIfCheckpointIsOfAnotherProgram() {
+    when(jobStateService.get(CHECKPOINT_NAMESPACE, checkpointKey(), Checkpoint.class))
+        .thenReturn(new Checkpoint(UID.generate().getValue(), 40));
+    when(reevaluationService.reevaluate(PROGRAM, 0, 2, user))
+        .thenReturn(new ChunkResult(0, 0, 0, 0, 0));
+
+    job.execute(jobEntry, JobProgress.noop());
+
+    verify(reevaluationService, never()).reevaluate(eq(PROGRAM), eq(40L), eq(2), any());
+  }
+
+  private String checkpointKey() {
+    return jobEntry.id().getValue();
+  }
+}
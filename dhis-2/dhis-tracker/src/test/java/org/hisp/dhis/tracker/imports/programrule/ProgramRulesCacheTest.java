@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.programrule;
+
+import static org.hisp.dhis.programrule.ProgramRuleActionType.SERVER_SUPPORTED_TYPES;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.programrule.ProgramRule;
+import org.hisp.dhis.programrule.ProgramRuleService;
+import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.hisp.dhis.tracker.imports.preheat.cache.PreheatCacheService;
+import org.hisp.dhis.tracker.imports.programrule.ProgramRulesCache.CompiledProgramRules;
+import org.hisp.dhis.tracker.imports.programrule.engine.ProgramRuleEngine;
+import org.hisp.dhis.tracker.imports.programrule.engine.ProgramRuleEntityMapperService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramRulesCacheTest {
+  @Mock private ProgramRuleEngine programRuleEngine;
+
+  @Mock private ProgramRuleEntityMapperService mapperService;
+
+  @Mock private ProgramRuleService programRuleService;
+
+  @Mock private ProgramRuleVariableService programRuleVariableService;
+
+  @Mock private PreheatCacheService preheatCacheService;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @Mock private CacheProvider cacheProvider;
+
+  private ProgramRulesCache programRulesCache;
+
+  private Program program;
+
+  @BeforeEach
+  void setUp() {
+    when(cacheProvider.createProgramRulesCache())
+        .thenReturn(new LocalCache<>(new SimpleCacheBuilder<>()));
+    programRulesCache =
+        new ProgramRulesCache(
+            programRuleEngine,
+            mapperService,
+            programRuleService,
+            programRuleVariableService,
+            preheatCacheService,
+            config,
+            cacheProvider);
+
+    program = new Program();
+    program.setUid("BFcipDERJnf");
+  }
+
+  @Test
+  void shouldReturnEmptyRulesWhenProgramHasNoRules() {
+    when(programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES))
+        .thenReturn(List.of());
+
+    CompiledProgramRules compiled = programRulesCache.get(program);
+
+    assertTrue(compiled.rules().isEmpty());
+    verifyNoInteractions(mapperService);
+  }
+
+  @Test
+  void shouldCompileRulesOnceWhileMetadataDoesNotChange() {
+    when(config.isEnabled(ConfigurationKey.TRACKER_IMPORT_RULE_ENGINE_CACHE_ENABLED))
+        .thenReturn(true);
+    when(preheatCacheService.getVersion()).thenReturn(1L);
+    when(programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES))
+        .thenReturn(List.of(new ProgramRule()));
+
+    CompiledProgramRules first = programRulesCache.get(program);
+    CompiledProgramRules second = programRulesCache.get(program);
+
+    assertSame(first, second);
+    verify(programRuleService, times(1))
+        .getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
+  }
+
+  @Test
+  void shouldCompileRulesAgainWhenMetadataChanged() {
+    when(config.isEnabled(ConfigurationKey.TRACKER_IMPORT_RULE_ENGINE_CACHE_ENABLED))
+        .thenReturn(true);
+    when(preheatCacheService.getVersion()).thenReturn(1L, 2L);
+    when(programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES))
+        .thenReturn(List.of(new ProgramRule()));
+
+    programRulesCache.get(program);
+    programRulesCache.get(program);
+
+    verify(programRuleService, times(2))
+        .getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
+  }
+
+  @Test
+  void shouldCompileRulesOnEveryCallWhenCacheIsDisabled() {
+    when(programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES))
+        .thenReturn(List.of(new ProgramRule()));
+
+    programRulesCache.get(program);
+    programRulesCache.get(program);
+
+    verify(programRuleService, times(2))
+        .getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
+    verifyNoInteractions(preheatCacheService);
+  }
+}
@@ -30,9 +30,12 @@
 package org.hisp.dhis.tracker.imports.validation;
 
 import static java.util.Collections.emptyList;
+import static org.hisp.dhis.tracker.imports.validation.ValidationCode.E1000;
 import static org.hisp.dhis.tracker.imports.validation.ValidationCode.E1120;
+import static org.hisp.dhis.tracker.imports.validation.validator.AssertValidations.assertHasError;
 import static org.hisp.dhis.tracker.imports.validation.validator.AssertValidations.assertHasWarning;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +49,8 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import org.hisp.dhis.common.UID;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.imports.ValidationMode;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
@@ -72,6 +77,8 @@ class DefaultValidationServiceTest extends TrackerTestBase {
 
   private Validator<TrackerBundle> ruleEngineValidator;
 
+  private DhisConfigurationProvider config;
+
   @BeforeEach
   @SuppressWarnings("unchecked")
   void setUp() {
@@ -82,6 +89,10 @@ class DefaultValidationServiceTest extends TrackerTestBase {
     when(validator.needsToRun(any())).thenReturn(true);
     ruleEngineValidator = mock(Validator.class);
 
+    config = mock(DhisConfigurationProvider.class);
+    when(config.getIntProperty(ConfigurationKey.TRACKER_IMPORT_VALIDATION_PARALLELISM))
+        .thenReturn(1);
+
     User userA = makeUser("A");
     UserDetails user = UserDetails.fromUser(userA);
 
@@ -96,7 +107,7 @@ class DefaultValidationServiceTest extends TrackerTestBase {
             .trackedEntities(trackedEntities(trackedEntity()))
             .user(new SystemUser())
             .build();
-    service = new DefaultValidationService(validator, ruleEngineValidator);
+    service = new DefaultValidationService(validator, ruleEngineValidator, config);
 
     service.validate(bundle);
 
@@ -111,7 +122,7 @@ class DefaultValidationServiceTest extends TrackerTestBase {
             .validationMode(ValidationMode.FULL)
             .trackedEntities(trackedEntities(trackedEntity))
             .build();
-    service = new DefaultValidationService(validator, ruleEngineValidator);
+    service = new DefaultValidationService(validator, ruleEngineValidator, config);
 
     service.validate(bundle);
 
@@ -127,7 +138,7 @@ class DefaultValidationServiceTest extends TrackerTestBase {
             .build();
 
     doThrow(new FailFastException(emptyList())).when(validator).validate(any(), any(), any());
-    service = new DefaultValidationService(validator, ruleEngineValidator);
+    service = new DefaultValidationService(validator, ruleEngineValidator, config);
 
     service.validate(bundle);
 
@@ -142,7 +153,7 @@ class DefaultValidationServiceTest extends TrackerTestBase {
 
     Validator<TrackerBundle> v1 =
         (r, b, e) -> r.addWarning(validTrackedEntity, ValidationCode.E1120);
-    service = new DefaultValidationService(v1, ruleEngineValidator);
+    service = new DefaultValidationService(v1, ruleEngineValidator, config);
 
     ValidationResult result = service.validate(bundle);
 
@@ -154,6 +165,55 @@ class DefaultValidationServiceTest extends TrackerTestBase {
     assertTrue(bundle.getTrackedEntities().contains(validTrackedEntity));
   }
 
+  @Test
+  void shouldCollectErrorsOfPartitionsValidatedInParallel() {
+    when(config.getIntProperty(ConfigurationKey.TRACKER_IMPORT_VALIDATION_PARALLELISM))
+        .thenReturn(2);
+    TrackedEntity validTrackedEntity = trackedEntity();
+    TrackedEntity invalidTrackedEntity = trackedEntity();
+    bundle =
+        bundleBuilder
+            .trackedEntities(trackedEntities(validTrackedEntity, invalidTrackedEntity))
+            .build();
+
+    PartitionableValidator v1 =
+        new PartitionableValidator() {
+          @Override
+          public void validate(Reporter reporter, TrackerBundle bundle, TrackerBundle input) {
+            throw new IllegalStateException("bundle should be validated in two phases");
+          }
+
+          @Override
+          public Validator<TrackerBundle> inMemoryValidator() {
+            return (r, b, e) -> {
+              assertEquals(1, b.getTrackedEntities().size());
+              r.addErrorIf(
+                  () -> b.getTrackedEntities().contains(invalidTrackedEntity),
+                  invalidTrackedEntity,
+                  E1000);
+            };
+          }
+
+          @Override
+          public Validator<TrackerBundle> remainingValidator() {
+            return (r, b, e) -> {
+              assertEquals(2, b.getTrackedEntities().size());
+              b.getTrackedEntities().stream()
+                  .filter(te -> !r.isInvalid(te))
+                  .forEach(te -> r.addWarning(te, E1120));
+            };
+          }
+        };
+    service = new DefaultValidationService(v1, ruleEngineValidator, config);
+
+    ValidationResult result = service.validate(bundle);
+
+    assertHasError(result, invalidTrackedEntity, E1000);
+    assertHasWarning(result, validTrackedEntity, E1120);
+    assertEquals(1, result.getWarnings().size());
+    assertEquals(List.of(validTrackedEntity), result.getTrackedEntities());
+  }
+
   private TrackedEntity trackedEntity() {
     return TrackedEntity.builder().trackedEntity(UID.generate()).build();
   }
@@ -37,6 +37,7 @@ import static org.hisp.dhis.tracker.imports.TrackerImportStrategy.CREATE_AND_UPD
 import static org.hisp.dhis.tracker.imports.TrackerImportStrategy.DELETE;
 import static org.hisp.dhis.tracker.imports.TrackerImportStrategy.UPDATE;
 import static org.hisp.dhis.tracker.imports.validation.validator.Each.each;
+import static org.hisp.dhis.tracker.imports.validation.validator.Each.eachValid;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.Arrays;
@@ -55,6 +56,7 @@ import org.hisp.dhis.tracker.imports.validation.Error;
 import org.hisp.dhis.tracker.imports.validation.Reporter;
 import org.hisp.dhis.tracker.imports.validation.ValidationCode;
 import org.hisp.dhis.tracker.imports.validation.Validator;
+import org.hisp.dhis.tracker.imports.validation.Warning;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -147,6 +149,25 @@ class EachTest {
     assertContainsOnly(List.of("Nav6inZRw1u"), actualErrorMessages());
   }
 
+  @Test
+  void testEachValidDoesNotCallValidatorForInvalidItems() {
+    Enrollment invalid = enrollment(UID.of("Kj6vYde4LHh"));
+    Enrollment valid = enrollment(UID.of("Nav6inZRw1u"));
+    bundle = TrackerBundle.builder().enrollments(List.of(invalid, valid)).build();
+    reporter.addError(invalid, ValidationCode.E1000);
+
+    Validator<TrackerBundle> validator =
+        eachValid(
+            TrackerBundle::getEnrollments,
+            (r, b, enrollment) ->
+                r.addWarning(enrollment, ValidationCode.E1120, enrollment.getEnrollment()));
+
+    validator.validate(reporter, bundle, bundle);
+
+    assertContainsOnly(
+        List.of(valid.getUID()), reporter.getWarnings().stream().map(Warning::getUid).toList());
+  }
+
   private static Enrollment enrollment(UID uid, UID... notes) {
     List<Note> n = Arrays.stream(notes).map(s -> Note.builder().note(s).build()).toList();
 
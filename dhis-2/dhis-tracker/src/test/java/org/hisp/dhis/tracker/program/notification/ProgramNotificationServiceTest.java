@@ -77,6 +77,7 @@ import org.hisp.dhis.tracker.model.TrackedEntityAttributeValue;
 import org.hisp.dhis.tracker.model.TrackerEvent;
 import org.hisp.dhis.tracker.program.message.ProgramMessage;
 import org.hisp.dhis.tracker.program.message.ProgramMessageService;
+import org.hisp.dhis.tracker.program.notification.DefaultProgramNotificationService.DueNotification;
 import org.hisp.dhis.tracker.test.TrackerTestBase;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserGroup;
@@ -609,6 +610,43 @@ class ProgramNotificationServiceTest extends TrackerTestBase {
     assertEquals(0, sentProgramMessages.size());
   }
 
+  @Test
+  void shouldChunkDueNotificationsByTemplate() {
+    List<List<DueNotification>> chunks = new ArrayList<>();
+
+    DefaultProgramNotificationService.chunk(
+        List.of(due(1, 10), due(2, 10), due(2, 11), due(3, 12)), 2, chunks);
+
+    assertEquals(
+        List.of(List.of(due(1, 10)), List.of(due(2, 10), due(2, 11)), List.of(due(3, 12))), chunks);
+  }
+
+  @Test
+  void shouldChunkDueNotificationsOfATemplateBySize() {
+    List<List<DueNotification>> chunks = new ArrayList<>();
+
+    DefaultProgramNotificationService.chunk(
+        List.of(due(1, 10), due(1, 11), due(1, 12), due(1, 13), due(1, 14)), 2, chunks);
+
+    assertEquals(
+        List.of(
+            List.of(due(1, 10), due(1, 11)), List.of(due(1, 12), due(1, 13)), List.of(due(1, 14))),
+        chunks);
+  }
+
+  @Test
+  void shouldNotAddChunksForNoDueNotifications() {
+    List<List<DueNotification>> chunks = new ArrayList<>();
+
+    DefaultProgramNotificationService.chunk(List.of(), 2, chunks);
+
+    assertTrue(chunks.isEmpty());
+  }
+
+  private static DueNotification due(long templateId, long entityId) {
+    return new DueNotification(templateId, entityId, true);
+  }
+
   private static Map<Long, Set<GroupMemberInfo>> userGroupContext(UserGroup group, User... users) {
     Set<GroupMemberInfo> members = new HashSet<>();
     for (User u : users) {
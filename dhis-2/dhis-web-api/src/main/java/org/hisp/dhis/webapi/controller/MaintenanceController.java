@@ -39,6 +39,9 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.AnalyticsTableGenerator;
 import org.hisp.dhis.analytics.AnalyticsTableService;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.analyze.AnalyticsIndexAdvisor;
+import org.hisp.dhis.analytics.analyze.IndexRecommendation;
 import org.hisp.dhis.appmanager.AppManager;
 import org.hisp.dhis.category.CategoryCombo;
 import org.hisp.dhis.category.CategoryOptionComboGenerateService;
@@ -82,6 +85,7 @@ public class MaintenanceController {
   private final OrganisationUnitService organisationUnitService;
   private final DataElementService dataElementService;
   private final List<AnalyticsTableService> analyticsTableService;
+  private final AnalyticsIndexAdvisor analyticsIndexAdvisor;
   private final AppManager appManager;
   private final CategoryService categoryService;
   private final CategoryOptionComboGenerateService categoryOptionComboGenerateService;
@@ -103,6 +107,13 @@ public class MaintenanceController {
     return WebMessageUtils.ok();
   }
 
+  @GetMapping("/analyticsTablesIndexRecommendations")
+  @ResponseBody
+  public List<IndexRecommendation> getAnalyticsTableIndexRecommendations(
+      @RequestParam(defaultValue = "DATA_VALUE") AnalyticsTableType tableType) {
+    return analyticsIndexAdvisor.getRecommendations(tableType);
+  }
+
   @RequestMapping(
       value = "/expiredInvitationsClear",
       method = {RequestMethod.PUT, RequestMethod.POST})
@@ -61,4 +61,12 @@ public interface PageRequestParams {
    * paging=true}.
    */
   boolean isPaging();
+
+  /**
+   * Returns the opaque token of the page to seek to instead of a page number. Define a field {@code
+   * pageToken} if the endpoint supports keyset pagination.
+   */
+  default String getPageToken() {
+    return null;
+  }
 }
@@ -385,6 +385,12 @@ public class RequestParamsValidator {
           "Paging cannot be disabled with paging=false while also requesting a paginated"
               + " response with page, pageSize and/or totalPages=true");
     }
+
+    if (params.getPageToken() != null && (!params.isPaging() || params.getPage() != null)) {
+      throw new BadRequestException(
+          "pageToken cannot be combined with page or paging=false as it already identifies the"
+              + " page to return");
+    }
   }
 
   public static void validateUnsupportedParameter(
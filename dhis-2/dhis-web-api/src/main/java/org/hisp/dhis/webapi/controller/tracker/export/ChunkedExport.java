@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller.tracker.export;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+import javax.annotation.CheckForNull;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
+import org.hisp.dhis.tracker.Page;
+import org.hisp.dhis.tracker.PageParams;
+
+/**
+ * Export of tracker objects which are fetched and written in chunks. Only a single chunk is held in
+ * memory while it is written to the output stream, so that memory use does not grow with the size
+ * of the export. Each chunk seeks past the previous one using its {@link Page#getNextPageToken()}.
+ * Stores only return page tokens for their default order. Exports with an explicit order are not
+ * paged using offsets, which would skip or repeat objects ordered by mutable values, but fetched in
+ * a single chunk using {@link #unchunked(ListFetcher)}.
+ *
+ * <p>Each chunk is fetched in its own query. Objects created, updated or deleted while the export
+ * is running may or may not be part of it.
+ *
+ * @param <T> the type of the exported objects.
+ */
+public class ChunkedExport<T> {
+  /** The number of objects fetched and written per chunk. */
+  public static final int CHUNK_SIZE = 1000;
+
+  private final PageFetcher<T> fetcher;
+
+  private final int chunkSize;
+
+  public ChunkedExport(PageFetcher<T> fetcher) {
+    this(fetcher, CHUNK_SIZE);
+  }
+
+  public ChunkedExport(PageFetcher<T> fetcher, int chunkSize) {
+    this.fetcher = fetcher;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Returns an export of all objects fetched at once by the given fetcher. All objects are held in
+   * memory while they are written. Used for exports in an explicit order, which cannot be paged
+   * using page tokens.
+   *
+   * @param fetcher the fetcher of all objects to export.
+   * @param <T> the type of the exported objects.
+   * @return the {@link ChunkedExport}.
+   */
+  public static <T> ChunkedExport<T> unchunked(ListFetcher<T> fetcher) {
+    return new ChunkedExport<>(
+        pageParams -> {
+          List<T> items = fetcher.fetch();
+          return new Page<>(items, 1, items.size(), null, null, null);
+        });
+  }
+
+  /**
+   * Indicates whether the export is requested in the default order, which is the only order which
+   * can be paged using page tokens.
+   *
+   * @param order the order requested by the client
+   * @return true if no explicit order is requested
+   */
+  public static boolean isDefaultOrder(@CheckForNull List<?> order) {
+    return order == null || order.isEmpty();
+  }
+
+  /**
+   * Writes all objects of the export to the given output stream. Each chunk is mapped to rows with
+   * the given mapper, written with the given object writer and flushed to the output stream before
+   * the next chunk is fetched.
+   *
+   * @param outputStream the {@link OutputStream}.
+   * @param objectWriter the {@link ObjectWriter}.
+   * @param mapper the mapper of a chunk of objects to rows.
+   * @param <R> the type of the rows.
+   */
+  public <R> void write(
+      OutputStream outputStream, ObjectWriter objectWriter, Function<List<T>, List<R>> mapper)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    try (SequenceWriter writer = objectWriter.writeValues(outputStream)) {
+      PageParams pageParams = PageParams.of(1, chunkSize, false);
+      Page<T> chunk;
+
+      do {
+        chunk = fetcher.fetch(pageParams);
+        writer.writeAll(mapper.apply(chunk.getItems()));
+        writer.flush();
+        if (chunk.getNextPage() != null && chunk.getNextPageToken() == null) {
+          throw new IllegalStateException(
+              "Chunked export requires a page token to fetch the next chunk");
+        }
+        pageParams = PageParams.of(chunk.getNextPage(), chunkSize, false, chunk.getNextPageToken());
+      } while (chunk.getNextPage() != null);
+    }
+  }
+
+  /** Fetches all objects to export. */
+  @FunctionalInterface
+  public interface ListFetcher<T> {
+    List<T> fetch()
+        throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException;
+  }
+
+  /** Fetches a page of the objects to export. */
+  @FunctionalInterface
+  public interface PageFetcher<T> {
+    Page<T> fetch(PageParams pageParams)
+        throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException;
+  }
+}
@@ -32,9 +32,15 @@ package org.hisp.dhis.webapi.controller.tracker.export;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
 
 public class CompressionUtil {
 
@@ -74,4 +80,52 @@ public class CompressionUtil {
     objectWriter.writeValue(outputStream, toCompress);
     outputStream.close();
   }
+
+  /**
+   * @param requestOutputStream Output stream from request
+   * @param toCompress Export of objects to compress
+   * @param mapper Mapper of a chunk of exported objects to rows
+   * @param objectWriter Object writer from a mapper
+   * @param entry entry file name
+   * @throws IOException zip compression exception
+   */
+  public static <T, R> void writeZip(
+      OutputStream requestOutputStream,
+      ChunkedExport<T> toCompress,
+      Function<List<T>, List<R>> mapper,
+      ObjectWriter objectWriter,
+      String entry)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    try (ZipOutputStream outputStream = new ZipOutputStream(requestOutputStream)) {
+      outputStream.putNextEntry(new ZipEntry(entry));
+
+      toCompress.write(outputStream, objectWriter, mapper);
+    }
+  }
+
+  /**
+   * @param requestOutputStream Output stream from request
+   * @param toCompress Export of objects to compress
+   * @param mapper Mapper of a chunk of exported objects to rows
+   * @param objectWriter Object writer from a mapper
+   * @throws IOException gzip compression exception
+   */
+  public static <T, R> void writeGzip(
+      OutputStream requestOutputStream,
+      ChunkedExport<T> toCompress,
+      Function<List<T>, List<R>> mapper,
+      ObjectWriter objectWriter)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    try (GZIPOutputStream outputStream = new GZIPOutputStream(requestOutputStream)) {
+      toCompress.write(outputStream, objectWriter, mapper);
+    }
+  }
 }
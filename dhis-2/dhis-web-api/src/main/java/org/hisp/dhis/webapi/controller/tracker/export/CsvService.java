@@ -33,6 +33,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
 
 public interface CsvService<T> {
   void write(OutputStream outputStream, List<T> events, boolean withHeader) throws IOException;
@@ -43,6 +47,28 @@ public interface CsvService<T> {
   void writeGzip(OutputStream outputStream, List<T> toCompress, boolean withHeader)
       throws IOException;
 
+  void write(OutputStream outputStream, ChunkedExport<T> events, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException;
+
+  void writeZip(
+      OutputStream outputStream, ChunkedExport<T> toCompress, boolean withHeader, String file)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException;
+
+  void writeGzip(OutputStream outputStream, ChunkedExport<T> toCompress, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException;
+
   List<T> read(InputStream inputStream, boolean skipFirst)
       throws IOException, org.locationtech.jts.io.ParseException;
 }
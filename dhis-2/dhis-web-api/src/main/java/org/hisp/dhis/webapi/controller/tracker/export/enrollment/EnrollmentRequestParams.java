@@ -77,6 +77,14 @@ Get given number of items per page.
 
   @OpenApi.Description(
 """
+Get the page following the given `pageToken`. The token is returned as `nextPageToken` in the pager
+if the enrollments are returned in their default order. Seeking to the next page using a token stays fast
+no matter how deep you page. It cannot be combined with `page`.
+""")
+  private String pageToken;
+
+  @OpenApi.Description(
+"""
 Get the total number of items and pages in the pager.
 
 **Only enable this if absolutely necessary as this is resource intensive.** Use the pagers
@@ -45,6 +45,7 @@ import org.hisp.dhis.feedback.ForbiddenException;
 import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.fieldfiltering.FieldPath;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.export.enrollment.EnrollmentFields;
 import org.hisp.dhis.tracker.export.enrollment.EnrollmentOperationParams;
 import org.hisp.dhis.tracker.export.enrollment.EnrollmentService;
@@ -97,7 +98,10 @@ class EnrollmentsExportController {
     if (requestParams.isPaging()) {
       PageParams pageParams =
           PageParams.of(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.isTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.isTotalPages(),
+              PageToken.decode(requestParams.getPageToken()));
       org.hisp.dhis.tracker.Page<org.hisp.dhis.tracker.model.Enrollment> enrollmentsPage =
           enrollmentService.findEnrollments(operationParams, pageParams);
 
@@ -43,8 +43,13 @@ import java.util.List;
 import java.util.Objects;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
 import org.hisp.dhis.event.EventStatus;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.util.DateUtils;
+import org.hisp.dhis.webapi.controller.tracker.export.ChunkedExport;
 import org.hisp.dhis.webapi.controller.tracker.export.CompressionUtil;
 import org.hisp.dhis.webapi.controller.tracker.export.CsvService;
 import org.hisp.dhis.webapi.controller.tracker.view.DataValue;
@@ -84,6 +89,40 @@ class CsvEventService implements CsvService<Event> {
         outputStream, getCsvEventDataValues(toCompress), getObjectWriter(withHeader));
   }
 
+  @Override
+  public void write(OutputStream outputStream, ChunkedExport<Event> events, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    events.write(outputStream, getObjectWriter(withHeader), this::getCsvEventDataValues);
+  }
+
+  @Override
+  public void writeZip(
+      OutputStream outputStream, ChunkedExport<Event> toCompress, boolean withHeader, String file)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    CompressionUtil.writeZip(
+        outputStream, toCompress, this::getCsvEventDataValues, getObjectWriter(withHeader), file);
+  }
+
+  @Override
+  public void writeGzip(
+      OutputStream outputStream, ChunkedExport<Event> toCompress, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    CompressionUtil.writeGzip(
+        outputStream, toCompress, this::getCsvEventDataValues, getObjectWriter(withHeader));
+  }
+
   private ObjectWriter getObjectWriter(boolean withHeader) {
     final CsvSchema csvSchema =
         csvMapper
@@ -77,6 +77,7 @@ import org.hisp.dhis.tracker.model.SingleEvent;
 import org.hisp.dhis.tracker.model.TrackerEvent;
 import org.hisp.dhis.webapi.controller.tracker.RequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
+import org.hisp.dhis.webapi.controller.tracker.export.ChunkedExport;
 import org.hisp.dhis.webapi.controller.tracker.export.CsvService;
 import org.hisp.dhis.webapi.controller.tracker.export.MappingErrors;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
@@ -235,14 +236,18 @@ class EventsExportController {
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader,
       @RequestParam UID program)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
     Program eventProgram = getProgram(program);
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.Event> events;
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.Event> events;
     if (eventProgram.isRegistration()) {
-      events = getTrackerEventsList(requestParams, idSchemeParams);
+      events = getTrackerEventsExport(requestParams, idSchemeParams);
     } else {
-      events = getSingleEventsList(requestParams, idSchemeParams);
+      events = getSingleEventsExport(requestParams, idSchemeParams);
     }
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE);
@@ -258,14 +263,18 @@ class EventsExportController {
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader,
       @RequestParam UID program)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
     Program eventProgram = getProgram(program);
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.Event> events;
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.Event> events;
     if (eventProgram.isRegistration()) {
-      events = getTrackerEventsList(requestParams, idSchemeParams);
+      events = getTrackerEventsExport(requestParams, idSchemeParams);
     } else {
-      events = getSingleEventsList(requestParams, idSchemeParams);
+      events = getSingleEventsExport(requestParams, idSchemeParams);
     }
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE + GZIP_EXT);
@@ -282,14 +291,18 @@ class EventsExportController {
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader,
       TrackerIdSchemeParams idSchemeParams,
       @RequestParam UID program)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
     Program eventProgram = getProgram(program);
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.Event> events;
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.Event> events;
     if (eventProgram.isRegistration()) {
-      events = getTrackerEventsList(requestParams, idSchemeParams);
+      events = getTrackerEventsExport(requestParams, idSchemeParams);
     } else {
-      events = getSingleEventsList(requestParams, idSchemeParams);
+      events = getSingleEventsExport(requestParams, idSchemeParams);
     }
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE + ZIP_EXT);
@@ -371,6 +384,50 @@ class EventsExportController {
     return events;
   }
 
+  private ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.Event> getSingleEventsExport(
+      EventRequestParams requestParams, TrackerIdSchemeParams idSchemeParams)
+      throws BadRequestException {
+    if (!ChunkedExport.isDefaultOrder(requestParams.getOrder())) {
+      return ChunkedExport.unchunked(() -> getSingleEventsList(requestParams, idSchemeParams));
+    }
+
+    SingleEventOperationParams singleEventOperationParams =
+        SingleEventRequestParamsMapper.map(requestParams, idSchemeParams);
+
+    return new ChunkedExport<>(
+        pageParams -> {
+          MappingErrors errors = new MappingErrors(idSchemeParams);
+          org.hisp.dhis.tracker.Page<org.hisp.dhis.webapi.controller.tracker.view.Event> page =
+              singleEventService
+                  .findEvents(singleEventOperationParams, pageParams)
+                  .withMappedItems(ev -> EVENTS_MAPPER.map(idSchemeParams, errors, ev));
+          ensureNoMappingErrors(errors);
+          return page;
+        });
+  }
+
+  private ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.Event> getTrackerEventsExport(
+      EventRequestParams requestParams, TrackerIdSchemeParams idSchemeParams)
+      throws BadRequestException {
+    if (!ChunkedExport.isDefaultOrder(requestParams.getOrder())) {
+      return ChunkedExport.unchunked(() -> getTrackerEventsList(requestParams, idSchemeParams));
+    }
+
+    TrackerEventOperationParams trackerEventOperationParams =
+        TrackerEventRequestParamsMapper.map(requestParams, idSchemeParams);
+
+    return new ChunkedExport<>(
+        pageParams -> {
+          MappingErrors errors = new MappingErrors(idSchemeParams);
+          org.hisp.dhis.tracker.Page<org.hisp.dhis.webapi.controller.tracker.view.Event> page =
+              trackerEventService
+                  .findEvents(trackerEventOperationParams, pageParams)
+                  .withMappedItems(ev -> EVENTS_MAPPER.map(idSchemeParams, errors, ev));
+          ensureNoMappingErrors(errors);
+          return page;
+        });
+  }
+
   @GetMapping("/{event}/dataValues/{dataElement}/file")
   ResponseEntity<InputStreamResource> getEventDataValueFile(
       @OpenApi.Param({UID.class, TrackerEvent.class}) @PathVariable UID event,
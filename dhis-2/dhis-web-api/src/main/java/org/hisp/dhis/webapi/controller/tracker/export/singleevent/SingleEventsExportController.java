@@ -60,6 +60,7 @@ import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.fieldfiltering.FieldPath;
 import org.hisp.dhis.fileresource.ImageFileDimension;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.export.FileResourceStream;
 import org.hisp.dhis.tracker.export.event.EventChangeLog;
@@ -71,6 +72,7 @@ import org.hisp.dhis.tracker.export.singleevent.SingleEventService;
 import org.hisp.dhis.tracker.model.SingleEvent;
 import org.hisp.dhis.webapi.controller.tracker.RequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
+import org.hisp.dhis.webapi.controller.tracker.export.ChunkedExport;
 import org.hisp.dhis.webapi.controller.tracker.export.MappingErrors;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
 import org.hisp.dhis.webapi.controller.tracker.export.event.ChangeLogRequestParamsMapper;
@@ -141,7 +143,10 @@ class SingleEventsExportController {
     if (requestParams.isPaging()) {
       PageParams pageParams =
           PageParams.of(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.isTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.isTotalPages(),
+              PageToken.decode(requestParams.getPageToken()));
       SingleEventOperationParams singleEventOperationParams =
           SingleEventRequestParamsMapper.map(requestParams, idSchemeParams);
       org.hisp.dhis.tracker.Page<SingleEvent> eventsPage =
@@ -180,10 +185,14 @@ class SingleEventsExportController {
       TrackerIdSchemeParams idSchemeParams,
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent> events =
-        getSingleEventsList(requestParams, idSchemeParams);
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent> events =
+        getSingleEventsExport(requestParams, idSchemeParams);
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE);
     response.setContentType(CONTENT_TYPE_CSV);
@@ -197,10 +206,14 @@ class SingleEventsExportController {
       TrackerIdSchemeParams idSchemeParams,
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent> events =
-        getSingleEventsList(requestParams, idSchemeParams);
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent> events =
+        getSingleEventsExport(requestParams, idSchemeParams);
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE + GZIP_EXT);
     ResponseHeader.addContentTransferEncodingBinary(response);
@@ -215,10 +228,14 @@ class SingleEventsExportController {
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader,
       TrackerIdSchemeParams idSchemeParams)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent> events =
-        getSingleEventsList(requestParams, idSchemeParams);
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent> events =
+        getSingleEventsExport(requestParams, idSchemeParams);
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE + ZIP_EXT);
     ResponseHeader.addContentTransferEncodingBinary(response);
@@ -249,6 +266,30 @@ class SingleEventsExportController {
     return new FilteredEntity<>(eventView, fields);
   }
 
+  private ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent>
+      getSingleEventsExport(
+          SingleEventRequestParams requestParams, TrackerIdSchemeParams idSchemeParams)
+          throws BadRequestException {
+    if (!ChunkedExport.isDefaultOrder(requestParams.getOrder())) {
+      return ChunkedExport.unchunked(() -> getSingleEventsList(requestParams, idSchemeParams));
+    }
+
+    SingleEventOperationParams operationParams =
+        SingleEventRequestParamsMapper.map(requestParams, idSchemeParams);
+
+    return new ChunkedExport<>(
+        pageParams -> {
+          MappingErrors errors = new MappingErrors(idSchemeParams);
+          org.hisp.dhis.tracker.Page<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent>
+              page =
+                  singleEventService
+                      .findEvents(operationParams, pageParams)
+                      .withMappedItems(ev -> EVENTS_MAPPER.map(idSchemeParams, errors, ev));
+          ensureNoMappingErrors(errors);
+          return page;
+        });
+  }
+
   private List<org.hisp.dhis.webapi.controller.tracker.view.SingleEvent> getSingleEventsList(
       SingleEventRequestParams requestParams, TrackerIdSchemeParams idSchemeParams)
       throws BadRequestException, ForbiddenException, WebMessageException {
@@ -40,6 +40,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
+import org.hisp.dhis.webapi.controller.tracker.export.ChunkedExport;
 import org.hisp.dhis.webapi.controller.tracker.export.CompressionUtil;
 import org.hisp.dhis.webapi.controller.tracker.export.CsvService;
 import org.hisp.dhis.webapi.controller.tracker.view.Attribute;
@@ -76,6 +81,44 @@ class CsvTrackedEntityService implements CsvService<TrackedEntity> {
         outputStream, getCsvTrackedEntities(toCompress), getObjectWriter(withHeader));
   }
 
+  @Override
+  public void write(
+      OutputStream outputStream, ChunkedExport<TrackedEntity> events, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    events.write(outputStream, getObjectWriter(withHeader), this::getCsvTrackedEntities);
+  }
+
+  @Override
+  public void writeZip(
+      OutputStream outputStream,
+      ChunkedExport<TrackedEntity> toCompress,
+      boolean withHeader,
+      String file)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    CompressionUtil.writeZip(
+        outputStream, toCompress, this::getCsvTrackedEntities, getObjectWriter(withHeader), file);
+  }
+
+  @Override
+  public void writeGzip(
+      OutputStream outputStream, ChunkedExport<TrackedEntity> toCompress, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    CompressionUtil.writeGzip(
+        outputStream, toCompress, this::getCsvTrackedEntities, getObjectWriter(withHeader));
+  }
+
   private ObjectWriter getObjectWriter(boolean withHeader) {
     final CsvSchema csvSchema =
         CSV_MAPPER
@@ -59,6 +59,7 @@ import org.hisp.dhis.fieldfiltering.FieldPath;
 import org.hisp.dhis.fileresource.ImageFileDimension;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.export.fieldfiltering.Fields;
 import org.hisp.dhis.tracker.export.fieldfiltering.FieldsParser;
@@ -72,6 +73,7 @@ import org.hisp.dhis.user.CurrentUser;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.webapi.controller.tracker.RequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
+import org.hisp.dhis.webapi.controller.tracker.export.ChunkedExport;
 import org.hisp.dhis.webapi.controller.tracker.export.CsvService;
 import org.hisp.dhis.webapi.controller.tracker.export.MappingErrors;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
@@ -165,7 +167,10 @@ class TrackedEntitiesExportController {
     if (requestParams.isPaging()) {
       PageParams pageParams =
           PageParams.of(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.isTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.isTotalPages(),
+              PageToken.decode(requestParams.getPageToken()));
       org.hisp.dhis.tracker.Page<org.hisp.dhis.tracker.model.TrackedEntity> trackedEntitiesPage =
           trackedEntityService.findTrackedEntities(operationParams, pageParams);
 
@@ -203,7 +208,7 @@ class TrackedEntitiesExportController {
           ForbiddenException,
           NotFoundException,
           WebMessageException {
-    List<TrackedEntity> trackedEntities =
+    ChunkedExport<TrackedEntity> trackedEntities =
         getTrackedEntitiesForCsv(requestParams, idSchemeParams, currentUser);
 
     ResponseHeader.addContentDispositionAttachment(response, TE_CSV_FILE);
@@ -225,7 +230,7 @@ class TrackedEntitiesExportController {
           ForbiddenException,
           NotFoundException,
           WebMessageException {
-    List<TrackedEntity> trackedEntities =
+    ChunkedExport<TrackedEntity> trackedEntities =
         getTrackedEntitiesForCsv(requestParams, idSchemeParams, currentUser);
 
     ResponseHeader.addContentDispositionAttachment(response, TE_CSV_FILE + ZIP_EXT);
@@ -248,7 +253,7 @@ class TrackedEntitiesExportController {
           ForbiddenException,
           NotFoundException,
           WebMessageException {
-    List<TrackedEntity> trackedEntities =
+    ChunkedExport<TrackedEntity> trackedEntities =
         getTrackedEntitiesForCsv(requestParams, idSchemeParams, currentUser);
 
     ResponseHeader.addContentDispositionAttachment(response, TE_CSV_FILE + GZIP_EXT);
@@ -258,21 +263,37 @@ class TrackedEntitiesExportController {
     entityCsvService.writeGzip(response.getOutputStream(), trackedEntities, !skipHeader);
   }
 
-  private List<TrackedEntity> getTrackedEntitiesForCsv(
+  private ChunkedExport<TrackedEntity> getTrackedEntitiesForCsv(
       TrackedEntityRequestParams requestParams,
       TrackerIdSchemeParams idSchemeParams,
       UserDetails currentUser)
-      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+      throws BadRequestException {
     TrackedEntityOperationParams operationParams =
         TrackedEntityRequestParamsMapper.map(requestParams, CSV_FIELDS, currentUser);
 
-    MappingErrors errors = new MappingErrors(idSchemeParams);
-    List<TrackedEntity> result =
-        trackedEntityService.findTrackedEntities(operationParams).stream()
-            .map(te -> TRACKED_ENTITY_MAPPER.map(idSchemeParams, errors, te))
-            .toList();
-    ensureNoMappingErrors(errors);
-    return result;
+    if (!ChunkedExport.isDefaultOrder(requestParams.getOrder())) {
+      return ChunkedExport.unchunked(
+          () -> {
+            MappingErrors errors = new MappingErrors(idSchemeParams);
+            List<TrackedEntity> trackedEntities =
+                trackedEntityService.findTrackedEntities(operationParams).stream()
+                    .map(te -> TRACKED_ENTITY_MAPPER.map(idSchemeParams, errors, te))
+                    .toList();
+            ensureNoMappingErrors(errors);
+            return trackedEntities;
+          });
+    }
+
+    return new ChunkedExport<>(
+        pageParams -> {
+          MappingErrors errors = new MappingErrors(idSchemeParams);
+          org.hisp.dhis.tracker.Page<TrackedEntity> page =
+              trackedEntityService
+                  .findTrackedEntities(operationParams, pageParams)
+                  .withMappedItems(te -> TRACKED_ENTITY_MAPPER.map(idSchemeParams, errors, te));
+          ensureNoMappingErrors(errors);
+          return page;
+        });
   }
 
   @OpenApi.Response(OpenApi.EntityType.class)
@@ -37,6 +37,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
+import org.hisp.dhis.webapi.controller.tracker.export.ChunkedExport;
 import org.hisp.dhis.webapi.controller.tracker.export.CompressionUtil;
 import org.hisp.dhis.webapi.controller.tracker.view.DataValue;
 import org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent;
@@ -46,25 +51,47 @@ class TrackerEventCsvWriter {
     throw new IllegalStateException("Utility class");
   }
 
-  public static void write(OutputStream outputStream, List<TrackerEvent> events, boolean withHeader)
-      throws IOException {
-    ObjectWriter writer = getObjectWriter(withHeader);
-
-    writer.writeValue(outputStream, getCsvEventDataValues(events));
+  public static void write(
+      OutputStream outputStream, ChunkedExport<TrackerEvent> events, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
+    events.write(
+        outputStream, getObjectWriter(withHeader), TrackerEventCsvWriter::getCsvEventDataValues);
   }
 
   public static void writeZip(
-      OutputStream outputStream, List<TrackerEvent> toCompress, boolean withHeader, String file)
-      throws IOException {
+      OutputStream outputStream,
+      ChunkedExport<TrackerEvent> toCompress,
+      boolean withHeader,
+      String file)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
     CompressionUtil.writeZip(
-        outputStream, getCsvEventDataValues(toCompress), getObjectWriter(withHeader), file);
+        outputStream,
+        toCompress,
+        TrackerEventCsvWriter::getCsvEventDataValues,
+        getObjectWriter(withHeader),
+        file);
   }
 
   public static void writeGzip(
-      OutputStream outputStream, List<TrackerEvent> toCompress, boolean withHeader)
-      throws IOException {
+      OutputStream outputStream, ChunkedExport<TrackerEvent> toCompress, boolean withHeader)
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
     CompressionUtil.writeGzip(
-        outputStream, getCsvEventDataValues(toCompress), getObjectWriter(withHeader));
+        outputStream,
+        toCompress,
+        TrackerEventCsvWriter::getCsvEventDataValues,
+        getObjectWriter(withHeader));
   }
 
   private static ObjectWriter getObjectWriter(boolean withHeader) {
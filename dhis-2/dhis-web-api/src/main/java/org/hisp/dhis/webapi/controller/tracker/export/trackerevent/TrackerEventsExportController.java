@@ -60,6 +60,7 @@ import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.fieldfiltering.FieldPath;
 import org.hisp.dhis.fileresource.ImageFileDimension;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.export.FileResourceStream;
 import org.hisp.dhis.tracker.export.event.EventChangeLog;
@@ -71,6 +72,7 @@ import org.hisp.dhis.tracker.export.trackerevent.TrackerEventService;
 import org.hisp.dhis.tracker.model.TrackerEvent;
 import org.hisp.dhis.webapi.controller.tracker.RequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
+import org.hisp.dhis.webapi.controller.tracker.export.ChunkedExport;
 import org.hisp.dhis.webapi.controller.tracker.export.MappingErrors;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
 import org.hisp.dhis.webapi.controller.tracker.export.event.ChangeLogRequestParamsMapper;
@@ -144,7 +146,10 @@ class TrackerEventsExportController {
     if (requestParams.isPaging()) {
       PageParams pageParams =
           PageParams.of(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.isTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.isTotalPages(),
+              PageToken.decode(requestParams.getPageToken()));
       TrackerEventOperationParams trackerEventOperationParams =
           TrackerEventRequestParamsMapper.map(requestParams, idSchemeParams);
       org.hisp.dhis.tracker.Page<TrackerEvent> eventsPage =
@@ -183,10 +188,14 @@ class TrackerEventsExportController {
       TrackerIdSchemeParams idSchemeParams,
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> events =
-        getTrackerEventsList(requestParams, idSchemeParams);
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> events =
+        getTrackerEventsExport(requestParams, idSchemeParams);
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE);
     response.setContentType(CONTENT_TYPE_CSV);
@@ -200,10 +209,14 @@ class TrackerEventsExportController {
       TrackerIdSchemeParams idSchemeParams,
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> events =
-        getTrackerEventsList(requestParams, idSchemeParams);
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> events =
+        getTrackerEventsExport(requestParams, idSchemeParams);
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE + GZIP_EXT);
     ResponseHeader.addContentTransferEncodingBinary(response);
@@ -218,10 +231,14 @@ class TrackerEventsExportController {
       HttpServletResponse response,
       @RequestParam(required = false, defaultValue = "false") boolean skipHeader,
       TrackerIdSchemeParams idSchemeParams)
-      throws IOException, BadRequestException, ForbiddenException, WebMessageException {
+      throws IOException,
+          BadRequestException,
+          ForbiddenException,
+          NotFoundException,
+          WebMessageException {
 
-    List<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> events =
-        getTrackerEventsList(requestParams, idSchemeParams);
+    ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> events =
+        getTrackerEventsExport(requestParams, idSchemeParams);
 
     ResponseHeader.addContentDispositionAttachment(response, EVENT_CSV_FILE + ZIP_EXT);
     ResponseHeader.addContentTransferEncodingBinary(response);
@@ -252,6 +269,30 @@ class TrackerEventsExportController {
     return new FilteredEntity<>(eventView, fields);
   }
 
+  private ChunkedExport<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent>
+      getTrackerEventsExport(
+          TrackerEventRequestParams requestParams, TrackerIdSchemeParams idSchemeParams)
+          throws BadRequestException {
+    if (!ChunkedExport.isDefaultOrder(requestParams.getOrder())) {
+      return ChunkedExport.unchunked(() -> getTrackerEventsList(requestParams, idSchemeParams));
+    }
+
+    TrackerEventOperationParams operationParams =
+        TrackerEventRequestParamsMapper.map(requestParams, idSchemeParams);
+
+    return new ChunkedExport<>(
+        pageParams -> {
+          MappingErrors errors = new MappingErrors(idSchemeParams);
+          org.hisp.dhis.tracker.Page<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent>
+              page =
+                  trackerEventService
+                      .findEvents(operationParams, pageParams)
+                      .withMappedItems(ev -> EVENTS_MAPPER.map(idSchemeParams, errors, ev));
+          ensureNoMappingErrors(errors);
+          return page;
+        });
+  }
+
   private List<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> getTrackerEventsList(
       TrackerEventRequestParams requestParams, TrackerIdSchemeParams idSchemeParams)
       throws BadRequestException, ForbiddenException, WebMessageException {
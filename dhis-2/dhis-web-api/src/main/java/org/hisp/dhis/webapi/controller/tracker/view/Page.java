@@ -31,6 +31,7 @@ package org.hisp.dhis.webapi.controller.tracker.view;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Collections;
 import java.util.List;
@@ -41,6 +42,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import org.hisp.dhis.common.OpenApi;
+import org.hisp.dhis.tracker.PageToken;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /**
@@ -70,8 +72,9 @@ public class Page<T> {
   /**
    * Returns a page which will serialize the items into {@link #items} under given {@code key}.
    * Previous and next page links will be generated based on the request if {@link
-   * org.hisp.dhis.tracker.Page#getPrevPage()} or next are not null. Total and page count will also
-   * be set if the pager has a non-null total.
+   * org.hisp.dhis.tracker.Page#getPrevPage()} or next are not null. The next page link seeks using
+   * the {@link org.hisp.dhis.tracker.Page#getNextPageToken()} instead of a page number if the pager
+   * has one. Total and page count will also be set if the pager has a non-null total.
    */
   public static <T> Page<T> withPager(
       @Nonnull String key,
@@ -83,11 +86,24 @@ public class Page<T> {
       pageCount = (int) Math.ceil(pager.getTotal() / (double) pager.getPageSize());
     }
     String prevPage = getPageLink(requestURL, pager.getPrevPage());
-    String nextPage = getPageLink(requestURL, pager.getNextPage());
+    String nextPageToken = null;
+    String nextPage;
+    if (pager.getNextPageToken() != null) {
+      nextPageToken = pager.getNextPageToken().encode();
+      nextPage = getPageTokenLink(requestURL, nextPageToken);
+    } else {
+      nextPage = getPageLink(requestURL, pager.getNextPage());
+    }
 
     Pager pagerObj =
         new Pager(
-            pager.getPage(), pager.getPageSize(), pager.getTotal(), pageCount, prevPage, nextPage);
+            pager.getPage(),
+            pager.getPageSize(),
+            pager.getTotal(),
+            pageCount,
+            prevPage,
+            nextPage,
+            nextPageToken);
 
     return new Page<>(key, pager.getItems(), pagerObj);
   }
@@ -118,6 +134,11 @@ public class Page<T> {
     @JsonProperty private Integer pageCount;
     @JsonProperty private String prevPage;
     @JsonProperty private String nextPage;
+
+    /** Opaque {@link PageToken} to request the next page with instead of a page number. */
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
   }
 
   private static String getPageLink(String url, Integer page) {
@@ -129,4 +150,11 @@ public class Page<T> {
     urlBuilder.replaceQueryParam("page", page);
     return urlBuilder.build().toUriString();
   }
+
+  private static String getPageTokenLink(String url, String pageToken) {
+    UriComponentsBuilder urlBuilder = UriComponentsBuilder.fromUriString(url);
+    urlBuilder.replaceQueryParam("page");
+    urlBuilder.replaceQueryParam("pageToken", pageToken);
+    return urlBuilder.build().toUriString();
+  }
 }
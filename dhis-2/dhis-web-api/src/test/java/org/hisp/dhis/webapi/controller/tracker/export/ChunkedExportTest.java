@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2004-2026, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller.tracker.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import org.hisp.dhis.tracker.Page;
+import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
+import org.junit.jupiter.api.Test;
+
+class ChunkedExportTest {
+  private static final List<Integer> ITEMS = List.of(1, 2, 3, 4, 5);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final List<PageParams> fetchedPages = new ArrayList<>();
+
+  @Test
+  void shouldWriteAllItemsChunkByChunk() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    new ChunkedExport<>(this::seek, 2)
+        .write(outputStream, objectMapper.writer(), Function.identity());
+
+    assertEquals("1 2 3 4 5", outputStream.toString(StandardCharsets.UTF_8));
+    assertEquals(3, fetchedPages.size());
+    assertEquals(List.of(1, 2, 3), fetchedPages.stream().map(PageParams::getPage).toList());
+  }
+
+  @Test
+  void shouldFetchSinglePageWhenItemsFitInOneChunk() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    new ChunkedExport<>(this::fetch)
+        .write(outputStream, objectMapper.writer(), Function.identity());
+
+    assertEquals("1 2 3 4 5", outputStream.toString(StandardCharsets.UTF_8));
+    assertEquals(1, fetchedPages.size());
+  }
+
+  @Test
+  void shouldGzipAllItemsChunkByChunk() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    CompressionUtil.writeGzip(
+        outputStream,
+        new ChunkedExport<>(this::seek, 2),
+        Function.identity(),
+        objectMapper.writer());
+
+    try (GZIPInputStream inputStream =
+        new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      assertEquals("1 2 3 4 5", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void shouldSeekToNextChunkUsingPageToken() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    new ChunkedExport<>(this::seek, 2)
+        .write(outputStream, objectMapper.writer(), Function.identity());
+
+    assertEquals("1 2 3 4 5", outputStream.toString(StandardCharsets.UTF_8));
+    assertEquals(
+        Arrays.asList(null, PageToken.of(2), PageToken.of(4)),
+        fetchedPages.stream().map(PageParams::getPageToken).toList());
+  }
+
+  @Test
+  void shouldFailToFetchNextChunkWithoutPageToken() {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ChunkedExport<Integer> export = new ChunkedExport<>(this::fetch, 2);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> export.write(outputStream, objectMapper.writer(), Function.identity()));
+    assertEquals(1, fetchedPages.size());
+  }
+
+  @Test
+  void shouldWriteAllItemsInSingleChunkWhenUnchunked() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ChunkedExport.unchunked(() -> fetch(PageParams.of(1, ITEMS.size(), false)).getItems())
+        .write(outputStream, objectMapper.writer(), Function.identity());
+
+    assertEquals("1 2 3 4 5", outputStream.toString(StandardCharsets.UTF_8));
+    assertEquals(1, fetchedPages.size());
+  }
+
+  @Test
+  void shouldDetectDefaultOrder() {
+    assertTrue(ChunkedExport.isDefaultOrder(List.of()));
+    assertTrue(ChunkedExport.isDefaultOrder(null));
+    assertFalse(ChunkedExport.isDefaultOrder(List.of("createdAt")));
+  }
+
+  /** Returns a page of items, fetching one more item than the page size like the stores do. */
+  private Page<Integer> fetch(PageParams pageParams) {
+    fetchedPages.add(pageParams);
+    int from = Math.min(pageParams.getOffset(), ITEMS.size());
+    int to = Math.min(from + pageParams.getPageSize() + 1, ITEMS.size());
+    return new Page<>(ITEMS.subList(from, to), pageParams);
+  }
+
+  /** Returns a page of items seeking past the item in the page token like the stores do. */
+  private Page<Integer> seek(PageParams pageParams) {
+    fetchedPages.add(pageParams);
+    int from = pageParams.hasPageToken() ? (int) pageParams.getPageToken().id() : 0;
+    int to = Math.min(from + pageParams.getPageSize() + 1, ITEMS.size());
+    return new Page<>(ITEMS.subList(from, to), pageParams)
+        .withNextPageToken(item -> PageToken.of(item));
+  }
+}
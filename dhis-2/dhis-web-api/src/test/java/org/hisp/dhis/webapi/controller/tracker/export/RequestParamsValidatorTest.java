@@ -284,6 +284,7 @@ class RequestParamsValidatorTest {
     private Integer pageSize;
     private boolean totalPages;
     private boolean paging;
+    private String pageToken;
   }
 
   private static Stream<Arguments> mutuallyExclusivePaginationParameters() {
@@ -339,4 +340,41 @@ class RequestParamsValidatorTest {
 
     validatePaginationParameters(paginationParameters);
   }
+
+  @Test
+  void shouldFailWhenGivenPageTokenAndPage() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setPage(2);
+    paginationParameters.setPaging(true);
+    paginationParameters.setPageToken("NDI");
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class, () -> validatePaginationParameters(paginationParameters));
+
+    assertStartsWith("pageToken cannot be combined with", exception.getMessage());
+  }
+
+  @Test
+  void shouldFailWhenGivenPageTokenAndPagingDisabled() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setPaging(false);
+    paginationParameters.setPageToken("NDI");
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class, () -> validatePaginationParameters(paginationParameters));
+
+    assertStartsWith("pageToken cannot be combined with", exception.getMessage());
+  }
+
+  @Test
+  void shouldPassWhenGivenPageTokenAndPageSize() throws BadRequestException {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setPageSize(10);
+    paginationParameters.setPaging(true);
+    paginationParameters.setPageToken("NDI");
+
+    validatePaginationParameters(paginationParameters);
+  }
 }